@@ -0,0 +1,24 @@
+package com.mnp.chat.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.mongo.MongoLockProvider;
+import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
+
+/**
+ * Cluster-wide locks for scheduled jobs, kept in the shedLock collection.
+ * With several chat nodes every node fires each cron; a job annotated with @SchedulerLock runs on
+ * whichever node takes the lock first and is skipped on the others.
+ */
+@Configuration
+@EnableSchedulerLock(defaultLockAtMostFor = "PT1H")
+public class SchedulerLockConfig {
+
+    @Bean
+    public LockProvider lockProvider(MongoTemplate mongoTemplate) {
+        return new MongoLockProvider(mongoTemplate.getDb());
+    }
+}
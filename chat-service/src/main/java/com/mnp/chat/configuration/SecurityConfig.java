@@ -15,7 +15,9 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    private static final String[] PUBLIC_ENDPOINTS = {};
+    private static final String[] PUBLIC_ENDPOINTS = {
+        "/chat/internal/**" // Inter-service calls (task-service outbox relay)
+    };
 
     private final CustomJwtDecoder customJwtDecoder;
 
@@ -1,5 +1,6 @@
 package com.mnp.chat.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,9 +13,9 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 public class SocketIOConfig {
 
     @Bean
-    public SocketIOServer socketIOServer() {
+    public SocketIOServer socketIOServer(@Value("${app.chat.socket.port:8099}") int port) {
         com.corundumstudio.socketio.Configuration configuration = new com.corundumstudio.socketio.Configuration();
-        configuration.setPort(8099);
+        configuration.setPort(port);
         configuration.setOrigin("*");
         configuration.setHostname("localhost");
 
@@ -7,12 +7,16 @@ import java.util.concurrent.ConcurrentHashMap;
 import jakarta.validation.Valid;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.mnp.chat.dto.ApiResponse;
 import com.mnp.chat.dto.request.ChatMessageRequest;
 import com.mnp.chat.dto.response.ChatMessageResponse;
+import com.mnp.chat.dto.response.MessagePageResponse;
+import com.mnp.chat.dto.response.MessageSearchResponse;
+import com.mnp.chat.dto.response.SyncResponse;
 import com.mnp.chat.service.ChatMessageService;
 
 import lombok.AccessLevel;
@@ -31,6 +35,10 @@ public class ChatMessageController {
     private final Map<String, Long> recentApiMessageRequests = new ConcurrentHashMap<>();
     private static final long DEDUP_WINDOW_MS = 5000; // 5 seconds
 
+    /**
+     * @deprecated returns the whole history; use GET /messages/page
+     */
+    @Deprecated
     @GetMapping
     ApiResponse<List<ChatMessageResponse>> getMessages(@RequestParam("conversationId") String conversationId) {
         return ApiResponse.<List<ChatMessageResponse>>builder()
@@ -38,6 +46,39 @@ public class ChatMessageController {
                 .build();
     }
 
+    @GetMapping("/page")
+    ApiResponse<MessagePageResponse> getMessagesPage(
+            @RequestParam("conversationId") String conversationId,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ApiResponse.<MessagePageResponse>builder()
+                .result(chatMessageService.getMessagesPage(conversationId, before, after, limit))
+                .build();
+    }
+
+    @GetMapping("/sync")
+    ApiResponse<SyncResponse> syncMessages(
+            @RequestParam("conversationId") String conversationId,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ApiResponse.<SyncResponse>builder()
+                .result(chatMessageService.syncMessages(conversationId, after, limit, userId))
+                .build();
+    }
+
+    @GetMapping("/search")
+    ApiResponse<MessageSearchResponse> searchMessages(
+            @RequestParam("q") String query,
+            @RequestParam(value = "conversationId", required = false) String conversationId,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ApiResponse.<MessageSearchResponse>builder()
+                .result(chatMessageService.searchMessages(query, conversationId, page, size))
+                .build();
+    }
+
     @PostMapping("/create")
     ApiResponse<ChatMessageResponse> create(@RequestBody @Valid ChatMessageRequest request)
             throws JsonProcessingException {
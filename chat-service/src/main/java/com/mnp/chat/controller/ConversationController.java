@@ -12,6 +12,7 @@ import com.mnp.chat.dto.request.AddParticipantsRequest;
 import com.mnp.chat.dto.request.ConversationRequest;
 import com.mnp.chat.dto.request.CreateProjectGroupRequest;
 import com.mnp.chat.dto.request.RemoveParticipantsRequest;
+import com.mnp.chat.dto.response.ConversationPageResponse;
 import com.mnp.chat.dto.response.ConversationResponse;
 import com.mnp.chat.service.ChatMessageService;
 import com.mnp.chat.service.ConversationService;
@@ -37,12 +38,20 @@ public class ConversationController {
 
     @GetMapping("/my-conversations")
     ApiResponse<List<ConversationResponse>> myConversations() {
-        
         return ApiResponse.<List<ConversationResponse>>builder()
                 .result(conversationService.myConversations())
                 .build();
     }
 
+    @GetMapping("/my-conversations/page")
+    ApiResponse<ConversationPageResponse> myConversationsPage(
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ApiResponse.<ConversationPageResponse>builder()
+                .result(conversationService.myConversationsPage(before, limit))
+                .build();
+    }
+
     @PostMapping("/{conversationId}/add-members")
     ApiResponse<ConversationResponse> addMembersToGroup(
             @PathVariable String conversationId, @RequestBody @Valid AddParticipantsRequest request) {
@@ -19,8 +19,8 @@ import com.mnp.chat.dto.response.ChatMessageResponse;
 import com.mnp.chat.dto.response.ConversationResponse;
 import com.mnp.chat.entity.WebSocketSession;
 import com.mnp.chat.repository.ChatMessageRepository;
+import com.mnp.chat.repository.ConversationRepository;
 import com.mnp.chat.service.*;
-import com.mnp.chat.util.TokenHolder;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -33,13 +33,17 @@ import lombok.extern.slf4j.Slf4j;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class SocketHandler {
     SocketIOServer server;
-    IdentityService identityService;
+    TokenVerificationService tokenVerificationService;
+    PresenceTracker presenceTracker;
+    TypingIndicatorService typingIndicatorService;
     WebSocketSessionService webSocketSessionService;
+    SocketRoomService socketRoomService;
     ChatMessageService chatMessageService;
     ConversationService conversationService;
     MessageReactionService messageReactionService;
     EnhancedMessageReactionService enhancedMessageReactionService;
     private final ChatMessageRepository chatMessageRepository;
+    ConversationRepository conversationRepository;
 
     // ✅ Deduplication cache for media messages: key = userId + conversationId + fileUrl, value = timestamp
     private final Map<String, Long> recentMediaRequests = new ConcurrentHashMap<>();
@@ -55,31 +59,27 @@ public class SocketHandler {
         // Get Token from request param
         String token = client.getHandshakeData().getSingleUrlParam("token");
 
-        // Verify token
-        var introspectResponse = identityService.introspect(
-                IntrospectRequest.builder().token(token).build());
+        // Verify token locally: reconnect storms must not turn into introspection storms
+        var userId = tokenVerificationService.verify(token);
 
         // If Token is invalid disconnect
-        if (introspectResponse.isValid()) {
-            log.info("Client connected: {}", client.getSessionId());
-            // Persist webSocketSession
+        if (userId.isPresent()) {
+            log.info("Client authenticated: {}", client.getSessionId());
+            // Register webSocketSession
             WebSocketSession webSocketSession = WebSocketSession.builder()
                     .socketSessionId(client.getSessionId().toString())
-                    .userId(introspectResponse.getUserId())
+                    .userId(userId.get())
                     .createdAt(Instant.now())
                     .build();
             webSocketSession = webSocketSessionService.create(webSocketSession);
 
             log.info("WebSocketSession created with id: {}", webSocketSession.getId());
 
-            // Set token for Feign interceptor
-            TokenHolder.setToken(token);
-            try {
-                // Update user status: online=true, lastLogin=now
-                identityService.updateUserStatus(introspectResponse.getUserId(), true, java.time.LocalDateTime.now());
-            } finally {
-                TokenHolder.clear();
-            }
+            // Personal room: every device of the user receives messages addressed to them
+            socketRoomService.joinUserRoom(client, userId.get());
+
+            // Update user status: online=true, lastLogin=now (sent with the next batch)
+            presenceTracker.connected(userId.get());
         } else {
             log.error("Authentication fail: {}", client.getSessionId());
             client.disconnect();
@@ -91,24 +91,27 @@ public class SocketHandler {
         log.info("Client disConnected: {}", client.getSessionId());
         var webSocketSession = webSocketSessionService.getSessionBySocketId(
                 client.getSessionId().toString());
-        if (webSocketSession.isPresent()) {
-            String userId = webSocketSession.get().getUserId();
-            // Try to get token from handshake (if available)
-            String token = client.getHandshakeData().getSingleUrlParam("token");
-            TokenHolder.setToken(token);
-            try {
-                // Update user status: online=false
-                identityService.updateUserStatus(userId, false, null);
-            } finally {
-                TokenHolder.clear();
-            }
-        }
         webSocketSessionService.deleteSession(client.getSessionId().toString());
+        // Online=false is only reported if this was the user's last open socket
+        webSocketSession.ifPresent(session -> presenceTracker.disconnected(session.getUserId()));
     }
 
     @OnEvent("join-conversation")
     public void onJoinConversation(SocketIOClient client, String conversationId) {
+        // The room carries participants, conversation details and typing: members only
+        var webSocketSession = webSocketSessionService.getSessionBySocketId(
+                client.getSessionId().toString());
+        if (webSocketSession.isEmpty()
+                || conversationId == null
+                || !conversationRepository.existsByIdAndParticipantsUserId(
+                        conversationId, webSocketSession.get().getUserId())) {
+            log.warn("Rejected join of conversation {} by socket {}", conversationId, client.getSessionId());
+            client.sendEvent("join-conversation-error", "Not a participant of this conversation");
+            return;
+        }
+
         log.info("Client joined conversation: {} - {}", client.getSessionId(), conversationId);
+        socketRoomService.joinConversationRoom(client, conversationId);
         webSocketSessionService.updateCurrentConversationId(
                 client.getSessionId().toString(), conversationId);
     }
@@ -116,6 +119,7 @@ public class SocketHandler {
     @OnEvent("leave-conversation")
     public void onLeaveConversation(SocketIOClient client, String conversationId) {
         log.info("Client left conversation: {} - {}", client.getSessionId(), conversationId);
+        socketRoomService.leaveConversationRooms(client);
         webSocketSessionService.updateCurrentConversationId(
                 client.getSessionId().toString(), null);
     }
@@ -132,14 +136,13 @@ public class SocketHandler {
             log.info("Processing message status update for user: {} in conversation: {}", userId, conversationId);
 
             try {
-                // Mark messages as read and get the updated messages
-                var updatedMessages = chatMessageService.markMessagesAsReadAndGetUpdated(conversationId, userId);
-                log.info("Found {} messages to mark as read", updatedMessages.size());
-
-                if (!updatedMessages.isEmpty()) {
-                    // Broadcast status update to all participants in the conversation
-                    chatMessageService.broadcastMessageStatusUpdate(conversationId, updatedMessages);
-                    log.info("Broadcasted status update for {} messages", updatedMessages.size());
+                // Mark messages as read with one server-side update
+                var receipt = chatMessageService.markConversationRead(conversationId, userId);
+
+                if (receipt.getUpdatedCount() > 0) {
+                    // Broadcast a compact "read up to" receipt to all participants in the conversation
+                    chatMessageService.broadcastReadReceipt(receipt);
+                    log.info("Broadcasted read receipt for {} messages", receipt.getUpdatedCount());
                 } else {
                     log.info("No unread messages found to update");
                 }
@@ -151,6 +154,45 @@ public class SocketHandler {
         }
     }
 
+    @OnEvent("sync-messages")
+    public void onSyncMessages(SocketIOClient client, SyncRequest request) {
+        var webSocketSession = webSocketSessionService.getSessionBySocketId(
+                client.getSessionId().toString());
+        if (webSocketSession.isEmpty()) {
+            log.warn("No WebSocket session found for socket: {}", client.getSessionId());
+            return;
+        }
+
+        try {
+            // Only what the client missed since its last seen sequence number, one bounded page per call
+            var response = chatMessageService.syncMessages(
+                    request.getConversationId(),
+                    request.getAfter(),
+                    request.getLimit(),
+                    webSocketSession.get().getUserId());
+            client.sendEvent("sync-messages-result", response);
+        } catch (Exception e) {
+            log.error("Error syncing messages for conversation: {}", request.getConversationId(), e);
+            client.sendEvent("sync-messages-error", "Failed to sync messages");
+        }
+    }
+
+    @OnEvent("typing")
+    public void onTyping(SocketIOClient client, TypingRequest request) {
+        if (request == null || request.getConversationId() == null) {
+            return;
+        }
+        var webSocketSession = webSocketSessionService.getSessionBySocketId(
+                client.getSessionId().toString());
+
+        // Only relayed from a connection that has the conversation open, i.e. a member of its room
+        if (webSocketSession.isPresent()
+                && request.getConversationId().equals(webSocketSession.get().getCurrentConversationId())) {
+            typingIndicatorService.onTyping(
+                    client, webSocketSession.get().getUserId(), request.getConversationId(), request.isTyping());
+        }
+    }
+
     @OnEvent("reply-message")
     public void onReplyMessage(SocketIOClient client, ReplyMessageRequest request) {
         log.info(
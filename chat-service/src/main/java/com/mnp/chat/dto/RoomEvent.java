@@ -0,0 +1,30 @@
+package com.mnp.chat.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * One socket event addressed to one or more rooms, as published on the room broadcast bus.
+ * Payloads are pre-serialized JSON; rooms that get the same payload share one entry, so a group message
+ * travels once between nodes however many members it has.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoomEvent {
+    String id; // Unique per publish; a node delivers each id once
+    String orderingKey; // Usually the conversationId: events with the same key are delivered in publish order
+    String event;
+    List<String> payloads;
+    Map<String, Integer> rooms; // room -> index into payloads
+    String excludedSessionId; // Connection that must not receive it (the sender's)
+    String outsideConversationId; // Only connections that do not have this conversation open
+}
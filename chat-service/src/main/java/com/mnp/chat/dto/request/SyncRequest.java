@@ -0,0 +1,15 @@
+package com.mnp.chat.dto.request;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SyncRequest {
+    String conversationId;
+    Long after; // Highest sequence number the client has seen
+    Integer limit;
+}
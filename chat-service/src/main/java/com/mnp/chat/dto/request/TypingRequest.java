@@ -0,0 +1,14 @@
+package com.mnp.chat.dto.request;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TypingRequest {
+    String conversationId;
+    boolean typing; // false when the user stopped typing or cleared the input
+}
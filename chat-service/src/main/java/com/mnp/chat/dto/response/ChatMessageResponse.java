@@ -18,6 +18,7 @@ import lombok.experimental.FieldDefaults;
 public class ChatMessageResponse {
     String id;
     String conversationId;
+    Long seq; // Per-conversation sequence number; pass the highest one seen as "after" to sync
     boolean me;
     String message;
     String type;
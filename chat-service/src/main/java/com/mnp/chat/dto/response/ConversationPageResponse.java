@@ -0,0 +1,17 @@
+package com.mnp.chat.dto.response;
+
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConversationPageResponse {
+    List<ConversationResponse> conversations; // Most recently active first
+    String nextCursor; // Pass as "before" to load the next page
+    boolean hasMore;
+}
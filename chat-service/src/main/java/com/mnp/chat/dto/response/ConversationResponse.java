@@ -23,6 +23,9 @@ public class ConversationResponse {
     List<ParticipantInfo> participants;
     ChatMessage lastMessage;
     int unreadCount; // Number of unread messages for the current user
+    String lastMessagePreview; // Last message text as the current user sees it
+    Instant lastActivityAt; // Sort key of the conversation list
+    Instant joinedAt; // When the current user joined
 
     // Group conversation specific fields
     String groupName; // Name of the group (only for GROUP type)
@@ -0,0 +1,20 @@
+package com.mnp.chat.dto.response;
+
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MessagePageResponse {
+    List<ChatMessageResponse> messages; // Newest first
+    String beforeCursor; // Pass as "before" to load older messages (scroll-back)
+    String afterCursor; // Pass as "after" to load newer messages (catch-up)
+    boolean hasMoreBefore;
+    boolean hasMoreAfter;
+    long latestSeq; // Conversation sequence number when the page was read; pass as "after" to /messages/sync
+}
@@ -0,0 +1,18 @@
+package com.mnp.chat.dto.response;
+
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MessageSearchResponse {
+    List<ChatMessageResponse> messages; // Best match first
+    int page;
+    int size;
+    boolean hasMore;
+}
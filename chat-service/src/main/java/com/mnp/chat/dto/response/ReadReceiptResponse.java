@@ -0,0 +1,32 @@
+package com.mnp.chat.dto.response;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.mnp.chat.entity.ParticipantInfo;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Compact read receipt: every message in the conversation created at or before readUpTo
+ * and not sent by the reader is now read by them
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReadReceiptResponse {
+    String conversationId;
+    String readerId;
+    ParticipantInfo reader;
+
+    @Builder.Default
+    String status = "SEEN";
+
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER) // ✅ Serialize as epoch, same as message createdDate
+    Instant readUpTo;
+
+    long updatedCount; // Number of messages that changed state
+}
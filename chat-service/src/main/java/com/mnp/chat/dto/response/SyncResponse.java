@@ -0,0 +1,21 @@
+package com.mnp.chat.dto.response;
+
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SyncResponse {
+    String conversationId;
+    List<ChatMessageResponse> messages; // New messages, oldest first
+    List<ChatMessageResponse> changedMessages; // Current state of messages edited, recalled, reacted to or pinned
+    List<String> deletedMessageIds;
+    long lastSeq; // Pass as "after" on the next call
+    boolean hasMore;
+    boolean resyncRequired; // The position is older than the change log; reload with /messages/page
+}
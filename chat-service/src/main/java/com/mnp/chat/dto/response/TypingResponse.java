@@ -0,0 +1,15 @@
+package com.mnp.chat.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TypingResponse {
+    String conversationId;
+    String userId;
+    boolean typing;
+}
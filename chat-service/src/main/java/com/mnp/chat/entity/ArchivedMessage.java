@@ -0,0 +1,72 @@
+package com.mnp.chat.entity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A message as stored inside an ArchivedMessageBucket.
+ * Deliberately free of mapping annotations: embedding ChatMessage itself would make Spring Data derive
+ * the live collection's indexes (nested, compound and text) on chat_message_archive as well.
+ * The archive's indexes are created by MessageArchiveService.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ArchivedMessage {
+    String id; // Stored as _id, like the live message
+
+    String conversationId;
+
+    Long seq;
+
+    String message;
+
+    String type;
+
+    String status;
+
+    Instant readDate;
+
+    ParticipantInfo reader;
+
+    @Builder.Default
+    List<ParticipantInfo> readers = new ArrayList<>();
+
+    ParticipantInfo sender;
+
+    String senderId;
+    String senderName;
+    String systemType;
+
+    String replyToMessageId;
+
+    Instant createdDate;
+
+    Instant modifiedDate;
+
+    boolean isRecalled;
+    String recallType;
+    String recalledBy;
+    Instant recalledDate;
+    String originalMessage;
+
+    boolean isPinned;
+    Instant pinnedDate;
+    String pinnedBy;
+
+    String mediaUrl;
+    String mediaType;
+    String fileName;
+    Long fileSize;
+
+    Map<String, Integer> reactionCounts;
+    List<RecentReactor> recentReactors;
+}
@@ -0,0 +1,42 @@
+package com.mnp.chat.entity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Archived messages of one conversation and one UTC day, oldest first.
+ * A busy day spreads over several buckets of at most MessageArchiveService.MAX_BUCKET_MESSAGES messages.
+ * The collection and its indexes are created by MessageArchiveService, with block compression; nothing here
+ * carries index annotations, so auto index creation adds none of its own.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "chat_message_archive")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ArchivedMessageBucket {
+    @MongoId
+    String id;
+
+    String conversationId;
+
+    Instant day; // Start of the UTC day
+
+    int messageCount;
+
+    Instant firstCreatedDate;
+
+    Instant lastCreatedDate;
+
+    @Builder.Default
+    List<ArchivedMessage> messages = new ArrayList<>();
+}
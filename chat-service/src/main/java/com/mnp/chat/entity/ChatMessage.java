@@ -3,8 +3,12 @@ package com.mnp.chat.entity;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.MongoId;
 
@@ -16,7 +20,12 @@ import lombok.experimental.FieldDefaults;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(collection = "chat_message")
+// Message text is in several languages: tokenize only, no stemming or stop words
+@Document(collection = "chat_message", language = "none")
+// Keyset pagination of conversation history: equality on conversationId, range on (createdDate, _id)
+@CompoundIndex(name = "conversation_created_id", def = "{'conversationId': 1, 'createdDate': -1, '_id': -1}")
+// Delta sync: everything in a conversation after a client's last seen sequence number
+@CompoundIndex(name = "conversation_seq", def = "{'conversationId': 1, 'seq': 1}")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ChatMessage {
     @MongoId
@@ -25,6 +34,9 @@ public class ChatMessage {
     @Indexed
     String conversationId;
 
+    Long seq; // Per-conversation sequence number assigned at insert; null on messages that predate it
+
+    @TextIndexed // Message search, see MessageSearchService
     String message;
 
     String type;
@@ -71,4 +83,11 @@ public class ChatMessage {
     String mediaType; // Type of media (image, video, audio, document)
     String fileName; // Original filename
     Long fileSize; // File size in bytes
+
+    // Denormalized reactions, maintained by ReactionCounterService; null on messages not tracked yet
+    Map<String, Integer> reactionCounts; // icon -> number of users who reacted with it
+    List<RecentReactor> recentReactors; // Newest last, capped at ReactionCounterService.RECENT_REACTORS_CAP
+
+    @Transient
+    boolean newlyCreated; // Set while an insert is in flight, see ChatMessageEventListener
 }
@@ -0,0 +1,26 @@
+package com.mnp.chat.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A running chat node and its last heartbeat; presence of nodes that stopped beating is ignored
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "chat_node")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ChatNode {
+    @MongoId
+    String id;
+
+    Instant heartbeatAt;
+}
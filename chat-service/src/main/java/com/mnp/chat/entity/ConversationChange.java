@@ -0,0 +1,39 @@
+package com.mnp.chat.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Change log entry for an existing message (edit, recall, reaction, pin, delete).
+ * Shares the conversation's sequence with new messages, so one number tells a client everything it has seen.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "conversation_change")
+@CompoundIndex(name = "conversation_seq", def = "{'conversationId': 1, 'seq': 1}", unique = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConversationChange {
+    @MongoId
+    String id;
+
+    String conversationId;
+
+    long seq;
+
+    String messageId;
+
+    String type; // EDIT, RECALL, REACTION, PIN, UNPIN, DELETE
+
+    @Indexed
+    Instant createdDate;
+}
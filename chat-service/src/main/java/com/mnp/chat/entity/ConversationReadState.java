@@ -0,0 +1,55 @@
+package com.mnp.chat.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Per-user, per-conversation read watermark, unread counter and conversation-list summary.
+ * The counter is incremented when a message arrives and reset when the user reads the conversation;
+ * the summary fields follow the conversation's last message and membership (ConversationSummaryService).
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "conversation_read_state")
+@CompoundIndex(name = "conversation_user", def = "{'conversationId': 1, 'userId': 1}", unique = true)
+@CompoundIndex(name = "user_activity", def = "{'userId': 1, 'lastActivityAt': -1, 'conversationId': -1}")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConversationReadState {
+    @MongoId
+    String id;
+
+    String conversationId;
+
+    @Indexed
+    String userId;
+
+    long unreadCount;
+
+    Instant lastReadAt; // Read watermark: everything created at or before this instant has been read
+
+    Instant trackedSince; // Messages before this instant are not counted (e.g. sent before the user joined)
+
+    Instant updatedAt;
+
+    Instant joinedAt; // When the user became a member, as far as this service knows
+
+    Instant lastActivityAt; // Creation time of the conversation's last message; the conversation list sort key
+
+    String lastMessageId;
+
+    String lastMessagePreview; // Last message text as this user sees it (recalls applied), truncated
+
+    String lastMessageType;
+
+    String lastSenderId;
+}
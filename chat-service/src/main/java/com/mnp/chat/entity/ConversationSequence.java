@@ -0,0 +1,27 @@
+package com.mnp.chat.entity;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Sequence counter of one conversation, shared by new messages and change log entries.
+ * Kept out of the conversation document, which is saved whole and would overwrite concurrent increments.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "conversation_sequence")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConversationSequence {
+    @MongoId
+    String id; // conversationId
+
+    long value; // Last sequence number handed out
+
+    long prunedThrough; // Change log entries up to this sequence number have been deleted
+}
@@ -0,0 +1,20 @@
+package com.mnp.chat.entity;
+
+import java.time.Instant;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RecentReactor {
+    String userId;
+
+    String icon;
+
+    Instant reactedAt;
+}
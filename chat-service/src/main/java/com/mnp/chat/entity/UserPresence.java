@@ -0,0 +1,35 @@
+package com.mnp.chat.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Connections of one user on one chat node, kept only while there are any (MongoPresenceRegistry)
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "chat_user_presence")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserPresence {
+    @MongoId
+    String id; // nodeId:userId
+
+    @Indexed
+    String userId;
+
+    @Indexed
+    String nodeId;
+
+    int sockets;
+
+    Instant updatedAt;
+}
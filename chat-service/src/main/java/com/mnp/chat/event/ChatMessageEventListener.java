@@ -0,0 +1,65 @@
+package com.mnp.chat.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+import com.mnp.chat.entity.ChatMessage;
+import com.mnp.chat.repository.ConversationRepository;
+import com.mnp.chat.service.ConversationSyncService;
+import com.mnp.chat.service.UnreadCounterService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hooks message inserts, wherever they are saved from, to keep derived per-conversation state current
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ChatMessageEventListener extends AbstractMongoEventListener<ChatMessage> {
+    ConversationRepository conversationRepository;
+    UnreadCounterService unreadCounterService;
+    ConversationSyncService conversationSyncService;
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<ChatMessage> event) {
+        ChatMessage message = event.getSource();
+        // Updates (read receipts, pins, recalls...) already carry an id
+        message.setNewlyCreated(message.getId() == null);
+        if (message.isNewlyCreated() && message.getReactionCounts() == null) {
+            // New messages start with tracked, empty reaction counters
+            message.setReactionCounts(new HashMap<>());
+            message.setRecentReactors(new ArrayList<>());
+        }
+        if (message.isNewlyCreated() && message.getSeq() == null && message.getConversationId() != null) {
+            message.setSeq(conversationSyncService.nextSeq(message.getConversationId()));
+        }
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<ChatMessage> event) {
+        ChatMessage message = event.getSource();
+        if (!message.isNewlyCreated()) {
+            return;
+        }
+        message.setNewlyCreated(false);
+
+        try {
+            conversationRepository
+                    .findById(message.getConversationId())
+                    .ifPresent(conversation -> unreadCounterService.onMessageCreated(message, conversation));
+        } catch (Exception e) {
+            // Counters are repaired by the reconciliation job; never fail the send
+            log.error("Failed to update unread counters for message {}: {}", message.getId(), e.getMessage());
+        }
+    }
+}
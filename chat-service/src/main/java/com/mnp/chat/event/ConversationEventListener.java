@@ -0,0 +1,35 @@
+package com.mnp.chat.event;
+
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.mnp.chat.entity.Conversation;
+import com.mnp.chat.service.ConversationSummaryService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hooks conversation saves, wherever they come from, to keep the members' conversation-list rows current
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConversationEventListener extends AbstractMongoEventListener<Conversation> {
+    ConversationSummaryService conversationSummaryService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Conversation> event) {
+        Conversation conversation = event.getSource();
+        try {
+            conversationSummaryService.onConversationSaved(conversation);
+        } catch (Exception e) {
+            // Summaries are rebuilt by the nightly job; never fail the conversation update
+            log.error("Failed to update summaries of conversation {}: {}", conversation.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.mnp.chat.event;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.mnp.chat.service.ProfileCacheService;
+import com.mnp.event.dto.ProfileUpdatedEvent;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drops cached profiles when profile-service reports a change.
+ * Every chat instance keeps its own cache, so each one consumes the topic in its own group.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProfileUpdatedEventListener {
+    ProfileCacheService profileCacheService;
+
+    // The payload type is this listener's own: other consumers on the shared JSON deserializer set theirs
+    @KafkaListener(
+            topics = "profile-updated",
+            groupId = "chat-profile-cache-${random.uuid}",
+            properties = {
+                "spring.json.use.type.headers=false",
+                "spring.json.value.default.type=com.mnp.event.dto.ProfileUpdatedEvent"
+            })
+    public void onProfileUpdated(ProfileUpdatedEvent event) {
+        log.debug("Profile updated for user {}, invalidating cached profile", event.getUserId());
+        profileCacheService.invalidate(event.getUserId());
+    }
+}
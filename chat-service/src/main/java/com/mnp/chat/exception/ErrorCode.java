@@ -26,7 +26,9 @@ public enum ErrorCode {
     NOT_MEDIA_MESSAGE(1016, "Message is not a media message", HttpStatus.BAD_REQUEST),
     INVALID_GROUP_NAME(1017, "Group name cannot be empty", HttpStatus.BAD_REQUEST),
     INVALID_PARTICIPANTS(1018, "Group must have at least one participant", HttpStatus.BAD_REQUEST),
-    INVALID_CONVERSATION_TYPE(1019, "Invalid conversation type", HttpStatus.BAD_REQUEST);
+    INVALID_CONVERSATION_TYPE(1019, "Invalid conversation type", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR(1020, "Invalid pagination cursor", HttpStatus.BAD_REQUEST),
+    INVALID_SEARCH_QUERY(1021, "Search query is empty or too long", HttpStatus.BAD_REQUEST);
 
     ErrorCode(int code, String message, HttpStatusCode statusCode) {
         this.code = code;
@@ -0,0 +1,15 @@
+package com.mnp.chat.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.mnp.chat.entity.ArchivedMessage;
+import com.mnp.chat.entity.ChatMessage;
+
+@Mapper(componentModel = "spring")
+public interface ArchivedMessageMapper {
+    ArchivedMessage toArchivedMessage(ChatMessage chatMessage);
+
+    @Mapping(target = "newlyCreated", ignore = true)
+    ChatMessage toChatMessage(ArchivedMessage archivedMessage);
+}
@@ -1,8 +1,10 @@
 package com.mnp.chat.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,8 +13,27 @@ import com.mnp.chat.entity.ChatMessage;
 
 @Repository
 public interface ChatMessageRepository extends MongoRepository<ChatMessage, String> {
+    /**
+     * @deprecated loads the whole history; use the keyset page queries below
+     */
+    @Deprecated
     List<ChatMessage> findAllByConversationIdOrderByCreatedDateDesc(String conversationId);
 
+    // Keyset pagination on (conversationId, createdDate, _id) - sort and limit come from the Pageable
+    List<ChatMessage> findByConversationId(String conversationId, Pageable pageable);
+
+    @Query("{ 'conversationId': ?0, $or: [ "
+            + "  { 'createdDate': { $lt: ?1 } }, "
+            + "  { 'createdDate': ?1, '_id': { $lt: ?2 } } "
+            + "] }")
+    List<ChatMessage> findPageBefore(String conversationId, Instant createdDate, String id, Pageable pageable);
+
+    @Query("{ 'conversationId': ?0, $or: [ "
+            + "  { 'createdDate': { $gt: ?1 } }, "
+            + "  { 'createdDate': ?1, '_id': { $gt: ?2 } } "
+            + "] }")
+    List<ChatMessage> findPageAfter(String conversationId, Instant createdDate, String id, Pageable pageable);
+
     // Count unread messages excluding multiple system message types
     long countByConversationIdAndSenderUserIdNotAndStatusNotAndTypeNotIn(
             String conversationId, String userId, String status, List<String> types);
@@ -40,6 +61,15 @@ public interface ChatMessageRepository extends MongoRepository<ChatMessage, Stri
             "}")
     List<ChatMessage> findUnreadMessagesForGroupConversation(String conversationId, String userId);
 
+    // Ground truth for unread counters (see UnreadCounterService)
+    @Query(value = "{ 'conversationId': ?0, 'createdDate': { $gte: ?2 }, "
+            + "'sender.userId': { $ne: ?1 }, 'readers.userId': { $ne: ?1 } }", count = true)
+    long countUnreadInGroupSince(String conversationId, String userId, Instant since);
+
+    @Query(value = "{ 'conversationId': ?0, 'createdDate': { $gte: ?2 }, "
+            + "'sender.userId': { $ne: ?1 }, 'status': { $ne: 'SEEN' }, 'type': { $ne: 'SYSTEM' } }", count = true)
+    long countUnreadInDirectSince(String conversationId, String userId, Instant since);
+
     // ✅ Query cho DIRECT conversations
     long countByConversationIdAndSenderUserIdNotAndStatusNot(
             String conversationId,
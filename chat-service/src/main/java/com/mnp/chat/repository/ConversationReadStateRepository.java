@@ -0,0 +1,16 @@
+package com.mnp.chat.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mnp.chat.entity.ConversationReadState;
+
+@Repository
+public interface ConversationReadStateRepository extends MongoRepository<ConversationReadState, String> {
+    List<ConversationReadState> findAllByUserId(String userId);
+
+    Optional<ConversationReadState> findByConversationIdAndUserId(String conversationId, String userId);
+}
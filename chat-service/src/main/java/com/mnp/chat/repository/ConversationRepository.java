@@ -21,4 +21,6 @@ public interface ConversationRepository extends MongoRepository<Conversation, St
 
 
     List<Conversation> findAllByParticipantsUserId(String userId);
+
+    boolean existsByIdAndParticipantsUserId(String id, String userId);
 }
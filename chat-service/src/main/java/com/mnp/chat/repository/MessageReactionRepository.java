@@ -1,10 +1,9 @@
 package com.mnp.chat.repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
-import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -15,29 +14,15 @@ import com.mnp.chat.entity.MessageReaction;
 public interface MessageReactionRepository extends MongoRepository<MessageReaction, String> {
     List<MessageReaction> findByMessageId(String messageId);
 
+    List<MessageReaction> findByMessageIdIn(Collection<String> messageIds);
+
     Optional<MessageReaction> findByMessageIdAndUserIdAndIcon(String messageId, String userId, String icon);
 
-    void deleteByMessageIdAndUserIdAndIcon(String messageId, String userId, String icon);
+    long deleteByMessageIdAndUserIdAndIcon(String messageId, String userId, String icon);
 
     long countByMessageIdAndIcon(String messageId, String icon);
 
     // New methods for enhanced reaction counting
     @Query("{ 'messageId': ?0, 'icon': ?1 }")
     List<MessageReaction> findByMessageIdAndIcon(String messageId, String icon);
-
-    // Calculate total count for an icon across all users
-    @Aggregation(
-            pipeline = {
-                "{ $match: { 'messageId': ?0, 'icon': ?1 } }",
-                "{ $group: { '_id': null, 'totalCount': { $sum: '$count' } } }"
-            })
-    Optional<Integer> getTotalCountByMessageIdAndIcon(String messageId, String icon);
-
-    // Get all reactions with counts for a message
-    @Aggregation(
-            pipeline = {
-                "{ $match: { 'messageId': ?0 } }",
-                "{ $group: { '_id': '$icon', 'totalCount': { $sum: '$count' }, 'users': { $push: { 'userId': '$userId', 'count': '$count' } } } }"
-            })
-    List<Map<String, Object>> getReactionSummaryByMessageId(String messageId);
 }
@@ -1,6 +1,9 @@
 package com.mnp.chat.repository.httpclient;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import com.mnp.chat.config.FeignClientConfig;
 import com.mnp.chat.dto.ApiResponse;
 import com.mnp.chat.dto.request.IntrospectRequest;
+import com.mnp.chat.dto.request.UserStatusChangeRequest;
 import com.mnp.chat.dto.request.UserStatusUpdateRequest;
 import com.mnp.chat.dto.response.IntrospectResponse;
 
@@ -19,4 +23,10 @@ public interface IdentityClient {
     @PostMapping("/users/{userId}/status")
     ApiResponse<Void> updateUserStatus(
             @PathVariable("userId") String userId, @RequestBody UserStatusUpdateRequest request);
+
+    @PostMapping("/internal/users/status")
+    ApiResponse<Void> updateUserStatuses(@RequestBody List<UserStatusChangeRequest> requests);
+
+    @GetMapping("/internal/tokens/invalidated")
+    ApiResponse<List<String>> getInvalidatedTokenIds();
 }
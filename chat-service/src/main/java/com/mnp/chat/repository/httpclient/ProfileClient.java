@@ -1,8 +1,12 @@
 package com.mnp.chat.repository.httpclient;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import com.mnp.chat.configuration.AuthenticationRequestInterceptor;
 import com.mnp.chat.dto.ApiResponse;
@@ -15,4 +19,7 @@ import com.mnp.chat.dto.response.UserProfileResponse;
 public interface ProfileClient {
     @GetMapping("/internal/users/{userId}")
     ApiResponse<UserProfileResponse> getProfile(@PathVariable String userId);
+
+    @PostMapping("/internal/users/batch")
+    ApiResponse<List<UserProfileResponse>> getProfiles(@RequestBody List<String> userIds);
 }
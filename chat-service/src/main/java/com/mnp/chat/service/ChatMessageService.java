@@ -2,17 +2,26 @@ package com.mnp.chat.service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import com.corundumstudio.socketio.SocketIOServer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mnp.chat.dto.request.ChatMessageRequest;
@@ -21,17 +30,20 @@ import com.mnp.chat.dto.request.ReplyMessageRequest;
 import com.mnp.chat.dto.request.SocketMediaMessageRequest;
 import com.mnp.chat.dto.response.ChatMessageResponse;
 import com.mnp.chat.dto.response.ConversationResponse;
+import com.mnp.chat.dto.response.MessagePageResponse;
+import com.mnp.chat.dto.response.MessageSearchResponse;
+import com.mnp.chat.dto.response.ReadReceiptResponse;
+import com.mnp.chat.dto.response.SyncResponse;
 import com.mnp.chat.entity.ChatMessage;
 import com.mnp.chat.entity.Conversation;
 import com.mnp.chat.entity.ParticipantInfo;
-import com.mnp.chat.entity.WebSocketSession;
 import com.mnp.chat.exception.AppException;
 import com.mnp.chat.exception.ErrorCode;
 import com.mnp.chat.mapper.ChatMessageMapper;
 import com.mnp.chat.repository.ChatMessageRepository;
 import com.mnp.chat.repository.ConversationRepository;
-import com.mnp.chat.repository.WebSocketSessionRepository;
-import com.mnp.chat.repository.httpclient.ProfileClient;
+import com.mnp.chat.util.MessageCursor;
+import com.mnp.chat.util.PreSerializedPayload;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -43,48 +55,38 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class ChatMessageService {
-    SocketIOServer socketIOServer;
-
     ChatMessageRepository chatMessageRepository;
     ConversationRepository conversationRepository;
-    WebSocketSessionRepository webSocketSessionRepository;
-    ProfileClient profileClient;
+    MongoTemplate mongoTemplate;
+    ProfileCacheService profileCacheService;
 
     ObjectMapper objectMapper;
     ChatMessageMapper chatMessageMapper;
 
     WebSocketSessionService webSo;
     MessageReactionService messageReactionService; // Add message reaction service
+    SocketRoomService socketRoomService;
+    UnreadCounterService unreadCounterService;
+    ConversationSyncService conversationSyncService;
+    ConversationSummaryService conversationSummaryService;
+    MessageSearchService messageSearchService;
+    MessageArchiveService messageArchiveService;
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    static final int MAX_SEARCH_PAGE_SIZE = 50;
+    static final int MAX_SEARCH_QUERY_LENGTH = 200;
 
     /**
-     * Helper method to create a map of WebSocket sessions by socket session ID,
-     * handling duplicate keys by keeping the most recent session (based on createdAt timestamp)
+     * @deprecated loads and maps the whole conversation history on every call;
+     * use {@link #getMessagesPage(String, String, String, Integer)}
      */
-    private Map<String, WebSocketSession> createWebSocketSessionMap(List<WebSocketSession> sessions) {
-        return sessions.stream()
-                .collect(Collectors.toMap(
-                    WebSocketSession::getSocketSessionId, 
-                    Function.identity(),
-                    // Merge function to handle duplicate keys - keep the most recent session
-                    (existing, replacement) -> {
-                        log.warn("Duplicate socket session ID found: {}. Keeping most recent session.", 
-                                existing.getSocketSessionId());
-                        return existing.getCreatedAt().isAfter(replacement.getCreatedAt()) ? existing : replacement;
-                    }
-                ));
-    }
-
+    @Deprecated
     public List<ChatMessageResponse> getMessages(String conversationId) {
         // Validate conversationId
         String userId = getCurrentUserId();
-        conversationRepository
-                .findById(conversationId)
-                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND))
-                .getParticipants()
-                .stream()
-                .filter(participantInfo -> userId.equals(participantInfo.getUserId()))
-                .findAny()
-                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
+        validateParticipant(conversationId, userId);
 
         var messages = chatMessageRepository.findAllByConversationIdOrderByCreatedDateDesc(conversationId);
 
@@ -95,6 +97,187 @@ public class ChatMessageService {
         return result;
     }
 
+    /**
+     * One page of conversation history, newest first.
+     * Without a cursor returns the latest page; "before" scrolls back to older messages,
+     * "after" catches up on messages newer than the cursor. Only one cursor may be given.
+     */
+    public MessagePageResponse getMessagesPage(String conversationId, String before, String after, Integer limit) {
+        String userId = getCurrentUserId();
+        validateParticipant(conversationId, userId);
+
+        if (before != null && after != null) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // Read before the page so a message inserted meanwhile is delivered twice rather than skipped by sync
+        long latestSeq = conversationSyncService.currentSeq(conversationId);
+        // Fetch one extra row to know whether another page exists
+        Pageable newestFirst = PageRequest.of(
+                0, pageSize + 1, Sort.by(Sort.Direction.DESC, "createdDate").and(Sort.by(Sort.Direction.DESC, "_id")));
+        Pageable oldestFirst = PageRequest.of(
+                0, pageSize + 1, Sort.by(Sort.Direction.ASC, "createdDate").and(Sort.by(Sort.Direction.ASC, "_id")));
+
+        List<ChatMessage> page;
+        boolean hasMoreBefore;
+        boolean hasMoreAfter;
+        if (after != null) {
+            MessageCursor cursor = MessageCursor.decode(after);
+            // Catching up from archived history: the archive comes first, then the live messages
+            page = concatDistinct(
+                    messageArchiveService.findAfter(conversationId, cursor, pageSize + 1),
+                    chatMessageRepository.findPageAfter(
+                            conversationId, cursor.createdDate(), cursor.id(), oldestFirst),
+                    pageSize + 1);
+            hasMoreAfter = page.size() > pageSize;
+            if (hasMoreAfter) {
+                page.remove(page.size() - 1);
+            }
+            Collections.reverse(page);
+            hasMoreBefore = true;
+        } else {
+            if (before != null) {
+                MessageCursor cursor = MessageCursor.decode(before);
+                page = new ArrayList<>(chatMessageRepository.findPageBefore(
+                        conversationId, cursor.createdDate(), cursor.id(), newestFirst));
+            } else {
+                page = new ArrayList<>(chatMessageRepository.findByConversationId(conversationId, newestFirst));
+            }
+            if (page.size() <= pageSize) {
+                // Live history ends before the page is full: continue into the archive
+                page = concatDistinct(
+                        page,
+                        messageArchiveService.findBefore(
+                                conversationId,
+                                before != null ? MessageCursor.decode(before) : null,
+                                pageSize + 1 - page.size()),
+                        pageSize + 1);
+            }
+            hasMoreBefore = page.size() > pageSize;
+            if (hasMoreBefore) {
+                page.remove(page.size() - 1);
+            }
+            hasMoreAfter = before != null;
+        }
+
+        messageReactionService.prefetchReactorProfiles(page);
+        List<ChatMessageResponse> messages =
+                page.stream().map(message -> toChatMessageResponse(message, userId)).toList();
+
+        return MessagePageResponse.builder()
+                .messages(messages)
+                .beforeCursor(page.isEmpty() ? before : MessageCursor.of(page.get(page.size() - 1)).encode())
+                .afterCursor(page.isEmpty() ? after : MessageCursor.of(page.get(0)).encode())
+                .hasMoreBefore(!page.isEmpty() && hasMoreBefore)
+                .hasMoreAfter(hasMoreAfter)
+                .latestSeq(latestSeq)
+                .build();
+    }
+
+    // Every archived message is older than every live one, so appending keeps the page order;
+    // a message being archived right now may briefly be in both
+    private static List<ChatMessage> concatDistinct(List<ChatMessage> first, List<ChatMessage> second, int limit) {
+        Set<String> seen = new HashSet<>();
+        List<ChatMessage> result = new ArrayList<>();
+        for (List<ChatMessage> part : List.of(first, second)) {
+            for (ChatMessage message : part) {
+                if (result.size() < limit && seen.add(message.getId())) {
+                    result.add(message);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Everything that happened in a conversation after the client's last seen sequence number, oldest first:
+     * new messages, the current state of messages changed since, and ids of deleted messages.
+     * Call again with lastSeq while hasMore is set; resyncRequired means the position is too old to replay.
+     */
+    public SyncResponse syncMessages(String conversationId, Long after, Integer limit, String userId) {
+        validateParticipant(conversationId, userId);
+
+        long position = after == null || after < 0 ? 0 : after;
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        var batch = conversationSyncService.sync(conversationId, position, pageSize);
+
+        List<ChatMessage> changed = batch.changedMessageIds().isEmpty()
+                ? List.of()
+                : chatMessageRepository.findAllById(batch.changedMessageIds());
+        Set<String> stillThere = changed.stream().map(ChatMessage::getId).collect(Collectors.toSet());
+        List<String> deletedIds = new ArrayList<>(batch.deletedMessageIds());
+        batch.changedMessageIds().stream().filter(id -> !stillThere.contains(id)).forEach(deletedIds::add);
+
+        List<ChatMessage> rendered = new ArrayList<>(batch.newMessages());
+        rendered.addAll(changed);
+        messageReactionService.prefetchReactorProfiles(rendered);
+
+        return SyncResponse.builder()
+                .conversationId(conversationId)
+                .messages(batch.newMessages().stream()
+                        .map(message -> toChatMessageResponse(message, userId))
+                        .toList())
+                .changedMessages(
+                        changed.stream().map(message -> toChatMessageResponse(message, userId)).toList())
+                .deletedMessageIds(deletedIds)
+                .lastSeq(batch.lastSeq())
+                .hasMore(batch.hasMore())
+                .resyncRequired(batch.resyncRequired())
+                .build();
+    }
+
+    /**
+     * Ranked search over the text of the current user's messages, in one conversation or in all of them.
+     * System messages, messages recalled for everyone and the user's own "for self" recalls are left out.
+     */
+    public MessageSearchResponse searchMessages(String text, String conversationId, Integer page, Integer size) {
+        String userId = getCurrentUserId();
+        String terms = text == null ? "" : text.strip();
+        if (terms.isEmpty() || terms.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new AppException(ErrorCode.INVALID_SEARCH_QUERY);
+        }
+
+        List<String> conversationIds;
+        if (conversationId != null) {
+            validateParticipant(conversationId, userId);
+            conversationIds = List.of(conversationId);
+        } else {
+            conversationIds = conversationSummaryService.findConversationIds(userId);
+        }
+
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        int pageSize = size == null || size <= 0 ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(size, MAX_SEARCH_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        List<ChatMessage> found = new ArrayList<>(
+                messageSearchService.search(conversationIds, userId, terms, pageNumber * pageSize, pageSize + 1));
+        boolean hasMore = found.size() > pageSize;
+        if (hasMore) {
+            found.remove(found.size() - 1);
+        }
+
+        messageReactionService.prefetchReactorProfiles(found);
+        return MessageSearchResponse.builder()
+                .messages(found.stream()
+                        .map(message -> toChatMessageResponse(message, userId))
+                        .toList())
+                .page(pageNumber)
+                .size(pageSize)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private void validateParticipant(String conversationId, String userId) {
+        conversationRepository
+                .findById(conversationId)
+                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND))
+                .getParticipants()
+                .stream()
+                .filter(participantInfo -> userId.equals(participantInfo.getUserId()))
+                .findAny()
+                .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
+    }
+
     public ChatMessageResponse create(ChatMessageRequest request) {
         String userId = getCurrentUserId();
         return createMessage(request, null, "TEXT", userId);
@@ -150,11 +333,10 @@ public class ChatMessageService {
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
         // Get UserInfo from ProfileService
-        var userResponse = profileClient.getProfile(userId);
-        if (Objects.isNull(userResponse)) {
+        var userInfo = profileCacheService.getProfile(userId);
+        if (Objects.isNull(userInfo)) {
             throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
         }
-        var userInfo = userResponse.getResult();
 
         // Initialize readers list with sender (who has implicitly read their own message)
         ParticipantInfo senderInfo = ParticipantInfo.builder()
@@ -206,9 +388,8 @@ public class ChatMessageService {
                 chatMessage.setStatus("SEEN");
                 chatMessage.setReadDate(Instant.now());
 
-                var receiverResponse = profileClient.getProfile(receiverId);
-                if (receiverResponse != null && receiverResponse.getResult() != null) {
-                    var receiverInfo = receiverResponse.getResult();
+                var receiverInfo = profileCacheService.getProfile(receiverId);
+                if (receiverInfo != null) {
                     ParticipantInfo readerInfo = ParticipantInfo.builder()
                             .userId(receiverInfo.getUserId())
                             .username(receiverInfo.getUser().getUsername())
@@ -249,10 +430,9 @@ public class ChatMessageService {
             Conversation conversation, String adderId, List<ParticipantInfo> addedMembers, String groupName) {
 
         // Get adder's name - make it effectively final
-        var adderResponse = profileClient.getProfile(adderId);
+        var adderInfo = profileCacheService.getProfile(adderId);
         final String adderName;
-        if (adderResponse != null && adderResponse.getResult() != null) {
-            var adderInfo = adderResponse.getResult();
+        if (adderInfo != null) {
             adderName = adderInfo.getUser().getFirstName() + " "
                     + adderInfo.getUser().getLastName();
         } else {
@@ -331,42 +511,20 @@ public class ChatMessageService {
                 .map(ParticipantInfo::getUserId)
                 .toList();
 
-        Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                webSocketSessionRepository.findAllByUserIdIn(userIds));
-
-        // Broadcast personalized messages via WebSocket
-        socketIOServer.getAllClients().forEach(client -> {
-            var webSocketSession = webSocketSessions.get(client.getSessionId().toString());
-
-            if (Objects.nonNull(webSocketSession)) {
-                try {
-                    String currentUserId = webSocketSession.getUserId();
-
-                    // Check if this user is a participant in the conversation
-                    boolean isParticipant = conversation.getParticipants().stream()
-                            .anyMatch(participant -> participant.getUserId().equals(currentUserId));
-
-                    if (isParticipant) {
-                        // Create personalized response for this user
-                        ChatMessageResponse personalizedResponse = createPersonalizedAddMembersResponse(
-                                finalSystemMessage,
-                                currentUserId,
-                                adderId,
-                                adderName,
-                                addedMemberIds,
-                                addedMembersNames,
-                                groupName);
-
-                        String message = objectMapper.writeValueAsString(personalizedResponse);
-                        client.sendEvent("message", personalizedResponse);
-                        client.sendEvent("add-participants-success", conversation);
-                    }
-
-                } catch (JsonProcessingException e) {
-                    log.error("Error serializing add-members response", e);
-                }
-            }
-        });
+        // Broadcast personalized messages to each participant's user room
+        socketRoomService.sendToEachUser(
+                conversation.getId(),
+                userIds,
+                "message",
+                currentUserId -> createPersonalizedAddMembersResponse(
+                        finalSystemMessage,
+                        currentUserId,
+                        adderId,
+                        adderName,
+                        addedMemberIds,
+                        addedMembersNames,
+                        groupName));
+        socketRoomService.sendToUsers(conversation.getId(), userIds, "add-participants-success", conversation);
     }
 
     /**
@@ -413,10 +571,9 @@ public class ChatMessageService {
             Conversation conversation, String removerId, List<ParticipantInfo> removedMembers, String groupName) {
 
         // Get remover's name - make it effectively final
-        var removerResponse = profileClient.getProfile(removerId);
+        var removerInfo = profileCacheService.getProfile(removerId);
         final String removerName;
-        if (removerResponse != null && removerResponse.getResult() != null) {
-            var removerInfo = removerResponse.getResult();
+        if (removerInfo != null) {
             removerName = removerInfo.getUser().getFirstName() + " "
                     + removerInfo.getUser().getLastName();
         } else {
@@ -508,44 +665,20 @@ public class ChatMessageService {
         // Add removed members so they get notified
         allUserIds.addAll(removedMemberIds);
 
-        Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                webSocketSessionRepository.findAllByUserIdIn(allUserIds));
-
-        // Broadcast personalized messages via WebSocket
-        socketIOServer.getAllClients().forEach(client -> {
-            var webSocketSession = webSocketSessions.get(client.getSessionId().toString());
-
-            if (Objects.nonNull(webSocketSession)) {
-                try {
-                    String currentUserId = webSocketSession.getUserId();
-
-                    // Check if this user was a participant in the conversation (before or after removal)
-                    boolean wasParticipant = conversation.getParticipants().stream()
-                                    .anyMatch(participant ->
-                                            participant.getUserId().equals(currentUserId))
-                            || removedMemberIds.contains(currentUserId);
-
-                    if (wasParticipant) {
-                        // Create personalized response for this user
-                        ChatMessageResponse personalizedResponse = createPersonalizedRemoveMembersResponse(
-                                finalSystemMessage,
-                                currentUserId,
-                                removerId,
-                                removerName,
-                                removedMemberIds,
-                                removedMembersNames,
-                                groupName);
-
-                        String message = objectMapper.writeValueAsString(personalizedResponse);
-                        client.sendEvent("message", personalizedResponse);
-                        client.sendEvent("remove-participants-success", conversation);
-                    }
-
-                } catch (JsonProcessingException e) {
-                    log.error("Error serializing remove-members response", e);
-                }
-            }
-        });
+        // Broadcast personalized messages to each (current or removed) participant's user room
+        socketRoomService.sendToEachUser(
+                conversation.getId(),
+                allUserIds,
+                "message",
+                currentUserId -> createPersonalizedRemoveMembersResponse(
+                        finalSystemMessage,
+                        currentUserId,
+                        removerId,
+                        removerName,
+                        removedMemberIds,
+                        removedMembersNames,
+                        groupName));
+        socketRoomService.sendToUsers(conversation.getId(), allUserIds, "remove-participants-success", conversation);
     }
 
     /**
@@ -650,30 +783,14 @@ public class ChatMessageService {
         // Add the leaving user so they get notified
         allUserIds.add(leavingUserId);
 
-        Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                webSocketSessionRepository.findAllByUserIdIn(allUserIds));
-
-        // Broadcast personalized messages via WebSocket
-        socketIOServer.getAllClients().forEach(client -> {
-            var webSocketSession = webSocketSessions.get(client.getSessionId().toString());
-
-            if (Objects.nonNull(webSocketSession)) {
-                try {
-                    String currentUserId = webSocketSession.getUserId();
-
-                    // Create personalized response for this user
-                    ChatMessageResponse personalizedResponse = createPersonalizedLeaveGroupResponse(
-                            finalSystemMessage, currentUserId, leavingUserId, leavingUserName, groupName);
-
-                    String message = objectMapper.writeValueAsString(personalizedResponse);
-                    client.sendEvent("message", personalizedResponse);
-                    client.sendEvent("leave-group-success", conversation);
-
-                } catch (JsonProcessingException e) {
-                    log.error("Error serializing leave-group response", e);
-                }
-            }
-        });
+        // Broadcast personalized messages to each participant's user room
+        socketRoomService.sendToEachUser(
+                conversation.getId(),
+                allUserIds,
+                "message",
+                currentUserId -> createPersonalizedLeaveGroupResponse(
+                        finalSystemMessage, currentUserId, leavingUserId, leavingUserName, groupName));
+        socketRoomService.sendToUsers(conversation.getId(), allUserIds, "leave-group-success", conversation);
     }
 
     /**
@@ -718,9 +835,6 @@ public class ChatMessageService {
                 .map(ParticipantInfo::getUserId)
                 .toList();
 
-        Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                webSocketSessionRepository.findAllByUserIdIn(userIds));
-
         final ChatMessage finalChatMessage = chatMessage;
 
         // ✅ Determine event name based on message type
@@ -733,45 +847,87 @@ public class ChatMessageService {
             eventName = "message";
         }
 
-        socketIOServer.getAllClients().forEach(client -> {
-            var webSocketSession = webSocketSessions.get(client.getSessionId().toString());
-
-            if (Objects.nonNull(webSocketSession)) {
-                ChatMessageResponse chatMessageResponse =
-                        toChatMessageResponse(finalChatMessage, webSocketSession.getUserId());
-                chatMessageResponse.setMe(webSocketSession.getUserId().equals(senderId));
-                chatMessageResponse.setReader(finalChatMessage.getReader());
-                chatMessageResponse.setModifiedDate(Instant.now());
-
-                log.info("Response sent: {}", chatMessageResponse);
+        Instant modifiedDate = Instant.now();
+        sendMessageToParticipants(finalChatMessage, userIds, eventName, senderId, (response, recipientId) -> {
+            response.setMe(recipientId.equals(senderId));
+            response.setReader(finalChatMessage.getReader());
+            response.setModifiedDate(modifiedDate);
+        });
 
-                client.sendEvent(eventName, chatMessageResponse);
+        log.info("Broadcasted {} {} to {} participants", messageType, finalChatMessage.getId(), userIds.size());
+    }
 
-                log.info("Broadcasted {} to client: {}", messageType, client.getSessionId());
+    /**
+     * Recipients only differ in a few fields of the message response (me flags, own reactions,
+     * personalized system text), so recipients that would get identical JSON share one variant.
+     * Each variant is mapped and serialized once instead of once per participant.
+     */
+    private void sendMessageToParticipants(
+            ChatMessage message,
+            List<String> userIds,
+            String eventName,
+            String senderId,
+            BiConsumer<ChatMessageResponse, String> customizer) {
+        String messageSenderId = message.getSender() != null ? message.getSender().getUserId() : null;
+        String replySenderId = null;
+        String replyRecalledBy = null;
+        Set<String> reactorIds = new HashSet<>();
+        reactorIds.addAll(messageReactionService.getReactorIds(message));
+        if (message.getReplyToMessageId() != null) {
+            // Same lookup as toChatMessageResponse, so the key covers what the quoted message renders
+            var replyTo = chatMessageRepository
+                    .findById(message.getReplyToMessageId())
+                    .or(() -> messageArchiveService.findMessage(message.getReplyToMessageId()));
+            if (replyTo.isPresent()) {
+                replySenderId = replyTo.get().getSender() != null
+                        ? replyTo.get().getSender().getUserId()
+                        : null;
+                replyRecalledBy = replyTo.get().getRecalledBy();
+                reactorIds.addAll(messageReactionService.getReactorIds(replyTo.get()));
             }
+        }
+        boolean personalizedText = message.getType() != null && message.getType().startsWith("SYSTEM_");
+
+        Map<BroadcastVariant, PreSerializedPayload> variants = new HashMap<>();
+        final String finalReplySenderId = replySenderId;
+        final String finalReplyRecalledBy = replyRecalledBy;
+        socketRoomService.sendToEachUser(message.getConversationId(), userIds, eventName, recipientId -> {
+            BroadcastVariant variant = new BroadcastVariant(
+                    personalizedText || reactorIds.contains(recipientId) ? recipientId : null,
+                    recipientId.equals(senderId),
+                    recipientId.equals(messageSenderId),
+                    recipientId.equals(finalReplySenderId),
+                    recipientId.equals(message.getRecalledBy()),
+                    recipientId.equals(finalReplyRecalledBy));
+            return variants.computeIfAbsent(variant, key -> {
+                ChatMessageResponse response = toChatMessageResponse(message, recipientId);
+                customizer.accept(response, recipientId);
+                return socketRoomService.preSerialize(response);
+            });
         });
+
+        log.debug("Broadcast {} {} to {} participants using {} payload variants",
+                eventName, message.getId(), userIds.size(), variants.size());
     }
 
+    /**
+     * Everything a recipient's view of a broadcast message depends on; personalizedFor is set
+     * when the recipient needs a payload of their own
+     */
+    private record BroadcastVariant(
+            String personalizedFor,
+            boolean broadcaster,
+            boolean sender,
+            boolean replySender,
+            boolean recaller,
+            boolean replyRecaller) {}
+
     public long getUnreadCount(String conversationId, String userId) {
         var conversation = conversationRepository
                 .findById(conversationId)
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
-        if ("GROUP".equals(conversation.getType())) {
-            // ✅ SỬ DỤNG custom query cho GROUP
-            return chatMessageRepository
-                    .findUnreadMessagesForGroupConversation(conversationId, userId)
-                    .stream()
-                    .filter(msg -> msg.getSender() == null
-                            || msg.getSender().getUserId() == null
-                            || !msg.getSender().getUserId().equals(userId))
-                    .count();
-        } else {
-            // DIRECT conversation
-            return chatMessageRepository
-                    .countByConversationIdAndSenderUserIdNotAndStatusNot(
-                            conversationId, userId, "SEEN");
-        }
+        return unreadCounterService.getUnreadCount(conversation, userId);
     }
 
     /**
@@ -783,10 +939,11 @@ public class ChatMessageService {
         List<Conversation> conversations = conversationRepository
                 .findAllByParticipantsUserId(userId);
 
-        Map<String, Long> unreadCounts = new HashMap<>();
+        Map<String, Long> counts = unreadCounterService.getUnreadCounts(userId, conversations);
 
+        Map<String, Long> unreadCounts = new HashMap<>();
         for (Conversation conversation : conversations) {
-            long count = getUnreadCount(conversation.getId(), userId);
+            long count = counts.getOrDefault(conversation.getId(), 0L);
             if (count > 0) {
                 unreadCounts.put(conversation.getId(), count);
             }
@@ -924,7 +1081,10 @@ public class ChatMessageService {
 
         // If this is a reply message, fetch and include the original message
         if (chatMessage.getReplyToMessageId() != null) {
-            var replyToMessage = chatMessageRepository.findById(chatMessage.getReplyToMessageId());
+            // Replies to archived messages still show what they quote
+            var replyToMessage = chatMessageRepository
+                    .findById(chatMessage.getReplyToMessageId())
+                    .or(() -> messageArchiveService.findMessage(chatMessage.getReplyToMessageId()));
             if (replyToMessage.isPresent()) {
                 var replyToResponse = chatMessageMapper.toChatMessageResponse(replyToMessage.get());
 
@@ -958,147 +1118,111 @@ public class ChatMessageService {
                 replyToResponse.setReaders(replyToMessage.get().getReaders());
 
                 // Include reactions for reply message too
-                replyToResponse.setReactions(messageReactionService.getMessageReactionsSummary(
-                        replyToMessage.get().getId(), userId));
+                replyToResponse.setReactions(
+                        messageReactionService.getMessageReactionsSummary(replyToMessage.get(), userId));
                 chatMessageResponse.setReplyToMessage(replyToResponse);
             }
         }
 
         // Include reaction summary for the message
-        chatMessageResponse.setReactions(
-                messageReactionService.getMessageReactionsSummary(chatMessage.getId(), userId));
-
-        // Special handling for system messages to include reaction updates
-        if ("SYSTEM".equals(chatMessage.getType())) {
-            chatMessageResponse.setReactions(
-                    messageReactionService.getMessageReactionsSummary(chatMessage.getId(), userId));
-        }
+        chatMessageResponse.setReactions(messageReactionService.getMessageReactionsSummary(chatMessage, userId));
 
         return chatMessageResponse;
     }
 
     public void markMessagesAsRead(String conversationId) {
-        markMessagesAsReadInternal(conversationId);
-    }
-
-    public List<ChatMessage> markMessagesAsReadAndGetUpdated(String conversationId, String userId) {
-        return markMessagesAsReadInternal(conversationId, userId);
-    }
-
-    private List<ChatMessage> markMessagesAsReadInternal(String conversationId) {
-        return markMessagesAsReadInternal(conversationId, null);
+        markConversationRead(conversationId, getCurrentUserId());
     }
 
-    private List<ChatMessage> markMessagesAsReadInternal(String conversationId, String providedUserId) {
-        String userId = providedUserId != null ? providedUserId : getCurrentUserId();
-
-        log.info("markMessagesAsReadInternal called - conversationId: {}, userId: {}", conversationId, userId);
+    /**
+     * Mark everything in the conversation up to now as read by the user.
+     * Applied server-side with updateMulti, so the cost does not depend on how many messages were unread.
+     */
+    public ReadReceiptResponse markConversationRead(String conversationId, String userId) {
+        log.info("markConversationRead called - conversationId: {}, userId: {}", conversationId, userId);
 
         // Validate that user is part of the conversation
         var conversation = conversationRepository
                 .findById(conversationId)
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
-        conversation.getParticipants().stream()
+        ParticipantInfo readerInfo = conversation.getParticipants().stream()
                 .filter(participantInfo -> userId.equals(participantInfo.getUserId()))
                 .findAny()
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
-        // Get user info for reader field
-        var userResponse = profileClient.getProfile(userId);
-        if (Objects.isNull(userResponse)) {
-            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
-        }
-        var userInfo = userResponse.getResult();
-
-        ParticipantInfo readerInfo = ParticipantInfo.builder()
-                .userId(userInfo.getUserId())
-                .username(userInfo.getUser().getUsername())
-                .firstName(userInfo.getUser().getFirstName())
-                .lastName(userInfo.getUser().getLastName())
-                .avatar(userInfo.getAvatar())
+        // Reader snapshot as stored on messages (same fields the profile lookup used to provide)
+        ParticipantInfo reader = ParticipantInfo.builder()
+                .userId(readerInfo.getUserId())
+                .username(readerInfo.getUsername())
+                .firstName(readerInfo.getFirstName())
+                .lastName(readerInfo.getLastName())
+                .avatar(readerInfo.getAvatar())
                 .build();
 
-        // Find ALL messages that need to be marked as read by this user
-        List<ChatMessage> allMessages = chatMessageRepository.findAllByConversationId(conversationId);
-
-        List<ChatMessage> unreadMessages = allMessages.stream()
-                .filter(message -> {
-                    // Skip messages sent by this user (they auto-read their own messages)
-                    if (message.getSender() != null
-                            && message.getSender().getUserId() != null
-                            && message.getSender().getUserId().equals(userId)) {
-                        return false;
-                    }
-
-                    // For GROUP conversations, check readers array
-                    if ("GROUP".equals(conversation.getType())) {
-                        // Check if user has already read this message
-                        if (message.getReaders() == null) {
-                            return true; // No readers yet, so it's unread
-                        }
-                        boolean alreadyRead = message.getReaders().stream()
-                                .anyMatch(reader -> reader.getUserId().equals(userId));
-                        return !alreadyRead; // Unread if user not in readers array
-                    } else {
-                        // For DIRECT conversations, check status
-                        return !"SEEN".equals(message.getStatus());
-                    }
-                })
-                .collect(Collectors.toList());
-
-        log.info("Found {} unread messages for user {} in conversation {}", unreadMessages.size(), userId, conversationId);
-
-        // Mark all unread messages as read
-        unreadMessages.forEach(message -> {
-            log.info("Marking message {} (type: {}) as read for user {}", message.getId(), message.getType(), userId);
-
-            if ("DIRECT".equals(conversation.getType())) {
-                message.setStatus("SEEN");
-                message.setReadDate(Instant.now());
-                message.setReader(readerInfo);
-            } else if ("GROUP".equals(conversation.getType())) {
-                // For group conversations, add user to readers list
-                if (message.getReaders() == null) {
-                    message.setReaders(new ArrayList<>());
-                }
-
-                // Double-check if user already read this message
-                boolean alreadyRead = message.getReaders().stream()
-                        .anyMatch(reader -> reader.getUserId().equals(userId));
-
-                if (!alreadyRead) {
-                    message.getReaders().add(readerInfo);
-                    log.info("Added user {} to readers list for message {} (type: {})",
-                            userId, message.getId(), message.getType());
-                }
+        // Everything that exists now is covered by this read
+        Instant readWatermark = Instant.now();
+        Criteria notMineUpToWatermark = Criteria.where("conversationId")
+                .is(conversationId)
+                .and("createdDate")
+                .lte(readWatermark)
+                .and("sender.userId")
+                .ne(userId);
 
-                // Update status and read date
-                message.setStatus("SEEN");
-                message.setReadDate(Instant.now());
-
-                // For group messages, also set the single reader field if not set
-                if (message.getReader() == null) {
-                    message.setReader(readerInfo);
-                }
-            }
-        });
-
-        // Save all updated messages
-        if (!unreadMessages.isEmpty()) {
-            chatMessageRepository.saveAll(unreadMessages);
-            log.info("Successfully marked {} messages as read for user {}", unreadMessages.size(), userId);
+        long updated;
+        if ("GROUP".equals(conversation.getType())) {
+            // Keep the single reader field populated for older clients
+            mongoTemplate.updateMulti(
+                    new Query(Criteria.where("conversationId")
+                            .is(conversationId)
+                            .and("createdDate")
+                            .lte(readWatermark)
+                            .and("sender.userId")
+                            .ne(userId)
+                            .and("reader")
+                            .is(null)),
+                    new Update().set("reader", reader),
+                    ChatMessage.class);
+
+            updated = mongoTemplate
+                    .updateMulti(
+                            new Query(notMineUpToWatermark.and("readers.userId").ne(userId)),
+                            new Update()
+                                    .addToSet("readers", reader)
+                                    .set("status", "SEEN")
+                                    .set("readDate", readWatermark),
+                            ChatMessage.class)
+                    .getModifiedCount();
+        } else {
+            updated = mongoTemplate
+                    .updateMulti(
+                            new Query(notMineUpToWatermark.and("status").ne("SEEN")),
+                            new Update()
+                                    .set("status", "SEEN")
+                                    .set("readDate", readWatermark)
+                                    .set("reader", reader),
+                            ChatMessage.class)
+                    .getModifiedCount();
         }
 
-        return unreadMessages;
-    }
+        unreadCounterService.markRead(conversationId, userId, readWatermark);
+        log.info("Marked {} messages as read for user {} in conversation {}", updated, userId, conversationId);
 
-    public void broadcastMessageStatusUpdate(String conversationId, List<ChatMessage> updatedMessages) {
-        log.info("Starting to broadcast message status update for conversation: {}", conversationId);
+        return ReadReceiptResponse.builder()
+                .conversationId(conversationId)
+                .readerId(userId)
+                .reader(reader)
+                .readUpTo(readWatermark)
+                .updatedCount(updated)
+                .build();
+    }
 
-        // Get conversation to find participants
+    /**
+     * Tell conversation participants that the reader has read everything up to the receipt watermark
+     */
+    public void broadcastReadReceipt(ReadReceiptResponse receipt) {
         var conversation = conversationRepository
-                .findById(conversationId)
+                .findById(receipt.getConversationId())
                 .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
         // Get participants userIds
@@ -1106,49 +1230,14 @@ public class ChatMessageService {
                 .map(ParticipantInfo::getUserId)
                 .toList();
 
-        log.info("Conversation participants: {}", userIds);
-
-        Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                webSocketSessionRepository.findAllByUserIdIn(userIds));
+        socketRoomService.sendToUsers(receipt.getConversationId(), userIds, "message-status-update", receipt);
 
-        log.info("Found {} websocket sessions for participants", webSocketSessions.size());
-
-        // Create status update object with message IDs and status info
-        var statusUpdate = Map.of(
-                "conversationId",
-                conversationId,
-                "messageIds",
-                updatedMessages.stream().map(ChatMessage::getId).toList(),
-                "status",
-                "SEEN",
-                "readDate",
-                Instant.now().toString());
-
-        log.info("Status update payload: {}", statusUpdate);
-
-        // Broadcast status update to all connected clients
-        int sentCount = 0;
-        for (var client : socketIOServer.getAllClients()) {
-            var webSocketSession = webSocketSessions.get(client.getSessionId().toString());
-
-            if (Objects.nonNull(webSocketSession)) {
-                try {
-                    String message = objectMapper.writeValueAsString(statusUpdate);
-                    client.sendEvent("message-status-update", statusUpdate);
-                    sentCount++;
-                    log.info(
-                            "Sent message-status-update to client: {} (user: {})",
-                            client.getSessionId(),
-                            webSocketSession.getUserId());
-                } catch (JsonProcessingException e) {
-                    log.error("Error serializing message status update for client: {}", client.getSessionId(), e);
-                }
-            } else {
-                log.debug("Skipping client {} - not a conversation participant", client.getSessionId());
-            }
-        }
-
-        log.info("Successfully sent message-status-update to {} clients", sentCount);
+        log.info(
+                "Sent read receipt for conversation {} (reader {}, up to {}) to {} participants",
+                receipt.getConversationId(),
+                receipt.getReaderId(),
+                receipt.getReadUpTo(),
+                userIds.size());
     }
 
     public void broadcastReactionUpdate(String messageId, String reactingUserId) {
@@ -1170,41 +1259,17 @@ public class ChatMessageService {
                     .map(ParticipantInfo::getUserId)
                     .toList();
 
-            Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                    webSocketSessionRepository.findAllByUserIdIn(userIds));
-
             // ✅ Broadcast ONLY to OTHER participants, NOT the reacting user
-            socketIOServer.getAllClients().forEach(client -> {
-                var webSocketSession = webSocketSessions.get(client.getSessionId().toString());
-                if (Objects.nonNull(webSocketSession)) {
-                    String recipientUserId = webSocketSession.getUserId();
-
-                    // ✅ SKIP người vừa react/pin/unpin
-                    if (recipientUserId.equals(reactingUserId)) {
-                        log.debug("Skipping reaction update for reacting user: {}", reactingUserId);
-                        return; // Không gửi cho chính user đó
-                    }
-
-                    try {
-                        var reactionSummary = messageReactionService.getMessageReactionsSummary(
-                                messageId, recipientUserId);
-
-                        var reactionUpdate = Map.of(
-                                "messageId", messageId,
-                                "conversationId", conversationId,
-                                "reactions", reactionSummary,
-                                "reactingUserId", reactingUserId // ✅ Thêm info về người react
-                        );
-
-                        String reactionUpdateJson = objectMapper.writeValueAsString(reactionUpdate);
-                        client.sendEvent("reaction-update", reactionUpdate);
+            List<String> recipients = userIds.stream()
+                    .filter(recipientUserId -> !recipientUserId.equals(reactingUserId))
+                    .toList();
 
-                        log.debug("Sent reaction update to user: {}", recipientUserId);
-                    } catch (Exception e) {
-                        log.error("Error sending reaction update", e);
-                    }
-                }
-            });
+            socketRoomService.sendToEachUser(conversationId, recipients, "reaction-update", recipientUserId -> Map.of(
+                    "messageId", messageId,
+                    "conversationId", conversationId,
+                    "reactions", messageReactionService.getMessageReactionsSummary(message, recipientUserId),
+                    "reactingUserId", reactingUserId // ✅ Thêm info về người react
+            ));
 
             log.info("Broadcasted reaction update for message: {} to {} other participants",
                     messageId, userIds.size() - 1);
@@ -1246,6 +1311,7 @@ public class ChatMessageService {
 
         // Save the recalled message
         message = chatMessageRepository.save(message);
+        conversationSyncService.recordChange(message, ConversationSyncService.RECALL);
 
         // Get conversation for broadcasting
         var conversation = conversationRepository
@@ -1289,29 +1355,12 @@ public class ChatMessageService {
                     .map(ParticipantInfo::getUserId)
                     .toList();
 
-            Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                    webSocketSessionRepository.findAllByUserIdIn(userIds));
-
-            socketIOServer.getAllClients().forEach(client -> {
-                var webSocketSession = webSocketSessions.get(client.getSessionId().toString());
-                if (Objects.nonNull(webSocketSession)) {
-                    try {
-                        String currentUserId = webSocketSession.getUserId();
-                        ChatMessageResponse response = toChatMessageResponseForRecall(
-                                recalledMessage, currentUserId, recallerUserId
-                        );
-
-                        // ✅ GỬI OBJECT TRỰC TIẾP, KHÔNG STRINGIFY
-                        client.sendEvent("message-recalled", response);
-
-                        log.debug("Sent recall update to client: {} (user: {})",
-                                client.getSessionId(), currentUserId);
-                    } catch (Exception e) {
-                        log.error("Error sending recall update to client: {}",
-                                client.getSessionId(), e);
-                    }
-                }
-            });
+            // ✅ GỬI OBJECT TRỰC TIẾP, KHÔNG STRINGIFY
+            socketRoomService.sendToEachUser(
+                    conversation.getId(),
+                    userIds,
+                    "message-recalled",
+                    currentUserId -> toChatMessageResponseForRecall(recalledMessage, currentUserId, recallerUserId));
 
             log.info("Broadcasted recall update for message: {} to {} participants",
                     recalledMessage.getId(), userIds.size());
@@ -1377,13 +1426,13 @@ public class ChatMessageService {
 
         // Save the pinned message
         message = chatMessageRepository.save(message);
+        conversationSyncService.recordChange(message, ConversationSyncService.PIN);
 
         // Get user info for system message
-        var userResponse = profileClient.getProfile(userId);
-        if (Objects.isNull(userResponse)) {
+        var userInfo = profileCacheService.getProfile(userId);
+        if (Objects.isNull(userInfo)) {
             throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
         }
-        var userInfo = userResponse.getResult();
 
         // Create system message for pin action
         ChatMessage systemMessage = ChatMessage.builder()
@@ -1449,13 +1498,13 @@ public class ChatMessageService {
 
         // Save the unpinned message
         message = chatMessageRepository.save(message);
+        conversationSyncService.recordChange(message, ConversationSyncService.UNPIN);
 
         // Get user info for system message
-        var userResponse = profileClient.getProfile(userId);
-        if (Objects.isNull(userResponse)) {
+        var userInfo = profileCacheService.getProfile(userId);
+        if (Objects.isNull(userInfo)) {
             throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
         }
-        var userInfo = userResponse.getResult();
 
         // Create system message for unpin action
         ChatMessage systemMessage = ChatMessage.builder()
@@ -1498,32 +1547,9 @@ public class ChatMessageService {
                     .map(ParticipantInfo::getUserId)
                     .toList();
 
-            Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                    webSocketSessionRepository.findAllByUserIdIn(userIds));
-
-            // Broadcast to all connected clients who are participants in this conversation
-            socketIOServer.getAllClients().forEach(client -> {
-                var webSocketSession =
-                        webSocketSessions.get(client.getSessionId().toString());
-                if (Objects.nonNull(webSocketSession)) {
-                    try {
-                        String currentUserId = webSocketSession.getUserId();
-                        ChatMessageResponse response = toChatMessageResponse(message, currentUserId);
-
-                        String messageJson = objectMapper.writeValueAsString(response);
-                        String eventName = isPinned ? "message-pinned" : "message-unpinned";
-                        client.sendEvent(eventName, response);
-
-                        log.debug(
-                                "Sent {} update to client: {} (user: {})",
-                                eventName,
-                                client.getSessionId(),
-                                currentUserId);
-                    } catch (Exception e) {
-                        log.error("Error sending pin update to client: {}", client.getSessionId(), e);
-                    }
-                }
-            });
+            // Broadcast to the user rooms of all participants in this conversation
+            String eventName = isPinned ? "message-pinned" : "message-unpinned";
+            sendMessageToParticipants(message, userIds, eventName, null, (response, currentUserId) -> {});
 
             log.info(
                     "Broadcasted {} update for message: {} to {} participants",
@@ -1567,8 +1593,10 @@ public class ChatMessageService {
                     .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
             // Get user info
-            var userResponse = profileClient.getProfile(userId);
-            var userInfo = userResponse.getResult();
+            var userInfo = profileCacheService.getProfile(userId);
+            if (userInfo == null) {
+                throw new AppException(ErrorCode.USER_NOT_EXISTED);
+            }
 
             // Determine message type based on file type
             String messageType = determineMessageTypeFromUrl(request.getFileType());
@@ -1660,8 +1688,10 @@ public class ChatMessageService {
                     .orElseThrow(() -> new AppException(ErrorCode.CONVERSATION_NOT_FOUND));
 
             // Get user info
-            var userResponse = profileClient.getProfile(userId);
-            var userInfo = userResponse.getResult();
+            var userInfo = profileCacheService.getProfile(userId);
+            if (userInfo == null) {
+                throw new AppException(ErrorCode.USER_NOT_EXISTED);
+            }
 
             // Determine message type based on file type
             String messageType = determineMessageTypeFromUrl(request.getFileType()) + "_REPLY";
@@ -1764,6 +1794,7 @@ public class ChatMessageService {
 
             // Delete the message
             chatMessageRepository.delete(message);
+            conversationSyncService.recordChange(message, ConversationSyncService.DELETE);
             log.info("📁 Socket media message deleted from database: {}", messageId);
 
             // Update conversation if this was the last message
@@ -1771,14 +1802,12 @@ public class ChatMessageService {
                     && conversation.getLastMessage().getId().equals(messageId)) {
 
                 // Find the previous message to set as last message
-                var messages = chatMessageRepository.findAllByConversationIdOrderByCreatedDateDesc(
-                        (message.getConversationId()));
+                var messages = chatMessageRepository.findByConversationId(
+                        message.getConversationId(),
+                        PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdDate")
+                                .and(Sort.by(Sort.Direction.DESC, "_id"))));
 
-                if (messages.size() > 1) {
-                    conversation.setLastMessage(messages.get(1));
-                } else {
-                    conversation.setLastMessage(null);
-                }
+                conversation.setLastMessage(messages.isEmpty() ? null : messages.get(0));
                 conversation.setModifiedDate(Instant.now());
                 conversationRepository.save(conversation);
             }
@@ -1825,9 +1854,6 @@ public class ChatMessageService {
                     .map(ParticipantInfo::getUserId)
                     .toList();
 
-            Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                    webSocketSessionRepository.findAllByUserIdIn(userIds));
-
             // Create deletion notification
             Map<String, Object> deletionData = Map.of(
                     "messageId",
@@ -1839,19 +1865,8 @@ public class ChatMessageService {
                     "timestamp",
                     Instant.now().toString());
 
-            socketIOServer.getAllClients().forEach(client -> {
-                var webSocketSession =
-                        webSocketSessions.get(client.getSessionId().toString());
-
-                if (Objects.nonNull(webSocketSession)) {
-                    try {
-                        String message = objectMapper.writeValueAsString(deletionData);
-                        client.sendEvent("message-deleted", message);
-                    } catch (JsonProcessingException e) {
-                        log.error("Error serializing media deletion response", e);
-                    }
-                }
-            });
+            socketRoomService.sendToUsers(
+                    conversation.getId(), userIds, "message-deleted", objectMapper.writeValueAsString(deletionData));
 
             log.info("📁 Media deletion broadcasted to {} participants", userIds.size());
 
@@ -1895,14 +1910,14 @@ public class ChatMessageService {
             // Fetch all participant profiles
             List<ParticipantInfo> participants = new ArrayList<>();
 
+            var profiles = profileCacheService.getProfiles(allParticipantIds);
             for (String participantId : allParticipantIds) {
-                var profileResponse = profileClient.getProfile(participantId);
-                if (profileResponse == null || profileResponse.getResult() == null) {
+                var userInfo = profiles.get(participantId);
+                if (userInfo == null) {
                     log.error("🔥 Failed to fetch profile for user: {}", participantId);
                     throw new AppException(ErrorCode.USER_NOT_EXISTED);
                 }
 
-                var userInfo = profileResponse.getResult();
                 participants.add(ParticipantInfo.builder()
                         .userId(userInfo.getUserId())
                         .username(userInfo.getUser().getUsername())
@@ -1917,8 +1932,7 @@ public class ChatMessageService {
             String participantsHash = generateParticipantHash(sortedIds);
 
             // Get creator profile for reader info
-            var creatorProfileResponse = profileClient.getProfile(creatorId);
-            var creatorInfo = creatorProfileResponse.getResult();
+            var creatorInfo = profileCacheService.getProfile(creatorId);
             ParticipantInfo creatorReaderInfo = ParticipantInfo.builder()
                     .userId(creatorInfo.getUserId())
                     .username(creatorInfo.getUser().getUsername())
@@ -1996,36 +2010,17 @@ public class ChatMessageService {
                     .map(ParticipantInfo::getUserId)
                     .toList();
 
-            Map<String, WebSocketSession> webSocketSessions = createWebSocketSessionMap(
-                    webSocketSessionRepository.findAllByUserIdIn(userIds));
-
             log.info("🔥 Broadcasting new group conversation to {} participants", userIds.size());
 
             // Create conversation response for each participant
-            socketIOServer.getAllClients().forEach(client -> {
-                var webSocketSession =
-                        webSocketSessions.get(client.getSessionId().toString());
-
-                if (Objects.nonNull(webSocketSession)) {
-                    try {
-                        String currentUserId = webSocketSession.getUserId();
-
-                        // Create conversation response with proper group handling
-                        var conversationResponse = createConversationResponseForUser(groupConversation, currentUserId);
-
-                        String message = objectMapper.writeValueAsString(conversationResponse);
-                        client.sendEvent("new-group-conversation", message);
-
-                        log.info(
-                                "🔥 Sent new group conversation to client: {} (user: {})",
-                                client.getSessionId(),
-                                currentUserId);
-                    } catch (JsonProcessingException e) {
-                        log.error(
-                                "🔥 Error serializing group conversation response for client: {}",
-                                client.getSessionId(),
-                                e);
-                    }
+            socketRoomService.sendToEachUser(
+                    groupConversation.getId(), userIds, "new-group-conversation", currentUserId -> {
+                try {
+                    // Create conversation response with proper group handling
+                    return objectMapper.writeValueAsString(
+                            createConversationResponseForUser(groupConversation, currentUserId));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Error serializing group conversation response", e);
                 }
             });
 
@@ -2043,88 +2038,7 @@ public class ChatMessageService {
      * Create conversation response for a specific user
      */
     private ConversationResponse createConversationResponseForUser(Conversation conversation, String userId) {
-        long unreadCount = 0;
-
-        if ("GROUP".equals(conversation.getType())) {
-            // For group conversations, find the most recent time this user was added
-            List<ChatMessage> allMessages = chatMessageRepository.findByConversationId(conversation.getId());
-
-            // Find the most recent SYSTEM_ADD_MEMBERS message where this user was added
-            Instant userLastAddedTime = null;
-            for (int i = allMessages.size() - 1; i >= 0; i--) {
-                ChatMessage message = allMessages.get(i);
-                if ("SYSTEM_ADD_MEMBERS".equals(message.getType())
-                        && message.getMessage().startsWith("SYSTEM_ADD_MEMBERS:")) {
-                    try {
-                        // Extract metadata to check if this user was added
-                        String metadataJson = message.getMessage().substring("SYSTEM_ADD_MEMBERS:".length());
-                        Map<String, Object> metadata = objectMapper.readValue(metadataJson, Map.class);
-                        List<String> addedMemberIds = (List<String>) metadata.get("addedMemberIds");
-
-                        if (addedMemberIds != null && addedMemberIds.contains(userId)) {
-                            userLastAddedTime = message.getCreatedDate();
-                            log.info(
-                                    "🔍 [ChatMessageService] User {} was last added to group at: {}",
-                                    userId,
-                                    userLastAddedTime);
-                            break;
-                        }
-                    } catch (Exception e) {
-                        log.warn("🔍 [ChatMessageService] Error parsing add members metadata: {}", e.getMessage());
-                    }
-                }
-            }
-
-            // Count unread messages only from after the user's last addition (or all if never added via system message)
-            for (ChatMessage message : allMessages) {
-                // Skip messages that were created before the user's last addition to the group
-                if (userLastAddedTime != null && message.getCreatedDate().isBefore(userLastAddedTime)) {
-                    continue;
-                }
-
-                // Skip basic system messages that shouldn't count toward unread
-                if ("SYSTEM".equals(message.getType())
-                        && (message.getMessage().contains("Let's start chat")
-                                || message.getMessage().contains("start chat conversation"))) {
-                    continue;
-                }
-
-                // Skip messages sent by the current user (they auto-read their own messages)
-                if (message.getSender() != null
-                        && userId.equals(message.getSender().getUserId())) {
-                    continue;
-                }
-
-                // Check if user has read this message
-                boolean userHasRead = false;
-
-                if (message.getReaders() != null) {
-                    userHasRead = message.getReaders().stream()
-                            .anyMatch(reader -> reader.getUserId().equals(userId));
-                }
-
-                // If user hasn't read it, count it as unread
-                if (!userHasRead) {
-                    unreadCount++;
-                    log.info(
-                            "🔍 [ChatMessageService] Unread message found (after last addition): id={}, type={}, createdDate={}, message='{}'",
-                            message.getId(),
-                            message.getType(),
-                            message.getCreatedDate(),
-                            message.getMessage()
-                                    .substring(
-                                            0, Math.min(30, message.getMessage().length())));
-                }
-            }
-        } else {
-            // For direct conversations, use the original logic
-            List<String> systemTypes =
-                    List.of("SYSTEM", "SYSTEM_ADD_MEMBERS", "SYSTEM_REMOVE_MEMBERS", "SYSTEM_CREATE_GROUP");
-            unreadCount = chatMessageRepository.countByConversationIdAndSenderUserIdNotAndStatusNotAndTypeNotIn(
-                    conversation.getId(), userId, "SEEN", systemTypes);
-        }
-
-        log.info("🔍 [ChatMessageService] Total unread count for user {}: {}", userId, unreadCount);
+        long unreadCount = unreadCounterService.getUnreadCount(conversation, userId);
 
         // Create and return proper ConversationResponse object
         return ConversationResponse.builder()
@@ -2177,29 +2091,8 @@ public class ChatMessageService {
     }
 
     public void broadcastGroupInfoUpdate(String conversationId, ConversationResponse updatedConversation) {
-        // Get all WebSocket sessions for participants in this conversation
-        List<WebSocketSession> participantSessions =
-                webSocketSessionRepository.findAllByCurrentConversationId(conversationId);
-
-        log.info(
-                "Broadcasting group info update to {} participants in conversation: {}",
-                participantSessions.size(),
-                conversationId);
-
-        // Broadcast to all participants currently in the conversation
-        for (WebSocketSession session : participantSessions) {
-            try {
-                socketIOServer
-                        .getClient(java.util.UUID.fromString(session.getSocketSessionId()))
-                        .sendEvent("group-info-updated", updatedConversation);
-                log.info(
-                        "Sent group info update to user: {} (session: {})",
-                        session.getUserId(),
-                        session.getSocketSessionId());
-            } catch (Exception e) {
-                log.error("Failed to send group info update to session: {}", session.getSocketSessionId(), e);
-            }
-        }
+        // Participants currently viewing the conversation get the full group info update
+        socketRoomService.sendToConversation(conversationId, "group-info-updated", updatedConversation);
 
         // Also broadcast to all participants regardless of their current conversation
         // This ensures all group members get the update even if they're not currently viewing the chat
@@ -2207,24 +2100,10 @@ public class ChatMessageService {
                 .map(ParticipantInfo::getUserId)
                 .toList();
 
-        List<WebSocketSession> allParticipantSessions = webSocketSessionRepository.findAllByUserIdIn(participantIds);
+        socketRoomService.sendToUsersOutsideConversation(
+                participantIds, conversationId, "conversation-updated", updatedConversation);
 
-        for (WebSocketSession session : allParticipantSessions) {
-            if (participantSessions.stream()
-                    .noneMatch(s -> s.getSocketSessionId().equals(session.getSocketSessionId()))) {
-                try {
-                    socketIOServer
-                            .getClient(java.util.UUID.fromString(session.getSocketSessionId()))
-                            .sendEvent("conversation-updated", updatedConversation);
-                    log.info(
-                            "Sent conversation update to user: {} (session: {})",
-                            session.getUserId(),
-                            session.getSocketSessionId());
-                } catch (Exception e) {
-                    log.error("Failed to send conversation update to session: {}", session.getSocketSessionId(), e);
-                }
-            }
-        }
+        log.info("Broadcast group info update for conversation {} to {} participants", conversationId, participantIds.size());
     }
 
     public ChatMessageResponse forwardMessage(ForwardMessageRequest request) {
@@ -2234,11 +2113,10 @@ public class ChatMessageService {
                 .orElseThrow(() -> new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION));
 
         // Get user info for sender
-        var userResponse = profileClient.getProfile(request.getFromUserId());
-        if (userResponse == null || userResponse.getResult() == null) {
+        var userInfo = profileCacheService.getProfile(request.getFromUserId());
+        if (userInfo == null) {
             throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
         }
-        var userInfo = userResponse.getResult();
 
         // Build new ChatMessage for the target conversation
         ChatMessage chatMessage = ChatMessage.builder()
@@ -2296,6 +2174,7 @@ public class ChatMessageService {
         chatMessage.setModifiedDate(Instant.now());
 
         chatMessage = chatMessageRepository.save(chatMessage);
+        conversationSyncService.recordChange(chatMessage, ConversationSyncService.EDIT);
 
         // Update conversation lastMessage if this is the latest message
         Conversation conversation = conversationRepository
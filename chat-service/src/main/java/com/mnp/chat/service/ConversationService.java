@@ -2,12 +2,12 @@ package com.mnp.chat.service;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,15 +20,17 @@ import com.mnp.chat.dto.request.CreateProjectGroupRequest;
 import com.mnp.chat.dto.request.EditGroupInfoRequest;
 import com.mnp.chat.dto.request.RemoveParticipantsRequest;
 import com.mnp.chat.dto.response.ChatMessageResponse;
+import com.mnp.chat.dto.response.ConversationPageResponse;
 import com.mnp.chat.dto.response.ConversationResponse;
 import com.mnp.chat.entity.ChatMessage;
 import com.mnp.chat.entity.Conversation;
+import com.mnp.chat.entity.ConversationReadState;
 import com.mnp.chat.entity.ParticipantInfo;
 import com.mnp.chat.exception.AppException;
 import com.mnp.chat.exception.ErrorCode;
 import com.mnp.chat.repository.ChatMessageRepository;
 import com.mnp.chat.repository.ConversationRepository;
-import com.mnp.chat.repository.httpclient.ProfileClient;
+import com.mnp.chat.util.MessageCursor;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -43,34 +45,87 @@ public class ConversationService {
     ConversationRepository conversationRepository;
     ChatMessageRepository chatMessageRepository;
     ChatMessageService chatMessageService;
-    ProfileClient profileClient;
+    UnreadCounterService unreadCounterService;
+    ConversationSummaryService conversationSummaryService;
+    ProfileCacheService profileCacheService;
 //    ChatNotificationService chatNotificationService;
 
     ObjectMapper objectMapper; // Add ObjectMapper for JSON parsing
 
+    static final int DEFAULT_PAGE_SIZE = 30;
+    static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * All conversations of the current user, most recently active first
+     */
     public List<ConversationResponse> myConversations() {
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<Conversation> conversations = conversationRepository.findAllByParticipantIdsContains(userId);
+        return toConversationResponses(conversationSummaryService.findAll(userId), userId);
+    }
 
-        return conversations.stream()
-                .map(conversation -> toConversationResponse(conversation, userId))
+    /**
+     * One page of the current user's conversations, most recently active first.
+     * Pass the previous page's nextCursor as "before" to continue.
+     */
+    public ConversationPageResponse myConversationsPage(String before, Integer limit) {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        MessageCursor cursor = before != null ? MessageCursor.decode(before) : null;
+
+        // Fetch one extra row to know whether another page exists
+        List<ConversationReadState> summaries =
+                new ArrayList<>(conversationSummaryService.findPage(userId, cursor, pageSize + 1));
+        boolean hasMore = summaries.size() > pageSize;
+        if (hasMore) {
+            summaries.remove(summaries.size() - 1);
+        }
+
+        ConversationReadState last = summaries.isEmpty() ? null : summaries.getLast();
+        boolean hasCursor = last != null && last.getLastActivityAt() != null;
+        return ConversationPageResponse.builder()
+                .conversations(toConversationResponses(summaries, userId))
+                .nextCursor(
+                        hasCursor
+                                ? new MessageCursor(last.getLastActivityAt(), last.getConversationId()).encode()
+                                : before)
+                .hasMore(hasMore && hasCursor)
+                .build();
+    }
+
+    // One lookup by id for the conversations of the page; unread count and preview come from the summary row
+    private List<ConversationResponse> toConversationResponses(List<ConversationReadState> summaries, String userId) {
+        Map<String, Conversation> conversations = conversationRepository
+                .findAllById(summaries.stream()
+                        .map(ConversationReadState::getConversationId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Conversation::getId, Function.identity()));
+
+        return summaries.stream()
+                .filter(summary -> conversations.containsKey(summary.getConversationId()))
+                .map(summary -> {
+                    ConversationResponse response = toConversationResponse(
+                            conversations.get(summary.getConversationId()), userId, summary.getUnreadCount());
+                    response.setLastActivityAt(summary.getLastActivityAt());
+                    response.setLastMessagePreview(summary.getLastMessagePreview());
+                    response.setJoinedAt(summary.getJoinedAt());
+                    return response;
+                })
                 .toList();
     }
 
     public ConversationResponse create(ConversationRequest request) {
         // Fetch user infos
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
-        var userInfoResponse = profileClient.getProfile(userId);
-        var participantInfoResponse =
-                profileClient.getProfile(request.getParticipantIds().getFirst());
+        String otherUserId = request.getParticipantIds().getFirst();
+        var profiles = profileCacheService.getProfiles(List.of(userId, otherUserId));
+        var userInfo = profiles.get(userId);
+        var participantInfo = profiles.get(otherUserId);
 
-        if (Objects.isNull(userInfoResponse) || Objects.isNull(participantInfoResponse)) {
+        if (Objects.isNull(userInfo) || Objects.isNull(participantInfo)) {
             throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
         }
 
-        var userInfo = userInfoResponse.getResult();
-        var participantInfo = participantInfoResponse.getResult();
-
         List<String> userIds = new ArrayList<>();
         userIds.add(userId);
         userIds.add(participantInfo.getUserId());
@@ -133,90 +188,16 @@ public class ConversationService {
         return stringJoiner.toString();
     }
 
-    // Fix the unread count calculation to properly handle group conversations by checking the readers field instead of
-    // just the status field, and exclude basic system messages that shouldn't count toward unread count
     private ConversationResponse toConversationResponse(Conversation conversation, String currentUserId) {
-        log.info("🔍 Calculating unread count for user {} in conversation {}", currentUserId, conversation.getId());
-
-        long unreadCount = 0;
-
-        if ("GROUP".equals(conversation.getType())) {
-            // For group conversations, find the most recent time this user was added
-            List<ChatMessage> allMessages = chatMessageRepository.findByConversationId(conversation.getId());
-
-            // Find the most recent SYSTEM_ADD_MEMBERS message where this user was added
-            Instant userLastAddedTime = null;
-            for (int i = allMessages.size() - 1; i >= 0; i--) {
-                ChatMessage message = allMessages.get(i);
-                if ("SYSTEM_ADD_MEMBERS".equals(message.getType())
-                        && message.getMessage().startsWith("SYSTEM_ADD_MEMBERS:")) {
-                    try {
-                        // Extract metadata to check if this user was added
-                        String metadataJson = message.getMessage().substring("SYSTEM_ADD_MEMBERS:".length());
-                        Map<String, Object> metadata = objectMapper.readValue(metadataJson, Map.class);
-                        List<String> addedMemberIds = (List<String>) metadata.get("addedMemberIds");
-
-                        if (addedMemberIds != null && addedMemberIds.contains(currentUserId)) {
-                            userLastAddedTime = message.getCreatedDate();
-                            log.info("🔍 User {} was last added to group at: {}", currentUserId, userLastAddedTime);
-                            break;
-                        }
-                    } catch (Exception e) {
-                        log.warn("🔍 Error parsing add members metadata: {}", e.getMessage());
-                    }
-                }
-            }
-
-            // Count unread messages only from after the user's last addition (or all if never added via system message)
-            for (ChatMessage message : allMessages) {
-                // Skip messages that were created before the user's last addition to the group
-                if (userLastAddedTime != null && message.getCreatedDate().isBefore(userLastAddedTime)) {
-                    continue;
-                }
-
-//                // Skip basic system messages that shouldn't count toward unread
-//                if ("SYSTEM".equals(message.getType())
-//                        && (message.getMessage().contains("Let's start chat")
-//                                || message.getMessage().contains("start chat conversation"))) {
-//                    continue;
-//                }
-
-                // Skip messages sent by the current user (they auto-read their own messages)
-                if (message.getSender() != null
-                        && currentUserId.equals(message.getSender().getUserId())) {
-                    continue;
-                }
-
-                // Check if user has read this message
-                boolean userHasRead = false;
-
-                if (message.getReaders() != null) {
-                    userHasRead = message.getReaders().stream()
-                            .anyMatch(reader -> reader.getUserId().equals(currentUserId));
-                }
-
-                // If user hasn't read it, count it as unread
-                if (!userHasRead) {
-                    unreadCount++;
-//                    log.info(
-//                            "🔍 Unread message found (after last addition): id={}, type={}, createdDate={}, message='{}'",
-//                            message.getId(),
-//                            message.getType(),
-//                            message.getCreatedDate(),
-//                            message.getMessage()
-//                                    .substring(
-//                                            0, Math.min(30, message.getMessage().length())));
-                }
-            }
-        } else {
-            // For direct conversations, use the original logic
-            List<String> excludedSystemTypes = Arrays.asList("SYSTEM");
-            unreadCount = chatMessageRepository.countByConversationIdAndSenderUserIdNotAndStatusNotAndTypeNotIn(
-                    conversation.getId(), currentUserId, "SEEN", excludedSystemTypes);
-        }
-
-        log.info("🔍 Total unread count for user {}: {}", currentUserId, unreadCount);
+        long unreadCount = "SYSTEM".equals(currentUserId)
+                ? 0
+                : unreadCounterService.getUnreadCount(conversation, currentUserId);
+        return toConversationResponse(conversation, currentUserId, unreadCount);
+    }
 
+    // Unread counts come from the per-user counters maintained by UnreadCounterService
+    private ConversationResponse toConversationResponse(
+            Conversation conversation, String currentUserId, long unreadCount) {
         // Debug logging for lastMessage
         ChatMessage lastMessage = conversation.getLastMessage();
         if (lastMessage != null) {
@@ -384,13 +365,13 @@ public class ConversationService {
         }
 
         // Create ParticipantInfo objects for new members
+        var newMemberProfiles = profileCacheService.getProfiles(newMemberIds);
         List<ParticipantInfo> newParticipants = newMemberIds.stream()
                 .map(participantId -> {
-                    var profileResponse = profileClient.getProfile(participantId);
-                    if (profileResponse == null || profileResponse.getResult() == null) {
+                    var userProfile = newMemberProfiles.get(participantId);
+                    if (userProfile == null) {
                         throw new AppException(ErrorCode.USER_NOT_EXISTED);
                     }
-                    var userProfile = profileResponse.getResult();
                     var userInfo = userProfile.getUser(); // Access nested user data
                     return ParticipantInfo.builder()
                             .userId(userProfile.getUserId())
@@ -587,11 +568,10 @@ public class ConversationService {
         }
 
         // Get user info for system message
-        var userInfoResponse = profileClient.getProfile(userId);
-        if (Objects.isNull(userInfoResponse)) {
+        var userInfo = profileCacheService.getProfile(userId);
+        if (Objects.isNull(userInfo)) {
             throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
         }
-        var userInfo = userInfoResponse.getResult();
         String editorName =
                 userInfo.getUser().getFirstName() + " " + userInfo.getUser().getLastName();
 
@@ -660,13 +640,13 @@ public class ConversationService {
         }
 
         // Fetch user information for all participants
+        var profiles = profileCacheService.getProfiles(allParticipantIds);
         List<ParticipantInfo> participants = allParticipantIds.stream()
                 .map(userId -> {
-                    var profileResponse = profileClient.getProfile(userId);
-                    if (profileResponse == null || profileResponse.getResult() == null) {
+                    var userInfo = profiles.get(userId);
+                    if (userInfo == null) {
                         throw new AppException(ErrorCode.USER_NOT_EXISTED);
                     }
-                    var userInfo = profileResponse.getResult();
                     return ParticipantInfo.builder()
                             .userId(userInfo.getUserId())
                             .username(userInfo.getUser().getUsername())
@@ -747,12 +727,11 @@ public class ConversationService {
         }
 
         // Get user information
-        var profileResponse = profileClient.getProfile(userId);
-        if (profileResponse == null || profileResponse.getResult() == null) {
+        var userInfo = profileCacheService.getProfile(userId);
+        if (userInfo == null) {
             throw new AppException(ErrorCode.USER_NOT_EXISTED);
         }
 
-        var userInfo = profileResponse.getResult();
         var user = userInfo.getUser();
 
         // Extract complete user profile data including department, position, and role information
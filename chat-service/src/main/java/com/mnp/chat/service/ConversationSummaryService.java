@@ -0,0 +1,291 @@
+package com.mnp.chat.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mnp.chat.entity.ChatMessage;
+import com.mnp.chat.entity.Conversation;
+import com.mnp.chat.entity.ConversationReadState;
+import com.mnp.chat.entity.ParticipantInfo;
+import com.mnp.chat.repository.ConversationRepository;
+import com.mnp.chat.util.MessageCursor;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Maintains the conversation-list fields of conversation_read_state (last message preview, last activity,
+ * membership). Every conversation save is mirrored to one row per member and rows of former members are
+ * dropped, so a user's conversation list is a range scan over (userId, lastActivityAt) and never touches
+ * the conversations the user is not about to see.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConversationSummaryService {
+    static final int PREVIEW_MAX_LENGTH = 200;
+    static final int REBUILD_PAGE_SIZE = 500;
+    static final String RECALLED_PREVIEW = "Message has been recalled";
+
+    static final Sort MOST_RECENT_FIRST =
+            Sort.by(Sort.Direction.DESC, "lastActivityAt").and(Sort.by(Sort.Direction.DESC, "conversationId"));
+
+    MongoTemplate mongoTemplate;
+    ConversationRepository conversationRepository;
+    UnreadCounterService unreadCounterService;
+
+    /**
+     * Copy the conversation's last message and membership to its members' rows.
+     * Saves can run concurrently or land out of order, so an existing row only takes the summary if it is
+     * not older than the row's, the same guard rebuild uses; missing rows are inserted with it.
+     */
+    public void onConversationSaved(Conversation conversation) {
+        List<String> memberIds = memberIds(conversation);
+        Instant now = Instant.now();
+
+        if (!memberIds.isEmpty()) {
+            BulkOperations bulk =
+                    mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ConversationReadState.class);
+            for (String userId : memberIds) {
+                // A row created here belongs to a new member: nothing sent before now is unread for them
+                Update insert = new Update().setOnInsert("joinedAt", now).setOnInsert("trackedSince", now);
+                summaryFields(conversation, userId, now).forEach(insert::setOnInsert);
+                bulk.upsert(memberRow(conversation.getId(), userId), insert);
+                bulk.updateOne(
+                        notNewerThan(memberRow(conversation.getId(), userId), lastActivityAt(conversation)),
+                        summaryUpdate(conversation, userId, now));
+            }
+            bulk.execute();
+        }
+
+        // Former members drop out of the list immediately, together with their counters
+        mongoTemplate.remove(
+                query(where("conversationId").is(conversation.getId()).and("userId").nin(memberIds)),
+                ConversationReadState.class);
+    }
+
+    /**
+     * Every conversation of the user, most recently active first
+     */
+    public List<ConversationReadState> findAll(String userId) {
+        return mongoTemplate.find(
+                query(where("userId").is(userId)).with(MOST_RECENT_FIRST), ConversationReadState.class);
+    }
+
+    /**
+     * Ids of every conversation the user belongs to
+     */
+    public List<String> findConversationIds(String userId) {
+        Query query = query(where("userId").is(userId));
+        query.fields().include("conversationId");
+        return mongoTemplate.find(query, ConversationReadState.class).stream()
+                .map(ConversationReadState::getConversationId)
+                .toList();
+    }
+
+    /**
+     * Up to limit conversations of the user that were last active before the cursor, most recent first
+     */
+    public List<ConversationReadState> findPage(String userId, MessageCursor before, int limit) {
+        Query query = query(where("userId").is(userId));
+        if (before != null) {
+            query.addCriteria(new Criteria()
+                    .orOperator(
+                            where("lastActivityAt").lt(before.createdDate()),
+                            where("lastActivityAt")
+                                    .is(before.createdDate())
+                                    .and("conversationId")
+                                    .lt(before.id())));
+        }
+        return mongoTemplate.find(query.with(MOST_RECENT_FIRST).limit(limit), ConversationReadState.class);
+    }
+
+    /**
+     * Build the summaries once for conversations that predate them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfMissing() {
+        if (!mongoTemplate.exists(query(where("lastActivityAt").exists(true)), ConversationReadState.class)
+                && conversationRepository.count() > 0) {
+            log.info("Conversation summaries have not been built yet, building them now");
+            rebuild();
+        }
+    }
+
+    /**
+     * Recreate missing member rows and refresh the summary of every conversation.
+     * A row is refreshed only if no newer activity reached it since the conversation was read.
+     */
+    @Scheduled(cron = "${app.chat.conversation-list.rebuild-cron:0 30 4 * * *}")
+    @SchedulerLock(name = "chat-conversation-list-rebuild")
+    public void rebuild() {
+        int checked = 0;
+        int created = 0;
+
+        int page = 0;
+        Page<Conversation> batch;
+        do {
+            batch = conversationRepository.findAll(PageRequest.of(page++, REBUILD_PAGE_SIZE, Sort.by("_id")));
+            for (Conversation conversation : batch) {
+                checked++;
+                try {
+                    created += rebuild(conversation);
+                } catch (Exception e) {
+                    log.error(
+                            "Error rebuilding summaries of conversation {}: {}",
+                            conversation.getId(),
+                            e.getMessage());
+                }
+            }
+        } while (batch.hasNext());
+
+        log.info("Conversation summary rebuild: checked={}, created={}", checked, created);
+    }
+
+    private int rebuild(Conversation conversation) {
+        List<String> memberIds = memberIds(conversation);
+        Query rows = query(where("conversationId").is(conversation.getId()));
+        rows.fields().include("userId");
+        Set<String> existing = mongoTemplate.find(rows, ConversationReadState.class).stream()
+                .map(ConversationReadState::getUserId)
+                .collect(Collectors.toSet());
+
+        // One scan of the group's additions serves both the new counters and the join times below
+        Map<String, Instant> addedAt = unreadCounterService.lastAddedAt(conversation);
+        List<String> missing = memberIds.stream()
+                .filter(userId -> !existing.contains(userId))
+                .toList();
+        if (!missing.isEmpty()) {
+            // Counts each member's unread history since they joined, once, and creates the rows
+            unreadCounterService.initialize(conversation, missing, addedAt);
+        }
+
+        Instant now = Instant.now();
+        Instant lastActivityAt = lastActivityAt(conversation);
+        if (!memberIds.isEmpty()) {
+            BulkOperations bulk =
+                    mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ConversationReadState.class);
+            for (String userId : memberIds) {
+                bulk.updateOne(
+                        notNewerThan(memberRow(conversation.getId(), userId), lastActivityAt),
+                        summaryUpdate(conversation, userId, now));
+            }
+            bulk.execute();
+        }
+
+        // Members never added by a system message are assumed to have been there from the start
+        Instant createdDate = conversation.getCreatedDate() != null ? conversation.getCreatedDate() : now;
+        if (!memberIds.isEmpty()) {
+            BulkOperations joins =
+                    mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ConversationReadState.class);
+            for (String userId : memberIds) {
+                joins.updateOne(
+                        memberRow(conversation.getId(), userId).addCriteria(where("joinedAt").exists(false)),
+                        new Update().set("joinedAt", addedAt.getOrDefault(userId, createdDate)));
+            }
+            joins.execute();
+        }
+        mongoTemplate.remove(
+                query(where("conversationId").is(conversation.getId()).and("userId").nin(memberIds)),
+                ConversationReadState.class);
+        return missing.size();
+    }
+
+    private static Update summaryUpdate(Conversation conversation, String userId, Instant now) {
+        Update update = new Update();
+        summaryFields(conversation, userId, now).forEach(update::set);
+        return update;
+    }
+
+    private static Map<String, Object> summaryFields(Conversation conversation, String userId, Instant now) {
+        ChatMessage lastMessage = conversation.getLastMessage();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("lastActivityAt", lastActivityAt(conversation));
+        fields.put("lastMessageId", lastMessage != null ? lastMessage.getId() : null);
+        fields.put("lastMessagePreview", preview(lastMessage, userId));
+        fields.put("lastMessageType", lastMessage != null ? lastMessage.getType() : null);
+        fields.put(
+                "lastSenderId",
+                lastMessage != null && lastMessage.getSender() != null
+                        ? lastMessage.getSender().getUserId()
+                        : null);
+        fields.put("updatedAt", now);
+        return fields;
+    }
+
+    // Rows whose summary is not newer than lastActivityAt; recalls and edits keep it, so they still apply
+    private static Query notNewerThan(Query row, Instant lastActivityAt) {
+        return row.addCriteria(new Criteria()
+                .orOperator(where("lastActivityAt").exists(false), where("lastActivityAt").lte(lastActivityAt)));
+    }
+
+    // Recalls and edits rewrite the last message in place, so they do not move the conversation up
+    private static Instant lastActivityAt(Conversation conversation) {
+        if (conversation.getLastMessage() != null && conversation.getLastMessage().getCreatedDate() != null) {
+            return conversation.getLastMessage().getCreatedDate();
+        }
+        if (conversation.getCreatedDate() != null) {
+            return conversation.getCreatedDate();
+        }
+        return conversation.getModifiedDate() != null ? conversation.getModifiedDate() : Instant.EPOCH;
+    }
+
+    // Same recall rules as the message list: a "self" recall is only hidden from the user who recalled it
+    private static String preview(ChatMessage message, String userId) {
+        if (message == null) {
+            return null;
+        }
+        String text = message.getMessage();
+        if (message.isRecalled()) {
+            if ("everyone".equals(message.getRecallType())) {
+                text = RECALLED_PREVIEW;
+            } else if ("self".equals(message.getRecallType())) {
+                text = userId.equals(message.getRecalledBy()) ? RECALLED_PREVIEW : message.getOriginalMessage();
+            }
+        }
+        if (text != null && text.length() > PREVIEW_MAX_LENGTH) {
+            text = text.substring(0, PREVIEW_MAX_LENGTH);
+        }
+        return text;
+    }
+
+    private static Query memberRow(String conversationId, String userId) {
+        return query(where("conversationId").is(conversationId).and("userId").is(userId));
+    }
+
+    private static List<String> memberIds(Conversation conversation) {
+        if (conversation.getParticipants() == null) {
+            return List.of();
+        }
+        return conversation.getParticipants().stream()
+                .map(ParticipantInfo::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,214 @@
+package com.mnp.chat.service;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mnp.chat.entity.ChatMessage;
+import com.mnp.chat.entity.ConversationChange;
+import com.mnp.chat.entity.ConversationSequence;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Per-conversation sequence numbers and the change log behind delta sync.
+ * Every new message and every later change to a message (edit, recall, reaction, pin, delete) takes the
+ * next number of its conversation, so a reconnecting client only sends the highest number it has seen
+ * and receives what happened after it, in bounded pages.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConversationSyncService {
+    public static final String EDIT = "EDIT";
+    public static final String RECALL = "RECALL";
+    public static final String REACTION = "REACTION";
+    public static final String PIN = "PIN";
+    public static final String UNPIN = "UNPIN";
+    public static final String DELETE = "DELETE";
+
+    static final Duration SETTLE_WINDOW = Duration.ofSeconds(5);
+
+    MongoTemplate mongoTemplate;
+
+    @NonFinal
+    @Value("${app.chat.sync.change-retention-days:30}")
+    long changeRetentionDays;
+
+    /**
+     * Atomically take the next sequence number of the conversation
+     */
+    public long nextSeq(String conversationId) {
+        ConversationSequence sequence = mongoTemplate.findAndModify(
+                query(where("_id").is(conversationId)),
+                new Update().inc("value", 1),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                ConversationSequence.class);
+        return sequence.getValue();
+    }
+
+    /**
+     * Last sequence number handed out in the conversation, 0 if none
+     */
+    public long currentSeq(String conversationId) {
+        ConversationSequence sequence = mongoTemplate.findById(conversationId, ConversationSequence.class);
+        return sequence != null ? sequence.getValue() : 0;
+    }
+
+    public void recordChange(ChatMessage message, String type) {
+        if (message.getConversationId() == null) {
+            return;
+        }
+        mongoTemplate.insert(ConversationChange.builder()
+                .conversationId(message.getConversationId())
+                .seq(nextSeq(message.getConversationId()))
+                .messageId(message.getId())
+                .type(type)
+                .createdDate(Instant.now())
+                .build());
+    }
+
+    /**
+     * Record a change when only the message id is at hand (reactions)
+     */
+    public void recordChange(String messageId, String type) {
+        Query byId = query(where("_id").is(messageId));
+        byId.fields().include("conversationId");
+        ChatMessage message = mongoTemplate.findOne(byId, ChatMessage.class);
+        if (message != null) {
+            recordChange(message, type);
+        }
+    }
+
+    /**
+     * Up to limit events after the given sequence number, oldest first.
+     * New messages come back whole; changed messages only as ids, since several changes to one message
+     * collapse into its current state.
+     */
+    public SyncBatch sync(String conversationId, long after, int limit) {
+        ConversationSequence sequence = mongoTemplate.findById(conversationId, ConversationSequence.class);
+        if (sequence != null && after < sequence.getPrunedThrough()) {
+            return new SyncBatch(List.of(), List.of(), List.of(), after, false, true);
+        }
+
+        // One extra row per source tells whether another page exists
+        Query newer = query(where("conversationId").is(conversationId).and("seq").gt(after))
+                .with(Sort.by(Sort.Direction.ASC, "seq"))
+                .limit(limit + 1);
+        List<ChatMessage> messages = mongoTemplate.find(newer, ChatMessage.class);
+        List<ConversationChange> changes = mongoTemplate.find(Query.of(newer), ConversationChange.class);
+
+        // Merge both sources by sequence number and keep the first limit events
+        List<ChatMessage> newMessages = new ArrayList<>();
+        List<ConversationChange> pageChanges = new ArrayList<>();
+        Instant settledBefore = Instant.now().minus(SETTLE_WINDOW);
+        int m = 0;
+        int c = 0;
+        long lastSeq = after;
+        boolean stoppedAtGap = false;
+        while (newMessages.size() + pageChanges.size() < limit && (m < messages.size() || c < changes.size())) {
+            boolean takeMessage = c >= changes.size()
+                    || (m < messages.size() && messages.get(m).getSeq() < changes.get(c).getSeq());
+            long seq = takeMessage ? messages.get(m).getSeq() : changes.get(c).getSeq();
+            Instant createdDate = takeMessage ? messages.get(m).getCreatedDate() : changes.get(c).getCreatedDate();
+
+            // A missing number right before a fresh event may be a write still in flight: stop short of it
+            // rather than move the client past it. Older gaps are messages deleted since.
+            if (seq != lastSeq + 1 && createdDate != null && createdDate.isAfter(settledBefore)) {
+                stoppedAtGap = true;
+                break;
+            }
+
+            if (takeMessage) {
+                newMessages.add(messages.get(m++));
+            } else {
+                pageChanges.add(changes.get(c++));
+            }
+            lastSeq = seq;
+        }
+        boolean hasMore = stoppedAtGap || messages.size() + changes.size() > limit;
+
+        Set<String> newIds = new LinkedHashSet<>();
+        newMessages.forEach(message -> newIds.add(message.getId()));
+        Set<String> changedIds = new LinkedHashSet<>();
+        Set<String> deletedIds = new LinkedHashSet<>();
+        for (ConversationChange change : pageChanges) {
+            if (DELETE.equals(change.getType())) {
+                deletedIds.add(change.getMessageId());
+                changedIds.remove(change.getMessageId());
+            } else if (!newIds.contains(change.getMessageId()) && !deletedIds.contains(change.getMessageId())) {
+                changedIds.add(change.getMessageId());
+            }
+        }
+
+        return new SyncBatch(
+                newMessages, List.copyOf(changedIds), List.copyOf(deletedIds), lastSeq, hasMore, false);
+    }
+
+    /**
+     * Drop change log entries past the retention period and remember how far each conversation was pruned,
+     * so clients asking for older positions are told to reload instead of silently missing changes.
+     */
+    @Scheduled(cron = "${app.chat.sync.prune-cron:0 0 5 * * *}")
+    @SchedulerLock(name = "chat-change-log-prune")
+    public void prune() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(changeRetentionDays));
+
+        List<PrunedRange> ranges = mongoTemplate
+                .aggregate(
+                        newAggregation(
+                                match(where("createdDate").lt(cutoff)),
+                                group("conversationId").max("seq").as("maxSeq")),
+                        ConversationChange.class,
+                        PrunedRange.class)
+                .getMappedResults();
+        for (PrunedRange range : ranges) {
+            mongoTemplate.updateFirst(
+                    query(where("_id").is(range.id())),
+                    new Update().max("prunedThrough", range.maxSeq()),
+                    ConversationSequence.class);
+        }
+
+        long removed = mongoTemplate
+                .remove(query(where("createdDate").lt(cutoff)), ConversationChange.class)
+                .getDeletedCount();
+        log.info("Conversation change log pruning: conversations={}, removed={}", ranges.size(), removed);
+    }
+
+    /**
+     * Raw sync page: messages created after the position, ids of messages changed or deleted after it
+     */
+    public record SyncBatch(
+            List<ChatMessage> newMessages,
+            List<String> changedMessageIds,
+            List<String> deletedMessageIds,
+            long lastSeq,
+            boolean hasMore,
+            boolean resyncRequired) {}
+
+    private record PrunedRange(String id, long maxSeq) {}
+}
@@ -10,7 +10,6 @@ import com.mnp.chat.entity.ChatMessage;
 import com.mnp.chat.entity.ParticipantInfo;
 import com.mnp.chat.repository.ChatMessageRepository;
 import com.mnp.chat.repository.ConversationRepository;
-import com.mnp.chat.repository.httpclient.ProfileClient;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +25,7 @@ public class EnhancedMessageReactionService {
     MessageReactionService messageReactionService;
     ChatMessageRepository chatMessageRepository;
     ConversationRepository conversationRepository;
-    ProfileClient profileClient;
+    ProfileCacheService profileCacheService;
     ChatMessageService chatMessageService; // Add this dependency
 
     /**
@@ -91,12 +90,11 @@ public class EnhancedMessageReactionService {
             }
 
             // Get user info for system message
-            var userResponse = profileClient.getProfile(userId);
-            if (Objects.isNull(userResponse) || Objects.isNull(userResponse.getResult())) {
+            var userInfo = profileCacheService.getProfile(userId);
+            if (Objects.isNull(userInfo)) {
                 log.error("User profile not found: {}", userId);
                 return;
             }
-            var userInfo = userResponse.getResult();
 
             // Create system message text
             String systemMessageText;
@@ -1,11 +1,13 @@
 package com.mnp.chat.service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 import org.springframework.stereotype.Service;
 
 import com.mnp.chat.dto.request.IntrospectRequest;
+import com.mnp.chat.dto.request.UserStatusChangeRequest;
 import com.mnp.chat.dto.request.UserStatusUpdateRequest;
 import com.mnp.chat.dto.response.IntrospectResponse;
 import com.mnp.chat.repository.httpclient.IdentityClient;
@@ -47,4 +49,30 @@ public class IdentityService {
             log.error("Failed to update user status for userId {}: {}", userId, e.getMessage());
         }
     }
+
+    /**
+     * Send a batch of status changes; returns false if identity-service could not be reached
+     */
+    public boolean updateUserStatuses(List<UserStatusChangeRequest> requests) {
+        try {
+            identityClient.updateUserStatuses(requests);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to update status of {} users: {}", requests.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Ids of invalidated, not yet expired tokens, or null if identity-service could not be reached
+     */
+    public List<String> getInvalidatedTokenIds() {
+        try {
+            var result = identityClient.getInvalidatedTokenIds().getResult();
+            return Objects.isNull(result) ? List.of() : result;
+        } catch (Exception e) {
+            log.warn("Failed to load invalidated tokens: {}", e.getMessage());
+            return null;
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package com.mnp.chat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mnp.chat.dto.RoomEvent;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Multi-node bus on Kafka.
+ * Each event is published once, keyed by its ordering key so the events of one conversation share a
+ * partition and keep their order. Every node, the publishing one included, consumes the topic in its own
+ * group and delivers to its local connections, so all nodes see a conversation's events in the same order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "app.chat.broadcast.mode", havingValue = "kafka")
+public class KafkaRoomBroadcastBus implements RoomBroadcastBus {
+    KafkaTemplate<String, String> kafkaTemplate;
+    ObjectMapper objectMapper;
+    RoomEventDispatcher roomEventDispatcher;
+
+    @NonFinal
+    @Value("${app.chat.broadcast.topic:chat-room-events}")
+    String topic;
+
+    @Override
+    public void publish(RoomEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing room event {}", event.getEvent(), e);
+            return;
+        }
+        kafkaTemplate.send(topic, event.getOrderingKey(), json).whenComplete((result, failure) -> {
+            if (failure != null) {
+                log.error("Error publishing room event {}: {}", event.getEvent(), failure.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return true;
+    }
+
+    @KafkaListener(
+            topics = "${app.chat.broadcast.topic:chat-room-events}",
+            groupId = "chat-room-events-${random.uuid}",
+            properties = {
+                "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                "auto.offset.reset=latest"
+            })
+    public void onRoomEvent(String json) {
+        try {
+            roomEventDispatcher.dispatch(objectMapper.readValue(json, RoomEvent.class));
+        } catch (JsonProcessingException e) {
+            log.error("Dropping unreadable room event: {}", e.getMessage());
+        }
+    }
+}
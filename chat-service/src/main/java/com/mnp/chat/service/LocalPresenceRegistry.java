@@ -0,0 +1,28 @@
+package com.mnp.chat.service;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Single-node presence: this node holds every connection
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "app.chat.broadcast.mode", havingValue = "local", matchIfMissing = true)
+public class LocalPresenceRegistry implements PresenceRegistry {
+    WebSocketSessionService webSocketSessionService;
+
+    @Override
+    public Set<String> refreshOnline(Collection<String> userIds) {
+        return userIds.stream().filter(webSocketSessionService::isOnline).collect(Collectors.toSet());
+    }
+}
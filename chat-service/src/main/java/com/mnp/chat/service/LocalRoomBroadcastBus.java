@@ -0,0 +1,31 @@
+package com.mnp.chat.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.mnp.chat.dto.RoomEvent;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Single-node bus: events are delivered in the publishing thread, exactly as a direct send would be
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "app.chat.broadcast.mode", havingValue = "local", matchIfMissing = true)
+public class LocalRoomBroadcastBus implements RoomBroadcastBus {
+    RoomEventDispatcher roomEventDispatcher;
+
+    @Override
+    public void publish(RoomEvent event) {
+        roomEventDispatcher.dispatch(event);
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return false;
+    }
+}
@@ -0,0 +1,279 @@
+package com.mnp.chat.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mnp.chat.entity.ArchivedMessage;
+import com.mnp.chat.entity.ArchivedMessageBucket;
+import com.mnp.chat.entity.ChatMessage;
+import com.mnp.chat.mapper.ArchivedMessageMapper;
+import com.mnp.chat.util.MessageCursor;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Cold storage for old messages.
+ * A nightly job moves messages older than the configured age out of chat_message into day buckets in
+ * chat_message_archive, so the live collection and its indexes only cover recent history. Every archived
+ * message is older than every live one, which lets history pages continue into the archive once the live
+ * messages run out. Archived messages are read-only.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MessageArchiveService {
+    static final String ARCHIVE_COLLECTION = "chat_message_archive";
+    static final int MAX_BUCKET_MESSAGES = 2000;
+
+    static final Comparator<ChatMessage> OLDEST_FIRST =
+            Comparator.comparing(ChatMessage::getCreatedDate).thenComparing(ChatMessage::getId);
+
+    MongoTemplate mongoTemplate;
+    ArchivedMessageMapper archivedMessageMapper;
+
+    @NonFinal
+    @Value("${app.chat.archive.after-days:180}")
+    long archiveAfterDays;
+
+    @NonFinal
+    @Value("${app.chat.archive.batch-size:2000}")
+    int batchSize;
+
+    /**
+     * Create the archive collection with zstd block compression; archived history is written once and
+     * rarely read, so it trades a little CPU on reads for a much smaller footprint
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createCollection() {
+        if (!mongoTemplate.collectionExists(ARCHIVE_COLLECTION)) {
+            try {
+                mongoTemplate.executeCommand(new Document("create", ARCHIVE_COLLECTION)
+                        .append(
+                                "storageEngine",
+                                new Document("wiredTiger", new Document("configString", "block_compressor=zstd"))));
+            } catch (Exception e) {
+                // Another instance created it first, or the server does not support the option
+                log.warn("Could not create {} with compression: {}", ARCHIVE_COLLECTION, e.getMessage());
+            }
+        }
+        IndexOperations indexOps = mongoTemplate.indexOps(ArchivedMessageBucket.class);
+        indexOps.ensureIndex(new Index()
+                .on("conversationId", Sort.Direction.ASC)
+                .on("day", Sort.Direction.DESC)
+                .named("conversation_day"));
+        indexOps.ensureIndex(new Index().on("messages._id", Sort.Direction.ASC).named("message_id"));
+    }
+
+    /**
+     * Move messages older than the configured age into the archive, oldest first, one batch at a time.
+     * A message is removed from the live collection only after its bucket was written; a bucket never
+     * takes a message it already holds, so an interrupted run is simply picked up by the next one.
+     * Runs on one node at a time. A bucket that fails to write keeps its messages live until the next
+     * run and does not hold up the other buckets.
+     */
+    @Scheduled(cron = "${app.chat.archive.cron:0 0 3 * * *}")
+    @SchedulerLock(name = "chat-message-archive", lockAtMostFor = "PT3H")
+    public void archive() {
+        Instant cutoff = LocalDate.now(ZoneOffset.UTC)
+                .minusDays(archiveAfterDays)
+                .atStartOfDay(ZoneOffset.UTC)
+                .toInstant();
+        Set<String> failed = new HashSet<>();
+
+        long archived = 0;
+        List<ChatMessage> batch;
+        do {
+            Query oldest = query(where("createdDate").lt(cutoff))
+                    .with(Sort.by(Sort.Direction.ASC, "createdDate").and(Sort.by(Sort.Direction.ASC, "_id")))
+                    .limit(batchSize);
+            if (!failed.isEmpty()) {
+                oldest.addCriteria(where("_id").nin(failed));
+            }
+            batch = mongoTemplate.find(oldest, ChatMessage.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Map<String, List<ChatMessage>> byBucket = batch.stream()
+                    .collect(Collectors.groupingBy(
+                            message -> message.getConversationId() + ":" + dayOf(message.getCreatedDate()),
+                            LinkedHashMap::new,
+                            Collectors.toList()));
+            List<String> ids = new ArrayList<>();
+            for (List<ChatMessage> messages : byBucket.values()) {
+                List<String> messageIds = messages.stream().map(ChatMessage::getId).toList();
+                try {
+                    appendToBucket(messages);
+                    ids.addAll(messageIds);
+                } catch (Exception e) {
+                    log.error("Archiving {} messages of conversation {} failed",
+                            messages.size(), messages.getFirst().getConversationId(), e);
+                    failed.addAll(messageIds);
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                mongoTemplate.remove(query(where("_id").in(ids)), ChatMessage.class);
+            }
+            archived += ids.size();
+        } while (batch.size() == batchSize);
+
+        log.info("Message archival: cutoff={}, archived={}, failed={}", cutoff, archived, failed.size());
+    }
+
+    private void appendToBucket(List<ChatMessage> messages) {
+        String conversationId = messages.getFirst().getConversationId();
+        Instant day = dayOf(messages.getFirst().getCreatedDate());
+
+        // Left behind by a run interrupted between writing the bucket and removing the live copies
+        Query dayBuckets = query(where("conversationId").is(conversationId).and("day").is(day));
+        dayBuckets.fields().include("messages._id").include("messageCount");
+        List<ArchivedMessageBucket> buckets = mongoTemplate.find(dayBuckets, ArchivedMessageBucket.class);
+        Set<String> alreadyArchived = buckets.stream()
+                .flatMap(bucket -> bucket.getMessages().stream())
+                .map(ArchivedMessage::getId)
+                .collect(Collectors.toSet());
+        List<ArchivedMessage> pending = messages.stream()
+                .filter(message -> !alreadyArchived.contains(message.getId()))
+                .map(archivedMessageMapper::toArchivedMessage)
+                .toList();
+
+        // Tops up the day's open bucket, then starts new ones; no push takes a bucket past the cap
+        int room = MAX_BUCKET_MESSAGES
+                - buckets.stream()
+                        .mapToInt(ArchivedMessageBucket::getMessageCount)
+                        .filter(count -> count < MAX_BUCKET_MESSAGES)
+                        .max()
+                        .orElse(0);
+        for (int from = 0; from < pending.size(); ) {
+            int to = Math.min(pending.size(), from + room);
+            pushToBucket(conversationId, day, pending.subList(from, to));
+            from = to;
+            room = MAX_BUCKET_MESSAGES;
+        }
+    }
+
+    // Matches only a bucket of the day with room for all of chunk, or inserts a new one
+    private void pushToBucket(String conversationId, Instant day, List<ArchivedMessage> chunk) {
+        mongoTemplate.upsert(
+                query(where("conversationId")
+                        .is(conversationId)
+                        .and("day")
+                        .is(day)
+                        .and("messageCount")
+                        .lte(MAX_BUCKET_MESSAGES - chunk.size())),
+                new Update()
+                        .push("messages")
+                        .sort(Sort.by(Sort.Direction.ASC, "createdDate").and(Sort.by(Sort.Direction.ASC, "_id")))
+                        .each(chunk.toArray())
+                        .inc("messageCount", chunk.size())
+                        .min("firstCreatedDate", chunk.getFirst().getCreatedDate())
+                        .max("lastCreatedDate", chunk.getLast().getCreatedDate()),
+                ArchivedMessageBucket.class);
+    }
+
+    /**
+     * Up to limit archived messages of the conversation older than the cursor (all if null), newest first
+     */
+    public List<ChatMessage> findBefore(String conversationId, MessageCursor before, int limit) {
+        Query query = query(where("conversationId").is(conversationId));
+        if (before != null) {
+            query.addCriteria(where("day").lte(dayOf(before.createdDate())));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "day"));
+
+        ChatMessage cursor = before != null ? cursorMessage(before) : null;
+        Predicate<ChatMessage> olderThanCursor = message -> cursor == null || OLDEST_FIRST.compare(message, cursor) < 0;
+        return collect(query, olderThanCursor, OLDEST_FIRST.reversed(), limit);
+    }
+
+    /**
+     * Up to limit archived messages of the conversation newer than the cursor, oldest first
+     */
+    public List<ChatMessage> findAfter(String conversationId, MessageCursor after, int limit) {
+        Query query = query(where("conversationId").is(conversationId).and("day").gte(dayOf(after.createdDate())))
+                .with(Sort.by(Sort.Direction.ASC, "day"));
+
+        ChatMessage cursor = cursorMessage(after);
+        Predicate<ChatMessage> newerThanCursor = message -> OLDEST_FIRST.compare(message, cursor) > 0;
+        return collect(query, newerThanCursor, OLDEST_FIRST, limit);
+    }
+
+    public Optional<ChatMessage> findMessage(String messageId) {
+        Query query = query(where("messages._id").is(messageId));
+        query.fields().elemMatch("messages", where("_id").is(messageId));
+        ArchivedMessageBucket bucket = mongoTemplate.findOne(query, ArchivedMessageBucket.class);
+        return bucket == null || bucket.getMessages().isEmpty()
+                ? Optional.empty()
+                : Optional.of(archivedMessageMapper.toChatMessage(bucket.getMessages().getFirst()));
+    }
+
+    // Reads whole days in the query's order until a day boundary is reached with enough messages
+    private List<ChatMessage> collect(
+            Query dayOrder, Predicate<ChatMessage> matches, Comparator<ChatMessage> order, int limit) {
+        List<ChatMessage> found = new ArrayList<>();
+        Instant currentDay = null;
+        try (Stream<ArchivedMessageBucket> buckets = mongoTemplate.stream(dayOrder, ArchivedMessageBucket.class)) {
+            for (ArchivedMessageBucket bucket : (Iterable<ArchivedMessageBucket>) buckets::iterator) {
+                if (!bucket.getDay().equals(currentDay)) {
+                    if (found.size() >= limit) {
+                        break;
+                    }
+                    currentDay = bucket.getDay();
+                }
+                bucket.getMessages().stream()
+                        .map(archivedMessageMapper::toChatMessage)
+                        .filter(matches)
+                        .forEach(found::add);
+            }
+        }
+        found.sort(order);
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private static ChatMessage cursorMessage(MessageCursor cursor) {
+        return ChatMessage.builder()
+                .createdDate(cursor.createdDate())
+                .id(cursor.id())
+                .build();
+    }
+
+    private static Instant dayOf(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.DAYS);
+    }
+}
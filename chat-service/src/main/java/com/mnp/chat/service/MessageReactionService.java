@@ -2,20 +2,24 @@ package com.mnp.chat.service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mnp.chat.dto.response.ReactionSummaryResponse;
 import com.mnp.chat.dto.response.UserReactionInfo;
+import com.mnp.chat.entity.ChatMessage;
 import com.mnp.chat.entity.MessageReaction;
+import com.mnp.chat.repository.ChatMessageRepository;
 import com.mnp.chat.repository.MessageReactionRepository;
-import com.mnp.chat.repository.httpclient.ProfileClient;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +32,10 @@ import lombok.extern.slf4j.Slf4j;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class MessageReactionService {
     MessageReactionRepository messageReactionRepository;
-    ProfileClient profileClient;
+    ChatMessageRepository chatMessageRepository;
+    ReactionCounterService reactionCounterService;
+    ConversationSyncService conversationSyncService;
+    ProfileCacheService profileCacheService;
 
     @Transactional
     public int addReaction(String messageId, String userId, String icon) {
@@ -39,63 +46,41 @@ public class MessageReactionService {
             // User đã react rồi, không làm gì cả
             log.info("User {} already reacted with {} to message {}",
                     userId, icon, messageId);
-            return existingReaction.get().getCount();
-        } else {
-            // Tìm tất cả reactions với icon này cho message
-            var allReactionsWithIcon = messageReactionRepository
-                    .findByMessageIdAndIcon(messageId, icon);
-
-            int totalCount = allReactionsWithIcon.size() + 1; // +1 cho user hiện tại
-
-            // Thêm reaction mới cho user này
-            MessageReaction reaction = MessageReaction.builder()
-                    .messageId(messageId)
-                    .userId(userId)
-                    .icon(icon)
-                    .count(totalCount) // Tổng số users đã react
-                    .createdDate(Instant.now())
-                    .modifiedDate(Instant.now())
-                    .build();
-            messageReactionRepository.save(reaction);
+            return currentCount(messageId, icon);
+        }
 
-            log.info("Added new reaction {} to message {} by user {}",
-                    icon, messageId, userId);
-            return totalCount;
+        // Thêm reaction mới cho user này; the unique index decides races between duplicate requests
+        if (!insertReaction(messageId, userId, icon)) {
+            return currentCount(messageId, icon);
         }
+        int totalCount = reactionCounterService.onReactionAdded(messageId, userId, icon);
+        conversationSyncService.recordChange(messageId, ConversationSyncService.REACTION);
+
+        log.info("Added new reaction {} to message {} by user {}",
+                icon, messageId, userId);
+        return totalCount >= 0 ? totalCount : currentCount(messageId, icon);
     }
 
     @Transactional
     public boolean toggleReaction(String messageId, String userId, String icon) {
-        var existingReaction = messageReactionRepository.findByMessageIdAndUserIdAndIcon(messageId, userId, icon);
-
-        if (existingReaction.isPresent()) {
-            // Remove existing reaction
-            messageReactionRepository.deleteByMessageIdAndUserIdAndIcon(messageId, userId, icon);
+        if (deleteReaction(messageId, userId, icon)) {
             log.info("Removed reaction {} from message {} by user {}", icon, messageId, userId);
             return false; // Reaction removed
-        } else {
-            // Add new reaction
-            MessageReaction reaction = MessageReaction.builder()
-                    .messageId(messageId)
-                    .userId(userId)
-                    .icon(icon)
-                    .count(1)
-                    .createdDate(Instant.now())
-                    .modifiedDate(Instant.now())
-                    .build();
-            messageReactionRepository.save(reaction);
+        }
+
+        // Add new reaction
+        if (insertReaction(messageId, userId, icon)) {
+            reactionCounterService.onReactionAdded(messageId, userId, icon);
+            conversationSyncService.recordChange(messageId, ConversationSyncService.REACTION);
             log.info("Added reaction {} to message {} by user {}", icon, messageId, userId);
-            return true; // Reaction added
         }
+        return true; // Reaction added
     }
 
     @Transactional
     public int removeReaction(String messageId, String userId, String icon) {
-        var existingReaction = messageReactionRepository.findByMessageIdAndUserIdAndIcon(messageId, userId, icon);
-
-        if (existingReaction.isPresent()) {
-            // Always completely remove the reaction instead of decrementing
-            messageReactionRepository.deleteByMessageIdAndUserIdAndIcon(messageId, userId, icon);
+        // Always completely remove the reaction instead of decrementing
+        if (deleteReaction(messageId, userId, icon)) {
             log.info("Completely removed reaction {} from message {} by user {}", icon, messageId, userId);
             return 0; // Return 0 to indicate complete removal
         } else {
@@ -105,8 +90,34 @@ public class MessageReactionService {
         }
     }
 
+    /**
+     * Reaction summary of a loaded message; rendered from its counters without querying
+     * message_reaction whenever they are complete
+     */
+    public List<ReactionSummaryResponse> getMessageReactionsSummary(ChatMessage message, String currentUserId) {
+        if (!reactionCounterService.isComplete(message)) {
+            return getMessageReactionsSummary(message.getId(), currentUserId);
+        }
+        return reactionCounterService.summarize(
+                message, currentUserId, profileCacheService.getProfiles(reactionCounterService.reactorIds(message)));
+    }
+
+    /**
+     * Users who reacted to a loaded message
+     */
+    public Set<String> getReactorIds(ChatMessage message) {
+        if (reactionCounterService.isComplete(message)) {
+            return reactionCounterService.reactorIds(message);
+        }
+        return messageReactionRepository.findByMessageId(message.getId()).stream()
+                .map(MessageReaction::getUserId)
+                .collect(Collectors.toSet());
+    }
+
     public List<ReactionSummaryResponse> getMessageReactionsSummary(String messageId, String currentUserId) {
         List<MessageReaction> reactions = messageReactionRepository.findByMessageId(messageId);
+        var profiles = profileCacheService.getProfiles(
+                reactions.stream().map(MessageReaction::getUserId).toList());
 
         // Group reactions by icon
         Map<String, List<MessageReaction>> reactionsByIcon =
@@ -144,34 +155,22 @@ public class MessageReactionService {
                             myReactionCount = reaction.getCount();
                         }
 
-                        // Fetch user profile information
-                        try {
-                            var userResponse = profileClient.getProfile(reaction.getUserId());
-                            if (Objects.nonNull(userResponse) && Objects.nonNull(userResponse.getResult())) {
-                                var userProfile = userResponse.getResult();
-
-                                // Check if user is already in the list (to avoid duplicates)
-                                boolean userExists = users.stream()
-                                        .anyMatch(u -> u.getUserId().equals(reaction.getUserId()));
-
-                                if (!userExists) {
-                                    users.add(UserReactionInfo.builder()
-                                            .userId(reaction.getUserId())
-                                            .username(userProfile.getUser().getUsername())
-                                            .firstName(userProfile.getUser().getFirstName())
-                                            .lastName(userProfile.getUser().getLastName())
-                                            .avatar(userProfile.getAvatar())
-                                            .reactionCount(reaction.getCount())
-                                            .build());
-                                }
-                            }
-                        } catch (Exception e) {
-                            log.warn("Failed to fetch profile for user {}: {}", reaction.getUserId(), e.getMessage());
-                            // Add user with minimal info if profile fetch fails
-                            boolean userExists =
-                                    users.stream().anyMatch(u -> u.getUserId().equals(reaction.getUserId()));
-
-                            if (!userExists) {
+                        // Profile details come from the batch fetched above
+                        boolean userExists =
+                                users.stream().anyMatch(u -> u.getUserId().equals(reaction.getUserId()));
+                        if (!userExists) {
+                            var userProfile = profiles.get(reaction.getUserId());
+                            if (userProfile != null && userProfile.getUser() != null) {
+                                users.add(UserReactionInfo.builder()
+                                        .userId(reaction.getUserId())
+                                        .username(userProfile.getUser().getUsername())
+                                        .firstName(userProfile.getUser().getFirstName())
+                                        .lastName(userProfile.getUser().getLastName())
+                                        .avatar(userProfile.getAvatar())
+                                        .reactionCount(reaction.getCount())
+                                        .build());
+                            } else {
+                                // Add user with minimal info if the profile is unavailable
                                 users.add(UserReactionInfo.builder()
                                         .userId(reaction.getUserId())
                                         .username("Unknown User")
@@ -197,24 +196,78 @@ public class MessageReactionService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Load the profiles of everyone who reacted to any of the messages in one batch,
+     * so rendering a page of messages does not fetch reactor profiles message by message
+     */
+    public void prefetchReactorProfiles(Collection<ChatMessage> messages) {
+        Set<String> reactorIds = new HashSet<>();
+        List<String> untrackedMessageIds = new ArrayList<>();
+        for (ChatMessage message : messages) {
+            if (reactionCounterService.isComplete(message)) {
+                reactorIds.addAll(reactionCounterService.reactorIds(message));
+            } else {
+                untrackedMessageIds.add(message.getId());
+            }
+        }
+        if (!untrackedMessageIds.isEmpty()) {
+            messageReactionRepository.findByMessageIdIn(untrackedMessageIds).stream()
+                    .map(MessageReaction::getUserId)
+                    .forEach(reactorIds::add);
+        }
+        profileCacheService.getProfiles(reactorIds);
+    }
+
     public List<MessageReaction> getMessageReactions(String messageId) {
         return messageReactionRepository.findByMessageId(messageId);
     }
 
     // New method to get total reaction count for a specific icon
     public int getTotalReactionCount(String messageId, String icon) {
-        return messageReactionRepository
-                .getTotalCountByMessageIdAndIcon(messageId, icon)
-                .orElse(0);
+        return currentCount(messageId, icon);
+    }
+
+    private boolean insertReaction(String messageId, String userId, String icon) {
+        try {
+            messageReactionRepository.insert(MessageReaction.builder()
+                    .messageId(messageId)
+                    .userId(userId)
+                    .icon(icon)
+                    .count(1)
+                    .createdDate(Instant.now())
+                    .modifiedDate(Instant.now())
+                    .build());
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.info("User {} already reacted with {} to message {}", userId, icon, messageId);
+            return false;
+        }
+    }
+
+    private boolean deleteReaction(String messageId, String userId, String icon) {
+        if (messageReactionRepository.deleteByMessageIdAndUserIdAndIcon(messageId, userId, icon) == 0) {
+            return false;
+        }
+        reactionCounterService.onReactionRemoved(messageId, userId, icon);
+        conversationSyncService.recordChange(messageId, ConversationSyncService.REACTION);
+        return true;
+    }
+
+    /**
+     * Number of users who reacted with the icon, from the message counters when tracked
+     */
+    private int currentCount(String messageId, String icon) {
+        return chatMessageRepository
+                .findById(messageId)
+                .filter(reactionCounterService::isComplete)
+                .map(message -> message.getReactionCounts().getOrDefault(icon, 0))
+                .orElseGet(() -> (int) messageReactionRepository.countByMessageIdAndIcon(messageId, icon));
     }
 
     // Method to reset user's reaction count for a specific icon (optional feature)
     @Transactional
     public boolean removeAllUserReactions(String messageId, String userId, String icon) {
-        var existingReaction = messageReactionRepository.findByMessageIdAndUserIdAndIcon(messageId, userId, icon);
-
-        if (existingReaction.isPresent()) {
-            messageReactionRepository.deleteByMessageIdAndUserIdAndIcon(messageId, userId, icon);
+        if (deleteReaction(messageId, userId, icon)) {
             log.info("Removed all reactions {} from message {} by user {}", icon, messageId, userId);
             return true;
         }
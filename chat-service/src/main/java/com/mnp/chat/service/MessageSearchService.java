@@ -0,0 +1,58 @@
+package com.mnp.chat.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import com.mnp.chat.entity.ChatMessage;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Full-text search over message text, backed by the text index on chat_message.message.
+ * Mongo maintains the index on every insert, edit and recall, so results never lag behind the messages;
+ * it is declared on the entity and recreated at startup if dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MessageSearchService {
+    MongoTemplate mongoTemplate;
+
+    /**
+     * Messages of the given conversations matching the terms, best match first, then newest first.
+     * System messages and messages recalled for everyone are never returned; a message recalled "for self" is
+     * hidden only from the user who recalled it, like in the conversation history.
+     */
+    public List<ChatMessage> search(
+            Collection<String> conversationIds, String userId, String terms, int skip, int limit) {
+        if (conversationIds.isEmpty()) {
+            return List.of();
+        }
+
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(terms))
+                .sortByScore()
+                .addCriteria(where("conversationId").in(conversationIds))
+                .addCriteria(new Criteria()
+                        .orOperator(
+                                where("isRecalled").is(false),
+                                where("recallType").is("self").and("recalledBy").ne(userId)))
+                // System notices ("SYSTEM", "SYSTEM_ADD_MEMBERS", ...) carry templates and JSON metadata, not text
+                .addCriteria(where("type").not().regex("^SYSTEM"))
+                .with(Sort.by(Sort.Direction.DESC, "createdDate"))
+                .skip(skip)
+                .limit(limit);
+        return mongoTemplate.find(query, ChatMessage.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.mnp.chat.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mnp.chat.entity.ChatNode;
+import com.mnp.chat.entity.UserPresence;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Multi-node presence in MongoDB.
+ * Each node keeps one row per connected user with its own socket count, written when PresenceTracker
+ * flushes that user, and a heartbeat row of its own. A user is online while any node with a recent
+ * heartbeat has a row for them, so a user who closes one tab keeps the status their other node holds,
+ * and the rows of a node that died stop counting once its heartbeat is stale.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "app.chat.broadcast.mode", havingValue = "kafka")
+public class MongoPresenceRegistry implements PresenceRegistry {
+    MongoTemplate mongoTemplate;
+    WebSocketSessionService webSocketSessionService;
+
+    String nodeId = UUID.randomUUID().toString();
+
+    @NonFinal
+    @Value("${app.chat.presence.node-timeout-ms:30000}")
+    long nodeTimeoutMs;
+
+    @Override
+    public Set<String> refreshOnline(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserPresence.class);
+        for (String userId : userIds) {
+            int sockets = webSocketSessionService.getSessionsByUserId(userId).size();
+            Query row = query(where("_id").is(nodeId + ":" + userId));
+            if (sockets > 0) {
+                bulk.upsert(row, new Update()
+                        .set("userId", userId)
+                        .set("nodeId", nodeId)
+                        .set("sockets", sockets)
+                        .set("updatedAt", now));
+            } else {
+                bulk.remove(row);
+            }
+        }
+        bulk.execute();
+
+        Query online = query(where("userId").in(userIds).and("nodeId").in(liveNodeIds(now)));
+        online.fields().include("userId");
+        return mongoTemplate.find(online, UserPresence.class).stream()
+                .map(UserPresence::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Beat for this node and drop the rows of nodes that stopped beating
+     */
+    @Scheduled(fixedDelayString = "${app.chat.presence.heartbeat-ms:10000}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        mongoTemplate.upsert(
+                query(where("_id").is(nodeId)), new Update().set("heartbeatAt", now), ChatNode.class);
+
+        Instant staleBefore = now.minusMillis(nodeTimeoutMs);
+        Query deadNodes = query(where("heartbeatAt").lt(staleBefore));
+        deadNodes.fields().include("_id");
+        List<String> deadNodeIds = mongoTemplate.find(deadNodes, ChatNode.class).stream()
+                .map(ChatNode::getId)
+                .toList();
+        if (!deadNodeIds.isEmpty()) {
+            mongoTemplate.remove(query(where("nodeId").in(deadNodeIds)), UserPresence.class);
+            mongoTemplate.remove(query(where("_id").in(deadNodeIds)), ChatNode.class);
+            log.info("Dropped presence of {} chat nodes without a heartbeat", deadNodeIds.size());
+        }
+    }
+
+    @PreDestroy
+    void leave() {
+        try {
+            mongoTemplate.remove(query(where("nodeId").is(nodeId)), UserPresence.class);
+            mongoTemplate.remove(query(where("_id").is(nodeId)), ChatNode.class);
+        } catch (Exception e) {
+            log.warn("Could not remove presence of chat node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private Set<String> liveNodeIds(Instant now) {
+        Query live = query(where("heartbeatAt").gte(now.minusMillis(nodeTimeoutMs)));
+        live.fields().include("_id");
+        Set<String> nodeIds = mongoTemplate.find(live, ChatNode.class).stream()
+                .map(ChatNode::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+        nodeIds.add(nodeId); // Before this node's first heartbeat
+        return nodeIds;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mnp.chat.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Whether users are connected anywhere in the cluster, for PresenceTracker. Follows app.chat.broadcast.mode:
+ * "local" answers from this node's session registry, "kafka" shares each node's connections through MongoDB.
+ */
+public interface PresenceRegistry {
+    /**
+     * Record this node's current connections of the given users and return those connected on any node
+     */
+    Set<String> refreshOnline(Collection<String> userIds);
+}
@@ -0,0 +1,125 @@
+package com.mnp.chat.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mnp.chat.dto.request.UserStatusChangeRequest;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Debounced online status, reported to identity-service off the socket threads.
+ * Connects and disconnects only mark the user as changed; a disconnect waits out a grace period so a
+ * flapping connection never looks offline. Each flush compares the user's cluster-wide state from the
+ * PresenceRegistry with the last state published and sends only real transitions, in at most one batch per
+ * flush, so outbound status calls are bounded by the flush interval whatever the connection churn.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PresenceTracker {
+    IdentityService identityService;
+    PresenceRegistry presenceRegistry;
+
+    Map<String, PendingStatus> pending = new ConcurrentHashMap<>();
+    Set<String> publishedOnline = ConcurrentHashMap.newKeySet();
+
+    @NonFinal
+    @Value("${app.chat.presence.offline-grace-ms:15000}")
+    long offlineGraceMs;
+
+    @NonFinal
+    @Value("${app.chat.presence.max-batch-size:1000}")
+    int maxBatchSize;
+
+    public void connected(String userId) {
+        long now = System.currentTimeMillis();
+        pending.put(userId, new PendingStatus(LocalDateTime.now(), now));
+    }
+
+    public void disconnected(String userId) {
+        long dueAt = System.currentTimeMillis() + offlineGraceMs;
+        // Keep the login time of a connect that has not been published yet
+        pending.compute(
+                userId, (id, current) -> new PendingStatus(current != null ? current.lastLogin() : null, dueAt));
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.presence.status-flush-ms:2000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, PendingStatus> due = new HashMap<>();
+        for (Map.Entry<String, PendingStatus> entry : pending.entrySet()) {
+            if (due.size() >= maxBatchSize) {
+                break; // The rest goes out with the next flush
+            }
+            PendingStatus status = entry.getValue();
+            if (status.dueAt() <= now && pending.remove(entry.getKey(), status)) {
+                due.put(entry.getKey(), status);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Set<String> onlineUsers;
+        try {
+            onlineUsers = presenceRegistry.refreshOnline(due.keySet());
+        } catch (Exception e) {
+            log.warn("Could not refresh presence of {} users: {}", due.size(), e.getMessage());
+            due.forEach(pending::putIfAbsent);
+            return;
+        }
+
+        List<UserStatusChangeRequest> changes = new ArrayList<>();
+        for (Map.Entry<String, PendingStatus> entry : due.entrySet()) {
+            String userId = entry.getKey();
+            boolean online = onlineUsers.contains(userId);
+            if (online == publishedOnline.contains(userId)) {
+                continue; // Back to the state already published
+            }
+            changes.add(UserStatusChangeRequest.builder()
+                    .userId(userId)
+                    .online(online)
+                    .lastLogin(online ? entry.getValue().lastLogin() : null)
+                    .build());
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        if (identityService.updateUserStatuses(changes)) {
+            for (UserStatusChangeRequest change : changes) {
+                if (change.getOnline()) {
+                    publishedOnline.add(change.getUserId());
+                } else {
+                    publishedOnline.remove(change.getUserId());
+                }
+            }
+            log.debug("Published status of {} users", changes.size());
+        } else {
+            // Retry on the next flush unless a newer change for the user arrived meanwhile
+            changes.forEach(change ->
+                    pending.putIfAbsent(change.getUserId(), new PendingStatus(change.getLastLogin(), now)));
+        }
+    }
+
+    private record PendingStatus(LocalDateTime lastLogin, long dueAt) {}
+}
@@ -0,0 +1,150 @@
+package com.mnp.chat.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mnp.chat.dto.response.UserProfileResponse;
+import com.mnp.chat.repository.httpclient.ProfileClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded, TTL-based cache of user profiles used to build participant, sender and reactor info.
+ * Misses are fetched with one batch request to profile-service; concurrent misses for the same
+ * user share the in-flight request. Entries are dropped on profile-updated events, the TTL only
+ * bounds staleness when an event is missed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProfileCacheService {
+    ProfileClient profileClient;
+    MeterRegistry meterRegistry;
+
+    @NonFinal
+    @Value("${app.chat.profile-cache.max-size:10000}")
+    long maxSize;
+
+    @NonFinal
+    @Value("${app.chat.profile-cache.ttl-minutes:10}")
+    long ttlMinutes;
+
+    @NonFinal
+    AsyncLoadingCache<String, UserProfileResponse> cache;
+
+    @NonFinal
+    Counter remoteCalls;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .buildAsync(new BatchProfileLoader());
+
+        remoteCalls = Counter.builder("chat.profile.remote.calls")
+                .description("Batch profile requests sent to profile-service")
+                .register(meterRegistry);
+        FunctionCounter.builder("chat.profile.cache.hits", cache, c -> c.synchronous().stats().hitCount())
+                .description("Profile lookups served from the local cache, i.e. remote lookups avoided")
+                .register(meterRegistry);
+        FunctionCounter.builder("chat.profile.cache.misses", cache, c -> c.synchronous().stats().missCount())
+                .description("Profile lookups that had to be loaded")
+                .register(meterRegistry);
+        Gauge.builder("chat.profile.cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .register(meterRegistry);
+        Gauge.builder("chat.profile.cache.size", cache, c -> c.synchronous().estimatedSize())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Profile of one user, or null when profile-service does not know the user
+     */
+    public UserProfileResponse getProfile(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        return getProfiles(List.of(userId)).get(userId);
+    }
+
+    /**
+     * Profiles of the given users keyed by userId, with at most one remote request for all misses.
+     * Unknown users are absent from the result.
+     */
+    public Map<String, UserProfileResponse> getProfiles(Collection<String> userIds) {
+        Set<String> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return cache.getAll(ids).join();
+        } catch (CompletionException e) {
+            log.warn("Failed to load profiles for {} users: {}", ids.size(), e.getCause().getMessage());
+            return Map.of();
+        }
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.synchronous().invalidate(userId);
+        }
+    }
+
+    private class BatchProfileLoader implements AsyncCacheLoader<String, UserProfileResponse> {
+        @Override
+        public CompletableFuture<UserProfileResponse> asyncLoad(String userId, Executor executor) {
+            return asyncLoadAll(Set.of(userId), executor).thenApply(profiles -> profiles.get(userId));
+        }
+
+        @Override
+        public CompletableFuture<Map<String, UserProfileResponse>> asyncLoadAll(
+                Set<? extends String> userIds, Executor executor) {
+            // Load on the caller's thread: Feign needs the request's auth context
+            try {
+                return CompletableFuture.completedFuture(loadAll(userIds));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private Map<String, UserProfileResponse> loadAll(Set<? extends String> userIds) {
+            remoteCalls.increment();
+            var response = profileClient.getProfiles(List.copyOf(userIds));
+            if (response == null || response.getResult() == null) {
+                return Map.of();
+            }
+            return response.getResult().stream()
+                    .filter(profile -> profile.getUserId() != null)
+                    .collect(Collectors.toMap(
+                            UserProfileResponse::getUserId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        }
+    }
+}
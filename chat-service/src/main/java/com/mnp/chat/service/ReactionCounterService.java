@@ -0,0 +1,331 @@
+package com.mnp.chat.service;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mnp.chat.dto.response.ReactionSummaryResponse;
+import com.mnp.chat.dto.response.UserProfileResponse;
+import com.mnp.chat.dto.response.UserReactionInfo;
+import com.mnp.chat.entity.ChatMessage;
+import com.mnp.chat.entity.MessageReaction;
+import com.mnp.chat.entity.RecentReactor;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Maintains per-icon reaction counters and a capped list of recent reactors on the ChatMessage document.
+ * message_reaction stays the source of truth: a counter moves only after the reaction insert or delete
+ * succeeded, and repair() recounts from it. While the recent list holds every reactor, summaries are
+ * rendered from the message alone.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ReactionCounterService {
+    static final int RECENT_REACTORS_CAP = 50;
+    static final int REPAIR_BATCH_SIZE = 500;
+
+    MongoTemplate mongoTemplate;
+
+    /**
+     * Count a new reaction; returns the new number of reactors for the icon, or -1 if the message is not tracked
+     */
+    public int onReactionAdded(String messageId, String userId, String icon) {
+        if (!isTrackableIcon(icon)) {
+            untrack(messageId);
+            return -1;
+        }
+
+        Update update = new Update().inc(countField(icon), 1);
+        update.push("recentReactors")
+                .slice(-RECENT_REACTORS_CAP)
+                .each(RecentReactor.builder()
+                        .userId(userId)
+                        .icon(icon)
+                        .reactedAt(Instant.now())
+                        .build());
+
+        ChatMessage updated = mongoTemplate.findAndModify(
+                trackedMessage(messageId), update, FindAndModifyOptions.options().returnNew(true), ChatMessage.class);
+        if (updated == null || updated.getReactionCounts() == null) {
+            return -1;
+        }
+        return updated.getReactionCounts().getOrDefault(icon, 0);
+    }
+
+    /**
+     * Uncount a removed reaction and drop the icon once nobody uses it
+     */
+    public void onReactionRemoved(String messageId, String userId, String icon) {
+        if (!isTrackableIcon(icon)) {
+            return;
+        }
+
+        mongoTemplate.updateFirst(
+                trackedMessage(messageId),
+                new Update()
+                        .inc(countField(icon), -1)
+                        .pull("recentReactors", new Document("userId", userId).append("icon", icon)),
+                ChatMessage.class);
+        mongoTemplate.updateFirst(
+                query(where("_id").is(messageId).and(countField(icon)).lte(0)),
+                new Update().unset(countField(icon)),
+                ChatMessage.class);
+    }
+
+    /**
+     * True when the message document alone describes every reaction on it
+     */
+    public boolean isComplete(ChatMessage message) {
+        if (message.getReactionCounts() == null || message.getRecentReactors() == null) {
+            return false;
+        }
+        int total = message.getReactionCounts().values().stream()
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sum();
+        return total <= message.getRecentReactors().size();
+    }
+
+    /**
+     * Users who reacted to a message whose counters are complete
+     */
+    public Set<String> reactorIds(ChatMessage message) {
+        return message.getRecentReactors().stream()
+                .map(RecentReactor::getUserId)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Reaction summary from the denormalized fields; only valid when isComplete(message)
+     */
+    public List<ReactionSummaryResponse> summarize(
+            ChatMessage message, String currentUserId, Map<String, UserProfileResponse> profiles) {
+        Map<String, List<RecentReactor>> reactorsByIcon = message.getRecentReactors().stream()
+                .sorted(Comparator.comparing(
+                        RecentReactor::getReactedAt, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .collect(Collectors.groupingBy(RecentReactor::getIcon, LinkedHashMap::new, Collectors.toList()));
+
+        List<ReactionSummaryResponse> summaries = new ArrayList<>();
+        message.getReactionCounts().forEach((icon, count) -> {
+            if (count == null || count <= 0) {
+                return;
+            }
+            List<RecentReactor> reactors = reactorsByIcon.getOrDefault(icon, List.of());
+            List<String> userIds =
+                    reactors.stream().map(RecentReactor::getUserId).distinct().toList();
+            boolean reactedByMe = userIds.contains(currentUserId);
+
+            summaries.add(ReactionSummaryResponse.builder()
+                    .icon(icon)
+                    .count(count)
+                    .userIds(userIds)
+                    .reactedByMe(reactedByMe)
+                    .myReactionCount(reactedByMe ? 1 : 0)
+                    .userReactionCounts(userIds.stream().collect(Collectors.toMap(Function.identity(), id -> 1)))
+                    .users(userIds.stream().map(id -> toUserReactionInfo(id, profiles.get(id))).toList())
+                    .build());
+        });
+        return summaries;
+    }
+
+    /**
+     * Recount every message's reaction fields from message_reaction.
+     * Fields are replaced only if unchanged since they were read, so concurrent reactions are not lost.
+     */
+    @Scheduled(cron = "${app.chat.reactions.repair-cron:0 45 4 * * *}")
+    @SchedulerLock(name = "chat-reaction-repair")
+    public void repair() {
+        // Messages written before counters existed start out tracked and empty
+        long initialized = mongoTemplate
+                .updateMulti(
+                        query(where("reactionCounts").exists(false)),
+                        new Update().set("reactionCounts", new HashMap<>()).set("recentReactors", List.of()),
+                        ChatMessage.class)
+                .getModifiedCount();
+
+        int checked = 0;
+        int repaired = 0;
+        Set<String> reactedMessageIds = new HashSet<>();
+
+        Aggregation aggregation = newAggregation(
+                        sort(Sort.Direction.ASC, "createdDate"),
+                        group("messageId")
+                                .push(new Document("userId", "$userId")
+                                        .append("icon", "$icon")
+                                        .append("reactedAt", "$createdDate"))
+                                .as("reactions"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        List<ReactionGroup> batch = new ArrayList<>(REPAIR_BATCH_SIZE);
+        try (Stream<ReactionGroup> groups =
+                mongoTemplate.aggregateStream(aggregation, MessageReaction.class, ReactionGroup.class)) {
+            var iterator = groups.iterator();
+            while (iterator.hasNext()) {
+                ReactionGroup group = iterator.next();
+                reactedMessageIds.add(group.id());
+                batch.add(group);
+                if (batch.size() == REPAIR_BATCH_SIZE || !iterator.hasNext()) {
+                    checked += batch.size();
+                    repaired += repairBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+
+        // Messages whose reactions were all deleted behind the counters' back
+        Query stale = query(where("recentReactors.0").exists(true));
+        stale.fields().include("_id");
+        try (Stream<ChatMessage> messages = mongoTemplate.stream(stale, ChatMessage.class)) {
+            for (ChatMessage message : (Iterable<ChatMessage>) messages::iterator) {
+                if (!reactedMessageIds.contains(message.getId())) {
+                    mongoTemplate.updateFirst(
+                            query(where("_id").is(message.getId())),
+                            new Update().set("reactionCounts", new HashMap<>()).set("recentReactors", List.of()),
+                            ChatMessage.class);
+                    repaired++;
+                }
+            }
+        }
+
+        log.info(
+                "Reaction counter repair: initialized={}, checked={}, repaired={}", initialized, checked, repaired);
+    }
+
+    private int repairBatch(List<ReactionGroup> groups) {
+        Map<String, ChatMessage> messages = mongoTemplate
+                .find(
+                        query(where("_id").in(groups.stream().map(ReactionGroup::id).toList())),
+                        ChatMessage.class)
+                .stream()
+                .collect(Collectors.toMap(ChatMessage::getId, Function.identity()));
+
+        int repaired = 0;
+        for (ReactionGroup group : groups) {
+            ChatMessage message = messages.get(group.id());
+            if (message == null) {
+                continue;
+            }
+            try {
+                if (group.reactions().stream().anyMatch(r -> !isTrackableIcon(r.getIcon()))) {
+                    if (message.getReactionCounts() != null) {
+                        untrack(message.getId());
+                        repaired++;
+                    }
+                    continue;
+                }
+
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                group.reactions().forEach(r -> counts.merge(r.getIcon(), 1, Integer::sum));
+                List<RecentReactor> reactions = group.reactions();
+                List<RecentReactor> recent = reactions.subList(
+                        Math.max(0, reactions.size() - RECENT_REACTORS_CAP), reactions.size());
+
+                if (counts.equals(message.getReactionCounts()) && sameReactors(recent, message.getRecentReactors())) {
+                    continue;
+                }
+
+                Query unchanged = query(where("_id").is(message.getId()));
+                unchanged.addCriteria(message.getReactionCounts() == null
+                        ? where("reactionCounts").exists(false)
+                        : where("reactionCounts").is(message.getReactionCounts()));
+                mongoTemplate.updateFirst(
+                        unchanged,
+                        new Update().set("reactionCounts", counts).set("recentReactors", recent),
+                        ChatMessage.class);
+                repaired++;
+            } catch (Exception e) {
+                log.error("Error repairing reaction counters of message {}: {}", message.getId(), e.getMessage());
+            }
+        }
+        return repaired;
+    }
+
+    private static boolean sameReactors(List<RecentReactor> expected, List<RecentReactor> actual) {
+        if (actual == null || expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (!Objects.equals(expected.get(i).getUserId(), actual.get(i).getUserId())
+                    || !Objects.equals(expected.get(i).getIcon(), actual.get(i).getIcon())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void untrack(String messageId) {
+        // Field names cannot hold the icon; render this message from message_reaction instead
+        mongoTemplate.updateFirst(
+                query(where("_id").is(messageId)),
+                new Update().unset("reactionCounts").unset("recentReactors"),
+                ChatMessage.class);
+    }
+
+    private static Query trackedMessage(String messageId) {
+        return query(where("_id").is(messageId).and("reactionCounts").exists(true));
+    }
+
+    private static String countField(String icon) {
+        return "reactionCounts." + icon;
+    }
+
+    private static boolean isTrackableIcon(String icon) {
+        return icon != null && !icon.isEmpty() && !icon.contains(".") && !icon.startsWith("$");
+    }
+
+    private static UserReactionInfo toUserReactionInfo(String userId, UserProfileResponse profile) {
+        if (profile == null || profile.getUser() == null) {
+            return UserReactionInfo.builder()
+                    .userId(userId)
+                    .username("Unknown User")
+                    .firstName("")
+                    .lastName("")
+                    .reactionCount(1)
+                    .build();
+        }
+        return UserReactionInfo.builder()
+                .userId(userId)
+                .username(profile.getUser().getUsername())
+                .firstName(profile.getUser().getFirstName())
+                .lastName(profile.getUser().getLastName())
+                .avatar(profile.getAvatar())
+                .reactionCount(1)
+                .build();
+    }
+
+    private record ReactionGroup(String id, List<RecentReactor> reactions) {}
+}
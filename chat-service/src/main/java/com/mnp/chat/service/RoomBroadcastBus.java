@@ -0,0 +1,17 @@
+package com.mnp.chat.service;
+
+import com.mnp.chat.dto.RoomEvent;
+
+/**
+ * Carries room events to every chat node, each of which delivers them to its own connections through
+ * {@link RoomEventDispatcher}. Selected with app.chat.broadcast.mode: "local" for a single node,
+ * "kafka" when several nodes share the load.
+ */
+public interface RoomBroadcastBus {
+    void publish(RoomEvent event);
+
+    /**
+     * Whether other nodes may hold connections; if not, the local session registry is the whole picture
+     */
+    boolean isDistributed();
+}
@@ -0,0 +1,76 @@
+package com.mnp.chat.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mnp.chat.dto.RoomEvent;
+import com.mnp.chat.util.PreSerializedPayload;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers room events to the connections of this node.
+ * Every bus implementation ends here, once per event and node; ids already delivered are dropped, so a
+ * bus that redelivers (Kafka after a rebalance) never shows a client the same event twice.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoomEventDispatcher {
+    static final Duration DELIVERED_IDS_TTL = Duration.ofMinutes(10);
+    static final long DELIVERED_IDS_MAX = 200_000;
+
+    SocketIOServer socketIOServer;
+    Cache<String, Boolean> deliveredIds;
+
+    public RoomEventDispatcher(SocketIOServer socketIOServer) {
+        this.socketIOServer = socketIOServer;
+        this.deliveredIds = Caffeine.newBuilder()
+                .expireAfterWrite(DELIVERED_IDS_TTL)
+                .maximumSize(DELIVERED_IDS_MAX)
+                .build();
+    }
+
+    public void dispatch(RoomEvent event) {
+        if (deliveredIds.asMap().putIfAbsent(event.getId(), Boolean.TRUE) != null) {
+            log.debug("Dropping duplicate room event {}", event.getId());
+            return;
+        }
+
+        List<PreSerializedPayload> payloads = new ArrayList<>(event.getPayloads().size());
+        event.getPayloads().forEach(json -> payloads.add(new PreSerializedPayload(json)));
+        String outsideRoom = event.getOutsideConversationId() != null
+                ? SocketRoomService.conversationRoom(event.getOutsideConversationId())
+                : null;
+
+        for (Map.Entry<String, Integer> target : event.getRooms().entrySet()) {
+            PreSerializedPayload payload = payloads.get(target.getValue());
+            BroadcastOperations room = socketIOServer.getRoomOperations(target.getKey());
+            try {
+                if (outsideRoom != null || event.getExcludedSessionId() != null) {
+                    for (SocketIOClient client : room.getClients()) {
+                        if (!client.getSessionId().toString().equals(event.getExcludedSessionId())
+                                && (outsideRoom == null || !client.getAllRooms().contains(outsideRoom))) {
+                            client.sendEvent(event.getEvent(), payload);
+                        }
+                    }
+                } else {
+                    room.sendEvent(event.getEvent(), payload);
+                }
+            } catch (Exception e) {
+                log.error("Error sending {} to room {}", event.getEvent(), target.getKey(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.mnp.chat.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.mnp.chat.dto.RoomEvent;
+import com.mnp.chat.util.PreSerializedPayload;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Socket.IO room membership and fan-out.
+ * Every connection joins "user:{userId}" on connect and "conversation:{id}" while it has that conversation open,
+ * so sends go straight to the recipients' rooms instead of scanning all connected clients.
+ * Sends are published on the {@link RoomBroadcastBus} as one event per call, so they reach the rooms on
+ * every node; events of one conversation are keyed by its id and keep their order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SocketRoomService {
+    static final String USER_ROOM_PREFIX = "user:";
+    static final String CONVERSATION_ROOM_PREFIX = "conversation:";
+
+    SocketIOServer socketIOServer;
+    RoomBroadcastBus roomBroadcastBus;
+
+    public static String userRoom(String userId) {
+        return USER_ROOM_PREFIX + userId;
+    }
+
+    public static String conversationRoom(String conversationId) {
+        return CONVERSATION_ROOM_PREFIX + conversationId;
+    }
+
+    public void joinUserRoom(SocketIOClient client, String userId) {
+        client.joinRoom(userRoom(userId));
+    }
+
+    /**
+     * Switch the connection to a conversation room; a connection has at most one conversation open
+     */
+    public void joinConversationRoom(SocketIOClient client, String conversationId) {
+        leaveConversationRooms(client);
+        if (conversationId != null) {
+            client.joinRoom(conversationRoom(conversationId));
+        }
+    }
+
+    public void leaveConversationRooms(SocketIOClient client) {
+        client.getAllRooms().stream()
+                .filter(room -> room.startsWith(CONVERSATION_ROOM_PREFIX))
+                .toList()
+                .forEach(client::leaveRoom);
+    }
+
+    /**
+     * Send to every connection (all devices) of one user
+     */
+    public void sendToUser(String userId, String event, Object payload) {
+        Map<String, Object> payloadByRoom = new LinkedHashMap<>();
+        payloadByRoom.put(userRoom(userId), payload);
+        publish(userRoom(userId), event, payloadByRoom, null, null);
+    }
+
+    /**
+     * Send the same payload to every connection of the given users
+     */
+    public void sendToUsers(String conversationId, Collection<String> userIds, String event, Object payload) {
+        Map<String, Object> payloadByRoom = new LinkedHashMap<>();
+        new LinkedHashSet<>(userIds).forEach(userId -> payloadByRoom.put(userRoom(userId), payload));
+        publish(conversationId, event, payloadByRoom, null, null);
+    }
+
+    /**
+     * Send a per-recipient payload; the payload is built once per user, not once per connection.
+     * On a single node, users without a live connection are skipped before the payload is built.
+     */
+    public <T> void sendToEachUser(
+            String conversationId, Collection<String> userIds, String event, Function<String, T> payloadForUser) {
+        Map<String, Object> payloadByRoom = new LinkedHashMap<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            if (!roomBroadcastBus.isDistributed() && !isOnline(userId)) {
+                continue;
+            }
+            try {
+                payloadByRoom.put(userRoom(userId), payloadForUser.apply(userId));
+            } catch (Exception e) {
+                log.error("Error building {} for user {}", event, userId, e);
+            }
+        }
+        publish(conversationId, event, payloadByRoom, null, null);
+    }
+
+    /**
+     * Send to connections that currently have the conversation open
+     */
+    public void sendToConversation(String conversationId, String event, Object payload) {
+        Map<String, Object> payloadByRoom = new LinkedHashMap<>();
+        payloadByRoom.put(conversationRoom(conversationId), payload);
+        publish(conversationId, event, payloadByRoom, null, null);
+    }
+
+    /**
+     * Send to connections that currently have the conversation open, except the given one (the sender)
+     */
+    public void sendToConversationExcept(
+            String conversationId, SocketIOClient excludedClient, String event, Object payload) {
+        Map<String, Object> payloadByRoom = new LinkedHashMap<>();
+        payloadByRoom.put(conversationRoom(conversationId), payload);
+        publish(conversationId, event, payloadByRoom, excludedClient.getSessionId().toString(), null);
+    }
+
+    /**
+     * Send to the users' connections that do not have the conversation open
+     */
+    public void sendToUsersOutsideConversation(
+            Collection<String> userIds, String conversationId, String event, Object payload) {
+        Map<String, Object> payloadByRoom = new LinkedHashMap<>();
+        new LinkedHashSet<>(userIds).forEach(userId -> payloadByRoom.put(userRoom(userId), payload));
+        publish(conversationId, event, payloadByRoom, null, conversationId);
+    }
+
+    // One bus event for all target rooms; rooms sharing a payload object share its serialized JSON
+    private void publish(
+            String orderingKey,
+            String event,
+            Map<String, Object> payloadByRoom,
+            String excludedSessionId,
+            String outsideConversationId) {
+        if (payloadByRoom.isEmpty()) {
+            return;
+        }
+        Map<Object, Integer> payloadIndexes = new IdentityHashMap<>();
+        List<String> payloads = new ArrayList<>();
+        Map<String, Integer> rooms = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> target : payloadByRoom.entrySet()) {
+            Integer index = payloadIndexes.computeIfAbsent(target.getValue(), payload -> {
+                payloads.add(payload instanceof PreSerializedPayload serialized
+                        ? serialized.getJson()
+                        : preSerialize(payload).getJson());
+                return payloads.size() - 1;
+            });
+            rooms.put(target.getKey(), index);
+        }
+
+        roomBroadcastBus.publish(RoomEvent.builder()
+                .id(UUID.randomUUID().toString())
+                .orderingKey(orderingKey)
+                .event(event)
+                .payloads(payloads)
+                .rooms(rooms)
+                .excludedSessionId(excludedSessionId)
+                .outsideConversationId(outsideConversationId)
+                .build());
+    }
+
+    /**
+     * Serialize a payload once with the same JSON support the socket server uses,
+     * so it can be sent to any number of connections without re-serializing
+     */
+    public PreSerializedPayload preSerialize(Object payload) {
+        ByteBuf buffer = Unpooled.buffer();
+        try (ByteBufOutputStream out = new ByteBufOutputStream(buffer)) {
+            socketIOServer.getConfiguration().getJsonSupport().writeValue(out, payload);
+            return new PreSerializedPayload(buffer.toString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize socket payload", e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    public boolean isOnline(String userId) {
+        return !socketIOServer.getRoomOperations(userRoom(userId)).getClients().isEmpty();
+    }
+}
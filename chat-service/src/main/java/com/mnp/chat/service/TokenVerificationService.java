@@ -0,0 +1,90 @@
+package com.mnp.chat.service;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifies socket handshake tokens in-process with the shared signing key, applying the same rules as
+ * identity-service's introspection: valid signature, not expired, not invalidated by logout or refresh.
+ * Invalidated token ids are pulled from identity-service in the background, so connecting never waits on
+ * it; a logout reaches new socket connections within one refresh interval.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenVerificationService {
+    IdentityService identityService;
+
+    @NonFinal
+    @Value("${jwt.signerKey}")
+    String signerKey;
+
+    @NonFinal
+    JWSVerifier verifier;
+
+    @NonFinal
+    volatile Set<String> invalidatedTokenIds = Set.of();
+
+    @PostConstruct
+    void init() throws JOSEException {
+        verifier = new MACVerifier(signerKey.getBytes());
+    }
+
+    /**
+     * The user id (subject) of a valid token, empty if the token must be rejected
+     */
+    public Optional<String> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            Date expiryTime = claims.getExpirationTime();
+
+            if (!signedJWT.verify(verifier) || expiryTime == null || !expiryTime.after(new Date())) {
+                return Optional.empty();
+            }
+            if (claims.getJWTID() != null && invalidatedTokenIds.contains(claims.getJWTID())) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(claims.getSubject());
+        } catch (ParseException | JOSEException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reload the invalidated token ids; the previous set is kept while identity-service is unreachable
+     */
+    @Scheduled(fixedDelayString = "${app.chat.auth.revocation-refresh-ms:30000}")
+    public void refreshInvalidatedTokens() {
+        List<String> ids = identityService.getInvalidatedTokenIds();
+        if (ids != null) {
+            invalidatedTokenIds = Set.copyOf(ids);
+            log.debug("Loaded {} invalidated token ids", ids.size());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mnp.chat.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.mnp.chat.dto.response.TypingResponse;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/**
+ * Relays typing indicators to the other connections that have the conversation open.
+ * Clients emit on every keystroke; a user's "typing" is forwarded at most once per refresh interval and
+ * "stopped" only after a forwarded "typing", and each conversation has a budget of indicators per second,
+ * so a busy group cannot turn keystrokes into a broadcast storm.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TypingIndicatorService {
+    static final String TYPING_EVENT = "typing";
+
+    SocketRoomService socketRoomService;
+
+    // key = conversationId + ":" + userId, value = when "typing" was last forwarded
+    Map<String, Long> lastForwarded = new ConcurrentHashMap<>();
+
+    // key = conversationId, value = indicators forwarded in the current one-second window
+    Map<String, Window> conversationWindows = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${app.chat.typing.refresh-ms:3000}")
+    long refreshMs;
+
+    @NonFinal
+    @Value("${app.chat.typing.max-per-conversation-per-second:5}")
+    int maxPerConversationPerSecond;
+
+    /**
+     * Forward a typing change of the user, unless it repeats one already forwarded or the conversation is
+     * over its budget. Returns whether it was forwarded.
+     */
+    public boolean onTyping(SocketIOClient client, String userId, String conversationId, boolean typing) {
+        String key = conversationId + ":" + userId;
+        long now = System.currentTimeMillis();
+
+        if (typing) {
+            Long previous = lastForwarded.get(key);
+            if (previous != null && now - previous < refreshMs) {
+                return false; // Receivers still show the previous indicator
+            }
+        } else if (!lastForwarded.containsKey(key)) {
+            return false; // Nothing to clear
+        }
+
+        if (!acquire(conversationId, now)) {
+            return false;
+        }
+        if (typing) {
+            lastForwarded.put(key, now);
+        } else {
+            lastForwarded.remove(key);
+        }
+
+        socketRoomService.sendToConversationExcept(
+                conversationId,
+                client,
+                TYPING_EVENT,
+                TypingResponse.builder()
+                        .conversationId(conversationId)
+                        .userId(userId)
+                        .typing(typing)
+                        .build());
+        return true;
+    }
+
+    private boolean acquire(String conversationId, long now) {
+        long second = now / 1000;
+        Window window = conversationWindows.compute(conversationId, (id, current) ->
+                current == null || current.second() != second
+                        ? new Window(second, 1)
+                        : new Window(second, current.count() + 1));
+        return window.count() <= maxPerConversationPerSecond;
+    }
+
+    /**
+     * Drop indicators and windows nobody refreshed; clients expire a "typing" on their own
+     */
+    @Scheduled(fixedDelayString = "${app.chat.typing.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        lastForwarded.entrySet().removeIf(entry -> now - entry.getValue() > refreshMs * 2);
+        conversationWindows.entrySet().removeIf(entry -> entry.getValue().second() < now / 1000 - 1);
+    }
+
+    private record Window(long second, int count) {}
+}
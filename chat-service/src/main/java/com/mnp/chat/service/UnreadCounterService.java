@@ -0,0 +1,278 @@
+package com.mnp.chat.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mnp.chat.entity.ChatMessage;
+import com.mnp.chat.entity.Conversation;
+import com.mnp.chat.entity.ConversationReadState;
+import com.mnp.chat.entity.ParticipantInfo;
+import com.mnp.chat.repository.ChatMessageRepository;
+import com.mnp.chat.repository.ConversationReadStateRepository;
+import com.mnp.chat.repository.ConversationRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Maintains per-user unread counters and read watermarks (conversation_read_state).
+ * Counters are bumped on message insert and reset on read, so the conversation list
+ * reads all of a user's counts with one indexed query instead of scanning messages.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UnreadCounterService {
+    static final int RECONCILE_PAGE_SIZE = 500;
+    static final String ADD_MEMBERS_TYPE = "SYSTEM_ADD_MEMBERS";
+    static final String ADD_MEMBERS_PREFIX = ADD_MEMBERS_TYPE + ":";
+
+    MongoTemplate mongoTemplate;
+    ConversationReadStateRepository readStateRepository;
+    ChatMessageRepository chatMessageRepository;
+    ConversationRepository conversationRepository;
+    ObjectMapper objectMapper;
+
+    /**
+     * Increment the counter of every participant who has not read the new message yet
+     */
+    public void onMessageCreated(ChatMessage message, Conversation conversation) {
+        if (conversation.getParticipants() == null) {
+            return;
+        }
+        // Direct conversations never counted plain system messages
+        if (!"GROUP".equals(conversation.getType()) && "SYSTEM".equals(message.getType())) {
+            return;
+        }
+
+        String senderId = message.getSender() != null ? message.getSender().getUserId() : null;
+        Set<String> alreadyRead = message.getReaders() == null
+                ? Set.of()
+                : message.getReaders().stream()
+                        .map(ParticipantInfo::getUserId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+
+        List<String> recipients = conversation.getParticipants().stream()
+                .map(ParticipantInfo::getUserId)
+                .filter(userId -> userId != null && !userId.equals(senderId) && !alreadyRead.contains(userId))
+                .distinct()
+                .toList();
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        // A recipient without a counter yet (e.g. a conversation older than the counters) gets the full count of
+        // their unread history, this message included, instead of starting from 1
+        Query tracked = query(where("conversationId").is(conversation.getId()).and("userId").in(recipients));
+        tracked.fields().include("userId");
+        Set<String> trackedUserIds = mongoTemplate.find(tracked, ConversationReadState.class).stream()
+                .map(ConversationReadState::getUserId)
+                .collect(Collectors.toSet());
+        List<String> untracked = recipients.stream()
+                .filter(userId -> !trackedUserIds.contains(userId))
+                .toList();
+        if (!untracked.isEmpty()) {
+            initialize(conversation, untracked);
+        }
+        if (trackedUserIds.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ConversationReadState.class);
+        for (String userId : trackedUserIds) {
+            bulk.updateOne(
+                    query(where("conversationId").is(conversation.getId()).and("userId").is(userId)),
+                    new Update().inc("unreadCount", 1).set("updatedAt", now));
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Reset the counter and advance the read watermark
+     */
+    public void markRead(String conversationId, String userId, Instant watermark) {
+        Instant now = Instant.now();
+        mongoTemplate.upsert(
+                query(where("conversationId").is(conversationId).and("userId").is(userId)),
+                new Update()
+                        .set("unreadCount", 0L)
+                        .max("lastReadAt", watermark)
+                        .set("updatedAt", now)
+                        .setOnInsert("trackedSince", now),
+                ConversationReadState.class);
+    }
+
+    public Optional<Instant> getReadWatermark(String conversationId, String userId) {
+        return readStateRepository
+                .findByConversationIdAndUserId(conversationId, userId)
+                .map(ConversationReadState::getLastReadAt);
+    }
+
+    public long getUnreadCount(Conversation conversation, String userId) {
+        return readStateRepository
+                .findByConversationIdAndUserId(conversation.getId(), userId)
+                .map(ConversationReadState::getUnreadCount)
+                .orElseGet(() -> initialize(conversation, List.of(userId)).get(userId));
+    }
+
+    /**
+     * Unread counts of all given conversations for one user: a single indexed query,
+     * plus a one-off count for conversations that have no read state yet
+     */
+    public Map<String, Long> getUnreadCounts(String userId, List<Conversation> conversations) {
+        Map<String, Long> counts = new HashMap<>();
+        readStateRepository
+                .findAllByUserId(userId)
+                .forEach(state -> counts.put(state.getConversationId(), state.getUnreadCount()));
+
+        for (Conversation conversation : conversations) {
+            if (!counts.containsKey(conversation.getId())) {
+                counts.put(conversation.getId(), initialize(conversation, List.of(userId)).get(userId));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Recompute every counter from the messages and repair drift.
+     * Counters are replaced only if unchanged since they were read, so concurrent increments are not lost.
+     */
+    @Scheduled(cron = "${app.chat.unread.reconcile-cron:0 15 4 * * *}")
+    @SchedulerLock(name = "chat-unread-reconcile")
+    public void reconcile() {
+        int repaired = 0;
+        int removed = 0;
+        int checked = 0;
+
+        int page = 0;
+        Page<ConversationReadState> batch;
+        do {
+            batch = readStateRepository.findAll(PageRequest.of(page++, RECONCILE_PAGE_SIZE, Sort.by("_id")));
+            for (ConversationReadState state : batch) {
+                checked++;
+                try {
+                    Optional<Conversation> conversation = conversationRepository.findById(state.getConversationId());
+                    if (conversation.isEmpty() || !isParticipant(conversation.get(), state.getUserId())) {
+                        readStateRepository.delete(state);
+                        removed++;
+                        continue;
+                    }
+
+                    long actual = countUnread(conversation.get(), state.getUserId(), state.getTrackedSince());
+                    if (actual != state.getUnreadCount()) {
+                        mongoTemplate.updateFirst(
+                                query(where("_id").is(state.getId()).and("unreadCount").is(state.getUnreadCount())),
+                                new Update().set("unreadCount", actual).set("updatedAt", Instant.now()),
+                                ConversationReadState.class);
+                        repaired++;
+                    }
+                } catch (Exception e) {
+                    log.error("Error reconciling unread counter {}: {}", state.getId(), e.getMessage());
+                }
+            }
+        } while (batch.hasNext());
+
+        log.info("Unread counter reconciliation: checked={}, repaired={}, removed={}", checked, repaired, removed);
+    }
+
+    /**
+     * Create the counters of users who have none yet, counting their unread messages since they were last added
+     * to the conversation; existing counters are left untouched. Returns the computed count per user.
+     */
+    public Map<String, Long> initialize(Conversation conversation, Collection<String> userIds) {
+        return initialize(conversation, userIds, lastAddedAt(conversation));
+    }
+
+    /**
+     * As above, with the join times already looked up by lastAddedAt
+     */
+    public Map<String, Long> initialize(
+            Conversation conversation, Collection<String> userIds, Map<String, Instant> addedAt) {
+        Map<String, Long> counts = new HashMap<>();
+        Instant now = Instant.now();
+        for (String userId : userIds) {
+            Instant since = addedAt.getOrDefault(userId, Instant.EPOCH);
+            long unread = countUnread(conversation, userId, since);
+            mongoTemplate.upsert(
+                    query(where("conversationId").is(conversation.getId()).and("userId").is(userId)),
+                    new Update()
+                            .setOnInsert("unreadCount", unread)
+                            .setOnInsert("trackedSince", since)
+                            .setOnInsert("updatedAt", now),
+                    ConversationReadState.class);
+            counts.put(userId, unread);
+        }
+        return counts;
+    }
+
+    /**
+     * When each member was last added to a group, from its SYSTEM_ADD_MEMBERS messages.
+     * Members never added that way (founders, direct conversations) are absent: their history counts from the start.
+     */
+    public Map<String, Instant> lastAddedAt(Conversation conversation) {
+        Map<String, Instant> addedAt = new HashMap<>();
+        if (!"GROUP".equals(conversation.getType())) {
+            return addedAt;
+        }
+
+        Query additions = query(where("conversationId").is(conversation.getId()).and("type").is(ADD_MEMBERS_TYPE))
+                .with(Sort.by(Sort.Direction.DESC, "createdDate"));
+        additions.fields().include("message").include("createdDate");
+        for (ChatMessage addition : mongoTemplate.find(additions, ChatMessage.class)) {
+            if (addition.getMessage() == null || !addition.getMessage().startsWith(ADD_MEMBERS_PREFIX)) {
+                continue;
+            }
+            try {
+                JsonNode addedMemberIds = objectMapper
+                        .readTree(addition.getMessage().substring(ADD_MEMBERS_PREFIX.length()))
+                        .path("addedMemberIds");
+                // Newest first, so the first addition seen for a user is the latest one
+                addedMemberIds.forEach(id -> addedAt.putIfAbsent(id.asText(), addition.getCreatedDate()));
+            } catch (JsonProcessingException e) {
+                log.warn("Error parsing add members metadata of message {}: {}", addition.getId(), e.getMessage());
+            }
+        }
+        return addedAt;
+    }
+
+    private long countUnread(Conversation conversation, String userId, Instant since) {
+        Instant from = since != null ? since : Instant.EPOCH;
+        return "GROUP".equals(conversation.getType())
+                ? chatMessageRepository.countUnreadInGroupSince(conversation.getId(), userId, from)
+                : chatMessageRepository.countUnreadInDirectSince(conversation.getId(), userId, from);
+    }
+
+    private boolean isParticipant(Conversation conversation, String userId) {
+        return conversation.getParticipants() != null
+                && conversation.getParticipants().stream().anyMatch(p -> userId.equals(p.getUserId()));
+    }
+}
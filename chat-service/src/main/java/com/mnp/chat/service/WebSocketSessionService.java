@@ -1,8 +1,17 @@
 package com.mnp.chat.service;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.mnp.chat.entity.WebSocketSession;
@@ -11,108 +20,211 @@ import com.mnp.chat.repository.WebSocketSessionRepository;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Node-local registry of live socket sessions.
+ * Sessions are indexed by socket id, by user id (one user can have several devices) and by the
+ * conversation currently open, so lookups on the socket event path never leave the process.
+ * When app.chat.sessions.mirror-to-mongo is on, changes are copied to web_socket_session
+ * asynchronously for observability only; nothing reads the mirror back.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class WebSocketSessionService {
+    static final long ACTIVE_WINDOW_SECONDS = 300;
+
     WebSocketSessionRepository webSocketSessionRepository;
 
+    Map<String, WebSocketSession> sessionsBySocketId = new ConcurrentHashMap<>();
+    Map<String, Set<String>> socketIdsByUser = new ConcurrentHashMap<>();
+    Map<String, Set<String>> socketIdsByConversation = new ConcurrentHashMap<>();
+
+    ExecutorService mirrorExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "socket-session-mirror");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @NonFinal
+    @Value("${app.chat.sessions.mirror-to-mongo:false}")
+    boolean mirrorToMongo;
+
     public WebSocketSession create(WebSocketSession webSocketSession) {
         // Clean up any existing sessions with the same socket session ID to prevent duplicates
         String socketSessionId = webSocketSession.getSocketSessionId();
         deleteSession(socketSessionId);
-        
-        log.info("Creating new WebSocket session for user: {} with socket ID: {}", 
+
+        log.info("Creating new WebSocket session for user: {} with socket ID: {}",
                 webSocketSession.getUserId(), socketSessionId);
-        
-        return webSocketSessionRepository.save(webSocketSession);
+
+        // The socket id doubles as document id so mirror writes are idempotent upserts
+        webSocketSession.setId(socketSessionId);
+        sessionsBySocketId.put(socketSessionId, webSocketSession);
+        addToIndex(socketIdsByUser, webSocketSession.getUserId(), socketSessionId);
+        addToIndex(socketIdsByConversation, webSocketSession.getCurrentConversationId(), socketSessionId);
+
+        mirrorSave(webSocketSession);
+        return webSocketSession;
     }
 
     public void deleteSession(String sessionId) {
-        webSocketSessionRepository.deleteBySocketSessionId(sessionId);
+        WebSocketSession removed = sessionsBySocketId.remove(sessionId);
+        if (removed == null) {
+            return;
+        }
+        removeFromIndex(socketIdsByUser, removed.getUserId(), sessionId);
+        removeFromIndex(socketIdsByConversation, removed.getCurrentConversationId(), sessionId);
+
+        mirrorDelete(sessionId);
     }
 
     public void updateCurrentConversationId(String socketSessionId, String conversationId) {
-        Optional<WebSocketSession> session = webSocketSessionRepository.findBySocketSessionId(socketSessionId);
-        if (session.isPresent()) {
-            WebSocketSession webSocketSession = session.get();
-            webSocketSession.setCurrentConversationId(conversationId);
-            webSocketSession.setLastActivityAt(Instant.now());
-            webSocketSessionRepository.save(webSocketSession);
-            log.info("Updated current conversation ID for session: {}", socketSessionId);
-        } else {
+        WebSocketSession current = sessionsBySocketId.get(socketSessionId);
+        if (current == null) {
             log.warn("No WebSocket session found for socketSessionId: {}", socketSessionId);
+            return;
+        }
+
+        // Replace rather than mutate so concurrent readers always see a consistent session
+        WebSocketSession updated = WebSocketSession.builder()
+                .id(current.getId())
+                .socketSessionId(current.getSocketSessionId())
+                .userId(current.getUserId())
+                .currentConversationId(conversationId)
+                .lastActivityAt(Instant.now())
+                .createdAt(current.getCreatedAt())
+                .build();
+
+        if (sessionsBySocketId.replace(socketSessionId, current, updated)) {
+            removeFromIndex(socketIdsByConversation, current.getCurrentConversationId(), socketSessionId);
+            addToIndex(socketIdsByConversation, conversationId, socketSessionId);
+            mirrorSave(updated);
+            log.debug("Updated current conversation ID for session: {}", socketSessionId);
+        } else {
+            log.debug("Session {} changed concurrently, conversation update skipped", socketSessionId);
         }
     }
 
     public boolean isUserInConversation(String userId, String conversationId) {
-        // Get all sessions for user in this conversation (can be multiple tabs/windows)
-        var sessions = webSocketSessionRepository.findByUserIdAndCurrentConversationId(userId, conversationId);
-
-        log.info(
-                "Checking if user {} is in conversation {}: found {} sessions",
-                userId,
-                conversationId,
-                sessions.size());
-
-        if (sessions.isEmpty()) {
-            log.info("No active session found for user {} in conversation {}", userId, conversationId);
+        if (userId == null || conversationId == null) {
             return false;
         }
 
-        // Check if any session has recent activity (within last 5 minutes)
-        Instant fiveMinutesAgo = Instant.now().minusSeconds(300);
-
-        for (WebSocketSession session : sessions) {
-            boolean isRecentActivity = session.getLastActivityAt() != null
-                    && session.getLastActivityAt().isAfter(fiveMinutesAgo);
-
-            if (isRecentActivity) {
-                log.info(
-                        "Found active session for user {} in conversation {}: sessionId={}, lastActivity={}",
-                        userId,
-                        conversationId,
-                        session.getSocketSessionId(),
-                        session.getLastActivityAt());
+        // Any device of the user with the conversation open and recent activity
+        Instant activeSince = Instant.now().minusSeconds(ACTIVE_WINDOW_SECONDS);
+        Set<String> userSockets = socketIdsByUser.getOrDefault(userId, Set.of());
+        for (String socketId : socketIdsByConversation.getOrDefault(conversationId, Set.of())) {
+            if (!userSockets.contains(socketId)) {
+                continue;
+            }
+            WebSocketSession session = sessionsBySocketId.get(socketId);
+            if (session != null
+                    && session.getLastActivityAt() != null
+                    && session.getLastActivityAt().isAfter(activeSince)) {
                 return true;
             }
         }
-
-        log.warn(
-                "Found {} sessions for user {} in conversation {} but all have stale activity",
-                sessions.size(),
-                userId,
-                conversationId);
         return false;
     }
 
     public Optional<WebSocketSession> getSessionBySocketId(String socketSessionId) {
-        return webSocketSessionRepository.findBySocketSessionId(socketSessionId);
+        return Optional.ofNullable(sessionsBySocketId.get(socketSessionId));
+    }
+
+    public List<WebSocketSession> getSessionsByUserId(String userId) {
+        return socketIdsByUser.getOrDefault(userId, Set.of()).stream()
+                .map(sessionsBySocketId::get)
+                .filter(session -> session != null)
+                .toList();
+    }
+
+    public List<WebSocketSession> getSessionsInConversation(String conversationId) {
+        return socketIdsByConversation.getOrDefault(conversationId, Set.of()).stream()
+                .map(sessionsBySocketId::get)
+                .filter(session -> session != null)
+                .toList();
+    }
+
+    public boolean isOnline(String userId) {
+        return !socketIdsByUser.getOrDefault(userId, Set.of()).isEmpty();
+    }
+
+    public int getSessionCount() {
+        return sessionsBySocketId.size();
     }
 
     /**
      * Clean up stale sessions that are older than the specified duration
-     * This helps prevent accumulation of dead sessions in the database
+     * This helps prevent accumulation of dead sessions (e.g. missed disconnects)
      */
     public void cleanupStaleSessions(int hoursOld) {
         Instant cutoff = Instant.now().minusSeconds(hoursOld * 3600L);
-        
-        // Find sessions older than cutoff that haven't been active recently
-        var allSessions = webSocketSessionRepository.findAll();
-        var staleSessions = allSessions.stream()
-                .filter(session -> session.getCreatedAt().isBefore(cutoff))
+
+        var staleSessions = sessionsBySocketId.values().stream()
+                .filter(session -> session.getCreatedAt() != null && session.getCreatedAt().isBefore(cutoff))
                 .filter(session -> session.getLastActivityAt() == null || session.getLastActivityAt().isBefore(cutoff))
                 .toList();
-                
+
         if (!staleSessions.isEmpty()) {
-            log.info("Cleaning up {} stale WebSocket sessions older than {} hours", 
+            log.info("Cleaning up {} stale WebSocket sessions older than {} hours",
                     staleSessions.size(), hoursOld);
-            
-            staleSessions.forEach(session -> 
-                webSocketSessionRepository.deleteBySocketSessionId(session.getSocketSessionId()));
+
+            staleSessions.forEach(session -> deleteSession(session.getSocketSessionId()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        mirrorExecutor.shutdown();
+    }
+
+    private static void addToIndex(Map<String, Set<String>> index, String key, String socketId) {
+        if (key != null) {
+            // Added inside compute: a concurrent removal could otherwise unmap the set before the add lands
+            index.compute(key, (k, socketIds) -> {
+                Set<String> ids = socketIds != null ? socketIds : ConcurrentHashMap.newKeySet();
+                ids.add(socketId);
+                return ids;
+            });
+        }
+    }
+
+    private static void removeFromIndex(Map<String, Set<String>> index, String key, String socketId) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, socketIds) -> {
+                socketIds.remove(socketId);
+                return socketIds.isEmpty() ? null : socketIds;
+            });
+        }
+    }
+
+    private void mirrorSave(WebSocketSession session) {
+        if (!mirrorToMongo) {
+            return;
+        }
+        mirrorExecutor.execute(() -> {
+            try {
+                webSocketSessionRepository.save(session);
+            } catch (Exception e) {
+                log.warn("Failed to mirror socket session {}: {}", session.getSocketSessionId(), e.getMessage());
+            }
+        });
+    }
+
+    private void mirrorDelete(String socketSessionId) {
+        if (!mirrorToMongo) {
+            return;
         }
+        mirrorExecutor.execute(() -> {
+            try {
+                webSocketSessionRepository.deleteBySocketSessionId(socketSessionId);
+            } catch (Exception e) {
+                log.warn("Failed to remove mirrored socket session {}: {}", socketSessionId, e.getMessage());
+            }
+        });
     }
 }
@@ -0,0 +1,39 @@
+package com.mnp.chat.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.mnp.chat.entity.ChatMessage;
+import com.mnp.chat.exception.AppException;
+import com.mnp.chat.exception.ErrorCode;
+
+/**
+ * Opaque keyset cursor over (createdDate, id) of a chat message, or (lastActivityAt, conversationId)
+ * in the conversation list. Encoded as url-safe base64 of "epochMillis:id".
+ */
+public record MessageCursor(Instant createdDate, String id) {
+
+    public static MessageCursor of(ChatMessage message) {
+        return new MessageCursor(message.getCreatedDate(), message.getId());
+    }
+
+    public String encode() {
+        String raw = createdDate.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MessageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new AppException(ErrorCode.INVALID_CURSOR);
+            }
+            return new MessageCursor(
+                    Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
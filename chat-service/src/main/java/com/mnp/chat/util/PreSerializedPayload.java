@@ -0,0 +1,36 @@
+package com.mnp.chat.util;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * Socket payload that was already serialized to JSON.
+ * The socket JSON support copies the bytes verbatim, so one payload can be sent to many
+ * connections without walking the object graph again; clients receive the same JSON object.
+ */
+public final class PreSerializedPayload extends JsonSerializable.Base {
+    private final String json;
+
+    public PreSerializedPayload(String json) {
+        this.json = json;
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
@@ -0,0 +1,187 @@
+package com.mnp.chat.load;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
+import com.corundumstudio.socketio.protocol.JsonSupport;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mnp.chat.dto.response.ChatMessageResponse;
+import com.mnp.chat.dto.response.ReactionSummaryResponse;
+import com.mnp.chat.dto.response.UserReactionInfo;
+import com.mnp.chat.entity.ParticipantInfo;
+import com.mnp.chat.util.PreSerializedPayload;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Microbenchmark for broadcasting one group message.
+ *
+ * PER_RECIPIENT builds and serializes the full response for every member, as the broadcast path used to.
+ * SHARED builds the sender and member variants once and writes the pre-serialized JSON per member,
+ * which is what the socket encoder does with a PreSerializedPayload. Prints time and allocated bytes
+ * per broadcast. Not part of the test suite.
+ *
+ * Usage: BroadcastSerializationBenchmark [members=500] [broadcasts=2000] [warmup=500]
+ */
+public class BroadcastSerializationBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int members = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int broadcasts = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int warmup = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        JsonSupport jsonSupport = new JacksonJsonSupport(new JavaTimeModule());
+        List<String> memberIds = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            memberIds.add("user-" + i);
+        }
+
+        for (int i = 0; i < warmup; i++) {
+            perRecipient(jsonSupport, memberIds);
+            shared(jsonSupport, memberIds);
+        }
+
+        report("PER_RECIPIENT", members, broadcasts, () -> perRecipient(jsonSupport, memberIds));
+        report("SHARED", members, broadcasts, () -> shared(jsonSupport, memberIds));
+    }
+
+    private static long perRecipient(JsonSupport jsonSupport, List<String> memberIds) throws IOException {
+        long bytes = 0;
+        String senderId = memberIds.get(0);
+        for (String recipientId : memberIds) {
+            ChatMessageResponse response = buildResponse(recipientId, senderId);
+            bytes += write(jsonSupport, response);
+        }
+        return bytes;
+    }
+
+    private static long shared(JsonSupport jsonSupport, List<String> memberIds) throws IOException {
+        long bytes = 0;
+        String senderId = memberIds.get(0);
+        Map<Boolean, PreSerializedPayload> variants = new HashMap<>();
+        for (String recipientId : memberIds) {
+            boolean isSender = recipientId.equals(senderId);
+            PreSerializedPayload payload = variants.get(isSender);
+            if (payload == null) {
+                payload = preSerialize(jsonSupport, buildResponse(recipientId, senderId));
+                variants.put(isSender, payload);
+            }
+            bytes += write(jsonSupport, payload);
+        }
+        return bytes;
+    }
+
+    private static ChatMessageResponse buildResponse(String recipientId, String senderId) {
+        ParticipantInfo sender = participant(senderId);
+
+        ChatMessageResponse reply = ChatMessageResponse.builder()
+                .id("reply-1")
+                .conversationId("conversation-1")
+                .me(false)
+                .message("Can someone review the release notes before five?")
+                .type("TEXT")
+                .status("SEEN")
+                .sender(participant("user-7"))
+                .createdDate(Instant.now())
+                .build();
+
+        List<ReactionSummaryResponse> reactions = List.of(ReactionSummaryResponse.builder()
+                .icon("👍")
+                .count(2)
+                .userIds(List.of("user-3", "user-9"))
+                .userReactionCounts(Map.of("user-3", 1, "user-9", 1))
+                .users(List.of(reactor("user-3"), reactor("user-9")))
+                .build());
+
+        return ChatMessageResponse.builder()
+                .id("message-1")
+                .conversationId("conversation-1")
+                .me(recipientId.equals(senderId))
+                .message("Reviewed, two small comments inline. Otherwise good to ship.")
+                .type("REPLY")
+                .status("SENT")
+                .sender(sender)
+                .createdDate(Instant.now())
+                .modifiedDate(Instant.now())
+                .replyToMessageId("reply-1")
+                .replyToMessage(reply)
+                .reactions(reactions)
+                .build();
+    }
+
+    private static ParticipantInfo participant(String userId) {
+        return ParticipantInfo.builder()
+                .userId(userId)
+                .username(userId)
+                .firstName("First " + userId)
+                .lastName("Last " + userId)
+                .avatar("https://cdn.example.com/avatars/" + userId + ".png")
+                .departmentName("Engineering")
+                .positionTitle("Software Engineer")
+                .seniorityLevel("SENIOR")
+                .roleName("EMPLOYEE")
+                .build();
+    }
+
+    private static UserReactionInfo reactor(String userId) {
+        return UserReactionInfo.builder()
+                .userId(userId)
+                .username(userId)
+                .firstName("First " + userId)
+                .lastName("Last " + userId)
+                .reactionCount(1)
+                .build();
+    }
+
+    private static PreSerializedPayload preSerialize(JsonSupport jsonSupport, Object payload) throws IOException {
+        ByteBuf buffer = Unpooled.buffer();
+        try (ByteBufOutputStream out = new ByteBufOutputStream(buffer)) {
+            jsonSupport.writeValue(out, payload);
+            return new PreSerializedPayload(buffer.toString(StandardCharsets.UTF_8));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static int write(JsonSupport jsonSupport, Object payload) throws IOException {
+        ByteBuf buffer = Unpooled.buffer();
+        try (ByteBufOutputStream out = new ByteBufOutputStream(buffer)) {
+            jsonSupport.writeValue(out, payload);
+            return buffer.readableBytes();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static void report(String name, int members, int broadcasts, Broadcast broadcast) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (int i = 0; i < broadcasts; i++) {
+            bytes += broadcast.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-14s %d members: %8.3f ms/broadcast, %10d bytes allocated/broadcast, %d bytes written%n",
+                name, members, elapsed / 1_000_000.0 / broadcasts, allocated / broadcasts, bytes / broadcasts);
+    }
+
+    @FunctionalInterface
+    private interface Broadcast {
+        long run() throws IOException;
+    }
+}
@@ -0,0 +1,439 @@
+package com.mnp.chat.load;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.json.JSONObject;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mnp.chat.ChatApplication;
+import com.mnp.chat.entity.Conversation;
+import com.mnp.chat.entity.ParticipantInfo;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import io.socket.client.IO;
+import io.socket.client.Socket;
+import io.socket.engineio.client.transports.WebSocket;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * End-to-end load harness for the socket path.
+ *
+ * Starts an embedded mongod and chat-service in this JVM with the identity and profile clients stubbed
+ * (see StubClientsConfiguration), seeds group conversations, connects N Socket.IO clients and drives
+ * a weighted mix of actions at a fixed total rate:
+ *   send  - POST /messages/create, fanned out by ChatMessageService.broadcastMessage
+ *   reply - "reply-message" to the last message seen in the conversation
+ *   react - "react-message" on the last message seen
+ *   read  - "message-status-update"
+ *   join  - "join-conversation" (room switch)
+ * Sent texts carry System.nanoTime(), so every "message"/"reply-message" delivery yields a send-to-receive
+ * latency. Prints latency percentiles, action and delivery throughput and the allocation rate of server
+ * threads (everything but the client and driver threads). Needs no external services. Not part of the
+ * test suite.
+ *
+ * Usage: ChatLoadHarness [clients=1000] [groupSize=20] [rate=200] [warmupSeconds=10] [durationSeconds=60]
+ *                        [mix=send:60,reply:15,react:10,read:10,join:5]
+ */
+public class ChatLoadHarness {
+    static final String SIGNER_KEY = "1TjXchw5FloESb63Kc+DFhTARvpWL4jUGCwfGWxuG5SIf/1y/LgJxHnMqaF6A/ij";
+    static final int SOCKET_PORT = 8099; // Default app.chat.socket.port
+    static final int MAX_LATENCY_SAMPLES = 10_000_000;
+    static final String[] CLIENT_THREAD_PREFIXES = {"OkHttp", "HttpClient", "load-", "EventThread"};
+
+    final Map<String, String> options;
+    final int clientCount;
+    final int groupSize;
+    final int rate;
+    final Map<String, Integer> mix;
+
+    final long[] latencies = new long[MAX_LATENCY_SAMPLES];
+    final AtomicInteger latencyCount = new AtomicInteger();
+    final Map<String, LongAdder> actions = new ConcurrentHashMap<>();
+    final LongAdder deliveries = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final Map<String, String> lastMessageIds = new ConcurrentHashMap<>();
+    volatile boolean measuring;
+
+    ChatLoadHarness(Map<String, String> options) {
+        this.options = options;
+        this.clientCount = intOption("clients", 1000);
+        this.groupSize = intOption("groupSize", 20);
+        this.rate = intOption("rate", 200);
+        this.mix = parseMix(options.getOrDefault("mix", "send:60,reply:15,react:10,read:10,join:5"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            options.put(keyValue[0], keyValue.length > 1 ? keyValue[1] : "");
+        }
+        new ChatLoadHarness(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        try (TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0)) {
+            var address = mongod.current().getServerAddress();
+            String mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/chat-load";
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                            ChatApplication.class, StubClientsConfiguration.class)
+                    .properties(
+                            "spring.data.mongodb.uri=" + mongoUri,
+                            "server.port=0",
+                            "spring.kafka.listener.auto-startup=false",
+                            "jwt.signerKey=" + SIGNER_KEY,
+                            "logging.level.root=WARN",
+                            "logging.level.com.mnp=WARN")
+                    .run();
+            try {
+                int httpPort = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                List<SimulatedUser> users = seed(context.getBean(MongoTemplate.class));
+                drive(users, "http://localhost:" + httpPort + "/chat");
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    // One group conversation per groupSize consecutive users
+    List<SimulatedUser> seed(MongoTemplate mongoTemplate) throws Exception {
+        List<SimulatedUser> users = new ArrayList<>();
+        for (int start = 0; start < clientCount; start += groupSize) {
+            List<ParticipantInfo> participants = new ArrayList<>();
+            for (int i = start; i < Math.min(start + groupSize, clientCount); i++) {
+                participants.add(participant("load-user-" + i));
+            }
+            Conversation conversation = mongoTemplate.insert(Conversation.builder()
+                    .type("GROUP")
+                    .groupName("Load group " + start / groupSize)
+                    .participantsHash("load-" + start)
+                    .participants(participants)
+                    .createdBy(participants.getFirst().getUserId())
+                    .createdDate(Instant.now())
+                    .modifiedDate(Instant.now())
+                    .build());
+            for (ParticipantInfo participant : participants) {
+                String userId = participant.getUserId();
+                users.add(new SimulatedUser(userId, conversation.getId(), token(userId)));
+            }
+        }
+        System.out.printf(
+                "Seeded %d users in %d conversations%n", users.size(), (clientCount + groupSize - 1) / groupSize);
+        return users;
+    }
+
+    void drive(List<SimulatedUser> users, String baseUrl) throws Exception {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(users.size() * 2);
+        dispatcher.setMaxRequestsPerHost(users.size() * 2);
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .readTimeout(0, TimeUnit.MILLISECONDS)
+                .build();
+        HttpClient httpClient = HttpClient.newBuilder().build();
+
+        // Connect in batches so the handshake burst does not dominate what is measured
+        long connectStart = System.nanoTime();
+        CountDownLatch connected = new CountDownLatch(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).connect(okHttpClient, connected);
+            if (i % 200 == 199) {
+                Thread.sleep(50);
+            }
+        }
+        if (!connected.await(120, TimeUnit.SECONDS)) {
+            System.out.printf("Only %d of %d clients connected%n", users.size() - connected.getCount(), users.size());
+        }
+        System.out.printf("Connected %d clients in %d ms%n",
+                users.size() - connected.getCount(), (System.nanoTime() - connectStart) / 1_000_000);
+
+        ScheduledExecutorService driver = Executors.newSingleThreadScheduledExecutor(
+                runnable -> new Thread(runnable, "load-driver"));
+        List<String> weighted = new ArrayList<>();
+        mix.forEach((action, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(action);
+            }
+        });
+        AtomicLong issued = new AtomicLong();
+        long driveStart = System.nanoTime();
+        driver.scheduleAtFixedRate(
+                () -> {
+                    // Catch up to the configured rate at every tick
+                    long due = (System.nanoTime() - driveStart) * rate / 1_000_000_000L;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (issued.get() < due) {
+                        issued.incrementAndGet();
+                        SimulatedUser user = users.get(random.nextInt(users.size()));
+                        String action = weighted.get(random.nextInt(weighted.size()));
+                        try {
+                            perform(action, user, httpClient, baseUrl);
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                    }
+                },
+                0,
+                10,
+                TimeUnit.MILLISECONDS);
+
+        Thread.sleep(intOption("warmupSeconds", 10) * 1000L);
+        resetCounters();
+        Map<Long, Long> allocatedBefore = serverThreadAllocations();
+        long measureStart = System.nanoTime();
+        measuring = true;
+
+        Thread.sleep(intOption("durationSeconds", 60) * 1000L);
+
+        measuring = false;
+        long elapsedNanos = System.nanoTime() - measureStart;
+        Map<Long, Long> allocatedAfter = serverThreadAllocations();
+        driver.shutdownNow();
+        report(elapsedNanos, allocatedBefore, allocatedAfter);
+
+        users.forEach(SimulatedUser::disconnect);
+        okHttpClient.dispatcher().executorService().shutdown();
+    }
+
+    void perform(String action, SimulatedUser user, HttpClient httpClient, String baseUrl) throws Exception {
+        String lastMessageId = lastMessageIds.get(user.conversationId);
+        if (lastMessageId == null && ("reply".equals(action) || "react".equals(action))) {
+            action = "send"; // Nothing to reply or react to yet
+        }
+        count(action);
+
+        switch (action) {
+            case "send" -> {
+                String body = new JSONObject()
+                        .put("conversationId", user.conversationId)
+                        .put("message", stampedText())
+                        .toString();
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/messages/create"))
+                        .header("Authorization", "Bearer " + user.token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                httpClient
+                        .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            if (failure != null || response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        });
+            }
+            case "reply" -> user.socket.emit(
+                    "reply-message",
+                    new JSONObject()
+                            .put("conversationId", user.conversationId)
+                            .put("message", stampedText())
+                            .put("replyToMessageId", lastMessageId));
+            case "react" -> user.socket.emit(
+                    "react-message", new JSONObject().put("messageId", lastMessageId).put("icon", "👍"));
+            case "read" -> user.socket.emit("message-status-update", user.conversationId);
+            case "join" -> user.socket.emit("join-conversation", user.conversationId);
+            default -> throw new IllegalArgumentException("Unknown action " + action);
+        }
+    }
+
+    void onDelivery(Object payload) {
+        if (!(payload instanceof JSONObject message)) {
+            return;
+        }
+        String conversationId = message.optString("conversationId", null);
+        String id = message.optString("id", null);
+        if (conversationId != null && id != null) {
+            lastMessageIds.put(conversationId, id);
+        }
+
+        String text = message.optString("message", "");
+        if (!measuring || !text.startsWith("load:")) {
+            return;
+        }
+        deliveries.increment();
+        long latency = System.nanoTime() - Long.parseLong(text.substring("load:".length()));
+        int index = latencyCount.getAndIncrement();
+        if (index < latencies.length) {
+            latencies[index] = latency;
+        }
+    }
+
+    void report(long elapsedNanos, Map<Long, Long> allocatedBefore, Map<Long, Long> allocatedAfter) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long totalActions = actions.values().stream().mapToLong(LongAdder::sum).sum();
+
+        System.out.printf(
+                "%nclients=%d groupSize=%d rate=%d/s measured=%.1fs%n", clientCount, groupSize, rate, seconds);
+        System.out.printf("actions:    %d (%.1f/s), errors %d%n", totalActions, totalActions / seconds, errors.sum());
+        actions.forEach((action, count) -> System.out.printf("  %-6s %d%n", action, count.sum()));
+        System.out.printf("deliveries: %d (%.1f/s)%n", deliveries.sum(), deliveries.sum() / seconds);
+
+        int samples = Math.min(latencyCount.get(), latencies.length);
+        if (samples > 0) {
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            System.out.printf("latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted[samples - 1] / 1_000_000.0);
+        }
+
+        // Threads that ended during the window are not counted
+        long allocated = 0;
+        for (Map.Entry<Long, Long> entry : allocatedAfter.entrySet()) {
+            allocated += entry.getValue() - allocatedBefore.getOrDefault(entry.getKey(), 0L);
+        }
+        System.out.printf("server allocation: %.1f MB/s (%d threads)%n",
+                allocated / seconds / (1024 * 1024), allocatedAfter.size());
+    }
+
+    Map<Long, Long> serverThreadAllocations() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<Long, Long> allocated = new LinkedHashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (Arrays.stream(CLIENT_THREAD_PREFIXES).noneMatch(thread.getName()::startsWith)) {
+                long bytes = threads.getThreadAllocatedBytes(thread.threadId());
+                if (bytes >= 0) {
+                    allocated.put(thread.threadId(), bytes);
+                }
+            }
+        }
+        return allocated;
+    }
+
+    void resetCounters() {
+        actions.clear();
+        deliveries.reset();
+        errors.reset();
+        latencyCount.set(0);
+    }
+
+    void count(String action) {
+        actions.computeIfAbsent(action, key -> new LongAdder()).increment();
+    }
+
+    int intOption(String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    static String stampedText() {
+        return "load:" + System.nanoTime();
+    }
+
+    static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] actionWeight = part.split(":");
+            weights.put(actionWeight[0].trim(), Integer.parseInt(actionWeight[1].trim()));
+        }
+        return weights;
+    }
+
+    static ParticipantInfo participant(String userId) {
+        var profile = StubClientsConfiguration.profile(userId);
+        return ParticipantInfo.builder()
+                .userId(userId)
+                .username(profile.getUser().getUsername())
+                .firstName(profile.getUser().getFirstName())
+                .lastName(profile.getUser().getLastName())
+                .avatar(profile.getAvatar())
+                .departmentName(profile.getUser().getDepartmentName())
+                .positionTitle(profile.getUser().getPositionTitle())
+                .seniorityLevel(profile.getUser().getSeniorityLevel())
+                .roleName(profile.getUser().getRoleName())
+                .build();
+    }
+
+    // Same shape as the access tokens issued by identity-service
+    static String token(String userId) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(userId)
+                .issuer("load-harness")
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("scope", "ROLE_EMPLOYEE")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        jwt.sign(new MACSigner(SIGNER_KEY.getBytes()));
+        return jwt.serialize();
+    }
+
+    final class SimulatedUser {
+        final String userId;
+        final String conversationId;
+        final String token;
+        Socket socket;
+
+        SimulatedUser(String userId, String conversationId, String token) {
+            this.userId = userId;
+            this.conversationId = conversationId;
+            this.token = token;
+        }
+
+        void connect(OkHttpClient okHttpClient, CountDownLatch connected) {
+            IO.Options options = IO.Options.builder()
+                    .setForceNew(true)
+                    .setReconnection(false)
+                    .setTransports(new String[] {WebSocket.NAME})
+                    .setQuery("token=" + token)
+                    .build();
+            options.callFactory = okHttpClient;
+            options.webSocketFactory = okHttpClient;
+
+            socket = IO.socket(URI.create("http://localhost:" + SOCKET_PORT), options);
+            socket.on(Socket.EVENT_CONNECT, args -> {
+                socket.emit("join-conversation", conversationId);
+                connected.countDown();
+            });
+            socket.on(Socket.EVENT_CONNECT_ERROR, args -> errors.increment());
+            socket.on("message", args -> onDelivery(args.length > 0 ? args[0] : null));
+            socket.on("reply-message", args -> onDelivery(args.length > 0 ? args[0] : null));
+            socket.connect();
+        }
+
+        void disconnect() {
+            if (socket != null) {
+                socket.disconnect();
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.mnp.chat.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import com.mnp.chat.ChatApplication;
+import com.mnp.chat.dto.RoomEvent;
+import com.mnp.chat.entity.Conversation;
+import com.mnp.chat.entity.ParticipantInfo;
+import com.mnp.chat.service.RoomBroadcastBus;
+import com.mnp.chat.service.SocketRoomService;
+
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import io.socket.client.IO;
+import io.socket.client.Socket;
+import io.socket.engineio.client.transports.WebSocket;
+
+/**
+ * Two-node test of the Kafka room broadcast bus, both nodes in this JVM.
+ *
+ * Starts an embedded mongod and Kafka broker and two chat-service instances sharing them, with
+ * app.chat.broadcast.mode=kafka. One member of a group is connected to each node; the sender posts
+ * numbered messages through node A only. Both members must receive every message exactly once and in
+ * order, and an event published twice with the same id must be delivered once per node.
+ */
+class MultiNodeBroadcastTest {
+    static final String TOPIC = "chat-room-events";
+    static final int MESSAGES = 50;
+
+    static EmbeddedKafkaKraftBroker kafka;
+    static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    static ConfigurableApplicationContext nodeA;
+    static ConfigurableApplicationContext nodeB;
+    static int nodeASocketPort;
+    static int nodeBSocketPort;
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        kafka = new EmbeddedKafkaKraftBroker(1, 4, TOPIC);
+        kafka.afterPropertiesSet();
+        mongod = Mongod.instance().start(Version.Main.V7_0);
+        var address = mongod.current().getServerAddress();
+        String mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/chat-multi-node";
+
+        nodeASocketPort = freePort();
+        nodeBSocketPort = freePort();
+        nodeA = startNode(mongoUri, kafka.getBrokersAsString(), nodeASocketPort);
+        nodeB = startNode(mongoUri, kafka.getBrokersAsString(), nodeBSocketPort);
+        awaitAssignment(nodeA);
+        awaitAssignment(nodeB);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (mongod != null) {
+            mongod.close();
+        }
+        if (kafka != null) {
+            kafka.destroy();
+        }
+    }
+
+    @Test
+    void deliversEveryMessageOnceAndInOrderOnBothNodes() throws Exception {
+        String senderId = "node-user-sender";
+        String memberOnAId = "node-user-a";
+        String memberOnBId = "node-user-b";
+        Conversation conversation = createGroup(senderId, memberOnAId, memberOnBId);
+
+        Receiver onA = new Receiver(memberOnAId, nodeASocketPort);
+        Receiver onB = new Receiver(memberOnBId, nodeBSocketPort);
+        try {
+            String baseUrl = "http://localhost:" + nodeA.getEnvironment().getProperty("local.server.port") + "/chat";
+            HttpClient httpClient = HttpClient.newHttpClient();
+            String token = ChatLoadHarness.token(senderId);
+            for (int i = 0; i < MESSAGES; i++) {
+                String body = new JSONObject()
+                        .put("conversationId", conversation.getId())
+                        .put("message", "check:" + i)
+                        .toString();
+                HttpResponse<Void> response = httpClient.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/messages/create"))
+                                .header("Authorization", "Bearer " + token)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding());
+                assertThat(response.statusCode()).as("status of message %d", i).isEqualTo(200);
+            }
+
+            onA.awaitMessages(MESSAGES);
+            onB.awaitMessages(MESSAGES);
+            Thread.sleep(1000); // Let late duplicates arrive
+
+            List<String> expected = IntStream.range(0, MESSAGES).mapToObj(i -> "check:" + i).toList();
+            assertThat(onA.texts).as("messages on node A").containsExactlyElementsOf(expected);
+            assertThat(onB.texts).as("messages on node B").containsExactlyElementsOf(expected);
+        } finally {
+            onA.close();
+            onB.close();
+        }
+    }
+
+    @Test
+    void suppressesRedeliveredEvents() throws Exception {
+        String senderId = "node-user-sender";
+        String memberOnAId = "node-user-dup-a";
+        String memberOnBId = "node-user-dup-b";
+        Conversation conversation = createGroup(senderId, memberOnAId, memberOnBId);
+
+        Receiver onA = new Receiver(memberOnAId, nodeASocketPort);
+        Receiver onB = new Receiver(memberOnBId, nodeBSocketPort);
+        try {
+            // The same event twice, as Kafka may redeliver it
+            RoomEvent duplicate = RoomEvent.builder()
+                    .id(UUID.randomUUID().toString())
+                    .orderingKey(conversation.getId())
+                    .event("check-duplicate")
+                    .payloads(List.of("{\"check\":true}"))
+                    .rooms(Map.of(
+                            SocketRoomService.userRoom(memberOnAId), 0, SocketRoomService.userRoom(memberOnBId), 0))
+                    .build();
+            RoomBroadcastBus bus = nodeA.getBean(RoomBroadcastBus.class);
+            bus.publish(duplicate);
+            bus.publish(duplicate);
+
+            onA.awaitDuplicates();
+            onB.awaitDuplicates();
+            Thread.sleep(1000); // Let a second delivery arrive, if any
+
+            assertThat(onA.duplicates).as("deliveries on node A").hasSize(1);
+            assertThat(onB.duplicates).as("deliveries on node B").hasSize(1);
+        } finally {
+            onA.close();
+            onB.close();
+        }
+    }
+
+    static Conversation createGroup(String senderId, String... memberIds) {
+        List<ParticipantInfo> participants = new ArrayList<>();
+        participants.add(ChatLoadHarness.participant(senderId));
+        for (String memberId : memberIds) {
+            participants.add(ChatLoadHarness.participant(memberId));
+        }
+        return nodeA.getBean(MongoTemplate.class).insert(Conversation.builder()
+                .type("GROUP")
+                .groupName("Multi-node test")
+                .participantsHash("multi-node-" + UUID.randomUUID())
+                .participants(participants)
+                .createdBy(senderId)
+                .createdDate(Instant.now())
+                .modifiedDate(Instant.now())
+                .build());
+    }
+
+    static ConfigurableApplicationContext startNode(String mongoUri, String kafkaBrokers, int socketPort) {
+        return new SpringApplicationBuilder(ChatApplication.class, StubClientsConfiguration.class)
+                .properties(
+                        "spring.data.mongodb.uri=" + mongoUri,
+                        "spring.kafka.bootstrap-servers=" + kafkaBrokers,
+                        "server.port=0",
+                        "app.chat.socket.port=" + socketPort,
+                        "app.chat.broadcast.mode=kafka",
+                        "app.chat.broadcast.topic=" + TOPIC,
+                        "jwt.signerKey=" + ChatLoadHarness.SIGNER_KEY,
+                        "logging.level.root=WARN",
+                        "logging.level.com.mnp=WARN")
+                .run();
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Consumers start at the latest offset: nothing may be published before every node has its partitions
+    static void awaitAssignment(ConfigurableApplicationContext node) throws InterruptedException {
+        KafkaListenerEndpointRegistry registry = node.getBean(KafkaListenerEndpointRegistry.class);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+        while (System.currentTimeMillis() < deadline) {
+            boolean assigned = registry.getListenerContainers().stream()
+                    .filter(container -> List.of(container.getContainerProperties().getTopics()).contains(TOPIC))
+                    .allMatch(container -> container.getAssignedPartitions() != null
+                            && !container.getAssignedPartitions().isEmpty());
+            if (assigned) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Room event consumer was not assigned partitions");
+    }
+
+    static final class Receiver {
+        final String userId;
+        final Socket socket;
+        final List<String> texts = new CopyOnWriteArrayList<>();
+        final List<Object> duplicates = new CopyOnWriteArrayList<>();
+        volatile CountDownLatch received;
+        final CountDownLatch duplicateReceived = new CountDownLatch(1);
+
+        Receiver(String userId, int socketPort) throws Exception {
+            this.userId = userId;
+            CountDownLatch connected = new CountDownLatch(1);
+            IO.Options options = IO.Options.builder()
+                    .setForceNew(true)
+                    .setReconnection(false)
+                    .setTransports(new String[] {WebSocket.NAME})
+                    .setQuery("token=" + ChatLoadHarness.token(userId))
+                    .build();
+            socket = IO.socket(URI.create("http://localhost:" + socketPort), options);
+            socket.on(Socket.EVENT_CONNECT, args -> connected.countDown());
+            socket.on("message", args -> {
+                if (args.length > 0 && args[0] instanceof JSONObject message) {
+                    texts.add(message.optString("message"));
+                    CountDownLatch latch = received;
+                    if (latch != null) {
+                        latch.countDown();
+                    }
+                }
+            });
+            socket.on("check-duplicate", args -> {
+                duplicates.add(args);
+                duplicateReceived.countDown();
+            });
+            socket.connect();
+            assertThat(connected.await(30, TimeUnit.SECONDS))
+                    .as("%s connected on port %d", userId, socketPort)
+                    .isTrue();
+            // The user room is joined during the connect handler; give it a moment before sending
+            Thread.sleep(500);
+        }
+
+        void awaitMessages(int expected) throws InterruptedException {
+            received = new CountDownLatch(Math.max(0, expected - texts.size()));
+            assertThat(received.await(60, TimeUnit.SECONDS))
+                    .as("%s received %d of %d messages", userId, texts.size(), expected)
+                    .isTrue();
+        }
+
+        void awaitDuplicates() throws InterruptedException {
+            assertThat(duplicateReceived.await(30, TimeUnit.SECONDS))
+                    .as("%s received the published event", userId)
+                    .isTrue();
+        }
+
+        void close() {
+            socket.disconnect();
+        }
+    }
+}
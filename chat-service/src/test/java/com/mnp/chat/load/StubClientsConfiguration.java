@@ -0,0 +1,116 @@
+package com.mnp.chat.load;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import com.mnp.chat.dto.ApiResponse;
+import com.mnp.chat.dto.request.IntrospectRequest;
+import com.mnp.chat.dto.request.UserStatusChangeRequest;
+import com.mnp.chat.dto.request.UserStatusUpdateRequest;
+import com.mnp.chat.dto.response.IntrospectResponse;
+import com.mnp.chat.dto.response.UserProfileResponse;
+import com.mnp.chat.dto.response.UserResponse;
+import com.mnp.chat.repository.httpclient.IdentityClient;
+import com.mnp.chat.repository.httpclient.ProfileClient;
+
+/**
+ * In-process replacements for the identity and profile services, so the load harness measures
+ * chat-service alone. Registered only by ChatLoadHarness; TestConfiguration keeps it out of
+ * component scanning.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StubClientsConfiguration {
+
+    static final Set<String> STUBBED_CLIENTS = Set.of(IdentityClient.class.getName(), ProfileClient.class.getName());
+
+    /**
+     * Feign client beans are registered as primary; demote them so the stubs below are injected instead
+     */
+    @Bean
+    static BeanFactoryPostProcessor demoteStubbedFeignClients() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                Object type = definition.getAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE);
+                String typeName = type instanceof Class<?> clazz ? clazz.getName() : String.valueOf(type);
+                if (STUBBED_CLIENTS.contains(typeName)) {
+                    definition.setPrimary(false);
+                }
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    IdentityClient stubIdentityClient() {
+        return new IdentityClient() {
+            @Override
+            public ApiResponse<IntrospectResponse> introspect(IntrospectRequest request) {
+                return ApiResponse.<IntrospectResponse>builder()
+                        .result(IntrospectResponse.builder().valid(true).build())
+                        .build();
+            }
+
+            @Override
+            public ApiResponse<Void> updateUserStatus(String userId, UserStatusUpdateRequest request) {
+                return ApiResponse.<Void>builder().build();
+            }
+
+            @Override
+            public ApiResponse<Void> updateUserStatuses(List<UserStatusChangeRequest> requests) {
+                return ApiResponse.<Void>builder().build();
+            }
+
+            @Override
+            public ApiResponse<List<String>> getInvalidatedTokenIds() {
+                return ApiResponse.<List<String>>builder().result(List.of()).build();
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    ProfileClient stubProfileClient() {
+        return new ProfileClient() {
+            @Override
+            public ApiResponse<UserProfileResponse> getProfile(String userId) {
+                return ApiResponse.<UserProfileResponse>builder()
+                        .result(profile(userId))
+                        .build();
+            }
+
+            @Override
+            public ApiResponse<List<UserProfileResponse>> getProfiles(List<String> userIds) {
+                return ApiResponse.<List<UserProfileResponse>>builder()
+                        .result(userIds.stream().map(StubClientsConfiguration::profile).toList())
+                        .build();
+            }
+        };
+    }
+
+    static UserProfileResponse profile(String userId) {
+        return UserProfileResponse.builder()
+                .id("profile-" + userId)
+                .userId(userId)
+                .avatar("https://cdn.example.com/avatars/" + userId + ".png")
+                .user(UserResponse.builder()
+                        .id(userId)
+                        .username(userId)
+                        .firstName("First " + userId)
+                        .lastName("Last " + userId)
+                        .roleName("EMPLOYEE")
+                        .departmentName("Engineering")
+                        .positionTitle("Software Engineer")
+                        .seniorityLevel("SENIOR")
+                        .isActive(true)
+                        .build())
+                .build();
+    }
+}
@@ -1,9 +1,13 @@
 package com.mnp.identity.controller;
 
+import java.util.List;
+
 import org.springframework.web.bind.annotation.*;
 
 import com.mnp.identity.dto.request.ApiResponse;
+import com.mnp.identity.dto.request.UserStatusChangeRequest;
 import com.mnp.identity.dto.response.UserResponse;
+import com.mnp.identity.service.AuthenticationService;
 import com.mnp.identity.service.UserService;
 
 import lombok.AccessLevel;
@@ -18,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class InternalController {
     UserService userService;
+    AuthenticationService authenticationService;
 
     @GetMapping("/users/{userId}")
     ApiResponse<UserResponse> getUser(@PathVariable("userId") String userId) {
@@ -27,6 +32,13 @@ public class InternalController {
                 .build();
     }
 
+    @PostMapping("/users/batch")
+    ApiResponse<List<UserResponse>> getUsers(@RequestBody List<String> userIds) {
+        return ApiResponse.<List<UserResponse>>builder()
+                .result(userService.getUsersForInternalService(userIds))
+                .build();
+    }
+
     @GetMapping("/users/{userId}/detailed")
     ApiResponse<UserResponse> getUserDetailed(@PathVariable("userId") String userId) {
         log.info("Internal call: Getting detailed user with ID: {}", userId);
@@ -34,4 +46,17 @@ public class InternalController {
                 .result(userService.getUserDetailed(userId))
                 .build();
     }
+
+    @PostMapping("/users/status")
+    ApiResponse<Void> updateUserStatuses(@RequestBody List<UserStatusChangeRequest> requests) {
+        userService.updateUserStatuses(requests);
+        return ApiResponse.<Void>builder().build();
+    }
+
+    @GetMapping("/tokens/invalidated")
+    ApiResponse<List<String>> getInvalidatedTokenIds() {
+        return ApiResponse.<List<String>>builder()
+                .result(authenticationService.getActiveInvalidatedTokenIds())
+                .build();
+    }
 }
@@ -0,0 +1,17 @@
+package com.mnp.identity.dto.request;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserStatusChangeRequest {
+    String userId;
+    Boolean online;
+    LocalDateTime lastLogin;
+}
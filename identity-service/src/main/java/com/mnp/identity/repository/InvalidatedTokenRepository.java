@@ -1,9 +1,17 @@
 package com.mnp.identity.repository;
 
+import java.util.Date;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mnp.identity.entity.InvalidatedToken;
 
 @Repository
-public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {}
+public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
+    @Query("SELECT t.id FROM InvalidatedToken t WHERE t.expiryTime > :now")
+    List<String> findIdsByExpiryTimeAfter(@Param("now") Date now);
+}
@@ -4,6 +4,7 @@ import java.text.ParseException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.UUID;
@@ -76,6 +77,13 @@ public class AuthenticationService {
                 .build();
     }
 
+    /**
+     * Ids (jti) of invalidated tokens that have not expired yet; services verifying tokens locally cache this set
+     */
+    public List<String> getActiveInvalidatedTokenIds() {
+        return invalidatedTokenRepository.findIdsByExpiryTimeAfter(new Date());
+    }
+
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
         PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
         var user = userRepository
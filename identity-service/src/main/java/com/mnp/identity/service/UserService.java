@@ -1,6 +1,10 @@
 package com.mnp.identity.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -9,10 +13,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.mnp.event.dto.NotificationEvent;
+import com.mnp.event.dto.UserUpdatedEvent;
 import com.mnp.identity.dto.interservice.InterServiceProfileCreationRequest;
 import com.mnp.identity.dto.request.ApiResponse;
 import com.mnp.identity.dto.request.ChangePasswordRequest;
 import com.mnp.identity.dto.request.UserCreationRequest;
+import com.mnp.identity.dto.request.UserStatusChangeRequest;
 import com.mnp.identity.dto.request.UserStatusUpdateRequest;
 import com.mnp.identity.dto.request.UserUpdateRequest;
 import com.mnp.identity.dto.response.UserProfileResponse;
@@ -52,6 +58,8 @@ public class UserService {
     ProfileClient profileClient;
     KafkaTemplate<String, Object> kafkaTemplate;
 
+    static final String USER_UPDATED_TOPIC = "user-updated";
+
     /**
      * Generates the next employee ID in format EMP001, EMP002, etc.
      * @return Next available employee ID
@@ -86,6 +94,26 @@ public class UserService {
         userRepository.save(user);
     }
 
+    /**
+     * Apply a batch of coalesced status changes, e.g. from chat-service after a reconnect storm
+     */
+    public void updateUserStatuses(List<UserStatusChangeRequest> requests) {
+        Map<String, UserStatusChangeRequest> changesByUser = requests.stream()
+                .filter(request -> request.getUserId() != null)
+                .collect(Collectors.toMap(UserStatusChangeRequest::getUserId, Function.identity(), (a, b) -> b));
+        List<User> users = userRepository.findAllById(changesByUser.keySet());
+        for (User user : users) {
+            UserStatusChangeRequest change = changesByUser.get(user.getId());
+            if (change.getOnline() != null) {
+                user.setOnline(change.getOnline());
+            }
+            if (change.getLastLogin() != null) {
+                user.setLastLogin(change.getLastLogin());
+            }
+        }
+        userRepository.saveAll(users);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public UserResponse createUser(UserCreationRequest request) {
         log.info("Creating user with username: {}", request.getUsername());
@@ -230,7 +258,27 @@ public class UserService {
             user.setRole(role);
         }
 
-        return userMapper.toUserResponse(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        publishUserUpdated(savedUser.getId());
+
+        return userMapper.toUserResponse(savedUser);
+    }
+
+    /**
+     * Let services that cache user names (e.g. task-service) drop their copy
+     */
+    private void publishUserUpdated(String userId) {
+        try {
+            kafkaTemplate.send(
+                    USER_UPDATED_TOPIC,
+                    userId,
+                    UserUpdatedEvent.builder()
+                            .userId(userId)
+                            .updatedAt(LocalDateTime.now())
+                            .build());
+        } catch (Exception e) {
+            log.warn("Failed to publish user-updated event for user {}: {}", userId, e.getMessage());
+        }
     }
 
     public UserResponse getMyInfo() {
@@ -245,6 +293,7 @@ public class UserService {
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteUser(String userId) {
         userRepository.deleteById(userId);
+        publishUserUpdated(userId);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD')")
@@ -266,6 +315,13 @@ public class UserService {
         return userMapper.toUserResponse(user);
     }
 
+    // Bulk lookup for inter-service communication; unknown ids are skipped
+    public List<UserResponse> getUsersForInternalService(List<String> ids) {
+        return userRepository.findAllById(ids).stream()
+                .map(userMapper::toUserResponse)
+                .toList();
+    }
+
     // New method for detailed user information including relationships
     public UserResponse getUserDetailed(String id) {
         User user = userRepository.findById(id).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
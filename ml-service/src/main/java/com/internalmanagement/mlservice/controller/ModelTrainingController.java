@@ -1,6 +1,7 @@
 package com.internalmanagement.mlservice.controller;
 
 import com.internalmanagement.mlservice.dto.*;
+import com.internalmanagement.mlservice.service.ContinuousTrainingScheduler;
 import com.internalmanagement.mlservice.service.ModelTrainingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,7 @@ import java.util.List;
 public class ModelTrainingController {
 
     private final ModelTrainingService modelTrainingService;
+    private final ContinuousTrainingScheduler continuousTrainingScheduler;
 
     /**
      * Trigger model training
@@ -204,8 +206,8 @@ public class ModelTrainingController {
                 config.getTrainingFrequencyHours());
         
         try {
-            ContinuousTrainingStatusDto response = modelTrainingService
-                    .configureContinuousTraining(config);
+            ContinuousTrainingStatusDto response = continuousTrainingScheduler
+                    .configure(config);
             
             return ResponseEntity.ok(response);
             
@@ -226,8 +228,8 @@ public class ModelTrainingController {
     public ResponseEntity<ContinuousTrainingStatusDto> getContinuousTrainingStatus() {
         
         try {
-            ContinuousTrainingStatusDto status = modelTrainingService
-                    .getContinuousTrainingStatus();
+            ContinuousTrainingStatusDto status = continuousTrainingScheduler
+                    .getStatus();
             
             return ResponseEntity.ok(status);
             
@@ -0,0 +1,90 @@
+package com.internalmanagement.mlservice.controller;
+
+import com.internalmanagement.mlservice.dto.AggregateVerificationDto;
+import com.internalmanagement.mlservice.dto.PerformanceAggregateDto;
+import com.internalmanagement.mlservice.entity.PerformanceAggregate;
+import com.internalmanagement.mlservice.service.PerformanceAggregateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * REST controller for precomputed success/performance aggregates
+ */
+@RestController
+@RequestMapping("/ml/aggregates")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class PerformanceAggregateController {
+
+    private final PerformanceAggregateService performanceAggregateService;
+
+    /**
+     * Get aggregate for one user, skill, department or month (yyyy-MM)
+     */
+    @GetMapping("/{dimension}/{key}")
+    public ResponseEntity<PerformanceAggregateDto> getAggregate(
+            @PathVariable String dimension,
+            @PathVariable String key) {
+
+        try {
+            PerformanceAggregate.Dimension parsed = PerformanceAggregate.Dimension.valueOf(dimension.toUpperCase());
+            if (parsed == PerformanceAggregate.Dimension.MONTH) {
+                key = YearMonth.parse(key).toString();
+            }
+
+            return performanceAggregateService.getAggregate(parsed, key)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.warn("Invalid aggregate lookup {}/{}: {}", dimension, key, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * List all aggregates of one dimension
+     */
+    @GetMapping("/{dimension}")
+    public ResponseEntity<List<PerformanceAggregateDto>> getAggregates(@PathVariable String dimension) {
+
+        try {
+            PerformanceAggregate.Dimension parsed = PerformanceAggregate.Dimension.valueOf(dimension.toUpperCase());
+            return ResponseEntity.ok(performanceAggregateService.getAggregates(parsed));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid aggregate dimension: {}", dimension);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Recompute aggregates from raw training data; repairs drift when repair=true
+     */
+    @PostMapping("/verify")
+    public ResponseEntity<AggregateVerificationDto> verifyAggregates(
+            @RequestParam(defaultValue = "false") boolean repair) {
+
+        log.info("Received aggregate verification request (repair={})", repair);
+
+        try {
+            return ResponseEntity.ok(performanceAggregateService.verifyAggregates(repair));
+
+        } catch (Exception e) {
+            log.error("Failed to verify aggregates: {}", e.getMessage());
+
+            return ResponseEntity.internalServerError()
+                    .body(AggregateVerificationDto.builder()
+                            .consistent(false)
+                            .message("Failed to verify aggregates: " + e.getMessage())
+                            .build());
+        }
+    }
+}
@@ -139,12 +139,14 @@ public class RecommendationController {
      * Get similar tasks for recommendation context
      */
     @GetMapping("/similar-tasks/{taskId}")
-    public ResponseEntity<List<SimilarTaskDto>> getSimilarTasks(@PathVariable String taskId) {
+    public ResponseEntity<List<SimilarTaskDto>> getSimilarTasks(
+            @PathVariable String taskId,
+            @RequestParam(required = false) Integer limit) {
         
         log.info("Finding similar tasks for: {}", taskId);
         
         try {
-            List<SimilarTaskDto> similarTasks = recommendationService.findSimilarTasks(taskId);
+            List<SimilarTaskDto> similarTasks = recommendationService.findSimilarTasks(taskId, limit);
             
             return ResponseEntity.ok(similarTasks);
             
@@ -154,6 +156,25 @@ public class RecommendationController {
         }
     }
 
+    /**
+     * Get similar historical tasks for a task described in the request body
+     */
+    @PostMapping("/similar-tasks")
+    public ResponseEntity<List<SimilarTaskDto>> getSimilarTasksForDetails(
+            @Valid @RequestBody TaskDetailsDto task,
+            @RequestParam(required = false) Integer limit) {
+
+        log.info("Finding similar tasks for task details: {}", task.getTaskId());
+
+        try {
+            return ResponseEntity.ok(recommendationService.findSimilarTasks(task, limit));
+
+        } catch (Exception e) {
+            log.error("Failed to find similar tasks: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Get user recommendation history
      */
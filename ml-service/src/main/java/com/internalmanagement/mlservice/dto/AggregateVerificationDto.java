@@ -0,0 +1,32 @@
+package com.internalmanagement.mlservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateVerificationDto {
+
+    private boolean consistent;
+
+    private boolean rebuilt;
+
+    private long sourceRecords;
+
+    private int aggregateKeys;
+
+    private int mismatchCount;
+
+    private List<String> mismatches; // "DIMENSION:key" of each differing row, truncated
+
+    private LocalDateTime verifiedAt;
+
+    private String message;
+}
@@ -30,4 +30,10 @@ public class ContinuousTrainingStatusDto {
     private int successfulRuns;
 
     private int failedRuns;
+
+    private String lastTriggerReason;
+
+    private Long newRecordsSinceLastTraining;
+
+    private Double lastDriftScore; // population stability index of performance scores
 }
@@ -0,0 +1,35 @@
+package com.internalmanagement.mlservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceAggregateDto {
+
+    private String dimension; // USER, SKILL, DEPARTMENT, MONTH
+
+    private String key;
+
+    private long completedCount;
+
+    private long scoredCount;
+
+    private long successCount;
+
+    private Double successRate;
+
+    private Double averagePerformance;
+
+    private Double timeEfficiency;
+
+    private LocalDateTime lastCompletionAt;
+
+    private LocalDateTime updatedAt;
+}
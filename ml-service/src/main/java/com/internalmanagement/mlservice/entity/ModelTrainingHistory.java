@@ -95,6 +95,9 @@ public class ModelTrainingHistory {
     @Column(name = "error_message")
     private String errorMessage;
 
+    @Column(name = "trigger_reason")
+    private String triggerReason; // MANUAL, VOLUME: ..., DRIFT: ...
+
     // Store additional metrics as JSON
     @ElementCollection
     @CollectionTable(name = "training_additional_metrics",
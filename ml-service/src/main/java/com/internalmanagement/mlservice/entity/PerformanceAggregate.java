@@ -0,0 +1,123 @@
+package com.internalmanagement.mlservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Incrementally maintained success/performance counters over completed training data.
+ * One row per (dimension, key), e.g. (USER, userId) or (MONTH, "2025-10").
+ */
+@Entity
+@Table(name = "ml_performance_aggregates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceAggregate {
+
+    @EmbeddedId
+    private PerformanceAggregateId id;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "scored_count", nullable = false)
+    private long scoredCount;
+
+    @Column(name = "success_count", nullable = false)
+    private long successCount;
+
+    @Column(name = "performance_score_sum", nullable = false)
+    private double performanceScoreSum;
+
+    @Column(name = "actual_hours_sum", nullable = false)
+    private double actualHoursSum;
+
+    @Column(name = "estimated_hours_sum", nullable = false)
+    private double estimatedHoursSum;
+
+    @Column(name = "last_completion_at")
+    private LocalDateTime lastCompletionAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Dimension {
+        USER, SKILL, DEPARTMENT, MONTH
+    }
+
+    public PerformanceAggregate(Dimension dimension, String dimensionKey) {
+        this.id = new PerformanceAggregateId(dimension, dimensionKey);
+    }
+
+    /**
+     * Add one completed assignment to the counters
+     */
+    public void record(TrainingData data, double successThreshold) {
+        completedCount++;
+
+        Double score = data.getPerformanceScore();
+        if (score != null) {
+            scoredCount++;
+            performanceScoreSum += score;
+            if (score >= successThreshold) {
+                successCount++;
+            }
+        }
+
+        // Hours are only summed in pairs so the efficiency ratio stays meaningful
+        if (data.getActualHours() != null && data.getEstimatedHours() != null) {
+            actualHoursSum += data.getActualHours();
+            estimatedHoursSum += data.getEstimatedHours();
+        }
+
+        LocalDateTime completedAt = data.getCompletionDate();
+        if (completedAt != null && (lastCompletionAt == null || completedAt.isAfter(lastCompletionAt))) {
+            lastCompletionAt = completedAt;
+        }
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Derived statistics
+    public Double getSuccessRate() {
+        return scoredCount > 0 ? (double) successCount / scoredCount : null;
+    }
+
+    public Double getAveragePerformance() {
+        return scoredCount > 0 ? performanceScoreSum / scoredCount : null;
+    }
+
+    public Double getTimeEfficiency() {
+        return actualHoursSum > 0 ? estimatedHoursSum / actualHoursSum : null;
+    }
+
+    /**
+     * Overwrite counters with recomputed values (used by the rebuild job)
+     */
+    public void copyCountersFrom(PerformanceAggregate source) {
+        completedCount = source.completedCount;
+        scoredCount = source.scoredCount;
+        successCount = source.successCount;
+        performanceScoreSum = source.performanceScoreSum;
+        actualHoursSum = source.actualHoursSum;
+        estimatedHoursSum = source.estimatedHoursSum;
+        lastCompletionAt = source.lastCompletionAt;
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Compare counters with another aggregate, ignoring timestamps and floating point noise
+     */
+    public boolean countersMatch(PerformanceAggregate other) {
+        return other != null
+                && completedCount == other.completedCount
+                && scoredCount == other.scoredCount
+                && successCount == other.successCount
+                && Math.abs(performanceScoreSum - other.performanceScoreSum) < 1e-6
+                && Math.abs(actualHoursSum - other.actualHoursSum) < 1e-6
+                && Math.abs(estimatedHoursSum - other.estimatedHoursSum) < 1e-6;
+    }
+}
@@ -0,0 +1,28 @@
+package com.internalmanagement.mlservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite key of a performance aggregate: the dimension and the value within it
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceAggregateId implements Serializable {
+
+    @Column(name = "dimension", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PerformanceAggregate.Dimension dimension;
+
+    @Column(name = "dimension_key", nullable = false)
+    private String dimensionKey;
+}
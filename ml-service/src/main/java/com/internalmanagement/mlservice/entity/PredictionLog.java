@@ -18,8 +18,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class PredictionLog {
 
+    // Sequence ids are allocated ahead in blocks, so the write-behind batches go out as JDBC batch inserts;
+    // IDENTITY would make Hibernate insert row by row to read back each generated key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ml_prediction_logs_seq")
+    @SequenceGenerator(name = "ml_prediction_logs_seq", sequenceName = "ml_prediction_logs_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "task_id", nullable = false)
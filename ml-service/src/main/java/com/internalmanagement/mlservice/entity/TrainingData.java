@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -54,7 +55,10 @@ public class TrainingData {
     @Column(name = "completion_date")
     private LocalDateTime completionDate;
 
+    // Paged jobs (aggregate verification, similar-task index) read the skills of a whole page: load them
+    // for up to a page of rows per query instead of one query per row
     @ElementCollection
+    @BatchSize(size = 500)
     @CollectionTable(name = "training_data_required_skills", 
                      joinColumns = @JoinColumn(name = "training_data_id"))
     @Column(name = "skill_name")
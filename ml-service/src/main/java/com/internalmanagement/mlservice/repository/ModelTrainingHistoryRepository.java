@@ -31,6 +31,11 @@ public interface ModelTrainingHistoryRepository extends JpaRepository<ModelTrain
      */
     Optional<ModelTrainingHistory> findTopByStatusOrderByCompletedAtDesc(String status);
 
+    /**
+     * Count training runs by run status (COMPLETED, FAILED, CANCELLED...)
+     */
+    long countByStatus(String status);
+
     /**
      * Find training history after a certain date
      */
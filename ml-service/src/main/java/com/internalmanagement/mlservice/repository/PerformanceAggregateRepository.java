@@ -0,0 +1,32 @@
+package com.internalmanagement.mlservice.repository;
+
+import com.internalmanagement.mlservice.entity.PerformanceAggregate;
+import com.internalmanagement.mlservice.entity.PerformanceAggregateId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for incrementally maintained performance aggregates
+ */
+@Repository
+public interface PerformanceAggregateRepository extends JpaRepository<PerformanceAggregate, PerformanceAggregateId> {
+
+    /**
+     * Load an aggregate row with a write lock so concurrent ingests cannot lose increments
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pa FROM PerformanceAggregate pa WHERE pa.id = :id")
+    Optional<PerformanceAggregate> findForUpdate(@Param("id") PerformanceAggregateId id);
+
+    /**
+     * Find all aggregates of one dimension (e.g. every department)
+     */
+    List<PerformanceAggregate> findByIdDimension(PerformanceAggregate.Dimension dimension);
+}
@@ -0,0 +1,24 @@
+package com.internalmanagement.mlservice.repository;
+
+import com.internalmanagement.mlservice.entity.PredictionLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for ML prediction logs
+ */
+@Repository
+public interface PredictionLogRepository extends JpaRepository<PredictionLog, Long> {
+
+    /**
+     * Find predictions made for a task, best rank first
+     */
+    List<PredictionLog> findByTaskIdOrderByRecommendationRankAsc(String taskId);
+
+    /**
+     * Find predictions made for a user
+     */
+    List<PredictionLog> findByUserIdOrderByPredictionDateDesc(String userId);
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for ML training data
@@ -22,6 +23,16 @@ public interface TrainingDataRepository extends JpaRepository<TrainingData, Long
      */
     List<TrainingData> findByTaskId(String taskId);
 
+    /**
+     * Find the latest training data row for a task/user pair
+     */
+    Optional<TrainingData> findFirstByTaskIdAndUserIdOrderByCreatedAtDesc(String taskId, String userId);
+
+    /**
+     * Page through completed assignments (used to rebuild performance aggregates)
+     */
+    Page<TrainingData> findByCompletionDateIsNotNull(Pageable pageable);
+
     /**
      * Find training data by user ID
      */
@@ -46,6 +57,26 @@ public interface TrainingDataRepository extends JpaRepository<TrainingData, Long
     @Query("SELECT td FROM TrainingData td WHERE td.createdAt >= :cutoffDate AND td.performanceScore IS NOT NULL")
     List<TrainingData> findLatestTrainingData(@Param("cutoffDate") LocalDateTime cutoffDate);
 
+    /**
+     * Count rows written after a point in time (new or updated data since the last training).
+     * Rows are inserted on assignment and updated on completion, so creation time alone misses completions.
+     */
+    long countByUpdatedAtAfter(LocalDateTime updatedAt);
+
+    /**
+     * Most recent performance scores last written before a point in time (drift baseline)
+     */
+    @Query("SELECT td.performanceScore FROM TrainingData td WHERE td.performanceScore IS NOT NULL " +
+           "AND td.updatedAt <= :cutoff ORDER BY td.updatedAt DESC")
+    List<Double> findPerformanceScoresBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Performance scores written after a point in time (drift sample)
+     */
+    @Query("SELECT td.performanceScore FROM TrainingData td WHERE td.performanceScore IS NOT NULL " +
+           "AND td.updatedAt > :cutoff ORDER BY td.updatedAt DESC")
+    List<Double> findPerformanceScoresAfter(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
     /**
      * Count records by data source
      */
@@ -66,7 +97,8 @@ public interface TrainingDataRepository extends JpaRepository<TrainingData, Long
     List<Object[]> getAveragePerformanceBySeniority();
 
     /**
-     * Get average performance by department
+     * Get average performance by department.
+     * Scans the whole table; hot paths should read PerformanceAggregateService instead.
      */
     @Query("SELECT td.departmentName, AVG(td.performanceScore) FROM TrainingData td " +
            "WHERE td.performanceScore IS NOT NULL GROUP BY td.departmentName")
@@ -0,0 +1,220 @@
+package com.internalmanagement.mlservice.service;
+
+import com.internalmanagement.mlservice.dto.ContinuousTrainingConfigDto;
+import com.internalmanagement.mlservice.dto.ContinuousTrainingStatusDto;
+import com.internalmanagement.mlservice.dto.TrainingRequestDto;
+import com.internalmanagement.mlservice.dto.TrainingResponseDto;
+import com.internalmanagement.mlservice.entity.ModelTrainingHistory;
+import com.internalmanagement.mlservice.repository.ModelTrainingHistoryRepository;
+import com.internalmanagement.mlservice.repository.TrainingDataRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Decides when to retrain instead of retraining on a fixed clock.
+ *
+ * Every check interval it counts training data rows written (added or completed) since the last
+ * completed training and computes the population stability index (PSI) of their performance scores
+ * against the preceding data. Training starts only when enough rows were written or the PSI
+ * crosses the drift threshold; ModelTrainingService guarantees a single run at a time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContinuousTrainingScheduler {
+
+    private static final int PSI_BINS = 10;
+    private static final double PSI_EPSILON = 1e-4;
+    private static final LocalDateTime NO_TRAINING_YET = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ModelTrainingService modelTrainingService;
+    private final TrainingDataRepository trainingDataRepository;
+    private final ModelTrainingHistoryRepository trainingHistoryRepository;
+
+    @Value("${app.ml.training.auto-retrain-enabled:false}")
+    private boolean autoRetrainEnabled;
+
+    @Value("${app.ml.training.min-new-records:200}")
+    private int defaultMinNewRecords;
+
+    @Value("${app.ml.training.min-hours-between-runs:6}")
+    private int defaultMinHoursBetweenRuns;
+
+    @Value("${app.ml.training.drift-psi-threshold:0.2}")
+    private double psiThreshold;
+
+    @Value("${app.ml.training.drift-min-sample:50}")
+    private int driftMinSample;
+
+    @Value("${app.ml.training.drift-max-sample:5000}")
+    private int driftMaxSample;
+
+    @Value("${app.ml.training.check-interval-ms:900000}")
+    private long checkIntervalMs;
+
+    // Runtime configuration, adjustable through /ml/training/continuous/configure
+    private volatile boolean enabled;
+    private volatile int minNewRecords;
+    private volatile int minHoursBetweenRuns;
+    private volatile String frequency = "ON_DEMAND";
+    private volatile LocalDateTime configuredAt;
+
+    // Last evaluation
+    private volatile LocalDateTime lastCheckAt;
+    private volatile Long lastNewRecords;
+    private volatile Double lastDriftScore;
+
+    @PostConstruct
+    void init() {
+        enabled = autoRetrainEnabled;
+        minNewRecords = defaultMinNewRecords;
+        minHoursBetweenRuns = defaultMinHoursBetweenRuns;
+    }
+
+    /**
+     * Evaluate the volume and drift triggers and start training when one fires
+     */
+    @Scheduled(fixedDelayString = "${app.ml.training.check-interval-ms:900000}",
+               initialDelayString = "${app.ml.training.check-initial-delay-ms:60000}")
+    public void checkTriggers() {
+        lastCheckAt = LocalDateTime.now();
+        if (!enabled) {
+            return;
+        }
+        if (modelTrainingService.isTrainingInProgress()) {
+            log.debug("Training in progress, skipping continuous training check");
+            return;
+        }
+
+        try {
+            ModelTrainingHistory lastRun = trainingHistoryRepository.findTopByOrderByStartedAtDesc().orElse(null);
+            if (lastRun != null && lastRun.getStartedAt() != null
+                    && lastRun.getStartedAt().isAfter(LocalDateTime.now().minusHours(minHoursBetweenRuns))) {
+                log.debug("Last training started at {}, within {}h cool-down", lastRun.getStartedAt(), minHoursBetweenRuns);
+                return;
+            }
+
+            LocalDateTime since = trainingHistoryRepository.findTopByStatusOrderByCompletedAtDesc("COMPLETED")
+                    .map(ModelTrainingHistory::getStartedAt)
+                    .orElse(NO_TRAINING_YET);
+
+            long newRecords = trainingDataRepository.countByUpdatedAtAfter(since);
+            lastNewRecords = newRecords;
+
+            if (newRecords >= minNewRecords) {
+                trigger(String.format("VOLUME: %d new records since %s", newRecords, since));
+                return;
+            }
+
+            if (newRecords >= driftMinSample && !NO_TRAINING_YET.equals(since)) {
+                double psi = computePerformanceDrift(since);
+                lastDriftScore = psi;
+                if (psi >= psiThreshold) {
+                    trigger(String.format("DRIFT: performance PSI %.3f >= %.3f over %d new records",
+                            psi, psiThreshold, newRecords));
+                    return;
+                }
+            }
+
+            log.debug("No retraining needed: {} new records (min {}), drift {}", newRecords, minNewRecords, lastDriftScore);
+        } catch (Exception e) {
+            log.error("Continuous training check failed: {}", e.getMessage());
+        }
+    }
+
+    public ContinuousTrainingStatusDto configure(ContinuousTrainingConfigDto config) {
+        log.info("Configuring continuous training: {}", config);
+
+        enabled = config.isEnabled();
+        if (config.getMinDataSize() > 0) {
+            minNewRecords = config.getMinDataSize();
+        }
+        if (config.getTrainingFrequencyHours() > 0) {
+            minHoursBetweenRuns = config.getTrainingFrequencyHours();
+        }
+        if (config.getFrequency() != null) {
+            frequency = config.getFrequency();
+        }
+        configuredAt = LocalDateTime.now();
+
+        return getStatus();
+    }
+
+    public ContinuousTrainingStatusDto getStatus() {
+        ModelTrainingHistory lastRun = trainingHistoryRepository.findTopByOrderByStartedAtDesc().orElse(null);
+
+        String status = modelTrainingService.isTrainingInProgress() ? "TRAINING" : enabled ? "WATCHING" : "DISABLED";
+        LocalDateTime nextCheck = enabled && lastCheckAt != null
+                ? lastCheckAt.plusNanos(checkIntervalMs * 1_000_000L)
+                : null;
+
+        return ContinuousTrainingStatusDto.builder()
+                .enabled(enabled)
+                .frequency(frequency)
+                .nextScheduledRun(nextCheck)
+                .lastRun(lastRun != null ? lastRun.getStartedAt() : null)
+                .configuredAt(configuredAt)
+                .status(status)
+                .lastRunResult(lastRun != null ? lastRun.getStatus() : null)
+                .lastTriggerReason(lastRun != null ? lastRun.getTriggerReason() : null)
+                .successfulRuns((int) trainingHistoryRepository.countByStatus("COMPLETED"))
+                .failedRuns((int) trainingHistoryRepository.countByStatus("FAILED"))
+                .newRecordsSinceLastTraining(lastNewRecords)
+                .lastDriftScore(lastDriftScore)
+                .build();
+    }
+
+    private void trigger(String reason) {
+        log.info("Continuous training triggered: {}", reason);
+
+        TrainingRequestDto request = new TrainingRequestDto();
+        request.setRequestedBy("continuous-training-scheduler");
+        request.setReason(reason);
+
+        TrainingResponseDto response = modelTrainingService.startTraining(request, reason);
+        if (!response.isSuccess()) {
+            log.info("Continuous training not started: {}", response.getMessage());
+        }
+    }
+
+    /**
+     * PSI of performance scores after {@code since} against the scores before it
+     */
+    private double computePerformanceDrift(LocalDateTime since) {
+        PageRequest sample = PageRequest.of(0, driftMaxSample);
+        List<Double> baseline = trainingDataRepository.findPerformanceScoresBefore(since, sample);
+        List<Double> recent = trainingDataRepository.findPerformanceScoresAfter(since, sample);
+        if (baseline.size() < driftMinSample || recent.size() < driftMinSample) {
+            return 0.0;
+        }
+        return populationStabilityIndex(histogram(baseline), histogram(recent));
+    }
+
+    private static double[] histogram(List<Double> scores) {
+        double[] bins = new double[PSI_BINS];
+        for (Double score : scores) {
+            double clamped = Math.max(0.0, Math.min(1.0, score));
+            bins[Math.min(PSI_BINS - 1, (int) (clamped * PSI_BINS))]++;
+        }
+        for (int i = 0; i < PSI_BINS; i++) {
+            bins[i] = Math.max(bins[i] / scores.size(), PSI_EPSILON);
+        }
+        return bins;
+    }
+
+    static double populationStabilityIndex(double[] expected, double[] actual) {
+        double psi = 0.0;
+        for (int i = 0; i < expected.length; i++) {
+            psi += (actual[i] - expected[i]) * Math.log(actual[i] / expected[i]);
+        }
+        return psi;
+    }
+}
@@ -1,13 +1,17 @@
 package com.internalmanagement.mlservice.service;
 
 import com.internalmanagement.mlservice.entity.MLTrainingEvent;
+import com.internalmanagement.mlservice.entity.TrainingData;
 import com.internalmanagement.mlservice.messaging.events.TaskAssignmentEvent;
 import com.internalmanagement.mlservice.messaging.events.TaskCompletionEvent;
 import com.internalmanagement.mlservice.messaging.events.UserProfileUpdateEvent;
 import com.internalmanagement.mlservice.repository.MLTrainingEventRepository;
+import com.internalmanagement.mlservice.repository.TrainingDataRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -19,32 +23,72 @@ import java.time.LocalDateTime;
 @Slf4j
 public class MLDataCollectionService {
 
+    private static final String COMPLETION_EVENT_SOURCE = "kafka_task_completion";
+
     private final MLTrainingEventRepository mlTrainingEventRepository;
+    private final TrainingDataRepository trainingDataRepository;
+    private final PerformanceAggregateService performanceAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Process task completion event for ML training
+     * Process task completion event for ML training.
+     * The raw event, the training data row and the performance aggregates are written in one transaction;
+     * the similar-task index picks up the row after commit.
      */
+    @Transactional
     public void processTaskCompletionEvent(TaskCompletionEvent event) {
         log.info("Processing task completion event for task: {}", event.getTaskId());
 
-        try {
-            MLTrainingEvent mlEvent = MLTrainingEvent.builder()
-                    .taskId(event.getTaskId())
-                    .userId(event.getAssignedUserId())
-                    .eventType(MLTrainingEvent.EventType.TASK_COMPLETION)
-                    .completionDate(event.getCompletedAt())
-                    .actualHours(event.getActualHours())
-                    .estimatedHours(event.getEstimatedHours())
-                    .qualityScore(event.getQualityScore())
-                    .processed(false)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            mlTrainingEventRepository.save(mlEvent);
-            log.info("Saved task completion event to ML training data");
+        MLTrainingEvent mlEvent = MLTrainingEvent.builder()
+                .taskId(event.getTaskId())
+                .userId(event.getAssignedUserId())
+                .eventType(MLTrainingEvent.EventType.TASK_COMPLETION)
+                .completionDate(event.getCompletedAt())
+                .actualHours(event.getActualHours())
+                .estimatedHours(event.getEstimatedHours())
+                .qualityScore(event.getQualityScore())
+                .processed(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        mlTrainingEventRepository.save(mlEvent);
+        log.info("Saved task completion event to ML training data");
+
+        if (!mlEvent.hasValidTaskData()) {
+            log.warn("Completion event for task {} has no assignee, skipping aggregates", event.getTaskId());
+            return;
+        }
 
-        } catch (Exception e) {
-            log.error("Failed to process task completion event: {}", e.getMessage());
+        TrainingData trainingData = trainingDataRepository
+                .findFirstByTaskIdAndUserIdOrderByCreatedAtDesc(event.getTaskId(), event.getAssignedUserId())
+                .orElseGet(() -> {
+                    TrainingData created = new TrainingData();
+                    created.setTaskId(event.getTaskId());
+                    created.setUserId(event.getAssignedUserId());
+                    created.setDataSource(COMPLETION_EVENT_SOURCE);
+                    return created;
+                });
+
+        // Redelivered events must not be counted twice
+        boolean alreadyCompleted = trainingData.getCompletionDate() != null;
+
+        double performanceScore = mlEvent.calculatePerformanceScore();
+        trainingData.setCompletionDate(event.getCompletedAt() != null ? event.getCompletedAt() : LocalDateTime.now());
+        if (event.getActualHours() != null) {
+            trainingData.setActualHours(event.getActualHours());
+        }
+        if (event.getEstimatedHours() != null) {
+            trainingData.setEstimatedHours(event.getEstimatedHours());
+        }
+        trainingData.setPerformanceScore(performanceScore);
+        trainingData.setActualPerformance(performanceScore);
+        trainingData = trainingDataRepository.save(trainingData);
+        eventPublisher.publishEvent(SimilarTaskIndexService.TaskSnapshot.from(trainingData));
+
+        if (alreadyCompleted) {
+            log.info("Task {} was already recorded as completed, aggregates unchanged", event.getTaskId());
+        } else {
+            performanceAggregateService.applyCompletion(trainingData);
         }
     }
 
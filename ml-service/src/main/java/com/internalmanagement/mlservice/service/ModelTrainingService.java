@@ -3,6 +3,7 @@ package com.internalmanagement.mlservice.service;
 import com.internalmanagement.mlservice.dto.*;
 import com.internalmanagement.mlservice.entity.ModelTrainingHistory;
 import com.internalmanagement.mlservice.repository.ModelTrainingHistoryRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,85 +16,209 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStreamReader;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ModelTrainingService {
 
+    private static final Pattern METRIC_LINE = Pattern.compile("^\\s*([A-Za-z][A-Za-z0-9 _]*?)\\s*:\\s*(-?[0-9]+(?:\\.[0-9]+)?)\\s*$");
+
     private final ModelTrainingHistoryRepository trainingHistoryRepository;
 
     private final MLIntegrationService mlIntegrationService;
 
+    private final AtomicReference<ActiveTraining> activeTraining = new AtomicReference<>();
+
+    private final ExecutorService trainingExecutor = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("ml-training-", 0).daemon(true).factory());
+
     @Value("${ml.python.training.path:/Users/phamanh/InternalManagement/ml-service/ml-training-python}")
     private String pythonTrainingPath;
 
     @Value("${ml.python.executable:python}")
     private String pythonExecutable;
 
+    @Value("${app.ml.training.max-training-time-minutes:120}")
+    private long maxTrainingMinutes;
+
+    /**
+     * The single training run allowed at a time
+     */
+    private static final class ActiveTraining {
+        final String trainingId;
+        final long startedNanos = System.nanoTime();
+        volatile Process process;
+        volatile boolean cancelled;
+
+        ActiveTraining(String trainingId) {
+            this.trainingId = trainingId;
+        }
+    }
+
+    /**
+     * Metrics and feature importances parsed from the training script output
+     */
+    private static final class TrainingOutput {
+        final Map<String, Object> metrics = new ConcurrentHashMap<>();
+        final Map<String, Double> featureImportance = new ConcurrentHashMap<>();
+        volatile String modelVersion;
+        volatile Integer sampleSize;
+    }
+
     /**
      * Start ML model training using the Python training pipeline
      * This calls the actual train_models.py script with real data
      */
     public TrainingResponseDto startTraining(TrainingRequestDto request) {
-        log.info("Starting ML model training with request: {}", request);
+        String reason = request.getReason() != null ? "MANUAL: " + request.getReason() : "MANUAL";
+        return startTraining(request, reason);
+    }
+
+    /**
+     * Start training with an explicit trigger reason; refused while another run is active
+     */
+    public TrainingResponseDto startTraining(TrainingRequestDto request, String triggerReason) {
+        log.info("Starting ML model training ({}) with request: {}", triggerReason, request);
 
         String trainingId = "training-" + System.currentTimeMillis();
+        ActiveTraining active = new ActiveTraining(trainingId);
+
+        if (!activeTraining.compareAndSet(null, active)) {
+            ActiveTraining running = activeTraining.get();
+            String runningId = running != null ? running.trainingId : null;
+            log.warn("Training {} rejected, training {} is still running", trainingId, runningId);
+            return TrainingResponseDto.builder()
+                    .success(false)
+                    .trainingId(runningId)
+                    .status("RUNNING")
+                    .message("Another training run is already in progress: " + runningId)
+                    .build();
+        }
 
-        // Save training start record to database
-        ModelTrainingHistory trainingHistory = new ModelTrainingHistory();
-        trainingHistory.setTrainingId(trainingId);
-        trainingHistory.setStatus("STARTED");
-        trainingHistory.setStartedAt(LocalDateTime.now());
-        trainingHistory.setTrainingType(request.getDataType() != null ? request.getDataType() : "REAL");
-        trainingHistory.setDataSource("multi_db_collection");
-        trainingHistoryRepository.save(trainingHistory);
-
-        // Start Python training asynchronously
-        CompletableFuture.runAsync(() -> {
-            try {
-                runPythonTraining(trainingId, request);
-            } catch (Exception e) {
-                log.error("Training failed for {}: {}", trainingId, e.getMessage());
-                updateTrainingStatus(trainingId, "FAILED", e.getMessage());
-            }
-        });
+        try {
+            // Save training start record to database
+            ModelTrainingHistory trainingHistory = new ModelTrainingHistory();
+            trainingHistory.setTrainingId(trainingId);
+            trainingHistory.setTrainingDate(LocalDateTime.now());
+            trainingHistory.setModelVersion("pending");
+            trainingHistory.setStatus("STARTED");
+            trainingHistory.setStartedAt(LocalDateTime.now());
+            trainingHistory.setTrainingType(request.getDataType() != null ? request.getDataType() : "REAL");
+            trainingHistory.setDataSource("multi_db_collection");
+            trainingHistory.setTriggerReason(triggerReason);
+            trainingHistoryRepository.save(trainingHistory);
+
+            // Start Python training asynchronously
+            trainingExecutor.submit(() -> {
+                try {
+                    runPythonTraining(active, request);
+                } catch (Exception e) {
+                    log.error("Training failed for {}: {}", trainingId, e.getMessage());
+                    finishTraining(active, "FAILED", e.getMessage(), null);
+                } finally {
+                    activeTraining.compareAndSet(active, null);
+                }
+            });
+        } catch (RuntimeException e) {
+            activeTraining.compareAndSet(active, null);
+            throw e;
+        }
 
         return TrainingResponseDto.builder()
+                .success(true)
                 .trainingId(trainingId)
                 .status("STARTED")
                 .startedAt(LocalDateTime.now())
                 .estimatedDuration("15-30 minutes")
-                .message("ML training started with Python pipeline. Training real data from PostgreSQL, MySQL, Neo4j and MongoDB.")
+                .message("ML training started with Python pipeline (" + triggerReason + "). Training real data from PostgreSQL, MySQL, Neo4j and MongoDB.")
                 .pythonCommand(getPythonCommand(request))
                 .build();
     }
 
+    public boolean isTrainingInProgress() {
+        return activeTraining.get() != null;
+    }
+
     /**
-     * Run Python training script with real data integration
+     * Run Python training script with real data integration.
+     * The process is killed when it exceeds max-training-time-minutes or is cancelled.
      */
-    private void runPythonTraining(String trainingId, TrainingRequestDto request) {
+    private void runPythonTraining(ActiveTraining active, TrainingRequestDto request) throws Exception {
+        String trainingId = active.trainingId;
+        updateTrainingStatus(trainingId, "RUNNING", "Collecting data from multiple databases...");
+
+        ProcessBuilder processBuilder = new ProcessBuilder();
+        processBuilder.directory(new File(pythonTrainingPath));
+        processBuilder.redirectErrorStream(true);
+
+        // Build Python command based on request type
+        List<String> command = List.of(
+            pythonExecutable,
+            "train_models.py",
+            "SYNTHETIC".equals(request.getDataType()) ? "--synthetic" : "--real"
+        );
+
+        processBuilder.command(command);
+        Process process = processBuilder.start();
+        active.process = process;
+        if (active.cancelled) {
+            process.destroy();
+        }
+
+        TrainingOutput output = new TrainingOutput();
+        Future<?> reader = trainingExecutor.submit(() -> readTrainingOutput(trainingId, process, output));
+
+        boolean finished = process.waitFor(maxTrainingMinutes, TimeUnit.MINUTES);
+        if (!finished) {
+            process.destroyForcibly();
+            finishTraining(active, "FAILED", "Training timed out after " + maxTrainingMinutes + " minutes", output);
+            return;
+        }
+
         try {
-            updateTrainingStatus(trainingId, "RUNNING", "Collecting data from multiple databases...");
+            reader.get(30, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            reader.cancel(true);
+        }
 
-            ProcessBuilder processBuilder = new ProcessBuilder();
-            processBuilder.directory(new File(pythonTrainingPath));
+        if (active.cancelled) {
+            finishTraining(active, "CANCELLED", "Training cancelled", output);
+            return;
+        }
 
-            // Build Python command based on request type
-            List<String> command = List.of(
-                pythonExecutable,
-                "train_models.py",
-                request.getDataType().equals("SYNTHETIC") ? "--synthetic" : "--real"
-            );
+        int exitCode = process.exitValue();
+        if (exitCode == 0) {
+            finishTraining(active, "COMPLETED", "Training completed successfully with real data", output);
 
-            processBuilder.command(command);
-            Process process = processBuilder.start();
+            // Notify AI service of model update
+            try {
+                ModelPerformanceDto performance = getModelPerformance();
+                mlIntegrationService.notifyModelUpdate(trainingId, performance);
+                log.info("Successfully notified AI service of model update for training {}", trainingId);
+            } catch (Exception e) {
+                log.warn("Failed to notify AI service of model update: {}", e.getMessage());
+            }
+        } else {
+            finishTraining(active, "FAILED", "Python training process failed with exit code: " + exitCode, output);
+        }
+    }
 
-            // Read output and update status
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    private void readTrainingOutput(String trainingId, Process process, TrainingOutput output) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            boolean inFeatureSection = false;
             String line;
             while ((line = reader.readLine()) != null) {
                 log.info("Python training output: {}", line);
@@ -108,28 +233,92 @@ public class ModelTrainingService {
                 } else if (line.contains("Hybrid model training completed")) {
                     updateTrainingStatus(trainingId, "RUNNING", "Finalizing hybrid model...");
                 }
+
+                if (line.contains("Feature Importance")) {
+                    inFeatureSection = true;
+                    continue;
+                }
+                if (line.isBlank() || line.startsWith("===")) {
+                    inFeatureSection = false;
+                }
+                parseOutputLine(line.trim(), inFeatureSection, output);
             }
+        } catch (Exception e) {
+            log.debug("Stopped reading training output for {}: {}", trainingId, e.getMessage());
+        }
+    }
 
-            int exitCode = process.waitFor();
-            if (exitCode == 0) {
-                updateTrainingStatus(trainingId, "COMPLETED", "Training completed successfully with real data");
+    private void parseOutputLine(String line, boolean inFeatureSection, TrainingOutput output) {
+        if (line.startsWith("Model Version:")) {
+            output.modelVersion = line.substring("Model Version:".length()).trim();
+            return;
+        }
+        Matcher matcher = METRIC_LINE.matcher(line);
+        if (!matcher.matches()) {
+            return;
+        }
+        String name = matcher.group(1).trim();
+        double value = Double.parseDouble(matcher.group(2));
 
-                // Notify AI service of model update
-                try {
-                    ModelPerformanceDto performance = getModelPerformance();
-                    mlIntegrationService.notifyModelUpdate(trainingId, performance);
-                    log.info("Successfully notified AI service of model update for training {}", trainingId);
-                } catch (Exception e) {
-                    log.warn("Failed to notify AI service of model update: {}", e.getMessage());
+        if (inFeatureSection) {
+            output.featureImportance.put(name, value);
+            return;
+        }
+        // Later (hybrid) results overwrite earlier per-model lines
+        switch (name) {
+            case "Accuracy" -> output.metrics.put("accuracy", value);
+            case "F1 Score" -> output.metrics.put("f1_score", value);
+            case "Precision" -> output.metrics.put("precision", value);
+            case "Recall" -> output.metrics.put("recall", value);
+            case "Training Samples" -> output.sampleSize = (int) value;
+            default -> { }
+        }
+    }
+
+    /**
+     * Record the final status, duration and parsed metrics of a run
+     */
+    private void finishTraining(ActiveTraining active, String status, String message, TrainingOutput output) {
+        double durationMinutes = (System.nanoTime() - active.startedNanos) / 60_000_000_000.0;
+        try {
+            ModelTrainingHistory training = trainingHistoryRepository.findByTrainingId(active.trainingId)
+                    .orElseThrow(() -> new RuntimeException("Training not found: " + active.trainingId));
+
+            training.setTrainingDurationMinutes(Math.round(durationMinutes * 100.0) / 100.0);
+            if (output != null) {
+                if (output.modelVersion != null) {
+                    training.setModelVersion(output.modelVersion);
+                }
+                if (output.sampleSize != null) {
+                    training.setTrainingSampleSize(output.sampleSize);
+                    training.setTrainingRecords(output.sampleSize);
+                }
+                if (!output.metrics.isEmpty() || !output.featureImportance.isEmpty()) {
+                    Map<String, Object> metrics = new HashMap<>(output.metrics);
+                    if (!output.featureImportance.isEmpty()) {
+                        metrics.put("feature_importance", new HashMap<>(output.featureImportance));
+                    }
+                    training.setPerformanceMetrics(metrics);
+                    training.setAccuracy(asDouble(output.metrics.get("accuracy")));
+                    training.setF1Score(asDouble(output.metrics.get("f1_score")));
+                    training.setPrecisionScore(asDouble(output.metrics.get("precision")));
+                    training.setRecallScore(asDouble(output.metrics.get("recall")));
                 }
-            } else {
-                updateTrainingStatus(trainingId, "FAILED", "Python training process failed with exit code: " + exitCode);
             }
-
+            if (!"COMPLETED".equals(status)) {
+                training.setErrorMessage(message);
+            }
+            trainingHistoryRepository.save(training);
         } catch (Exception e) {
-            log.error("Failed to run Python training: {}", e.getMessage());
-            updateTrainingStatus(trainingId, "FAILED", "Error running Python training: " + e.getMessage());
+            log.error("Failed to record training result for {}: {}", active.trainingId, e.getMessage());
         }
+        updateTrainingStatus(active.trainingId, status, message);
+        log.info("Training {} finished with status {} after {} minutes", active.trainingId, status,
+                String.format("%.2f", durationMinutes));
+    }
+
+    private static Double asDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : null;
     }
 
     /**
@@ -215,7 +404,7 @@ public class ModelTrainingService {
 
             if ("COMPLETED".equals(status)) {
                 training.setCompletedAt(LocalDateTime.now());
-            } else if ("FAILED".equals(status)) {
+            } else if ("FAILED".equals(status) || "CANCELLED".equals(status)) {
                 training.setFailedAt(LocalDateTime.now());
             }
 
@@ -241,13 +430,15 @@ public class ModelTrainingService {
                 }
                 return 30.0;
             case "COMPLETED": return 100.0;
-            case "FAILED": return 0.0;
+            case "FAILED":
+            case "CANCELLED": return 0.0;
             default: return 0.0;
         }
     }
 
     private LocalDateTime estimateCompletion(ModelTrainingHistory training) {
-        if ("COMPLETED".equals(training.getStatus()) || "FAILED".equals(training.getStatus())) {
+        if ("COMPLETED".equals(training.getStatus()) || "FAILED".equals(training.getStatus())
+                || "CANCELLED".equals(training.getStatus())) {
             return training.getCompletedAt() != null ? training.getCompletedAt() : training.getFailedAt();
         }
 
@@ -269,7 +460,7 @@ public class ModelTrainingService {
     private String getPythonCommand(TrainingRequestDto request) {
         return String.format("%s train_models.py %s",
                 pythonExecutable,
-                request.getDataType().equals("SYNTHETIC") ? "--synthetic" : "--real");
+                "SYNTHETIC".equals(request.getDataType()) ? "--synthetic" : "--real");
     }
 
     public ModelPerformanceDto getModelPerformance() {
@@ -325,13 +516,40 @@ public class ModelTrainingService {
     public CancelTrainingResponseDto cancelTraining() {
         log.info("Cancelling training");
 
+        ActiveTraining active = activeTraining.get();
+        if (active == null) {
+            return CancelTrainingResponseDto.builder()
+                    .success(false)
+                    .message("No training in progress")
+                    .cancelledAt(LocalDateTime.now())
+                    .build();
+        }
+
+        active.cancelled = true;
+        Process process = active.process;
+        if (process != null) {
+            process.destroy();
+        }
+
         return CancelTrainingResponseDto.builder()
                 .success(true)
+                .trainingId(active.trainingId)
                 .message("Training cancelled successfully")
                 .cancelledAt(LocalDateTime.now())
                 .build();
     }
 
+    @PreDestroy
+    void stopTraining() {
+        ActiveTraining active = activeTraining.get();
+        if (active != null && active.process != null) {
+            log.warn("Shutting down, killing training {}", active.trainingId);
+            active.cancelled = true;
+            active.process.destroyForcibly();
+        }
+        trainingExecutor.shutdownNow();
+    }
+
     public TrainingDataValidationDto validateTrainingData(Integer monthsBack) {
         log.info("Validating training data for last {} months", monthsBack);
 
@@ -400,51 +618,47 @@ public class ModelTrainingService {
         }
     }
 
+    /**
+     * Feature importances recorded from the latest completed training run
+     */
     public FeatureImportanceDto getFeatureImportance() {
         log.info("Getting feature importance data");
 
-        return FeatureImportanceDto.builder()
-                .modelVersion("v1.2.0")
-                .calculatedAt(LocalDateTime.now())
-                .featureImportances(Map.of(
-                    "skill_match", 0.35,
-                    "workload_score", 0.25,
-                    "performance_score", 0.20,
-                    "availability_score", 0.15,
-                    "collaboration_score", 0.05
-                ))
-                .topFeatures(List.of(
-                    FeatureImportanceItemDto.builder()
-                            .featureName("skill_match")
-                            .importance(0.35)
-                            .normalizedImportance(1.0)
-                            .rank(1)
-                            .description("Skill alignment between user and task")
-                            .build()
-                ))
-                .build();
-    }
-
-    public ContinuousTrainingStatusDto configureContinuousTraining(ContinuousTrainingConfigDto config) {
-        log.info("Configuring continuous training: {}", config);
+        ModelTrainingHistory latestCompleted = trainingHistoryRepository
+                .findTopByStatusOrderByCompletedAtDesc("COMPLETED")
+                .orElse(null);
 
-        return ContinuousTrainingStatusDto.builder()
-                .enabled(config.isEnabled())
-                .frequency(config.getFrequency())
-                .nextScheduledRun(LocalDateTime.now().plusHours(config.getTrainingFrequencyHours()))
-                .lastRun(LocalDateTime.now().minusHours(config.getTrainingFrequencyHours()))
-                .configuredAt(LocalDateTime.now())
-                .build();
-    }
+        Map<String, Double> importances = new HashMap<>();
+        if (latestCompleted != null && latestCompleted.getPerformanceMetrics() != null
+                && latestCompleted.getPerformanceMetrics().get("feature_importance") instanceof Map<?, ?> recorded) {
+            recorded.forEach((name, value) -> {
+                if (value instanceof Number number) {
+                    importances.put(String.valueOf(name), number.doubleValue());
+                }
+            });
+        }
 
-    public ContinuousTrainingStatusDto getContinuousTrainingStatus() {
-        log.info("Getting continuous training status");
+        double maxImportance = importances.values().stream().mapToDouble(Double::doubleValue).max().orElse(1.0);
+        List<Map.Entry<String, Double>> ranked = importances.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .toList();
+
+        List<FeatureImportanceItemDto> topFeatures = new java.util.ArrayList<>();
+        for (int i = 0; i < Math.min(10, ranked.size()); i++) {
+            Map.Entry<String, Double> entry = ranked.get(i);
+            topFeatures.add(FeatureImportanceItemDto.builder()
+                    .featureName(entry.getKey())
+                    .importance(entry.getValue())
+                    .normalizedImportance(maxImportance > 0 ? entry.getValue() / maxImportance : 0.0)
+                    .rank(i + 1)
+                    .build());
+        }
 
-        return ContinuousTrainingStatusDto.builder()
-                .enabled(true)
-                .frequency("DAILY")
-                .nextScheduledRun(LocalDateTime.now().plusHours(6))
-                .lastRun(LocalDateTime.now().minusHours(18))
+        return FeatureImportanceDto.builder()
+                .modelVersion(latestCompleted != null ? latestCompleted.getModelVersion() : "No trained model available")
+                .calculatedAt(latestCompleted != null ? latestCompleted.getCompletedAt() : LocalDateTime.now())
+                .featureImportances(importances)
+                .topFeatures(topFeatures)
                 .build();
     }
 
@@ -0,0 +1,239 @@
+package com.internalmanagement.mlservice.service;
+
+import com.internalmanagement.mlservice.dto.AggregateVerificationDto;
+import com.internalmanagement.mlservice.dto.PerformanceAggregateDto;
+import com.internalmanagement.mlservice.entity.PerformanceAggregate;
+import com.internalmanagement.mlservice.entity.PerformanceAggregateId;
+import com.internalmanagement.mlservice.entity.TrainingData;
+import com.internalmanagement.mlservice.repository.PerformanceAggregateRepository;
+import com.internalmanagement.mlservice.repository.TrainingDataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Maintains per-user, per-skill, per-department and per-month success aggregates.
+ *
+ * Aggregates are updated inside the transaction that ingests a completion event,
+ * so reads are primary-key lookups instead of GROUP BY scans over comprehensive_training_data.
+ * A verification job recomputes them from raw data and can repair drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PerformanceAggregateService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final int MAX_REPORTED_MISMATCHES = 50;
+
+    private final PerformanceAggregateRepository aggregateRepository;
+    private final TrainingDataRepository trainingDataRepository;
+
+    @Value("${app.ml.monitoring.performance-threshold:0.7}")
+    private double successThreshold;
+
+    @Value("${app.ml.aggregates.auto-repair:false}")
+    private boolean autoRepair;
+
+    /**
+     * Add a newly completed assignment to every aggregate it belongs to.
+     * Must run inside the caller's ingest transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyCompletion(TrainingData data) {
+        for (PerformanceAggregateId id : keysFor(data)) {
+            PerformanceAggregate aggregate = aggregateRepository.findForUpdate(id)
+                    .orElseGet(() -> new PerformanceAggregate(id.getDimension(), id.getDimensionKey()));
+            aggregate.record(data, successThreshold);
+            aggregateRepository.save(aggregate);
+        }
+        log.debug("Applied completion of task {} by user {} to performance aggregates",
+                data.getTaskId(), data.getUserId());
+    }
+
+    // Primary-key reads
+
+    @Transactional(readOnly = true)
+    public Optional<PerformanceAggregateDto> getAggregate(PerformanceAggregate.Dimension dimension, String key) {
+        return aggregateRepository.findById(new PerformanceAggregateId(dimension, normalizeKey(dimension, key)))
+                .map(this::convertToDto);
+    }
+
+    public Optional<PerformanceAggregateDto> getUserStats(String userId) {
+        return getAggregate(PerformanceAggregate.Dimension.USER, userId);
+    }
+
+    public Optional<PerformanceAggregateDto> getSkillStats(String skillName) {
+        return getAggregate(PerformanceAggregate.Dimension.SKILL, skillName);
+    }
+
+    public Optional<PerformanceAggregateDto> getDepartmentStats(String departmentName) {
+        return getAggregate(PerformanceAggregate.Dimension.DEPARTMENT, departmentName);
+    }
+
+    public Optional<PerformanceAggregateDto> getMonthlyStats(YearMonth month) {
+        return getAggregate(PerformanceAggregate.Dimension.MONTH, month.toString());
+    }
+
+    /**
+     * All aggregates of one dimension, e.g. the department breakdown for dashboards
+     */
+    @Transactional(readOnly = true)
+    public List<PerformanceAggregateDto> getAggregates(PerformanceAggregate.Dimension dimension) {
+        return aggregateRepository.findByIdDimension(dimension).stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    /**
+     * Recompute aggregates from raw training data and compare with the stored rows.
+     * When {@code repair} is set and drift is found, the stored rows are replaced.
+     * Ingests that commit while this runs may be overwritten, so run it off-peak.
+     */
+    @Transactional
+    public AggregateVerificationDto verifyAggregates(boolean repair) {
+        log.info("Verifying performance aggregates against raw training data (repair={})", repair);
+
+        Map<PerformanceAggregateId, PerformanceAggregate> expected = new HashMap<>();
+        long sourceRecords = 0;
+
+        int page = 0;
+        Page<TrainingData> batch;
+        do {
+            batch = trainingDataRepository.findByCompletionDateIsNotNull(
+                    PageRequest.of(page++, REBUILD_PAGE_SIZE, Sort.by("id")));
+            for (TrainingData data : batch) {
+                for (PerformanceAggregateId id : keysFor(data)) {
+                    expected.computeIfAbsent(id,
+                                    k -> new PerformanceAggregate(k.getDimension(), k.getDimensionKey()))
+                            .record(data, successThreshold);
+                }
+                sourceRecords++;
+            }
+        } while (batch.hasNext());
+
+        Map<PerformanceAggregateId, PerformanceAggregate> stored = new HashMap<>();
+        aggregateRepository.findAll().forEach(a -> stored.put(a.getId(), a));
+
+        Set<PerformanceAggregateId> allKeys = new HashSet<>(expected.keySet());
+        allKeys.addAll(stored.keySet());
+
+        List<String> mismatches = new ArrayList<>();
+        int mismatchCount = 0;
+        for (PerformanceAggregateId id : allKeys) {
+            PerformanceAggregate want = expected.get(id);
+            if (want == null || !want.countersMatch(stored.get(id))) {
+                mismatchCount++;
+                if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                    mismatches.add(id.getDimension() + ":" + id.getDimensionKey());
+                }
+            }
+        }
+
+        boolean rebuilt = false;
+        if (mismatchCount > 0 && repair) {
+            for (PerformanceAggregateId id : allKeys) {
+                PerformanceAggregate want = expected.get(id);
+                PerformanceAggregate have = stored.get(id);
+                if (want == null) {
+                    aggregateRepository.delete(have);
+                } else if (have == null) {
+                    aggregateRepository.save(want);
+                } else if (!want.countersMatch(have)) {
+                    have.copyCountersFrom(want);
+                }
+            }
+            rebuilt = true;
+            log.warn("Rebuilt performance aggregates: {} of {} keys differed", mismatchCount, allKeys.size());
+        } else if (mismatchCount > 0) {
+            log.warn("Performance aggregates drifted: {} of {} keys differ", mismatchCount, allKeys.size());
+        } else {
+            log.info("Performance aggregates consistent: {} keys over {} records", allKeys.size(), sourceRecords);
+        }
+
+        return AggregateVerificationDto.builder()
+                .consistent(mismatchCount == 0)
+                .rebuilt(rebuilt)
+                .sourceRecords(sourceRecords)
+                .aggregateKeys(expected.size())
+                .mismatchCount(mismatchCount)
+                .mismatches(mismatches)
+                .verifiedAt(LocalDateTime.now())
+                .message(mismatchCount == 0 ? "Aggregates match raw data"
+                        : rebuilt ? "Aggregates rebuilt from raw data" : "Aggregates differ from raw data")
+                .build();
+    }
+
+    /**
+     * Nightly consistency check; repairs only when auto-repair is enabled
+     */
+    @Scheduled(cron = "${app.ml.aggregates.verify-cron:0 30 3 * * *}")
+    @Transactional
+    public void scheduledVerification() {
+        try {
+            verifyAggregates(autoRepair);
+        } catch (Exception e) {
+            log.error("Scheduled aggregate verification failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Aggregate keys a completed training record contributes to
+     */
+    private Set<PerformanceAggregateId> keysFor(TrainingData data) {
+        Set<PerformanceAggregateId> ids = new LinkedHashSet<>();
+        ids.add(new PerformanceAggregateId(PerformanceAggregate.Dimension.USER, data.getUserId()));
+
+        if (data.getRequiredSkills() != null) {
+            for (String skill : data.getRequiredSkills()) {
+                if (skill != null && !skill.isBlank()) {
+                    ids.add(new PerformanceAggregateId(PerformanceAggregate.Dimension.SKILL,
+                            normalizeKey(PerformanceAggregate.Dimension.SKILL, skill)));
+                }
+            }
+        }
+
+        if (data.getDepartmentName() != null && !data.getDepartmentName().isBlank()) {
+            ids.add(new PerformanceAggregateId(PerformanceAggregate.Dimension.DEPARTMENT,
+                    data.getDepartmentName().trim()));
+        }
+
+        LocalDateTime completedAt = data.getCompletionDate() != null ? data.getCompletionDate() : data.getCreatedAt();
+        if (completedAt != null) {
+            ids.add(new PerformanceAggregateId(PerformanceAggregate.Dimension.MONTH,
+                    YearMonth.from(completedAt).toString()));
+        }
+        return ids;
+    }
+
+    private String normalizeKey(PerformanceAggregate.Dimension dimension, String key) {
+        if (key == null) return null;
+        return dimension == PerformanceAggregate.Dimension.SKILL ? key.trim().toLowerCase() : key.trim();
+    }
+
+    private PerformanceAggregateDto convertToDto(PerformanceAggregate aggregate) {
+        return PerformanceAggregateDto.builder()
+                .dimension(aggregate.getId().getDimension().name())
+                .key(aggregate.getId().getDimensionKey())
+                .completedCount(aggregate.getCompletedCount())
+                .scoredCount(aggregate.getScoredCount())
+                .successCount(aggregate.getSuccessCount())
+                .successRate(aggregate.getSuccessRate())
+                .averagePerformance(aggregate.getAveragePerformance())
+                .timeEfficiency(aggregate.getTimeEfficiency())
+                .lastCompletionAt(aggregate.getLastCompletionAt())
+                .updatedAt(aggregate.getUpdatedAt())
+                .build();
+    }
+}
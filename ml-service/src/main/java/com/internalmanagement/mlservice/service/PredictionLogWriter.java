@@ -0,0 +1,239 @@
+package com.internalmanagement.mlservice.service;
+
+import com.internalmanagement.mlservice.dto.RecommendationItemDto;
+import com.internalmanagement.mlservice.entity.PredictionLog;
+import com.internalmanagement.mlservice.repository.PredictionLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind logger for ml_prediction_logs.
+ *
+ * Scored candidates are queued in memory and written by a background thread in batches,
+ * either when a batch fills up or when the flush interval elapses, so the recommendation
+ * path never waits on the database. When the queue is full the configured overflow policy
+ * applies: DROP discards the entry and counts it, BLOCK waits up to block-timeout-ms and
+ * then drops. Whatever is queued at shutdown is flushed before the context closes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PredictionLogWriter {
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private final PredictionLogRepository predictionLogRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ml.prediction-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ml.prediction-log.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.ml.prediction-log.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.ml.prediction-log.flush-interval-ms:2000}")
+    private long flushIntervalMs;
+
+    @Value("${app.ml.prediction-log.overflow-policy:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${app.ml.prediction-log.block-timeout-ms:50}")
+    private long blockTimeoutMs;
+
+    private BlockingQueue<PredictionLog> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Counter droppedCounter;
+    private Counter writtenCounter;
+    private Counter failedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        meterRegistry.gauge("ml.prediction_log.queue.depth", queue, BlockingQueue::size);
+        droppedCounter = Counter.builder("ml.prediction_log.dropped")
+                .description("Prediction logs discarded because the write-behind queue was full")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("ml.prediction_log.written")
+                .description("Prediction logs persisted")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("ml.prediction_log.failed")
+                .description("Prediction logs lost because a batch insert failed")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("ml.prediction_log.flush")
+                .description("Latency of one batch insert into ml_prediction_logs")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        if (!enabled) {
+            log.info("Prediction logging disabled");
+            return;
+        }
+
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "prediction-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Prediction log writer started (capacity={}, batchSize={}, flushIntervalMs={}, policy={})",
+                queueCapacity, batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    /**
+     * Queue one row per scored candidate of a recommendation response
+     */
+    public void logRecommendations(String taskId, String modelVersion, List<RecommendationItemDto> recommendations,
+                                   double successThreshold) {
+        if (!enabled || taskId == null || recommendations == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (RecommendationItemDto recommendation : recommendations) {
+            if (recommendation.getUserId() == null || recommendation.getScore() == null) {
+                continue;
+            }
+            PredictionLog entry = new PredictionLog();
+            entry.setTaskId(taskId);
+            entry.setUserId(recommendation.getUserId());
+            entry.setModelVersion(modelVersion);
+            entry.setConfidenceScore(recommendation.getScore());
+            entry.setContentScore(recommendation.getSkillMatchScore());
+            entry.setPredictedSuccess(recommendation.getScore() >= successThreshold);
+            entry.setRecommendationRank(recommendation.getRank());
+            entry.setWasSelected(false);
+            entry.setPredictionDate(now);
+            entry.setPredictionType(PredictionLog.PredictionType.RECOMMENDATION);
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * Queue a single prediction log, applying the overflow policy when the queue is full
+     */
+    public boolean enqueue(PredictionLog entry) {
+        if (!enabled) {
+            return false;
+        }
+        boolean accepted = queue.offer(entry);
+        if (!accepted && overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                accepted = queue.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!accepted) {
+            droppedCounter.increment();
+            log.debug("Prediction log queue full, dropped entry for task {}", entry.getTaskId());
+        }
+        return accepted;
+    }
+
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Stop the flusher and persist everything still queued
+     */
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<PredictionLog> batch = new ArrayList<>(batchSize);
+        int remaining = queue != null ? queue.size() : 0;
+        while (queue != null && queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+        if (remaining > 0) {
+            log.info("Flushed {} queued prediction logs on shutdown", remaining);
+        }
+    }
+
+    private void runFlushLoop() {
+        List<PredictionLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PredictionLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Fill the batch until it is full or the flush interval runs out
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    PredictionLog next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Shutdown requested; write the partial batch, the rest of the queue is drained by shutdown()
+                flush(batch);
+                batch.clear();
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Prediction log flush loop error: {}", e.getMessage());
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PredictionLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            predictionLogRepository.saveAll(batch);
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} prediction logs: {}", batch.size(), e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -2,12 +2,20 @@ package com.internalmanagement.mlservice.service;
 
 import com.internalmanagement.mlservice.client.ProfileServiceClient;
 import com.internalmanagement.mlservice.dto.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,6 +26,26 @@ public class RecommendationService {
     private final MLIntegrationService mlIntegrationService;
     private final PythonMLClientService pythonMLClientService;
     private final ProfileServiceClient profileServiceClient;
+    private final SimilarTaskIndexService similarTaskIndexService;
+    private final PredictionLogWriter predictionLogWriter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> outcomeTimers = new ConcurrentHashMap<>();
+
+    @Value("${app.ml.monitoring.performance-threshold:0.7}")
+    private double predictionSuccessThreshold;
+
+    @Value("${app.ml.recommendation.debug-sample-rate:0.01}")
+    private double debugSampleRate;
+
+    static final String STAGE_CANDIDATE_FETCH = "candidate_fetch";
+    static final String STAGE_FEATURE_BUILD = "feature_build";
+    static final String STAGE_MODEL_CALL = "model_call";
+    static final String STAGE_ENRICHMENT = "enrichment";
+    static final String STAGE_FALLBACK_SCORING = "fallback_scoring";
+    static final String STAGE_RESPONSE_MAPPING = "response_mapping";
 
     /**
      * Get task assignment recommendations by calling the existing ai-service
@@ -64,58 +92,58 @@ public class RecommendationService {
      * Get task assignment recommendations with TaskAssignmentRequestDto
      */
     public RecommendationResponseDto getTaskAssignmentRecommendations(TaskAssignmentRequestDto request) {
-        log.info("Getting task assignment recommendations for request: {}",
-            RecommendationRequestDto.builder()
-                .taskId(request.getTask().getTaskId())
-                .taskTitle(request.getTask().getTitle())
-                .taskDescription(request.getTask().getDescription())
-                .priority(request.getTask().getPriority())
-                .requiredSkills(request.getTask().getRequiredSkills())
-                .estimatedHours(request.getTask().getEstimatedHours() != null ? request.getTask().getEstimatedHours().intValue() : null)
-                .build());
+        long startNanos = System.nanoTime();
+        String taskId = request.getTask().getTaskId();
+        boolean verbose = sampleDebugLogging();
+        log.info("Getting task assignment recommendations for task {}", taskId);
 
         try {
             // Generate ML recommendations directly without calling AI service
-            List<RecommendationItemDto> recommendations = generateMLRecommendations(request);
-
-            // Log detailed results for comparison
-            log.info("=== ML SERVICE RECOMMENDATIONS RESULT ===");
-            log.info("Task ID: {}", request.getTask().getTaskId());
-            log.info("Task Title: {}", request.getTask().getTitle());
-            log.info("Total Recommendations: {}", recommendations.size());
-            for (RecommendationItemDto rec : recommendations) {
-                log.info("ML_RECOMMENDATION - Rank: {}, UserID: {}, UserName: {}, Score: {}",
-                    rec.getRank(), rec.getUserId(), rec.getUserName(), rec.getScore());
-            }
-            log.info("=== END ML SERVICE RECOMMENDATIONS ===");
-
-            RecommendationResponseDto response = RecommendationResponseDto.builder()
-                    .success(true)
-                    .requestId("ml-req-" + System.currentTimeMillis())
-                    .taskId(request.getTask().getTaskId())
-                    .recommendations(recommendations)
-                    .totalCandidates(recommendations.size())
-                    .generatedAt(LocalDateTime.now())
-                    .algorithm("ml_recommendation_algorithm")
-                    .confidence(0.85)
-                    .message("ML recommendations generated successfully")
-                    .modelVersion("v1.0")
-                    .modelConfidence(0.85)
-                    .processingTimeMs(System.currentTimeMillis() % 1000)
-                    .build();
+            MLRecommendationResult result = generateMLRecommendations(request, verbose);
+            List<RecommendationItemDto> recommendations = result.recommendations();
+
+            RecommendationResponseDto response = timed(STAGE_RESPONSE_MAPPING, () -> {
+                if (verbose) {
+                    for (RecommendationItemDto rec : recommendations) {
+                        log.debug("ML_RECOMMENDATION - Rank: {}, UserID: {}, UserName: {}, Score: {}",
+                                rec.getRank(), rec.getUserId(), rec.getUserName(), rec.getScore());
+                    }
+                }
 
-            log.info("ML Service returning {} recommendations for task {}",
-                recommendations.size(), request.getTask().getTaskId());
+                return RecommendationResponseDto.builder()
+                        .success(true)
+                        .requestId("ml-req-" + System.currentTimeMillis())
+                        .taskId(taskId)
+                        .recommendations(recommendations)
+                        .totalCandidates(recommendations.size())
+                        .generatedAt(LocalDateTime.now())
+                        .algorithm("ml_recommendation_algorithm")
+                        .confidence(0.85)
+                        .message("ML recommendations generated successfully")
+                        .modelVersion("v1.0")
+                        .modelConfidence(0.85)
+                        .processingTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                        .build();
+            });
+
+            // Write-behind: queued here, persisted in batches off the request thread
+            predictionLogWriter.logRecommendations(taskId, response.getModelVersion(),
+                    recommendations, predictionSuccessThreshold);
+
+            recordTotal(result.outcome(), startNanos);
+            log.info("ML Service returning {} recommendations for task {} ({}, {}ms)",
+                    recommendations.size(), taskId, result.outcome(), response.getProcessingTimeMs());
             return response;
 
         } catch (Exception e) {
+            recordTotal("error", startNanos);
             log.error("Failed to generate ML recommendations for task {}: {}",
-                request.getTask().getTaskId(), e.getMessage());
+                taskId, e.getMessage());
 
             return RecommendationResponseDto.builder()
                     .success(false)
                     .requestId("ml-req-" + System.currentTimeMillis())
-                    .taskId(request.getTask().getTaskId())
+                    .taskId(taskId)
                     .recommendations(List.of())
                     .totalCandidates(0)
                     .generatedAt(LocalDateTime.now())
@@ -175,100 +203,132 @@ public class RecommendationService {
     }
 
     /**
-     * Find similar tasks for analysis
+     * Find similar historical tasks using the in-memory nearest-neighbour index
      */
     public List<SimilarTaskDto> findSimilarTasks(String taskId) {
+        return findSimilarTasks(taskId, null);
+    }
+
+    public List<SimilarTaskDto> findSimilarTasks(String taskId, Integer limit) {
         log.info("Finding similar tasks for: {}", taskId);
+        return similarTaskIndexService.findSimilar(taskId, limit);
+    }
 
-        return List.of(
-            SimilarTaskDto.builder()
-                    .taskId("similar-task-1")
-                    .title("Similar Development Task")
-                    .similarity(0.85)
-                    .build(),
-            SimilarTaskDto.builder()
-                    .taskId("similar-task-2")
-                    .title("Related Feature Implementation")
-                    .similarity(0.78)
-                    .build()
-        );
+    /**
+     * Find historical tasks similar to a task description (e.g. a task not yet completed)
+     */
+    public List<SimilarTaskDto> findSimilarTasks(TaskDetailsDto task, Integer limit) {
+        log.info("Finding similar tasks for task details: {}", task.getTaskId());
+        return similarTaskIndexService.findSimilar(task, limit);
     }
 
     /**
      * Now calls Python ML service for REAL ML predictions using trained models
      * This should generate recommendations for all suitable candidates, not just hardcoded ones
      */
-    private List<RecommendationItemDto> generateMLRecommendations(TaskAssignmentRequestDto request) {
-        log.info("=======================================================");
-        log.info("GENERATING ML RECOMMENDATIONS");
-        log.info("=======================================================");
-        log.info("Generating ML recommendations for task: {}", request.getTask().getTaskId());
-        log.info("Task Details:");
-        log.info("  - Priority: {}", request.getTask().getPriority());
-        log.info("  - Difficulty: {}", request.getTask().getDifficulty());
-        log.info("  - Required Skills: {}", request.getTask().getRequiredSkills());
-        log.info("  - Estimated Hours: {}", request.getTask().getEstimatedHours());
-
+    private MLRecommendationResult generateMLRecommendations(TaskAssignmentRequestDto request, boolean verbose) {
         TaskDetailsDto task = request.getTask();
-        // Get all candidates (convert from CandidateData to CandidateProfileDto)
-        List<CandidateData> allCandidatesData = getAllCandidatesForTask(task);
-
-        // Apply role-based filtering
-        List<CandidateData> filteredCandidatesData = filterCandidatesByRole(task, allCandidatesData);
+        if (verbose) {
+            log.debug("Generating ML recommendations for task: {} (priority: {}, difficulty: {}, skills: {}, hours: {})",
+                    task.getTaskId(), task.getPriority(), task.getDifficulty(),
+                    task.getRequiredSkills(), task.getEstimatedHours());
+        }
 
-        log.info("Role filtering: {} candidates -> {} candidates",
+        // Get all candidates (convert from CandidateData to CandidateProfileDto)
+        List<CandidateData> allCandidatesData = timed(STAGE_CANDIDATE_FETCH,
+                () -> getAllCandidatesForTask(task, verbose));
+
+        // Apply role-based filtering and build the model features
+        List<CandidateData> filteredCandidatesData = new java.util.ArrayList<>();
+        List<CandidateProfileDto> candidates = timed(STAGE_FEATURE_BUILD, () -> {
+            filteredCandidatesData.addAll(filterCandidatesByRole(task, allCandidatesData, verbose));
+            return filteredCandidatesData.stream()
+                    .map(this::convertToCandidateProfileDto)
+                    .collect(java.util.stream.Collectors.toList());
+        });
+
+        log.debug("Role filtering: {} candidates -> {} candidates",
                 allCandidatesData.size(), filteredCandidatesData.size());
 
-        // Convert to CandidateProfileDto for Python ML service
-        log.info("Converting {} candidates to CandidateProfileDto...", filteredCandidatesData.size());
-        List<CandidateProfileDto> candidates = filteredCandidatesData.stream()
-                .map(this::convertToCandidateProfileDto)
-                .collect(java.util.stream.Collectors.toList());
-
-        log.info("Converted {} candidates successfully", candidates.size());
-
-        // Log sample candidate for verification
-        if (!candidates.isEmpty()) {
+        if (verbose && !candidates.isEmpty()) {
             CandidateProfileDto sample = candidates.get(0);
-            log.info("Sample Candidate Data:");
-            log.info("  - userId: {}, email: {}", sample.getUserId(), sample.getEmail());
-            log.info("  - skills: {}", sample.getSkills());
-            log.info("  - seniorityLevel: {}, yearsExperience: {}",
-                    sample.getSeniorityLevel(), sample.getYearsExperience());
-            log.info("  - utilization: {}, performanceScore: {}",
+            log.debug("Sample candidate - userId: {}, skills: {}, seniority: {}, utilization: {}, performance: {}",
+                    sample.getUserId(), sample.getSkills(), sample.getSeniorityLevel(),
                     sample.getUtilization(), sample.getPerformanceScore());
         }
 
         // ✅ CALL PYTHON ML SERVICE FOR REAL ML PREDICTIONS
-        log.info("🤖 Calling Python ML Service for predictions...");
-        log.info("=======================================================");
-        List<RecommendationItemDto> pythonMLRecommendations =
-                pythonMLClientService.getPythonMLRecommendations(task, candidates);
+        List<RecommendationItemDto> pythonMLRecommendations = timed(STAGE_MODEL_CALL,
+                () -> pythonMLClientService.getPythonMLRecommendations(task, candidates));
 
         if (pythonMLRecommendations != null && !pythonMLRecommendations.isEmpty()) {
-            log.info("✅ Using Python ML predictions: {} recommendations", pythonMLRecommendations.size());
-
             // Enrich with user names and additional info (including ACTUAL matched skills)
-            enrichRecommendations(pythonMLRecommendations, filteredCandidatesData, task);
-
-            // Log ML recommendations
-            log.info("=== PYTHON ML RECOMMENDATIONS (ENRICHED) ===");
-            for (RecommendationItemDto rec : pythonMLRecommendations) {
-                log.info("ML_RECOMMENDATION - Rank: {}, UserID: {}, UserName: {}, Score: {}, Matched Skills: {}, Missing Skills: {}",
-                        rec.getRank(), rec.getUserId(), rec.getUserName(),
-                        rec.getScore(), rec.getMatchedSkills(), rec.getMissingSkills());
+            timed(STAGE_ENRICHMENT, () -> {
+                enrichRecommendations(pythonMLRecommendations, filteredCandidatesData, task);
+                return null;
+            });
+
+            if (verbose) {
+                for (RecommendationItemDto rec : pythonMLRecommendations) {
+                    log.debug("ML_RECOMMENDATION - Rank: {}, UserID: {}, Score: {}, Matched Skills: {}, Missing Skills: {}",
+                            rec.getRank(), rec.getUserId(), rec.getScore(), rec.getMatchedSkills(), rec.getMissingSkills());
+                }
             }
-            log.info("=== END PYTHON ML RECOMMENDATIONS ===");
-            log.info("=======================================================");
 
-            return pythonMLRecommendations;
+            return new MLRecommendationResult(pythonMLRecommendations, "ml");
         }
 
         // Fallback to simple scoring if Python ML service is unavailable
-        log.warn("⚠️ Python ML service unavailable or returned no recommendations");
-        log.warn("⚠️ Falling back to simple Java-based scoring");
-        log.info("=======================================================");
-        return generateFallbackRecommendations(task, filteredCandidatesData);
+        log.warn("⚠️ Python ML service unavailable or returned no recommendations, falling back to Java-based scoring");
+        List<RecommendationItemDto> fallback = timed(STAGE_FALLBACK_SCORING,
+                () -> generateFallbackRecommendations(task, filteredCandidatesData));
+        return new MLRecommendationResult(fallback, "fallback");
+    }
+
+    /**
+     * Recommendations together with the path that produced them (ml or fallback)
+     */
+    private record MLRecommendationResult(List<RecommendationItemDto> recommendations, String outcome) {
+    }
+
+    private <T> T timed(String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            stageTimers.computeIfAbsent(stage, this::buildStageTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer buildStageTimer(String stage) {
+        return Timer.builder("ml.recommendation.stage")
+                .description("Latency of one stage of the recommendation pipeline")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void recordTotal(String outcome, long startNanos) {
+        outcomeTimers.computeIfAbsent(outcome, this::buildOutcomeTimer)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer buildOutcomeTimer(String outcome) {
+        return Timer.builder("ml.recommendation.latency")
+                .description("End-to-end latency of task assignment recommendations")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofMillis(100), Duration.ofMillis(250),
+                        Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verbose per-candidate logging only for a sample of requests, and only at DEBUG
+     */
+    private boolean sampleDebugLogging() {
+        return log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < debugSampleRate;
     }
 
     /**
@@ -406,24 +466,14 @@ public class RecommendationService {
     /**
      * Filter candidates by role - only EMPLOYEE role, with exception for URGENT tasks where TEAM_LEAD with low workload can be included
      */
-    private List<CandidateData> filterCandidatesByRole(TaskDetailsDto task, List<CandidateData> candidates) {
+    private List<CandidateData> filterCandidatesByRole(TaskDetailsDto task, List<CandidateData> candidates, boolean verbose) {
         String priority = task.getPriority();
         boolean isUrgent = "URGENT".equalsIgnoreCase(priority);
 
-        log.info("ML Service filtering candidates by role for {} priority task", priority);
-
-        // Log initial candidates with their roles
-        log.info("=== ML SERVICE ROLE FILTERING CANDIDATES ===");
-        for (CandidateData candidate : candidates) {
-            log.info("ML_CANDIDATE_INPUT - UserID: {}, Role: {}, Workload: {} hours",
-                candidate.userId, candidate.role, candidate.currentWorkloadHours);
-        }
-
         List<CandidateData> filtered = candidates.stream()
                 .filter(candidate -> {
                     String role = candidate.role;
                     if (role == null) {
-                        log.debug("Candidate {} has null role, excluding", candidate.userId);
                         return false;
                     }
 
@@ -436,32 +486,27 @@ public class RecommendationService {
                             && !roleUpper.contains("DIRECTOR")
                             && !roleUpper.contains("PROJECT_MANAGER")
                             && !roleUpper.contains("LEAD")) {
-                        log.info("ML Service including EMPLOYEE: {} (role: {})", candidate.userId, role);
                         return true;
                     }
 
                     // For URGENT tasks, also include TEAM_LEAD if they have low workload
                     if (isUrgent && isTeamLeadWithLowWorkloadML(candidate)) {
-                        log.info("ML Service including TEAM_LEAD for URGENT task: {} (role: {}, workload: {} hours)",
-                            candidate.userId, role, candidate.currentWorkloadHours);
+                        if (verbose) {
+                            log.debug("Including TEAM_LEAD for URGENT task: {} (workload: {} hours)",
+                                    candidate.userId, candidate.currentWorkloadHours);
+                        }
                         return true;
                     }
 
                     // Exclude all other roles (DIRECTOR, PROJECT_MANAGER, etc.)
-                    log.info("ML Service excluding candidate {} with role: {}", candidate.userId, role);
+                    if (verbose) {
+                        log.debug("Excluding candidate {} with role: {}", candidate.userId, role);
+                    }
                     return false;
                 })
                 .collect(java.util.stream.Collectors.toList());
 
-        // Log filtered results
-        log.info("=== ML SERVICE ROLE FILTERING RESULTS ===");
-        for (CandidateData candidate : filtered) {
-            log.info("ML_CANDIDATE_FILTERED - UserID: {}, Role: {}, Workload: {} hours",
-                candidate.userId, candidate.role, candidate.currentWorkloadHours);
-        }
-        log.info("=== END ML SERVICE ROLE FILTERING ===");
-
-        log.info("ML Service role filtering: {} candidates -> {} candidates (Priority: {}, Urgent exception: {})",
+        log.debug("ML Service role filtering: {} candidates -> {} candidates (Priority: {}, Urgent exception: {})",
             candidates.size(), filtered.size(), priority, isUrgent);
 
         return filtered;
@@ -494,9 +539,7 @@ public class RecommendationService {
      * Get all candidates suitable for the task
      * Fetches REAL candidate data from profile-service with department information
      */
-    private List<CandidateData> getAllCandidatesForTask(TaskDetailsDto task) {
-        log.info("Fetching real candidate data from profile-service...");
-
+    private List<CandidateData> getAllCandidatesForTask(TaskDetailsDto task, boolean verbose) {
         try {
             // Call profile-service to get all available users
             // X-Internal-Request header is added automatically by AuthenticationRequestInterceptor
@@ -504,34 +547,6 @@ public class RecommendationService {
 
             if (response != null && response.getResult() != null) {
                 List<UserProfileResponseDto> profiles = response.getResult();
-                log.info("✅ Fetched {} real candidates from profile-service", profiles.size());
-
-                // ========== LOG RAW PERFORMANCE SCORES FROM PROFILE SERVICE ==========
-                log.info("=" + "=".repeat(99));
-                log.info("RAW PERFORMANCE SCORES FROM PROFILE SERVICE");
-                log.info("=" + "=".repeat(99));
-
-                int count = 0;
-                for (UserProfileResponseDto profile : profiles) {
-                    if (profile.getUser() != null) {
-                        count++;
-                        String userId = profile.getUser().getId();
-                        String userName = profile.getUser().getFirstName() + " " + profile.getUser().getLastName();
-                        Double performanceScore = profile.getUser().getPerformanceScore();
-                        String email = profile.getUser().getEmail();
-
-                        log.info("Profile #{} | User: {} | Name: {} | Email: {} | Performance Score (RAW): {}",
-                                count,
-                                userId.substring(0, Math.min(8, userId.length())),
-                                String.format("%-30s", userName),
-                                String.format("%-30s", email),
-                                performanceScore);
-                    }
-                }
-                log.info("");
-                log.info("Total profiles with user data: {}", count);
-                log.info("=" + "=".repeat(99));
-                log.info("");
 
                 // Remove duplicates by userId before processing
                 Map<String, UserProfileResponseDto> uniqueProfiles = profiles.stream()
@@ -541,9 +556,6 @@ public class RecommendationService {
                                 (existing, replacement) -> existing // Keep first occurrence
                         ));
 
-                log.info("After deduplication: {} unique candidates (removed {} duplicates)",
-                        uniqueProfiles.size(), profiles.size() - uniqueProfiles.size());
-
                 // Convert to CandidateData with REAL department information
                 List<CandidateData> candidates = uniqueProfiles.values().stream()
                         .map(profile -> {
@@ -557,11 +569,10 @@ public class RecommendationService {
                             Double rawPerformanceScore = user.getPerformanceScore();
                             Double normalizedPerformanceScore = rawPerformanceScore != null ? rawPerformanceScore / 100.0 : 0.75;
 
-                            log.debug("Converting user {} ({}) - Raw Perf: {}, Normalized Perf: {}",
-                                    user.getId().substring(0, Math.min(8, user.getId().length())),
-                                    user.getFirstName() + " " + user.getLastName(),
-                                    rawPerformanceScore,
-                                    normalizedPerformanceScore);
+                            if (verbose) {
+                                log.debug("Candidate {} - dept: {}, raw perf: {}, normalized perf: {}",
+                                        user.getId(), departmentName, rawPerformanceScore, normalizedPerformanceScore);
+                            }
 
                             // Extract skill names from UserSkillResponseDto list
                             List<String> skillNames = profile.getSkills() != null
@@ -589,50 +600,14 @@ public class RecommendationService {
                         .filter(c -> c != null)
                         .collect(Collectors.toList());
 
-                log.info("✅ Converted {} profiles to CandidateData with real department info", candidates.size());
-
-                // ========== LOG FINAL PERFORMANCE SCORES AFTER CONVERSION ==========
-                log.info("");
-                log.info("=" + "=".repeat(99));
-                log.info("FINAL PERFORMANCE SCORES AFTER CONVERSION TO CandidateData");
-                log.info("=" + "=".repeat(99));
-
-                for (int i = 0; i < Math.min(10, candidates.size()); i++) {
-                    CandidateData candidate = candidates.get(i);
-                    log.info("Candidate #{} | User: {} | Name: {} | Normalized Perf Score: {:.4f}",
-                            i + 1,
-                            candidate.userId.substring(0, Math.min(8, candidate.userId.length())),
-                            String.format("%-30s", candidate.userName),
-                            candidate.performanceScore);
-                }
-
-                if (candidates.size() > 10) {
-                    log.info("... and {} more candidates", candidates.size() - 10);
-                }
-
-                log.info("=" + "=".repeat(99));
-                log.info("");
-
-                // Log sample to verify department data
-                if (!candidates.isEmpty()) {
-                    CandidateData sample = candidates.get(0);
-                    log.info("=== SAMPLE CANDIDATE DATA ===");
-                    log.info("Sample candidate: {}", sample.userName);
-                    log.info("  - Department: {}", sample.departmentName);
-                    log.info("  - Role: {}", sample.role);
-                    log.info("  - Skills: {}", sample.skills);
-                    log.info("  - Workload Hours: {}", sample.currentWorkloadHours);
-                    log.info("  - Performance Score: {}", sample.performanceScore);
-                    log.info("==============================");
-                }
-
+                log.debug("Fetched {} profiles, {} unique candidates from profile-service",
+                        profiles.size(), candidates.size());
                 return candidates;
             } else {
                 log.warn("⚠️ Profile service returned null or empty response");
             }
         } catch (Exception e) {
             log.error("❌ Failed to fetch candidates from profile-service: {}", e.getMessage());
-            log.error("Falling back to hardcoded candidate data");
         }
 
         // Fallback to hardcoded data if profile-service call fails
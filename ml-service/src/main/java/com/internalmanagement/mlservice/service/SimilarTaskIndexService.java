@@ -0,0 +1,290 @@
+package com.internalmanagement.mlservice.service;
+
+import com.internalmanagement.mlservice.dto.SimilarTaskDto;
+import com.internalmanagement.mlservice.dto.TaskDetailsDto;
+import com.internalmanagement.mlservice.entity.TrainingData;
+import com.internalmanagement.mlservice.repository.TrainingDataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory k-nearest-neighbour index over historical tasks in comprehensive_training_data.
+ *
+ * Each task is a hashed sparse vector of its required skills, priority, difficulty and
+ * estimated-hours bucket, L2-normalised so the dot product is the cosine similarity.
+ * The index is loaded once at startup and kept current from ingested task events,
+ * so queries never touch the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarTaskIndexService {
+
+    private static final int DIMENSIONS = 1 << 12;
+    private static final int LOAD_PAGE_SIZE = 500; // TrainingData.requiredSkills batch size: one skills query per page
+
+    private static final float SKILL_WEIGHT = 1.0f;
+    private static final float PRIORITY_WEIGHT = 0.5f;
+    private static final float DIFFICULTY_WEIGHT = 0.5f;
+    private static final float HOURS_WEIGHT = 0.5f;
+
+    private final TrainingDataRepository trainingDataRepository;
+
+    private final Map<String, IndexedTask> tasks = new ConcurrentHashMap<>();
+
+    @Value("${app.ml.similar-tasks.max-indexed-tasks:50000}")
+    private int maxIndexedTasks;
+
+    @Value("${app.ml.similar-tasks.default-limit:10}")
+    private int defaultLimit;
+
+    /**
+     * Immutable copy of the task fields the index needs, safe to use after the transaction closes
+     */
+    public record TaskSnapshot(String taskId, String title, String priority, String difficulty,
+                               Double estimatedHours, List<String> requiredSkills) {
+
+        public static TaskSnapshot from(TrainingData data) {
+            return new TaskSnapshot(data.getTaskId(), data.getTaskTitle(), data.getPriority(), data.getDifficulty(),
+                    data.getEstimatedHours(),
+                    data.getRequiredSkills() != null ? List.copyOf(data.getRequiredSkills()) : List.of());
+        }
+
+        public static TaskSnapshot from(TaskDetailsDto task) {
+            return new TaskSnapshot(task.getTaskId(), task.getTitle(), task.getPriority(), task.getDifficulty(),
+                    task.getEstimatedHours(),
+                    task.getRequiredSkills() != null ? List.copyOf(task.getRequiredSkills()) : List.of());
+        }
+    }
+
+    /**
+     * Build the index from historical training data once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        tasks.clear();
+
+        int page = 0;
+        Page<TrainingData> batch;
+        do {
+            batch = trainingDataRepository.findAll(PageRequest.of(page++, LOAD_PAGE_SIZE, Sort.by("id")));
+            for (TrainingData data : batch) {
+                if (tasks.size() >= maxIndexedTasks && !tasks.containsKey(data.getTaskId())) {
+                    break;
+                }
+                index(TaskSnapshot.from(data));
+            }
+        } while (batch.hasNext() && tasks.size() < maxIndexedTasks);
+
+        log.info("Built similar-task index with {} tasks in {}ms", tasks.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Add or replace a task once the transaction that recorded it has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskUpdated(TaskSnapshot snapshot) {
+        if (tasks.size() >= maxIndexedTasks && !tasks.containsKey(snapshot.taskId())) {
+            log.debug("Similar-task index full, not indexing task {}", snapshot.taskId());
+            return;
+        }
+        index(snapshot);
+    }
+
+    /**
+     * Top-K historical tasks most similar to an indexed task
+     */
+    public List<SimilarTaskDto> findSimilar(String taskId, Integer limit) {
+        IndexedTask query = tasks.get(taskId);
+        if (query == null) {
+            log.debug("Task {} is not in the similar-task index", taskId);
+            return List.of();
+        }
+        return search(query, limit);
+    }
+
+    /**
+     * Top-K historical tasks most similar to a task that may not be indexed yet
+     */
+    public List<SimilarTaskDto> findSimilar(TaskDetailsDto task, Integer limit) {
+        return search(toIndexedTask(TaskSnapshot.from(task)), limit);
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    private void index(TaskSnapshot snapshot) {
+        if (snapshot.taskId() == null) {
+            return;
+        }
+        IndexedTask indexed = toIndexedTask(snapshot);
+        if (indexed.vector.isEmpty()) {
+            return;
+        }
+        // Several training rows can describe one task; keep the richest description
+        tasks.merge(snapshot.taskId(), indexed,
+                (existing, incoming) -> incoming.skills.size() >= existing.skills.size() ? incoming : existing);
+    }
+
+    private List<SimilarTaskDto> search(IndexedTask query, Integer limit) {
+        int k = limit != null && limit > 0 ? limit : defaultLimit;
+        if (query.vector.isEmpty()) {
+            return List.of();
+        }
+
+        // Min-heap of the best k candidates seen so far
+        PriorityQueue<ScoredTask> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(ScoredTask::score));
+        for (IndexedTask candidate : tasks.values()) {
+            if (candidate.taskId.equals(query.taskId)) {
+                continue;
+            }
+            double score = query.vector.dot(candidate.vector);
+            if (score <= 0) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(new ScoredTask(candidate, score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new ScoredTask(candidate, score));
+            }
+        }
+
+        List<ScoredTask> ranked = new ArrayList<>(heap);
+        ranked.sort(Comparator.comparingDouble(ScoredTask::score).reversed());
+
+        return ranked.stream()
+                .map(scored -> SimilarTaskDto.builder()
+                        .taskId(scored.task().taskId)
+                        .title(scored.task().title)
+                        .similarity(Math.round(scored.score() * 10000.0) / 10000.0)
+                        .reason(buildReason(query, scored.task()))
+                        .build())
+                .toList();
+    }
+
+    private String buildReason(IndexedTask query, IndexedTask match) {
+        List<String> shared = match.skills.stream().filter(query.skills::contains).sorted().toList();
+        StringBuilder reason = new StringBuilder();
+        if (!shared.isEmpty()) {
+            reason.append("Shared skills: ").append(String.join(", ", shared));
+        }
+        if (query.priority != null && query.priority.equals(match.priority)) {
+            if (!reason.isEmpty()) reason.append("; ");
+            reason.append("same priority");
+        }
+        return reason.isEmpty() ? "Similar effort and difficulty" : reason.toString();
+    }
+
+    private IndexedTask toIndexedTask(TaskSnapshot snapshot) {
+        Set<String> skills = new HashSet<>();
+        for (String skill : snapshot.requiredSkills()) {
+            if (skill != null && !skill.isBlank()) {
+                skills.add(skill.trim().toLowerCase());
+            }
+        }
+        String priority = snapshot.priority() != null ? snapshot.priority().toUpperCase() : null;
+
+        Map<Integer, Float> features = new HashMap<>();
+        for (String skill : skills) {
+            addFeature(features, "skill:" + skill, SKILL_WEIGHT);
+        }
+        if (priority != null) {
+            addFeature(features, "priority:" + priority, PRIORITY_WEIGHT);
+        }
+        if (snapshot.difficulty() != null) {
+            addFeature(features, "difficulty:" + snapshot.difficulty().toUpperCase(), DIFFICULTY_WEIGHT);
+        }
+        if (snapshot.estimatedHours() != null && snapshot.estimatedHours() > 0) {
+            // Log2 buckets; neighbouring buckets get half weight so 7h and 9h still overlap
+            int bucket = (int) Math.round(Math.log(snapshot.estimatedHours()) / Math.log(2));
+            addFeature(features, "hours:" + bucket, HOURS_WEIGHT);
+            addFeature(features, "hours:" + (bucket - 1), HOURS_WEIGHT / 2);
+            addFeature(features, "hours:" + (bucket + 1), HOURS_WEIGHT / 2);
+        }
+
+        return new IndexedTask(snapshot.taskId(), snapshot.title(), priority, skills, SparseVector.of(features));
+    }
+
+    private static void addFeature(Map<Integer, Float> features, String token, float weight) {
+        int hash = token.hashCode() * 0x9E3779B1;
+        int index = Math.floorMod(hash, DIMENSIONS);
+        // Signed hashing keeps collisions unbiased
+        float signed = ((hash >>> 16) & 1) == 0 ? weight : -weight;
+        features.merge(index, signed, Float::sum);
+    }
+
+    private record ScoredTask(IndexedTask task, double score) {
+    }
+
+    private record IndexedTask(String taskId, String title, String priority, Set<String> skills,
+                               SparseVector vector) {
+    }
+
+    /**
+     * L2-normalised sparse vector with sorted indices
+     */
+    private static final class SparseVector {
+        private final int[] indices;
+        private final float[] values;
+
+        private SparseVector(int[] indices, float[] values) {
+            this.indices = indices;
+            this.values = values;
+        }
+
+        static SparseVector of(Map<Integer, Float> features) {
+            int[] indices = features.entrySet().stream()
+                    .filter(e -> e.getValue() != 0f)
+                    .mapToInt(Map.Entry::getKey)
+                    .sorted()
+                    .toArray();
+            float[] values = new float[indices.length];
+            double norm = 0;
+            for (int i = 0; i < indices.length; i++) {
+                values[i] = features.get(indices[i]);
+                norm += values[i] * values[i];
+            }
+            norm = Math.sqrt(norm);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) (values[i] / norm);
+            }
+            return new SparseVector(indices, values);
+        }
+
+        boolean isEmpty() {
+            return indices.length == 0;
+        }
+
+        double dot(SparseVector other) {
+            double sum = 0;
+            int i = 0;
+            int j = 0;
+            while (i < indices.length && j < other.indices.length) {
+                if (indices[i] == other.indices[j]) {
+                    sum += values[i++] * other.values[j++];
+                } else if (indices[i] < other.indices[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.internalmanagement.mlservice.load;
+
+import com.internalmanagement.mlservice.client.ApiResponse;
+import com.internalmanagement.mlservice.client.ProfileServiceClient;
+import com.internalmanagement.mlservice.dto.*;
+import com.internalmanagement.mlservice.service.*;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process load generator for the recommendation path.
+ *
+ * Runs RecommendationService against stubbed profile-service and Python ML clients and prints
+ * p50/p95/p99 end-to-end latency plus the mean of every stage timer. Not part of the test suite.
+ *
+ * Usage: RecommendationLoadGenerator [candidates=500] [requests=2000] [warmup=200]
+ */
+public class RecommendationLoadGenerator {
+
+    private static final String[] SKILLS = {
+            "java", "spring", "react", "python", "sql", "kafka", "docker", "kubernetes", "aws", "typescript"
+    };
+
+    public static void main(String[] args) {
+        int candidates = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int warmup = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<UserProfileResponseDto> profiles = syntheticProfiles(candidates);
+
+        RecommendationService service = new RecommendationService(
+                new MLIntegrationService(new RestTemplate()),
+                new StubPythonMLClientService(),
+                new StubProfileServiceClient(profiles),
+                new SimilarTaskIndexService(null),
+                new PredictionLogWriter(null, registry),
+                registry);
+
+        TaskAssignmentRequestDto request = new TaskAssignmentRequestDto();
+        TaskDetailsDto task = new TaskDetailsDto();
+        task.setTaskId("load-task");
+        task.setTitle("Load test task");
+        task.setRequiredSkills(List.of("java", "spring", "sql"));
+        request.setTask(task);
+
+        for (int i = 0; i < warmup; i++) {
+            service.getTaskAssignmentRecommendations(request);
+        }
+        registry.clear();
+
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            service.getTaskAssignmentRecommendations(request);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%d requests, %d candidates%n", requests, candidates);
+        System.out.printf("  p50 %8.3f ms%n", percentile(latencies, 0.50));
+        System.out.printf("  p95 %8.3f ms%n", percentile(latencies, 0.95));
+        System.out.printf("  p99 %8.3f ms%n", percentile(latencies, 0.99));
+        System.out.printf("  max %8.3f ms%n", latencies[latencies.length - 1] / 1_000_000.0);
+
+        for (Timer timer : registry.find("ml.recommendation.stage").timers()) {
+            System.out.printf("  stage %-18s mean %8.3f ms (%d calls)%n",
+                    timer.getId().getTag("stage"), timer.mean(TimeUnit.MILLISECONDS), timer.count());
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0;
+    }
+
+    private static List<UserProfileResponseDto> syntheticProfiles(int count) {
+        List<UserProfileResponseDto> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<UserProfileResponseDto.UserSkillResponseDto> skills = new ArrayList<>();
+            for (int s = 0; s < 4; s++) {
+                skills.add(UserProfileResponseDto.UserSkillResponseDto.builder()
+                        .skillName(SKILLS[(i + s * 3) % SKILLS.length])
+                        .proficiencyLevel("INTERMEDIATE")
+                        .build());
+            }
+            profiles.add(UserProfileResponseDto.builder()
+                    .id("profile-" + i)
+                    .userId("user-" + i)
+                    .skills(skills)
+                    .currentWorkLoadHours(i % 40)
+                    .user(UserProfileResponseDto.UserDto.builder()
+                            .id("user-" + i)
+                            .firstName("User")
+                            .lastName(String.valueOf(i))
+                            .email("user" + i + "@example.com")
+                            .roleName(i % 10 == 0 ? "TEAM_LEAD" : "EMPLOYEE")
+                            .departmentName("Engineering")
+                            .performanceScore(50.0 + i % 50)
+                            .build())
+                    .build());
+        }
+        return profiles;
+    }
+
+    private record StubProfileServiceClient(List<UserProfileResponseDto> profiles) implements ProfileServiceClient {
+
+        @Override
+        public ApiResponse<List<UserProfileResponseDto>> getAllAvailableUsers() {
+            return ApiResponse.<List<UserProfileResponseDto>>builder().code(1000).result(profiles).build();
+        }
+
+        @Override
+        public ApiResponse<UserProfileResponseDto> getUserProfile(String userId, String internalHeader) {
+            return ApiResponse.<UserProfileResponseDto>builder().code(1000).build();
+        }
+    }
+
+    /**
+     * Scores candidates locally by skill overlap instead of calling the Python service
+     */
+    private static final class StubPythonMLClientService extends PythonMLClientService {
+
+        StubPythonMLClientService() {
+            super(new RestTemplate(), "http://localhost:0");
+        }
+
+        @Override
+        public List<RecommendationItemDto> getPythonMLRecommendations(TaskDetailsDto task,
+                                                                      List<CandidateProfileDto> candidates) {
+            List<RecommendationItemDto> scored = new ArrayList<>(candidates.size());
+            for (CandidateProfileDto candidate : candidates) {
+                long matched = candidate.getSkills() == null ? 0
+                        : candidate.getSkills().stream().filter(task.getRequiredSkills()::contains).count();
+                scored.add(RecommendationItemDto.builder()
+                        .userId(candidate.getUserId())
+                        .score(matched / (double) task.getRequiredSkills().size())
+                        .build());
+            }
+            scored.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+            List<RecommendationItemDto> top = scored.subList(0, Math.min(10, scored.size()));
+            for (int i = 0; i < top.size(); i++) {
+                top.get(i).setRank(i + 1);
+            }
+            return new ArrayList<>(top);
+        }
+    }
+}
@@ -26,7 +26,8 @@ public class SecurityConfig {
         "/ws/{server}/{session}/websocket", // SockJS WebSocket transport
         "/ws/{server}/{session}/xhr", // SockJS XHR transport
         "/ws/{server}/{session}/xhr_send", // SockJS XHR send
-        "/ws/{server}/{session}/xhr_streaming" // SockJS XHR streaming
+        "/ws/{server}/{session}/xhr_streaming", // SockJS XHR streaming
+        "/internal/notifications/realtime/**" // Inter-service calls (task-service outbox relay)
     };
 
     private final CustomJwtDecoder customJwtDecoder;
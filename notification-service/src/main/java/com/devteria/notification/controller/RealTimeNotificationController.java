@@ -9,7 +9,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
 @RestController
-@RequestMapping("/api/notifications/realtime")
+@RequestMapping({"/api/notifications/realtime", "/internal/notifications/realtime"})
 @RequiredArgsConstructor
 @Slf4j
 public class RealTimeNotificationController {
@@ -56,6 +56,13 @@ public class InternalUserProfileController {
                 .build();
     }
 
+    @PostMapping("/internal/users/batch")
+    ApiResponse<List<UserProfileResponse>> getProfiles(@RequestBody List<String> userIds) {
+        return ApiResponse.<List<UserProfileResponse>>builder()
+                .result(userProfileService.getByUserIds(userIds))
+                .build();
+    }
+
     // New endpoints for AI service compatibility
     @GetMapping("/internal/profiles/{userId}")
     ApiResponse<UserProfileResponse> getUserProfile(@PathVariable String userId) {
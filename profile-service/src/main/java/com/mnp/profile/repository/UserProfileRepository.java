@@ -19,6 +19,10 @@ public interface UserProfileRepository extends Neo4jRepository<UserProfile, Stri
             "MATCH (up:user_profile) WHERE up.userId = $userId OPTIONAL MATCH (up)-[r:HAS_SKILL]->(us:user_skill) RETURN up, r, us")
     List<UserProfile> findAllByUserId(String userId);
 
+    @Query(
+            "MATCH (up:user_profile) WHERE up.userId IN $userIds OPTIONAL MATCH (up)-[r:HAS_SKILL]->(us:user_skill) RETURN up, r, us")
+    List<UserProfile> findAllByUserIdIn(List<String> userIds);
+
     // Override default methods to ensure skills are loaded
     @Override
     @Query("MATCH (up:user_profile) OPTIONAL MATCH (up)-[r:HAS_SKILL]->(us:user_skill) RETURN up, r, us")
@@ -1,8 +1,12 @@
 package com.mnp.profile.repository.httpclient;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import com.mnp.profile.config.InternalFeignConfig;
 import com.mnp.profile.dto.ApiResponse;
@@ -13,4 +17,8 @@ public interface IdentityClient {
 
     @GetMapping("/internal/users/{userId}")
     ApiResponse<UserResponse> getUser(@PathVariable String userId);
+
+    // Users that exist among userIds, in one call
+    @PostMapping("/internal/users/batch")
+    ApiResponse<List<UserResponse>> getUsers(@RequestBody List<String> userIds);
 }
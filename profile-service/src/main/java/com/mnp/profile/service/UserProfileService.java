@@ -1,9 +1,15 @@
 package com.mnp.profile.service;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
 
 import com.mnp.profile.dto.response.TaskMetricsResponse;
 import com.mnp.profile.repository.httpclient.TaskServiceClient;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -21,6 +27,7 @@ import com.mnp.profile.mapper.UserProfileMapper;
 import com.mnp.profile.repository.UserProfileRepository;
 import com.mnp.profile.repository.httpclient.FileClient;
 import com.mnp.profile.repository.httpclient.IdentityClient;
+import com.mnp.event.dto.ProfileUpdatedEvent;
 
 import feign.FeignException;
 import lombok.AccessLevel;
@@ -38,6 +45,9 @@ public class UserProfileService {
     IdentityClient identityClient;
     UserProfileMapper userProfileMapper;
     TaskServiceClient taskServiceClient;
+    KafkaTemplate<String, Object> kafkaTemplate;
+
+    static final String PROFILE_UPDATED_TOPIC = "profile-updated";
 
     public UserProfileResponse createProfile(ProfileCreationRequest request) {
         log.info("Creating profile for userId: {}", request.getUserId());
@@ -65,6 +75,52 @@ public class UserProfileService {
         return buildUserProfileResponse(userProfile);
     }
 
+    /**
+     * Latest profile of each requested user in one query; unknown users are left out.
+     * Slimmer than the single-profile lookups for the sake of internal callers resolving many users at once:
+     * identity data comes from one bulk call and task metrics are not included.
+     */
+    public List<UserProfileResponse> getByUserIds(List<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> distinctIds = userIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        BinaryOperator<UserProfile> latest = BinaryOperator.maxBy(Comparator.comparing(
+                UserProfile::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        Map<String, UserProfile> profilesByUserId = userProfileRepository.findAllByUserIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(UserProfile::getUserId, profile -> profile, latest));
+
+        Map<String, UserResponse> usersById = fetchUsers(List.copyOf(profilesByUserId.keySet()));
+        return distinctIds.stream()
+                .map(profilesByUserId::get)
+                .filter(Objects::nonNull)
+                .map(profile -> {
+                    UserProfileResponse response = userProfileMapper.toUserProfileResponse(profile);
+                    UserResponse user = usersById.get(profile.getUserId());
+                    response.setUser(user != null ? user : createFallbackUserResponse(profile.getUserId()));
+                    return response;
+                })
+                .toList();
+    }
+
+    private Map<String, UserResponse> fetchUsers(List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            var usersResponse = identityClient.getUsers(userIds);
+            if (usersResponse == null || usersResponse.getResult() == null) {
+                return Map.of();
+            }
+            return usersResponse.getResult().stream()
+                    .collect(Collectors.toMap(UserResponse::getId, user -> user, (first, second) -> first));
+        } catch (Exception e) {
+            log.warn("Failed to fetch {} users from identity service: {}", userIds.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
     public UserProfileResponse getProfile(String id) {
         UserProfile userProfile =
                 userProfileRepository.findById(id).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
@@ -122,7 +178,7 @@ public class UserProfileService {
         UserProfile savedProfile = userProfileRepository.save(profile);
 
         log.info("Profile after save - avatar: {}", savedProfile.getAvatar());
-
+        publishProfileUpdated(savedProfile);
 
         return buildUserProfileResponse(savedProfile);
     }
@@ -140,7 +196,27 @@ public class UserProfileService {
         profile.setAvatar(response.getResult().getUrl());
         profile.onUpdate(); // Update timestamp
 
-        return buildUserProfileResponse(userProfileRepository.save(profile));
+        UserProfile savedProfile = userProfileRepository.save(profile);
+        publishProfileUpdated(savedProfile);
+
+        return buildUserProfileResponse(savedProfile);
+    }
+
+    /**
+     * Let services that cache profile data (e.g. chat participants) drop their copy
+     */
+    private void publishProfileUpdated(UserProfile profile) {
+        try {
+            kafkaTemplate.send(
+                    PROFILE_UPDATED_TOPIC,
+                    profile.getUserId(),
+                    ProfileUpdatedEvent.builder()
+                            .userId(profile.getUserId())
+                            .updatedAt(profile.getUpdatedAt())
+                            .build());
+        } catch (Exception e) {
+            log.warn("Failed to publish profile-updated event for user {}: {}", profile.getUserId(), e.getMessage());
+        }
     }
 
     public List<UserProfileResponse> search(SearchUserRequest request) {
@@ -3,6 +3,7 @@ package com.mnp.project.controller;
 import com.mnp.project.dto.request.AddProjectMemberRequest;
 import com.mnp.project.dto.request.ApiResponse;
 import com.mnp.project.dto.request.UpdateProjectSkillsRequest;
+import com.mnp.project.dto.response.ProjectResponse;
 import com.mnp.project.service.ProjectMemberService;
 import com.mnp.project.service.ProjectService;
 import lombok.AccessLevel;
@@ -11,6 +12,8 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/internal/projects")
@@ -34,6 +37,29 @@ public class InternalProjectController {
                 .build();
     }
 
+    /**
+     * Internal endpoint for task-service to set the total tasks count to its own count of the project's tasks.
+     * Setting rather than incrementing makes a repeated call harmless
+     */
+    @PutMapping("/{projectId}/tasks/total")
+    public ApiResponse<Void> setTotalTasks(@PathVariable String projectId, @RequestParam int totalTasks) {
+        log.info("Internal call: Setting total tasks for project {} to {}", projectId, totalTasks);
+        projectService.setTotalTasks(projectId, totalTasks);
+        return ApiResponse.<Void>builder()
+                .message("Total tasks updated successfully")
+                .build();
+    }
+
+    /**
+     * Internal endpoint for task-service to resolve many project names and team leads in one call
+     */
+    @PostMapping("/batch")
+    public ApiResponse<List<ProjectResponse>> getProjectsByIds(@RequestBody List<String> projectIds) {
+        return ApiResponse.<List<ProjectResponse>>builder()
+                .result(projectService.getProjectsByIds(projectIds))
+                .build();
+    }
+
     /**
      * Internal endpoint for task-service to add project members
      * This endpoint doesn't require authentication for inter-service communication
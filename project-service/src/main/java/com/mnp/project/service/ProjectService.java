@@ -1,5 +1,6 @@
 package com.mnp.project.service;
 
+import com.mnp.event.dto.ProjectUpdatedEvent;
 import com.mnp.project.client.ChatServiceClient;
 import com.mnp.project.client.IdentityServiceClient;
 import com.mnp.project.client.TaskServiceClient;
@@ -18,6 +19,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +43,9 @@ public class ProjectService {
     IdentityServiceClient identityServiceClient;
     ProjectMemberService projectMemberService;
     SocketIOService socketIOService; // Add Socket.IO service
+    KafkaTemplate<String, Object> kafkaTemplate;
+
+    static final String PROJECT_UPDATED_TOPIC = "project-updated";
 
     public List<ProjectResponse> getAllProjects() {
         return projectRepository.findAll()
@@ -55,6 +60,16 @@ public class ProjectService {
         return mapToProjectResponse(project);
     }
 
+    /**
+     * Bulk lookup for other services resolving project names; unknown ids are skipped.
+     * Tasks are not included, so this does not call back into task-service.
+     */
+    public List<ProjectResponse> getProjectsByIds(List<String> ids) {
+        return projectRepository.findAllById(ids).stream()
+                .map(this::mapToProjectReference)
+                .toList();
+    }
+
     public ProjectResponse createProject(CreateProjectRequest request) {
         Project project = Project.builder()
                 .name(request.getName())
@@ -160,6 +175,7 @@ public class ProjectService {
         project.setUpdatedAt(LocalDateTime.now());
 
         Project updatedProject = projectRepository.save(project);
+        publishProjectUpdated(updatedProject.getId());
         return mapToProjectResponse(updatedProject);
     }
 
@@ -168,6 +184,24 @@ public class ProjectService {
             throw new AppException(ErrorCode.PROJECT_NOT_EXISTED);
         }
         projectRepository.deleteById(id);
+        publishProjectUpdated(id);
+    }
+
+    /**
+     * Let services that cache project names (e.g. task-service) drop their copy
+     */
+    private void publishProjectUpdated(String projectId) {
+        try {
+            kafkaTemplate.send(
+                    PROJECT_UPDATED_TOPIC,
+                    projectId,
+                    ProjectUpdatedEvent.builder()
+                            .projectId(projectId)
+                            .updatedAt(LocalDateTime.now())
+                            .build());
+        } catch (Exception e) {
+            log.warn("Failed to publish project-updated event for project {}: {}", projectId, e.getMessage());
+        }
     }
 
     public ProjectResponse updateProjectStatus(String id, ProjectStatus status) {
@@ -327,6 +361,18 @@ public class ProjectService {
                 .build();
     }
 
+    private ProjectResponse mapToProjectReference(Project project) {
+        return ProjectResponse.builder()
+                .id(project.getId())
+                .name(project.getName())
+                .projectLeaderId(project.getProjectLeaderId())
+                .teamLeadId(project.getTeamLeadId())
+                .status(project.getStatus())
+                .priority(project.getPriority())
+                .updatedAt(project.getUpdatedAt())
+                .build();
+    }
+
     private List<TaskDto> fetchProjectTasks(String projectId) {
         try {
             log.info("Fetching tasks for project: {}", projectId);
@@ -399,6 +445,17 @@ public class ProjectService {
         log.info("Incremented total tasks for project {}: new count = {}", projectId, project.getTotalTasks());
     }
 
+    public void setTotalTasks(String projectId, int totalTasks) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new AppException(ErrorCode.PROJECT_NOT_EXISTED));
+
+        project.setTotalTasks(totalTasks);
+        project.setUpdatedAt(LocalDateTime.now());
+        projectRepository.save(project);
+
+        log.info("Set total tasks for project {}: new count = {}", projectId, totalTasks);
+    }
+
 
     @Transactional
     public void decrementTotalTasks(String projectId) {
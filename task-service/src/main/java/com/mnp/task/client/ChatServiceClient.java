@@ -13,6 +13,12 @@ public interface ChatServiceClient {
             @PathVariable("projectId") String projectId,
             @PathVariable("userId") String userId);
 
+    // Internal endpoint: callable without a user token (outbox relay)
+    @PostMapping("/chat/internal/conversations/project-group/{projectId}/add-member/{userId}")
+    void addMemberToProjectGroupInternal(
+            @PathVariable("projectId") String projectId,
+            @PathVariable("userId") String userId);
+
     @GetMapping("/conversations/project-group/{projectId}/members/{userId}/exists")
     ApiResponse<Boolean> isUserInProjectGroup(
             @PathVariable("projectId") String projectId,
@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 @FeignClient(name = "identity-service", url = "${app.services.identity}", configuration = FeignClientConfiguration.class)
 public interface IdentityClient {
 
@@ -24,6 +26,9 @@ public interface IdentityClient {
     @GetMapping("/users/{userId}")
     ApiResponse<UserResponse> getFullName(@PathVariable("userId") String userId);
 
+    @PostMapping("/internal/users/batch")
+    ApiResponse<List<UserResponse>> getUsers(@RequestBody List<String> userIds);
+
     @PostMapping("/performance/update")
     ApiResponse<Double> updatePerformanceScore(@RequestBody PerformanceUpdateRequest request);
 
@@ -25,4 +25,9 @@ public interface ProjectIntegrationClient {
     @PostMapping("/internal/projects/members")
     ApiResponse<Void> addProjectMemberFromTaskAssignment(
             @RequestBody AddProjectMemberRequest request);
+
+    @PutMapping("/internal/projects/{projectId}/tasks/total")
+    ApiResponse<Void> setTotalTasks(
+            @PathVariable("projectId") String projectId,
+            @RequestParam("totalTasks") int totalTasks);
 }
@@ -8,6 +8,8 @@ import com.mnp.task.dto.response.ProjectResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @FeignClient(name = "project-service", url = "${app.services.project}", configuration = FeignClientConfiguration.class)
 public interface ProjectServiceClient {
 
@@ -35,6 +37,9 @@ public interface ProjectServiceClient {
     @GetMapping("/projects/{projectId}")
     com.mnp.task.dto.response.ApiResponse<com.mnp.task.dto.response.ProjectResponse> getProjectById(@PathVariable("projectId") String projectId);
 
+    @PostMapping("/internal/projects/batch")
+    ApiResponse<List<ProjectResponse>> getProjectsByIds(@RequestBody List<String> projectIds);
+
     @GetMapping("/project-members/projects/{projectId}/users/{userId}/exists")
     ApiResponse<Boolean> isUserInProject(@PathVariable("projectId") String projectId, @PathVariable("userId") String userId);
 
@@ -19,6 +19,13 @@ public interface RealTimeNotificationClient {
     @PostMapping("/api/notifications/realtime/group-chat-addition")
     void sendGroupChatAdditionNotification(@RequestBody GroupChatAdditionNotificationRequest request);
 
+    // Internal endpoints: callable without a user token (outbox relay)
+    @PostMapping("/internal/notifications/realtime/task-assignment")
+    void sendTaskAssignmentNotificationInternal(@RequestBody TaskAssignmentNotificationRequest request);
+
+    @PostMapping("/internal/notifications/realtime/group-chat-addition")
+    void sendGroupChatAdditionNotificationInternal(@RequestBody GroupChatAdditionNotificationRequest request);
+
     @PostMapping("/api/notifications/realtime/custom")
     void sendCustomNotification(@RequestBody CustomNotificationRequest request);
 
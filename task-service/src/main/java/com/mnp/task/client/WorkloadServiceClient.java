@@ -25,4 +25,15 @@ public interface WorkloadServiceClient {
 
     @DeleteMapping("/workloads/tasks/{taskId}")
     ApiResponse<Void> removeTaskFromWorkload(@PathVariable("taskId") String taskId);
+
+    // Internal endpoints: callable without a user token (outbox relay); adding twice for one user is a no-op
+    @PostMapping("/internal/workloads/tasks")
+    UserCurrentTaskResponse addTaskToWorkloadInternal(
+            @RequestParam("userId") String userId,
+            @RequestBody AddTaskToWorkloadRequest request
+    );
+
+    // Removes the task only while userId holds it
+    @DeleteMapping("/internal/workloads/tasks/{taskId}")
+    void removeTaskFromWorkloadInternal(@PathVariable("taskId") String taskId, @RequestParam("userId") String userId);
 }
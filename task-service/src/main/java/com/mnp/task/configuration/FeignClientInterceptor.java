@@ -1,5 +1,6 @@
 package com.mnp.task.configuration;
 
+import com.mnp.task.service.OutboxRelay;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import org.springframework.security.core.Authentication;
@@ -20,5 +21,11 @@ public class FeignClientInterceptor implements RequestInterceptor {
             String tokenValue = jwt.getTokenValue();
             requestTemplate.header("Authorization", "Bearer " + tokenValue);
         }
+
+        // Set while the outbox relay delivers a side effect; lets the receiver drop a retried delivery
+        String idempotencyKey = OutboxRelay.currentIdempotencyKey();
+        if (idempotencyKey != null && !requestTemplate.headers().containsKey("Idempotency-Key")) {
+            requestTemplate.header("Idempotency-Key", idempotencyKey);
+        }
     }
 }
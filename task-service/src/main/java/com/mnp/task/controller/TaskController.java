@@ -2,8 +2,10 @@ package com.mnp.task.controller;
 
 import com.mnp.task.dto.request.*;
 import com.mnp.task.dto.response.TaskDependencyResponse;
+import com.mnp.task.dto.response.TaskPageResponse;
 import com.mnp.task.dto.response.TaskResponse;
 import com.mnp.task.dto.response.TaskSkillResponse;
+import com.mnp.task.enums.TaskSortField;
 import com.mnp.task.enums.TaskStatus;
 import com.mnp.task.service.TaskService;
 import lombok.AccessLevel;
@@ -67,6 +69,20 @@ public class TaskController {
         }
     }
 
+    // Paginated listing for list views: summaries only, keyset cursor
+    @GetMapping("/page")
+    public ResponseEntity<TaskPageResponse> getTaskPage(
+            @RequestParam(required = false) String projectId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) String assigneeId,
+            @RequestParam(required = false) TaskSortField sort,
+            @RequestParam(defaultValue = "false") boolean ascending,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(
+                taskService.getTaskPage(projectId, status, assigneeId, sort, ascending, cursor, size));
+    }
+
     @GetMapping("/team-lead/{teamLeadId}")
     public ResponseEntity<List<TaskResponse>> getTasksByTeamLead(@PathVariable String teamLeadId) {
         return ResponseEntity.ok(taskService.getTasksForTeamLead(teamLeadId));
@@ -0,0 +1,27 @@
+package com.mnp.task.dto.request;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Arguments of an outbox side effect; each OutboxEventType reads the fields it needs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxPayload {
+    String projectId;
+    String userId;
+    String previousUserId;
+    String actorId; // User who made the change, shown as "assigned by" / "added by"
+    String taskId;
+    String taskTitle;
+    String dueDate;
+    List<String> skillNames;
+    AddTaskToWorkloadRequest workload;
+    boolean socketNotification; // Chat addition: notify over Socket.IO instead of the notification service
+}
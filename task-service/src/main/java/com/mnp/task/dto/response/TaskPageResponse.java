@@ -0,0 +1,17 @@
+package com.mnp.task.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TaskPageResponse {
+    List<TaskSummaryResponse> items;
+    String nextCursor; // Pass back as cursor to get the next page; null on the last page
+    boolean hasMore;
+}
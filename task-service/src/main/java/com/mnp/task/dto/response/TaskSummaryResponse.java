@@ -0,0 +1,34 @@
+package com.mnp.task.dto.response;
+
+import com.mnp.task.enums.TaskPriority;
+import com.mnp.task.enums.TaskStatus;
+import com.mnp.task.enums.TaskType;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a task. Selected column by column, so description, comments and tags are never
+ * loaded. The field order is the constructor order used by TaskListingRepositoryImpl.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TaskSummaryResponse {
+    String id;
+    String title;
+    String projectId;
+    String assignedTo;
+    String reporterId;
+    TaskType type;
+    TaskStatus status;
+    TaskPriority priority;
+    Double progressPercentage;
+    Integer estimatedHours;
+    LocalDateTime dueDate;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,65 @@
+package com.mnp.task.entity;
+
+import com.mnp.task.enums.OutboxEventType;
+import com.mnp.task.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * A downstream side effect written in the same transaction as the task change that caused it.
+ * The relay delivers pending rows after commit, so the caller never waits on another service.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "task_outbox", indexes = {
+        // The relay polls for due rows: status equality, then the retry time
+        @Index(name = "idx_task_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    OutboxEventType type;
+
+    @Column(nullable = false)
+    String aggregateId; // Task that caused the side effect
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    String payload; // OutboxPayload as JSON
+
+    @Column(nullable = false, unique = true)
+    String idempotencyKey; // Sent as the Idempotency-Key header on every delivery attempt
+
+    String leaseToken; // Batch that claimed the row; only that relay may deliver it while the lease runs
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    OutboxStatus status;
+
+    int attempts;
+
+    @Column(nullable = false)
+    LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    String lastError;
+
+    LocalDateTime createdAt;
+    LocalDateTime processedAt;
+
+    @PrePersist
+    private void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
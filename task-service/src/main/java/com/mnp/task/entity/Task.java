@@ -17,7 +17,12 @@ import java.util.List;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Equality filters first, then the listing sort; InnoDB appends the id, which completes the keyset
+        @Index(name = "idx_tasks_project_status_assignee_due",
+                columnList = "project_id, status, assigned_to, due_date"),
+        @Index(name = "idx_tasks_assignee_status_due", columnList = "assigned_to, status, due_date")
+})
 public class Task {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
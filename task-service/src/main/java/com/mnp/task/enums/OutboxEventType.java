@@ -0,0 +1,13 @@
+package com.mnp.task.enums;
+
+/**
+ * Downstream side effects of task changes that are recorded in the outbox and delivered by the relay.
+ */
+public enum OutboxEventType {
+    PROJECT_TASK_COUNT_SYNC,
+    PROJECT_MEMBER_ADD,
+    PROJECT_SKILLS_UPDATE,
+    PROJECT_CHAT_MEMBER_ADD,
+    TASK_ASSIGNMENT_NOTIFICATION,
+    WORKLOAD_TASK_ASSIGN
+}
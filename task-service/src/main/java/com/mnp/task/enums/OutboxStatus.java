@@ -0,0 +1,7 @@
+package com.mnp.task.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.mnp.task.enums;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Sort keys supported by the paginated task listing. Each is a timestamp attribute of Task; ties are broken
+ * by id so every key gives a stable keyset order.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public enum TaskSortField {
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    DUE_DATE("dueDate");
+
+    String attribute;
+}
@@ -0,0 +1,52 @@
+package com.mnp.task.event;
+
+import com.mnp.event.dto.ProjectUpdatedEvent;
+import com.mnp.event.dto.UserUpdatedEvent;
+import com.mnp.task.service.NameCacheService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached user names and projects when identity-service or project-service report a change.
+ * Every task-service instance keeps its own cache, so each one consumes the topics in its own group.
+ * The payload type comes from each listener's default.type, not from the producers' __TypeId__ header.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NameCacheEventListener {
+    NameCacheService nameCacheService;
+
+    @KafkaListener(
+            topics = "user-updated",
+            groupId = "task-name-cache-${random.uuid}",
+            properties = {
+                "spring.json.value.default.type=com.mnp.event.dto.UserUpdatedEvent",
+                "spring.json.use.type.headers=false",
+                "spring.json.trusted.packages=com.mnp.event.dto",
+                "auto.offset.reset=latest"
+            })
+    public void onUserUpdated(UserUpdatedEvent event) {
+        log.debug("User {} updated, invalidating cached name", event.getUserId());
+        nameCacheService.invalidateUser(event.getUserId());
+    }
+
+    @KafkaListener(
+            topics = "project-updated",
+            groupId = "task-name-cache-${random.uuid}",
+            properties = {
+                "spring.json.value.default.type=com.mnp.event.dto.ProjectUpdatedEvent",
+                "spring.json.use.type.headers=false",
+                "spring.json.trusted.packages=com.mnp.event.dto",
+                "auto.offset.reset=latest"
+            })
+    public void onProjectUpdated(ProjectUpdatedEvent event) {
+        log.debug("Project {} updated, invalidating cached project", event.getProjectId());
+        nameCacheService.invalidateProject(event.getProjectId());
+    }
+}
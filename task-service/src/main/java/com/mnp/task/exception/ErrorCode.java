@@ -40,6 +40,7 @@ public enum ErrorCode {
     INVALID_ATTACHMENT(1022, "Invalid attachment", HttpStatus.BAD_REQUEST),
     CANNOT_EDIT_SUBMISSION(1023, "Cannot edit submission with current status", HttpStatus.BAD_REQUEST),
     CANNOT_EDIT_REVIEW(1024, "Cannot edit review for pending submission", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR(1025, "Invalid page cursor", HttpStatus.BAD_REQUEST),
     ;
 
     ErrorCode(int code, String message, HttpStatusCode statusCode) {
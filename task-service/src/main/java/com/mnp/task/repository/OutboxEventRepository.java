@@ -0,0 +1,45 @@
+package com.mnp.task.repository;
+
+import com.mnp.task.entity.OutboxEvent;
+import com.mnp.task.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, String> {
+
+    // FOR UPDATE SKIP LOCKED: relays on other instances claim disjoint batches instead of waiting
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now "
+            + "ORDER BY e.nextAttemptAt")
+    List<OutboxEvent> findDueForUpdate(
+            @Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Compare-and-set on the claiming batch, so a row whose lease ran out is delivered by one relay only
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :leaseUntil "
+            + "WHERE e.id = :id AND e.leaseToken = :leaseToken AND e.status = :status")
+    int renewLease(
+            @Param("id") String id,
+            @Param("leaseToken") String leaseToken,
+            @Param("status") OutboxStatus status,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,15 @@
+package com.mnp.task.repository;
+
+import com.mnp.task.dto.response.TaskSummaryResponse;
+import com.mnp.task.entity.Task;
+import com.mnp.task.enums.TaskSortField;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskListingRepository {
+    List<TaskSummaryResponse> findSummaries(
+            Specification<Task> specification, TaskSortField sortField, boolean ascending, int limit);
+
+    List<String> findIds(Specification<Task> specification, TaskSortField sortField, boolean ascending, int limit);
+}
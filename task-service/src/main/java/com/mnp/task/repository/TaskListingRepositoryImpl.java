@@ -0,0 +1,79 @@
+package com.mnp.task.repository;
+
+import com.mnp.task.dto.response.TaskSummaryResponse;
+import com.mnp.task.entity.Task;
+import com.mnp.task.enums.TaskSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Criteria implementation of the task listing: one statement selecting only the summary columns (or only
+ * the ids), filtered by the given specification and ordered by (sort field, id).
+ */
+public class TaskListingRepositoryImpl implements TaskListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSummaryResponse> findSummaries(
+            Specification<Task> specification, TaskSortField sortField, boolean ascending, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummaryResponse> query = cb.createQuery(TaskSummaryResponse.class);
+        Root<Task> task = query.from(Task.class);
+
+        query.select(cb.construct(TaskSummaryResponse.class,
+                task.get("id"),
+                task.get("title"),
+                task.get("projectId"),
+                task.get("assignedTo"),
+                task.get("reporterId"),
+                task.get("type"),
+                task.get("status"),
+                task.get("priority"),
+                task.get("progressPercentage"),
+                task.get("estimatedHours"),
+                task.get("dueDate"),
+                task.get("createdAt"),
+                task.get("updatedAt")));
+
+        return entityManager.createQuery(filterAndOrder(query, task, cb, specification, sortField, ascending))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<String> findIds(
+            Specification<Task> specification, TaskSortField sortField, boolean ascending, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(task.get("id"));
+
+        return entityManager.createQuery(filterAndOrder(query, task, cb, specification, sortField, ascending))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static <T> CriteriaQuery<T> filterAndOrder(CriteriaQuery<T> query, Root<Task> task, CriteriaBuilder cb,
+            Specification<Task> specification, TaskSortField sortField, boolean ascending) {
+        Predicate predicate = specification != null ? specification.toPredicate(task, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Path<Object> sortPath = task.get(sortField.getAttribute());
+        Path<Object> idPath = task.get("id");
+        return query.orderBy(ascending
+                ? List.of(cb.asc(sortPath), cb.asc(idPath))
+                : List.of(cb.desc(sortPath), cb.desc(idPath)));
+    }
+}
@@ -2,29 +2,49 @@ package com.mnp.task.repository;
 
 import com.mnp.task.entity.Task;
 import com.mnp.task.enums.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, String> {
+public interface TaskRepository
+        extends JpaRepository<Task, String>, JpaSpecificationExecutor<Task>, TaskListingRepository {
+
+    // Listing methods fetch tags in the same statement; mapping a lazy tag collection per task is N+1
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    List<Task> findAll(Specification<Task> specification);
+
+    // Second step of a capped listing: the ids come from findIds, which can apply the row limit in SQL
+    @EntityGraph(attributePaths = "tags")
+    List<Task> findByIdIn(Collection<String> ids);
 
     // Updated method names to match Task entity field names
+    @EntityGraph(attributePaths = "tags")
     List<Task> findByAssignedTo(String assignedTo);
+    @EntityGraph(attributePaths = "tags")
     List<Task> findByCreatedBy(String createdBy);
-    List<Task> findByStatus(TaskStatus status);
+    @EntityGraph(attributePaths = "tags")
     List<Task> findByProjectId(String projectId);
+    long countByProjectId(String projectId);
+    @EntityGraph(attributePaths = "tags")
     List<Task> findByProjectIdIn(List<String> projectIds);
 
-    // Combined filter methods
-    List<Task> findByProjectIdAndStatus(String projectId, TaskStatus status);
-    List<Task> findByProjectIdAndAssignedTo(String projectId, String assignedTo);
-    List<Task> findByStatusAndAssignedTo(TaskStatus status, String assignedTo);
-    List<Task> findByProjectIdAndStatusAndAssignedTo(String projectId, TaskStatus status, String assignedTo);
+    // Titles of dependency targets, without loading the rest of the task
+    @Query("SELECT t.id, t.title FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findTitlesByIdIn(@Param("ids") Collection<String> ids);
 
     // Custom queries for backward compatibility
     @Query("SELECT t FROM Task t WHERE t.assignedTo = :assignedTo AND t.status = :status")
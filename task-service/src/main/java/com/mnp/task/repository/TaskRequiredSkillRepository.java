@@ -4,10 +4,12 @@ import com.mnp.task.entity.TaskRequiredSkill;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TaskRequiredSkillRepository extends JpaRepository<TaskRequiredSkill, String> {
     List<TaskRequiredSkill> findByTaskId(String taskId);
+    List<TaskRequiredSkill> findByTaskIdIn(Collection<String> taskIds);
     void deleteByTaskId(String taskId);
 }
@@ -0,0 +1,59 @@
+package com.mnp.task.repository;
+
+import com.mnp.task.entity.Task;
+import com.mnp.task.enums.TaskSortField;
+import com.mnp.task.enums.TaskStatus;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicates for task listings. Filters that are not given are left out, so one query covers every
+ * combination and can use the (project_id, status, assigned_to, due_date) index.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {}
+
+    public static Specification<Task> filter(String projectId, TaskStatus status, String assigneeId) {
+        return Specification.where(hasProject(projectId))
+                .and(hasStatus(status))
+                .and(assignedTo(assigneeId));
+    }
+
+    public static Specification<Task> hasProject(String projectId) {
+        return projectId == null ? null : (root, query, cb) -> cb.equal(root.get("projectId"), projectId);
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> assignedTo(String assigneeId) {
+        return assigneeId == null ? null : (root, query, cb) -> cb.equal(root.get("assignedTo"), assigneeId);
+    }
+
+    /**
+     * Rows strictly after the keyset position (value, id) in (sort field, id) order.
+     * Nulls sort low in MySQL and H2: first when ascending, last when descending.
+     */
+    public static Specification<Task> after(
+            TaskSortField sortField, boolean ascending, LocalDateTime value, String id) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> sortPath = root.get(sortField.getAttribute());
+            Path<String> idPath = root.get("id");
+            Predicate idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+
+            if (value == null) {
+                Predicate nullAfter = cb.and(cb.isNull(sortPath), idAfter);
+                return ascending ? cb.or(nullAfter, cb.isNotNull(sortPath)) : nullAfter;
+            }
+
+            Predicate valueAfter = ascending ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value);
+            Predicate keysetAfter = cb.or(valueAfter, cb.and(cb.equal(sortPath, value), idAfter));
+            return ascending ? keysetAfter : cb.or(keysetAfter, cb.isNull(sortPath));
+        };
+    }
+}
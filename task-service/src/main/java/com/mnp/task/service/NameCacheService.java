@@ -0,0 +1,189 @@
+package com.mnp.task.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mnp.task.client.IdentityClient;
+import com.mnp.task.client.ProjectServiceClient;
+import com.mnp.task.dto.response.ApiResponse;
+import com.mnp.task.dto.response.ProjectResponse;
+import com.mnp.task.dto.response.UserResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, TTL-based cache of user names and project references (name, team lead) used when building
+ * task and submission responses and notifications. Misses are fetched with one batch request per entity
+ * type; concurrent misses for the same id share the in-flight request. Entries are dropped on
+ * user-updated and project-updated events, the TTL only bounds staleness when an event is missed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NameCacheService {
+    IdentityClient identityClient;
+    ProjectServiceClient projectServiceClient;
+
+    @NonFinal
+    @Value("${app.name-cache.max-size:10000}")
+    long maxSize;
+
+    @NonFinal
+    @Value("${app.name-cache.ttl-minutes:10}")
+    long ttlMinutes;
+
+    @NonFinal
+    AsyncLoadingCache<String, UserResponse> users;
+
+    @NonFinal
+    AsyncLoadingCache<String, ProjectResponse> projects;
+
+    @PostConstruct
+    void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .buildAsync(new BatchLoader<>("users", UserResponse::getId, identityClient::getUsers));
+        projects = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .buildAsync(new BatchLoader<>(
+                        "projects", ProjectResponse::getId, projectServiceClient::getProjectsByIds));
+    }
+
+    /**
+     * Users keyed by id, with at most one remote request for all misses. Unknown users are absent.
+     */
+    public Map<String, UserResponse> getUsers(Collection<String> userIds) {
+        return getAll(users, "users", userIds);
+    }
+
+    /**
+     * Projects keyed by id, with at most one remote request for all misses. Unknown projects are absent.
+     * Only reference fields are filled: id, name, leaders, status, priority.
+     */
+    public Map<String, ProjectResponse> getProjects(Collection<String> projectIds) {
+        return getAll(projects, "projects", projectIds);
+    }
+
+    public UserResponse getUser(String userId) {
+        return userId == null ? null : getUsers(List.of(userId)).get(userId);
+    }
+
+    public ProjectResponse getProject(String projectId) {
+        return projectId == null ? null : getProjects(List.of(projectId)).get(projectId);
+    }
+
+    /**
+     * "First Last", or null when the user is unknown or has no name
+     */
+    public String getUserFullName(String userId) {
+        return fullName(getUser(userId));
+    }
+
+    /**
+     * Project name, or null when the project is unknown or unnamed
+     */
+    public String getProjectName(String projectId) {
+        ProjectResponse project = getProject(projectId);
+        return project != null && project.getName() != null && !project.getName().isBlank() ? project.getName() : null;
+    }
+
+    public static String fullName(UserResponse user) {
+        if (user == null || user.getFirstName() == null || user.getLastName() == null) {
+            return null;
+        }
+        return user.getFirstName() + " " + user.getLastName();
+    }
+
+    public void invalidateUser(String userId) {
+        if (userId != null) {
+            users.synchronous().invalidate(userId);
+        }
+    }
+
+    public void invalidateProject(String projectId) {
+        if (projectId != null) {
+            projects.synchronous().invalidate(projectId);
+        }
+    }
+
+    private <V> Map<String, V> getAll(AsyncLoadingCache<String, V> cache, String type, Collection<String> ids) {
+        Set<String> keys = ids.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !id.isBlank())
+                .collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return cache.getAll(keys).join();
+        } catch (CompletionException e) {
+            log.warn("Failed to load {} {}: {}", keys.size(), type, e.getCause().getMessage());
+            return Map.of();
+        }
+    }
+
+    private static final class BatchLoader<V> implements AsyncCacheLoader<String, V> {
+        final String type;
+        final Function<V, String> idOf;
+        final Function<List<String>, ApiResponse<List<V>>> fetch;
+
+        BatchLoader(String type, Function<V, String> idOf, Function<List<String>, ApiResponse<List<V>>> fetch) {
+            this.type = type;
+            this.idOf = idOf;
+            this.fetch = fetch;
+        }
+
+        @Override
+        public CompletableFuture<V> asyncLoad(String id, Executor executor) {
+            return asyncLoadAll(Set.of(id), executor).thenApply(loaded -> loaded.get(id));
+        }
+
+        @Override
+        public CompletableFuture<Map<String, V>> asyncLoadAll(Set<? extends String> ids, Executor executor) {
+            // Load on the caller's thread: Feign needs the request's auth context
+            try {
+                return CompletableFuture.completedFuture(loadAll(ids));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private Map<String, V> loadAll(Set<? extends String> ids) {
+            log.debug("Loading {} {} in one request", ids.size(), type);
+            ApiResponse<List<V>> response = fetch.apply(List.copyOf(ids));
+            if (response == null || response.getResult() == null) {
+                return Map.of();
+            }
+            Map<String, V> loaded = new HashMap<>();
+            for (V value : response.getResult()) {
+                String id = idOf.apply(value);
+                if (id != null) {
+                    loaded.putIfAbsent(id, value);
+                }
+            }
+            return loaded;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.mnp.task.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mnp.task.dto.request.OutboxPayload;
+import com.mnp.task.entity.OutboxEvent;
+import com.mnp.task.enums.OutboxStatus;
+import com.mnp.task.repository.OutboxEventRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivers outbox rows to the downstream services, outside any request or database transaction.
+ *
+ * Each poll claims a batch of due rows with SKIP LOCKED and tags them with a lease, so several task-service
+ * instances can relay side by side. The lease is renewed row by row just before delivery and only has to
+ * outlast one downstream call. Delivery is at-least-once: a failed row is retried with exponential backoff
+ * under the same idempotency key, and marked FAILED after max-attempts; the downstream operations are
+ * idempotent (set, add-if-absent) so a repeated delivery does not change the outcome.
+ *
+ * Calls go to the downstream /internal endpoints, which need no user token: none is stored with the rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxRelay {
+    static final ThreadLocal<String> IDEMPOTENCY_KEY = new ThreadLocal<>();
+
+    OutboxEventRepository outboxEventRepository;
+    TaskSideEffectDispatcher taskSideEffectDispatcher;
+    TransactionTemplate transactionTemplate;
+    ObjectMapper objectMapper;
+
+    @NonFinal
+    @Value("${app.outbox.batch-size:50}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${app.outbox.max-attempts:10}")
+    int maxAttempts;
+
+    @NonFinal
+    @Value("${app.outbox.initial-backoff-ms:1000}")
+    long initialBackoffMs;
+
+    @NonFinal
+    @Value("${app.outbox.max-backoff-ms:300000}")
+    long maxBackoffMs;
+
+    @NonFinal
+    @Value("${app.outbox.lease-seconds:120}")
+    long leaseSeconds;
+
+    @NonFinal
+    @Value("${app.outbox.retention-hours:24}")
+    long retentionHours;
+
+    /**
+     * Idempotency key of the row being delivered on this thread, or null outside the relay.
+     */
+    public static String currentIdempotencyKey() {
+        return IDEMPOTENCY_KEY.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            batch = claimBatch();
+            batch.forEach(this::deliver);
+        } while (batch.size() == batchSize); // Drain a backlog without waiting for the next poll
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    public void purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(
+                status -> outboxEventRepository.deleteProcessedBefore(OutboxStatus.SENT, before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} sent outbox events", deleted);
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> due = outboxEventRepository.findDueForUpdate(
+                    OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            // A relay that dies mid-batch leaves its rows due again once the lease runs out
+            LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+            String leaseToken = UUID.randomUUID().toString();
+            due.forEach(event -> {
+                event.setNextAttemptAt(leaseUntil);
+                event.setLeaseToken(leaseToken);
+            });
+            return due;
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    private void deliver(OutboxEvent event) {
+        // Earlier rows of the batch may have taken a while: make sure no other relay has claimed this one since
+        LocalDateTime leaseUntil = LocalDateTime.now().plusSeconds(leaseSeconds);
+        int renewed = outboxEventRepository.renewLease(
+                event.getId(), event.getLeaseToken(), OutboxStatus.PENDING, leaseUntil);
+        if (renewed == 0) {
+            log.debug("Outbox event {} was claimed by another relay, skipping", event.getId());
+            return;
+        }
+        event.setNextAttemptAt(leaseUntil);
+
+        event.setAttempts(event.getAttempts() + 1);
+        try {
+            OutboxPayload payload = objectMapper.readValue(event.getPayload(), OutboxPayload.class);
+            IDEMPOTENCY_KEY.set(event.getIdempotencyKey());
+
+            taskSideEffectDispatcher.dispatch(event.getType(), payload);
+
+            event.setStatus(OutboxStatus.SENT);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setLastError(null);
+        } catch (Exception e) {
+            event.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+            if (event.getAttempts() >= maxAttempts) {
+                event.setStatus(OutboxStatus.FAILED);
+                event.setProcessedAt(LocalDateTime.now());
+                log.error("Giving up on {} for task {} after {} attempts: {}",
+                        event.getType(), event.getAggregateId(), event.getAttempts(), e.getMessage());
+            } else {
+                event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs(event.getAttempts()))));
+                log.warn("Delivering {} for task {} failed (attempt {}), retrying: {}",
+                        event.getType(), event.getAggregateId(), event.getAttempts(), e.getMessage());
+            }
+        } finally {
+            IDEMPOTENCY_KEY.remove();
+        }
+        outboxEventRepository.save(event);
+    }
+
+    private long backoffMs(int attempts) {
+        return Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
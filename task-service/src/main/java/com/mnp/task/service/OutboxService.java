@@ -0,0 +1,56 @@
+package com.mnp.task.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mnp.task.dto.request.OutboxPayload;
+import com.mnp.task.entity.OutboxEvent;
+import com.mnp.task.enums.OutboxEventType;
+import com.mnp.task.enums.OutboxStatus;
+import com.mnp.task.exception.AppException;
+import com.mnp.task.exception.ErrorCode;
+import com.mnp.task.repository.OutboxEventRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Records downstream side effects as outbox rows in the caller's transaction.
+ * Nothing is sent here: the rows commit or roll back with the task change, and OutboxRelay delivers them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxService {
+
+    OutboxEventRepository outboxEventRepository;
+    ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEventType type, String taskId, OutboxPayload payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing {} outbox payload for task {}", type, taskId, e);
+            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .aggregateId(taskId)
+                .payload(json)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued {} for task {}", type, taskId);
+    }
+}
@@ -1,19 +1,24 @@
 package com.mnp.task.service;
 
-import com.mnp.task.client.IdentityClient;
 import com.mnp.task.client.ProjectServiceClient;
 import com.mnp.task.client.ChatServiceClient;
 import com.mnp.task.client.RealTimeNotificationClient;
 import com.mnp.task.dto.request.*;
 import com.mnp.task.dto.response.ApiResponse;
 import com.mnp.task.dto.response.TaskDependencyResponse;
+import com.mnp.task.dto.response.ProjectResponse;
+import com.mnp.task.dto.response.TaskPageResponse;
 import com.mnp.task.dto.response.TaskResponse;
 import com.mnp.task.dto.response.TaskSkillResponse;
 import com.mnp.task.dto.response.TaskSubmissionResponse;
+import com.mnp.task.dto.response.TaskSummaryResponse;
+import com.mnp.task.dto.response.UserResponse;
 import com.mnp.task.entity.Task;
 import com.mnp.task.entity.TaskDependency;
 import com.mnp.task.entity.TaskRequiredSkill;
 import com.mnp.task.entity.TaskSubmission;
+import com.mnp.task.enums.OutboxEventType;
+import com.mnp.task.enums.TaskSortField;
 import com.mnp.task.enums.TaskStatus;
 import com.mnp.task.enums.SubmissionStatus;
 import com.mnp.task.exception.AppException;
@@ -23,19 +28,29 @@ import com.mnp.task.mapper.TaskSubmissionMapper;
 import com.mnp.task.repository.TaskDependencyRepository;
 import com.mnp.task.repository.TaskRepository;
 import com.mnp.task.repository.TaskRequiredSkillRepository;
+import com.mnp.task.repository.TaskSpecifications;
 import com.mnp.task.repository.TaskSubmissionRepository;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,6 +59,10 @@ import java.util.stream.Collectors;
 public class TaskService {
 
     private static final Logger log = LoggerFactory.getLogger(TaskService.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    // Unpaginated list endpoints return at most this many tasks, newest first; list views use /tasks/page
+    private static final int MAX_LIST_TASKS = 1000;
 
     TaskRepository taskRepository;
     TaskDependencyRepository taskDependencyRepository;
@@ -57,8 +76,9 @@ public class TaskService {
     ProjectIntegrationService projectIntegrationService; // Add the new integration service
     ChatServiceClient chatServiceClient; // Add chat service client
     private final RealTimeNotificationClient realTimeNotificationClient; // Add real-time notification client
-    IdentityClient identityClient;
     WorkloadIntegrationService workloadIntegrationService; // Add workload integration service
+    NameCacheService nameCacheService;
+    OutboxService outboxService;
 
 
     @Transactional
@@ -82,49 +102,32 @@ public class TaskService {
         Task savedTask = taskRepository.save(task);
         log.info("Task created with ID: {}", savedTask.getId());
 
-        // **INCREMENT TOTAL TASKS IN PROJECT**
-        try {
-            projectServiceClient.incrementTotalTasks(savedTask.getProjectId());
-            log.info("Incremented totalTasks for project: {}", savedTask.getProjectId());
-        } catch (Exception e) {
-            log.error("Failed to increment totalTasks for project: {}", savedTask.getProjectId(), e);
+        // Downstream side effects go to the outbox and are delivered after commit by OutboxRelay
+        boolean hasProject = savedTask.getProjectId() != null && !savedTask.getProjectId().isEmpty();
+        if (hasProject) {
+            outboxService.enqueue(OutboxEventType.PROJECT_TASK_COUNT_SYNC, savedTask.getId(),
+                    OutboxPayload.builder().taskId(savedTask.getId()).projectId(savedTask.getProjectId()).build());
         }
 
         log.info("Task request {}: ", request);
         // Send notification to assigned employee (check for both null and empty string)
         if (savedTask.getAssignedTo() != null && !savedTask.getAssignedTo().trim().isEmpty()) {
-            try {
-                String assignedByName = getCurrentUserName();
-                String dueDate = savedTask.getDueDate() != null ?
-                        savedTask.getDueDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) : "Not specified";
-                String projectName = getProjectNameById(savedTask.getProjectId());
-
-                // Send traditional notification
-                taskNotificationProducerService.sendTaskAssignmentNotification(
-                        savedTask.getAssignedTo(),
-                        savedTask.getId(),
-                        savedTask.getTitle(),
-                        projectName,
-                        assignedByName,
-                        dueDate
-                );
-
-                // Send real-time notification
-                sendRealTimeTaskAssignmentNotification(savedTask, projectName, assignedByName, dueDate);
-
-                log.info("Sent task assignment notification for task: {}", savedTask.getId());
-            } catch (Exception e) {
-                log.error("Failed to send task assignment notification for task: {}", savedTask.getId(), e);
+            String dueDate = savedTask.getDueDate() != null ?
+                    savedTask.getDueDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) : "Not specified";
+            outboxService.enqueue(OutboxEventType.TASK_ASSIGNMENT_NOTIFICATION, savedTask.getId(),
+                    OutboxPayload.builder()
+                            .taskId(savedTask.getId())
+                            .taskTitle(savedTask.getTitle())
+                            .projectId(savedTask.getProjectId())
+                            .userId(savedTask.getAssignedTo())
+                            .actorId(getCurrentUserId())
+                            .dueDate(dueDate)
+                            .build());
+
+            // Add assignee to project members and to the project chat group
+            if (hasProject) {
+                enqueueProjectMembership(savedTask, false);
             }
-
-            // Add assignee to project members when task is assigned during creation
-            projectIntegrationService.addProjectMemberFromTaskAssignment(
-                savedTask.getProjectId(),
-                savedTask.getAssignedTo()
-            );
-
-            // Add user to chat group for the project
-            addToProjectChatGroup(savedTask.getProjectId(), savedTask.getAssignedTo());
         } else {
             log.info("Task created without assignee - skipping assignment notifications");
         }
@@ -159,22 +162,24 @@ public class TaskService {
             log.info("Created {} required skills for task {}", requiredSkills.size(), savedTask.getId());
 
             // Update project required skills based on task skills
-            projectIntegrationService.updateProjectSkillsFromTask(
-                savedTask.getProjectId(),
-                requiredSkills
-            );
+            List<String> skillNames = requiredSkills.stream()
+                    .map(TaskRequiredSkill::getSkillName)
+                    .filter(skillName -> skillName != null && !skillName.trim().isEmpty())
+                    .toList();
+            if (hasProject && !skillNames.isEmpty()) {
+                outboxService.enqueue(OutboxEventType.PROJECT_SKILLS_UPDATE, savedTask.getId(),
+                        OutboxPayload.builder()
+                                .taskId(savedTask.getId())
+                                .projectId(savedTask.getProjectId())
+                                .skillNames(skillNames)
+                                .build());
+            }
         }
 
         // **ADD TASK TO WORKLOAD SERVICE**
         // Add task to workload if it has an assignee
         if (savedTask.getAssignedTo() != null && !savedTask.getAssignedTo().trim().isEmpty()) {
-            try {
-                workloadIntegrationService.addTaskToWorkload(savedTask);
-                log.info("Added task {} to workload service for user {}", savedTask.getId(), savedTask.getAssignedTo());
-            } catch (Exception e) {
-                log.error("Failed to add task {} to workload service: {}", savedTask.getId(), e.getMessage());
-                // Don't fail task creation if workload service is down
-            }
+            enqueueWorkloadAssignment(savedTask, null);
         }
 
         return enrichTaskResponseWithSkills(savedTask);
@@ -184,16 +189,8 @@ public class TaskService {
      * Get user full name by user ID
      */
     private String getUserFullName(String userId) {
-        try {
-            var response = identityClient.getFullName(userId);
-            if (response != null && response.getResult() != null) {
-                return response.getResult().getFirstName() + " " + response.getResult().getLastName();
-            }
-            return "Unknown User";
-        } catch (Exception e) {
-            log.warn("Failed to get user name for ID {}: {}", userId, e.getMessage());
-            return "Unknown User";
-        }
+        String fullName = nameCacheService.getUserFullName(userId);
+        return fullName != null ? fullName : "Unknown User";
     }
 
     public String getTaskName(String taskId){
@@ -218,30 +215,29 @@ public class TaskService {
             return "System User";
         }
 
-        try {
-            // Check if this is being called during login/authentication flow
-            var context = SecurityContextHolder.getContext();
-            var authentication = context.getAuthentication();
-
-            // If no proper authentication context, don't make external calls
-            if (authentication == null || "anonymousUser".equals(authentication.getName())) {
-                return "User " + userId;
-            }
+        // If no proper authentication context, don't make external calls
+        if (!hasAuthenticatedCaller()) {
+            return "User " + userId;
+        }
 
-            var response = identityClient.getFullName(userId);
-            if (response != null && response.getResult() != null) {
-                String firstName = response.getResult().getFirstName();
-                String lastName = response.getResult().getLastName();
+        return getUserFullNameSafely(userId, nameCacheService.getUsers(List.of(userId)));
+    }
 
-                if (firstName != null && lastName != null) {
-                    return firstName + " " + lastName;
-                }
-            }
-            return "User " + userId; // Fallback to show user ID if name fetch fails
-        } catch (Exception e) {
-            log.debug("Could not fetch user name for ID {} (using fallback): {}", userId, e.getMessage());
-            return "User " + userId; // Safe fallback that won't break the system
+    /**
+     * Same fallbacks as getUserFullNameSafely, from names already resolved in bulk
+     */
+    private String getUserFullNameSafely(String userId, Map<String, UserResponse> users) {
+        if (userId == null || userId.trim().isEmpty() || "SYSTEM".equals(userId)) {
+            return "System User";
         }
+        String fullName = NameCacheService.fullName(users.get(userId));
+        return fullName != null ? fullName : "User " + userId; // Fallback to show user ID if name fetch fails
+    }
+
+    // Whether this is a regular request rather than the login/authentication flow
+    private boolean hasAuthenticatedCaller() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && !"anonymousUser".equals(authentication.getName());
     }
 
     public TaskResponse updateTask(String taskId, TaskUpdateRequest request) {
@@ -290,10 +286,8 @@ public class TaskService {
                 String dueDate = updatedTask.getDueDate() != null ?
                         updatedTask.getDueDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) : "Not specified";
                 String projectName = getProjectNameById(updatedTask.getProjectId());
-                var projectResponse = projectServiceClient.getProjectById(task.getProjectId());
-
-
-                String teamLeadName = getUserFullName(projectResponse.getResult().getTeamLeadId());
+                ProjectResponse project = nameCacheService.getProject(task.getProjectId());
+                String teamLeadName = getUserFullName(project != null ? project.getTeamLeadId() : null);
 
                 // Create task response for notifications
                 TaskResponse taskResponse = taskMapper.toTaskResponse(updatedTask);
@@ -508,21 +502,15 @@ public class TaskService {
     }
 
     public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(this::enrichTaskResponseWithSkills)
-                .toList();
+        return enrichTaskResponsesWithSkills(findNewestTasks(null));
     }
 
     public List<TaskResponse> getTasksByAssignee(String assigneeId) {
-        return taskRepository.findByAssignedTo(assigneeId).stream()
-                .map(this::enrichTaskResponseWithSkills)
-                .toList();
+        return enrichTaskResponsesWithSkills(taskRepository.findByAssignedTo(assigneeId));
     }
 
     public List<TaskResponse> getTasksByCreator(String creatorId) {
-        return taskRepository.findByCreatedBy(creatorId).stream()
-                .map(this::enrichTaskResponseWithSkills)
-                .toList();
+        return enrichTaskResponsesWithSkills(taskRepository.findByCreatedBy(creatorId));
     }
 
     public List<TaskResponse> getMyTasks() {
@@ -530,9 +518,7 @@ public class TaskService {
         String currentUserId = getCurrentUserId();
         log.info("Getting my tasks for user: {}", currentUserId);
 
-        return taskRepository.findByAssignedTo(currentUserId).stream()
-                .map(this::enrichTaskResponseWithSkills)
-                .toList();
+        return enrichTaskResponsesWithSkills(taskRepository.findByAssignedTo(currentUserId));
     }
 
 
@@ -556,9 +542,7 @@ public class TaskService {
             }
 
             // Get all tasks from these projects
-            return taskRepository.findByProjectIdIn(projectIds).stream()
-                    .map(this::enrichTaskResponseWithSkills)
-                    .toList();
+            return enrichTaskResponsesWithSkills(taskRepository.findByProjectIdIn(projectIds));
         } catch (Exception e) {
             log.error("Failed to fetch tasks for team lead {}: {}", teamLeadId, e.getMessage());
             return List.of(); // Return empty list on error
@@ -575,56 +559,91 @@ public class TaskService {
 
     // Enhanced getAllTasks with filters
     public List<TaskResponse> getAllTasks(String projectId, TaskStatus status, String assigneeId) {
-        List<Task> tasks;
-
-        if (projectId != null && status != null && assigneeId != null) {
-            tasks = taskRepository.findByProjectIdAndStatusAndAssignedTo(projectId, status, assigneeId);
-        } else if (projectId != null && status != null) {
-            tasks = taskRepository.findByProjectIdAndStatus(projectId, status);
-        } else if (projectId != null && assigneeId != null) {
-            tasks = taskRepository.findByProjectIdAndAssignedTo(projectId, assigneeId);
-        } else if (status != null && assigneeId != null) {
-            tasks = taskRepository.findByStatusAndAssignedTo(status, assigneeId);
-        } else if (projectId != null) {
-            tasks = taskRepository.findByProjectId(projectId);
-        } else if (status != null) {
-            tasks = taskRepository.findByStatus(status);
-        } else if (assigneeId != null) {
-            tasks = taskRepository.findByAssignedTo(assigneeId);
-        } else {
-            tasks = taskRepository.findAll();
+        List<Task> tasks = findNewestTasks(TaskSpecifications.filter(projectId, status, assigneeId));
+
+        return enrichTaskResponsesWithSkills(tasks);
+    }
+
+    /**
+     * Keyset-paginated task listing for list views. Returns summaries only; pass nextCursor back as cursor
+     * for the following page. Sort field and direction must stay the same across pages of one cursor.
+     */
+    public TaskPageResponse getTaskPage(String projectId, TaskStatus status, String assigneeId,
+                                        TaskSortField sort, boolean ascending, String cursor, Integer size) {
+        TaskSortField sortField = sort != null ? sort : TaskSortField.CREATED_AT;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        Specification<Task> specification = TaskSpecifications.filter(projectId, status, assigneeId);
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            LocalDateTime value = position[0].isEmpty() ? null : LocalDateTime.parse(position[0]);
+            specification = specification.and(TaskSpecifications.after(sortField, ascending, value, position[1]));
         }
 
-        return tasks.stream()
-                .map(this::enrichTaskResponseWithSkills)
-                .toList();
+        // One extra row tells whether another page exists
+        List<TaskSummaryResponse> rows =
+                taskRepository.findSummaries(specification, sortField, ascending, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskSummaryResponse> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return TaskPageResponse.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(items.get(items.size() - 1), sortField) : null)
+                .build();
+    }
+
+    private String encodeCursor(TaskSummaryResponse last, TaskSortField sortField) {
+        LocalDateTime value = switch (sortField) {
+            case CREATED_AT -> last.getCreatedAt();
+            case UPDATED_AT -> last.getUpdatedAt();
+            case DUE_DATE -> last.getDueDate();
+        };
+        String position = (value != null ? value.toString() : "") + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // [sort value or "" for null, task id]
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new AppException(ErrorCode.INVALID_CURSOR);
+            }
+            if (!parts[0].isEmpty()) {
+                LocalDateTime.parse(parts[0]);
+            }
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
     }
 
     // Enhanced getAllTasks with filters for project integration
     public List<TaskResponse> getAllTasksWithDetails(String projectId, TaskStatus status, String assigneeId) {
-        List<Task> tasks;
-
-        if (projectId != null && status != null && assigneeId != null) {
-            tasks = taskRepository.findByProjectIdAndStatusAndAssignedTo(projectId, status, assigneeId);
-        } else if (projectId != null && status != null) {
-            tasks = taskRepository.findByProjectIdAndStatus(projectId, status);
-        } else if (projectId != null && assigneeId != null) {
-            tasks = taskRepository.findByProjectIdAndAssignedTo(projectId, assigneeId);
-        } else if (status != null && assigneeId != null) {
-            tasks = taskRepository.findByStatusAndAssignedTo(status, assigneeId);
-        } else if (projectId != null) {
-            tasks = taskRepository.findByProjectId(projectId);
-        } else if (status != null) {
-            tasks = taskRepository.findByStatus(status);
-        } else if (assigneeId != null) {
-            tasks = taskRepository.findByAssignedTo(assigneeId);
-        } else {
-            tasks = taskRepository.findAll();
+        List<Task> tasks = findNewestTasks(TaskSpecifications.filter(projectId, status, assigneeId));
+
+        return mapToDetailedTaskResponses(tasks);
+    }
+
+    /**
+     * The newest MAX_LIST_TASKS tasks matching the specification, with their tags. The limit is applied to
+     * an id-only query first: limiting the tags fetch join itself would page in memory over the whole table.
+     */
+    private List<Task> findNewestTasks(Specification<Task> specification) {
+        List<String> ids = taskRepository.findIds(specification, TaskSortField.CREATED_AT, false, MAX_LIST_TASKS + 1);
+        if (ids.size() > MAX_LIST_TASKS) {
+            log.warn("Task list truncated to the newest {} tasks; use /tasks/page for the rest", MAX_LIST_TASKS);
+            ids = ids.subList(0, MAX_LIST_TASKS);
+        }
+        if (ids.isEmpty()) {
+            return List.of();
         }
 
-        return tasks.stream()
-                .map(this::mapToDetailedTaskResponse)
-                .toList();
+        Map<String, Task> tasksById = taskRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return ids.stream().map(tasksById::get).filter(task -> task != null).toList();
     }
 
     // Task workflow methods
@@ -682,31 +701,14 @@ public class TaskService {
 
         log.info("Task assigned to user {} for task ID: {}", userId, taskId);
 
-        // **UPDATE WORKLOAD SERVICE FOR TASK ASSIGNMENT**
+        // If this is a new assignment (not just updating existing assignment), queue the downstream updates;
+        // they are delivered after commit so the assignment never waits on workload, project or chat service
         if (!userId.equals(previousAssignedTo)) {
-            try {
-                workloadIntegrationService.handleTaskReassignment(updatedTask, previousAssignedTo, userId);
-                log.info("Updated workload service for task assignment: {} (old: {}, new: {})",
-                        taskId, previousAssignedTo, userId);
-            } catch (Exception e) {
-                log.error("Failed to update workload service for task assignment: {}", e.getMessage());
-            }
-        }
+            enqueueWorkloadAssignment(updatedTask, previousAssignedTo);
 
-        // If this is a new assignment (not just updating existing assignment)
-        if (!userId.equals(previousAssignedTo)) {
-            try {
-                // Add user to project members table if task has a project
-                if (task.getProjectId() != null && !task.getProjectId().isEmpty()) {
-                    addUserToProjectMembers(task.getProjectId(), userId);
-
-                    // Add user to project group chat
-                    addUserToProjectGroupChat(task.getProjectId(), userId);
-                }
-            } catch (Exception e) {
-                log.error("Error during task assignment integrations for task {} and user {}: {}",
-                         taskId, userId, e.getMessage(), e);
-                // Continue execution even if integrations fail to avoid breaking task assignment
+            // Add user to project members table and project group chat if task has a project
+            if (task.getProjectId() != null && !task.getProjectId().isEmpty()) {
+                enqueueProjectMembership(updatedTask, true);
             }
         }
 
@@ -725,50 +727,38 @@ public class TaskService {
     }
 
     /**
-     * Add user to project members table
+     * Queue adding the task's assignee to the project members and the project group chat
      */
-    private void addUserToProjectMembers(String projectId, String userId) {
-        try {
-            log.info("Adding user {} to project {} members", userId, projectId);
-
-            AddProjectMemberRequest memberRequest = AddProjectMemberRequest.builder()
-                    .projectId(projectId)
-                    .userId(userId)
-                    .role("MEMBER") // Default role for task assignments
-                    .build();
-
-            projectServiceClient.addMemberToProject(memberRequest);
-            log.info("Successfully added user {} to project {} members", userId, projectId);
-
-        } catch (Exception e) {
-            log.error("Failed to add user {} to project {} members: {}", userId, projectId, e.getMessage(), e);
-            throw e; // Re-throw to be caught by calling method
-        }
+    private void enqueueProjectMembership(Task task, boolean socketNotification) {
+        OutboxPayload payload = OutboxPayload.builder()
+                .taskId(task.getId())
+                .projectId(task.getProjectId())
+                .userId(task.getAssignedTo())
+                .actorId(getCurrentUserId())
+                .socketNotification(socketNotification)
+                .build();
+        outboxService.enqueue(OutboxEventType.PROJECT_MEMBER_ADD, task.getId(), payload);
+        outboxService.enqueue(OutboxEventType.PROJECT_CHAT_MEMBER_ADD, task.getId(), payload);
     }
 
     /**
-     * Add user to project group chat
+     * Queue moving the task into its assignee's workload, out of the previous assignee's if there was one
      */
-    private void addUserToProjectGroupChat(String projectId, String userId) {
-        try {
-            log.info("Adding user {} to project {} group chat", userId, projectId);
-
-            // Call chat service to add user to the project group using the standardized endpoint
-            chatServiceClient.addMemberToProjectGroup(projectId, userId);
-            taskSocketIOService.notifyAddedToChatProject(projectId, userId);
-            log.info("Successfully added user {} to project {} group chat", userId, projectId);
-
-        } catch (Exception e) {
-            log.error("Failed to add user {} to project {} group chat: {}", userId, projectId, e.getMessage(), e);
-            throw e; // Re-throw to be caught by calling method
-        }
+    private void enqueueWorkloadAssignment(Task task, String previousAssignedTo) {
+        outboxService.enqueue(OutboxEventType.WORKLOAD_TASK_ASSIGN, task.getId(), OutboxPayload.builder()
+                .taskId(task.getId())
+                .userId(task.getAssignedTo())
+                .previousUserId(previousAssignedTo)
+                .workload(workloadIntegrationService.toAddTaskToWorkloadRequest(task))
+                .build());
     }
 
     // Task dependencies methods
     public List<TaskDependencyResponse> getTaskDependencies(String taskId) {
         List<TaskDependency> dependencies = taskDependencyRepository.findByTaskId(taskId);
+        Map<String, String> titles = findDependencyTitles(dependencies, List.of());
         return dependencies.stream()
-                .map(this::mapToTaskDependencyResponse)
+                .map(dependency -> mapToTaskDependencyResponse(dependency, titles))
                 .toList();
     }
 
@@ -779,7 +769,7 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
         // Validate dependency task exists
-        taskRepository.findById(request.getDependsOnTaskId())
+        Task dependsOnTask = taskRepository.findById(request.getDependsOnTaskId())
                 .orElseThrow(() -> new RuntimeException("Dependency task not found"));
 
         // Check if dependency already exists
@@ -801,7 +791,7 @@ public class TaskService {
         TaskDependency savedDependency = taskDependencyRepository.save(dependency);
         log.info("Task dependency added: task {} depends on task {}", taskId, request.getDependsOnTaskId());
 
-        return mapToTaskDependencyResponse(savedDependency);
+        return mapToTaskDependencyResponse(savedDependency, Map.of(dependsOnTask.getId(), dependsOnTask.getTitle()));
     }
 
     @Transactional
@@ -859,28 +849,22 @@ public class TaskService {
 
     public List<TaskSubmissionResponse> getPendingSubmissions() {
         List<TaskSubmission> submissions = taskSubmissionRepository.findByStatus(SubmissionStatus.PENDING);
-        return submissions.stream()
-                .map(this::mapToTaskSubmissionResponse)
-                .toList();
+        return mapToTaskSubmissionResponses(submissions);
     }
 
     public List<TaskSubmissionResponse> getMyReviews() {
         String currentUserId = getCurrentUserId();
         List<TaskSubmission> submissions = taskSubmissionRepository.findByReviewedBy(currentUserId);
-        return submissions.stream()
-                .map(this::mapToTaskSubmissionResponse)
-                .toList();
+        return mapToTaskSubmissionResponses(submissions);
     }
 
     // Helper mapping methods
-    private TaskDependencyResponse mapToTaskDependencyResponse(TaskDependency dependency) {
-        Task dependentTask = taskRepository.findById(dependency.getDependsOnTaskId()).orElse(null);
-
+    private TaskDependencyResponse mapToTaskDependencyResponse(TaskDependency dependency, Map<String, String> titles) {
         return TaskDependencyResponse.builder()
                 .id(dependency.getId())
                 .taskId(dependency.getTaskId())
                 .dependsOnTaskId(dependency.getDependsOnTaskId())
-                .dependsOnTaskTitle(dependentTask != null ? dependentTask.getTitle() : "Unknown Task")
+                .dependsOnTaskTitle(titles.getOrDefault(dependency.getDependsOnTaskId(), "Unknown Task"))
                 .type(dependency.getType())
                 .createdAt(dependency.getCreatedAt())
                 .build();
@@ -900,15 +884,28 @@ public class TaskService {
      * Enrich TaskResponse with required skills from TaskRequiredSkill table
      */
     private TaskResponse enrichTaskResponseWithSkills(Task task) {
+        return enrichTaskResponseWithSkills(task, taskRequiredSkillRepository.findByTaskId(task.getId()));
+    }
+
+    /**
+     * Enrich a task listing, fetching the required skills of all tasks in one query
+     */
+    private List<TaskResponse> enrichTaskResponsesWithSkills(List<Task> tasks) {
+        Map<String, List<TaskRequiredSkill>> skillsByTask = findSkillsByTask(tasks);
+        return tasks.stream()
+                .map(task -> enrichTaskResponseWithSkills(task, skillsByTask.getOrDefault(task.getId(), List.of())))
+                .toList();
+    }
+
+    private TaskResponse enrichTaskResponseWithSkills(Task task, List<TaskRequiredSkill> skills) {
         TaskResponse response = taskMapper.toTaskResponse(task);
 
-        // Fetch and populate required skills
-        List<TaskRequiredSkill> skills = taskRequiredSkillRepository.findByTaskId(task.getId());
+        // Populate required skills
         List<String> requiredSkills = skills.stream()
                 .map(TaskRequiredSkill::getSkillName)
                 .toList();
 
-        log.info("Required skills for task {}: {}", task.getId(), requiredSkills);
+        log.debug("Required skills for task {}: {}", task.getId(), requiredSkills);
         response.setRequiredSkills(requiredSkills);
 
         // ✅ ADD: Populate AI recommendation metadata
@@ -919,53 +916,120 @@ public class TaskService {
         return response;
     }
 
-    private TaskSubmissionResponse mapToTaskSubmissionResponse(TaskSubmission submission) {
-        Task task = taskRepository.findById(submission.getTaskId()).orElse(null);
+    /**
+     * Map a review queue: tasks in one query, then projects and users in one batch lookup each
+     */
+    private List<TaskSubmissionResponse> mapToTaskSubmissionResponses(List<TaskSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return List.of();
+        }
+        Set<String> taskIds = submissions.stream().map(TaskSubmission::getTaskId).collect(Collectors.toSet());
+        Map<String, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Set<String> projectIds = tasks.values().stream()
+                .map(Task::getProjectId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<String, ProjectResponse> projects = nameCacheService.getProjects(projectIds);
+
+        Set<String> userIds = new HashSet<>();
+        submissions.forEach(submission -> {
+            userIds.add(submission.getSubmittedBy());
+            userIds.add(submission.getReviewedBy());
+        });
+        projects.values().forEach(project -> userIds.add(project.getTeamLeadId()));
+        // Use safe lookups for user names to prevent admin access issues
+        Map<String, UserResponse> users = hasAuthenticatedCaller() ? nameCacheService.getUsers(userIds) : Map.of();
 
+        return submissions.stream()
+                .map(submission -> mapToTaskSubmissionResponse(
+                        submission, tasks.get(submission.getTaskId()), projects, users))
+                .toList();
+    }
+
+    private TaskSubmissionResponse mapToTaskSubmissionResponse(TaskSubmission submission, Task task,
+                                                               Map<String, ProjectResponse> projects,
+                                                               Map<String, UserResponse> users) {
         String projectName = "Unknown Project";
         String teamLeadName = "Unknown Team Lead";
 
-        // Use safe methods to get user names to prevent admin access issues
-        String submitByName = getUserFullNameSafely(submission.getSubmittedBy());
-        String reviewByName = getUserFullNameSafely(submission.getReviewedBy());
+        String submitByName = getUserFullNameSafely(submission.getSubmittedBy(), users);
+        String reviewByName = getUserFullNameSafely(submission.getReviewedBy(), users);
 
-        try {
-            if (task != null && task.getProjectId() != null) {
-                // Get project information
-                var projectResponse = projectServiceClient.getProjectById(task.getProjectId());
-                if (projectResponse != null && projectResponse.getResult() != null) {
-                    var project = projectResponse.getResult();
-                    projectName = project.getName() != null ? project.getName() : "Unknown Project";
-
-                    // Get team lead name safely
-                    String teamLeadId = project.getTeamLeadId();
-                    if (teamLeadId != null && !teamLeadId.isEmpty()) {
-                        teamLeadName = getUserFullNameSafely(teamLeadId);
-                    }
-                }
+        ProjectResponse project = task != null && task.getProjectId() != null
+                ? projects.get(task.getProjectId())
+                : null;
+        if (project != null) {
+            projectName = project.getName() != null ? project.getName() : "Unknown Project";
+
+            String teamLeadId = project.getTeamLeadId();
+            if (teamLeadId != null && !teamLeadId.isEmpty()) {
+                teamLeadName = getUserFullNameSafely(teamLeadId, users);
             }
-        } catch (Exception e) {
-            log.warn("Failed to fetch project information for task {}: {}", submission.getTaskId(), e.getMessage());
         }
 
         return taskSubmissionMapper.toTaskSubmissionResponse(submission, projectName, teamLeadName, submitByName, reviewByName);
     }
 
-    private TaskResponse mapToDetailedTaskResponse(Task task) {
-        // Get task dependencies
-        List<TaskDependency> dependencies = taskDependencyRepository.findByTaskId(task.getId());
-        List<TaskDependencyResponse> dependencyResponses = dependencies.stream()
-                .map(this::mapToTaskDependencyResponse)
-                .toList();
+    private Map<String, List<TaskRequiredSkill>> findSkillsByTask(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Map.of();
+        }
+        List<String> taskIds = tasks.stream().map(Task::getId).toList();
+        return taskRequiredSkillRepository.findByTaskIdIn(taskIds).stream()
+                .collect(Collectors.groupingBy(TaskRequiredSkill::getTaskId));
+    }
 
-        // Get task required skills
-        List<TaskRequiredSkill> skills = taskRequiredSkillRepository.findByTaskId(task.getId());
-        List<TaskSkillResponse> skillResponses = skills.stream()
-                .map(this::mapToTaskSkillResponse)
+    /**
+     * Titles of the tasks the given dependencies point to. Tasks already loaded are reused, the rest
+     * are fetched in one query.
+     */
+    private Map<String, String> findDependencyTitles(List<TaskDependency> dependencies, List<Task> loadedTasks) {
+        Map<String, String> titles = new HashMap<>();
+        loadedTasks.forEach(task -> titles.put(task.getId(), task.getTitle()));
+
+        Set<String> missingIds = dependencies.stream()
+                .map(TaskDependency::getDependsOnTaskId)
+                .filter(id -> !titles.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!missingIds.isEmpty()) {
+            for (Object[] row : taskRepository.findTitlesByIdIn(missingIds)) {
+                titles.put((String) row[0], (String) row[1]);
+            }
+        }
+        return titles;
+    }
+
+    /**
+     * Map a task listing with dependencies and skills. Skills, dependencies and dependency titles
+     * are each fetched once for the whole listing and assembled in memory.
+     */
+    private List<TaskResponse> mapToDetailedTaskResponses(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<String> taskIds = tasks.stream().map(Task::getId).toList();
+        Map<String, List<TaskRequiredSkill>> skillsByTask = findSkillsByTask(tasks);
+        List<TaskDependency> dependencies = taskDependencyRepository.findByTaskIdIn(taskIds);
+        Map<String, List<TaskDependency>> dependenciesByTask = dependencies.stream()
+                .collect(Collectors.groupingBy(TaskDependency::getTaskId));
+        Map<String, String> titles = findDependencyTitles(dependencies, tasks);
+
+        return tasks.stream()
+                .map(task -> mapToDetailedTaskResponse(
+                        task,
+                        dependenciesByTask.getOrDefault(task.getId(), List.of()),
+                        skillsByTask.getOrDefault(task.getId(), List.of()),
+                        titles))
                 .toList();
+    }
 
-        // Use the existing mapper and enhance with additional data
-        TaskResponse response = taskMapper.toTaskResponse(task);
+    private TaskResponse mapToDetailedTaskResponse(
+            Task task, List<TaskDependency> dependencies, List<TaskRequiredSkill> skills, Map<String, String> titles) {
+        List<TaskDependencyResponse> dependencyResponses = dependencies.stream()
+                .map(dependency -> mapToTaskDependencyResponse(dependency, titles))
+                .toList();
 
         // Convert skills to skill names for requiredSkills field
         List<String> skillNames = skills.stream()
@@ -1008,6 +1072,9 @@ public class TaskService {
             // Find tasks that are due within 24 hours and not completed
             var upcomingTasks = taskRepository.findTasksDueWithin24Hours();
 
+            // Resolve all project names in one request; the lookups below are then served from the cache
+            nameCacheService.getProjects(upcomingTasks.stream().map(Task::getProjectId).toList());
+
             for (Task task : upcomingTasks) {
                 if (task.getAssignedTo() != null) {
                     String dueDate = task.getDueDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
@@ -1032,30 +1099,18 @@ public class TaskService {
      * Get project name by project ID using project service client
      */
     private String getProjectNameById(String projectId) {
-        try {
-            if (projectId == null || projectId.trim().isEmpty()) {
-                log.warn("Project ID is null or empty");
-                return "Unknown Project";
-            }
+        if (projectId == null || projectId.trim().isEmpty()) {
+            log.warn("Project ID is null or empty");
+            return "Unknown Project";
+        }
 
-            log.debug("Fetching project details for ID: {}", projectId);
-            // Call project service to get project details
-            com.mnp.task.dto.response.ApiResponse<com.mnp.task.dto.response.ProjectResponse> response =
-                    projectServiceClient.getProjectById(projectId);
-
-            if (response != null && response.getResult() != null &&
-                response.getResult().getName() != null && !response.getResult().getName().trim().isEmpty()) {
-                String projectName = response.getResult().getName();
-                log.debug("Successfully retrieved project name: {} for ID: {}", projectName, projectId);
-                return projectName;
-            } else {
-                log.warn("Project service returned null or empty name for project ID: {} - Response: {}", projectId, response);
-                return "Unknown Project";
-            }
-        } catch (Exception e) {
-            log.error("Failed to fetch project name for ID: {} - Error: {}", projectId, e.getMessage(), e);
+        // Served from the local cache; misses go to project service
+        String projectName = nameCacheService.getProjectName(projectId);
+        if (projectName == null) {
+            log.warn("No project name found for project ID: {}", projectId);
             return "Unknown Project";
         }
+        return projectName;
     }
 
     private String getCurrentUserId() {
@@ -0,0 +1,138 @@
+package com.mnp.task.service;
+
+import com.mnp.task.client.ChatServiceClient;
+import com.mnp.task.client.ProjectIntegrationClient;
+import com.mnp.task.client.RealTimeNotificationClient;
+import com.mnp.task.client.WorkloadServiceClient;
+import com.mnp.task.dto.request.AddProjectMemberRequest;
+import com.mnp.task.dto.request.OutboxPayload;
+import com.mnp.task.entity.Task;
+import com.mnp.task.enums.OutboxEventType;
+import com.mnp.task.repository.TaskRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * Performs one outbox side effect against its downstream service, through its /internal endpoint.
+ * The primary call of each type throws on failure so OutboxRelay retries it; follow-up notifications
+ * after a successful primary call are best-effort, so a retry never repeats work that already happened.
+ * Every primary call is safe to repeat: the task count is set, not incremented, and members and workload
+ * entries that already exist are kept.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskSideEffectDispatcher {
+
+    TaskRepository taskRepository;
+    ProjectIntegrationClient projectIntegrationClient;
+    ChatServiceClient chatServiceClient;
+    WorkloadServiceClient workloadServiceClient;
+    RealTimeNotificationClient realTimeNotificationClient;
+    TaskNotificationProducerService taskNotificationProducerService;
+    TaskSocketIOService taskSocketIOService;
+    NameCacheService nameCacheService;
+
+    public void dispatch(OutboxEventType type, OutboxPayload payload) {
+        switch (type) {
+            case PROJECT_TASK_COUNT_SYNC -> syncProjectTaskCount(payload);
+            case PROJECT_MEMBER_ADD -> addProjectMember(payload);
+            case PROJECT_SKILLS_UPDATE -> projectIntegrationClient.updateProjectSkillsFromTask(
+                    payload.getProjectId(), payload.getSkillNames());
+            case PROJECT_CHAT_MEMBER_ADD -> addProjectChatMember(payload);
+            case TASK_ASSIGNMENT_NOTIFICATION -> sendTaskAssignmentNotification(payload);
+            case WORKLOAD_TASK_ASSIGN -> assignWorkload(payload);
+        }
+        log.info("Delivered {} for task {}", type, payload.getTaskId());
+    }
+
+    // Counted at delivery time, so a late or repeated delivery still writes the current count
+    private void syncProjectTaskCount(OutboxPayload payload) {
+        long totalTasks = taskRepository.countByProjectId(payload.getProjectId());
+        projectIntegrationClient.setTotalTasks(payload.getProjectId(), Math.toIntExact(totalTasks));
+    }
+
+    private void addProjectMember(OutboxPayload payload) {
+        projectIntegrationClient.addProjectMemberFromTaskAssignment(AddProjectMemberRequest.builder()
+                .projectId(payload.getProjectId())
+                .userId(payload.getUserId())
+                .role("MEMBER") // Default role for task assignments
+                .build());
+    }
+
+    private void addProjectChatMember(OutboxPayload payload) {
+        chatServiceClient.addMemberToProjectGroupInternal(payload.getProjectId(), payload.getUserId());
+
+        try {
+            if (payload.isSocketNotification()) {
+                taskSocketIOService.notifyAddedToChatProject(payload.getProjectId(), payload.getUserId());
+            } else {
+                String projectName = getProjectName(payload.getProjectId());
+                realTimeNotificationClient.sendGroupChatAdditionNotificationInternal(
+                        new RealTimeNotificationClient.GroupChatAdditionNotificationRequest(
+                                payload.getUserId(),
+                                payload.getProjectId(),
+                                projectName,
+                                payload.getActorId(),
+                                projectName + " Chat Group"));
+            }
+        } catch (Exception e) {
+            log.error("Failed to send group chat addition notification for user: {}", payload.getUserId(), e);
+        }
+    }
+
+    // The real-time call is the one that can fail; the Kafka events follow it so a retry never repeats the email
+    private void sendTaskAssignmentNotification(OutboxPayload payload) {
+        String projectName = getProjectName(payload.getProjectId());
+        realTimeNotificationClient.sendTaskAssignmentNotificationInternal(
+                new RealTimeNotificationClient.TaskAssignmentNotificationRequest(
+                        payload.getUserId(),
+                        payload.getTaskId(),
+                        payload.getTaskTitle(),
+                        projectName,
+                        payload.getActorId(),
+                        payload.getDueDate()));
+
+        taskNotificationProducerService.sendTaskAssignmentNotification(
+                payload.getUserId(),
+                payload.getTaskId(),
+                payload.getTaskTitle(),
+                projectName,
+                payload.getActorId(),
+                payload.getDueDate());
+    }
+
+    /**
+     * Rows are retried independently, so an older reassignment can arrive after a newer one. Like the task
+     * count, the assignee is checked at delivery time: a row whose user no longer holds the task is dropped,
+     * and the previous assignee loses the task only while it is still theirs.
+     */
+    private void assignWorkload(OutboxPayload payload) {
+        String currentAssignee = taskRepository.findById(payload.getTaskId()).map(Task::getAssignedTo).orElse(null);
+        if (!payload.getUserId().equals(currentAssignee)) {
+            log.info("Skipping workload assignment of task {} to {}: now assigned to {}",
+                    payload.getTaskId(), payload.getUserId(), currentAssignee);
+            return;
+        }
+
+        if (StringUtils.hasText(payload.getPreviousUserId())) {
+            try {
+                workloadServiceClient.removeTaskFromWorkloadInternal(payload.getTaskId(), payload.getPreviousUserId());
+            } catch (Exception e) {
+                log.error("Failed to remove task {} from old assignee {} workload: {}",
+                        payload.getTaskId(), payload.getPreviousUserId(), e.getMessage());
+            }
+        }
+        workloadServiceClient.addTaskToWorkloadInternal(payload.getUserId(), payload.getWorkload());
+    }
+
+    private String getProjectName(String projectId) {
+        String projectName = StringUtils.hasText(projectId) ? nameCacheService.getProjectName(projectId) : null;
+        return projectName != null ? projectName : "Unknown Project";
+    }
+}
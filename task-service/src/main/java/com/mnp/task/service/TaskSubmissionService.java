@@ -9,8 +9,10 @@ import com.mnp.task.client.RealTimeNotificationClient;
 import com.mnp.task.dto.request.TaskSubmissionRequest;
 import com.mnp.task.dto.request.TaskSubmissionUpdateRequest;
 import com.mnp.task.dto.request.ReviewUpdateRequest;
+import com.mnp.task.dto.response.ProjectResponse;
 import com.mnp.task.dto.response.TaskResponse;
 import com.mnp.task.dto.response.TaskSubmissionResponse;
+import com.mnp.task.dto.response.UserResponse;
 import com.mnp.task.entity.Task;
 import com.mnp.task.entity.TaskSubmission;
 import com.mnp.task.enums.SubmissionStatus;
@@ -27,7 +29,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -46,6 +54,7 @@ public class TaskSubmissionService {
     TaskService taskService;
     private final RealTimeNotificationClient realTimeNotificationClient;
     WorkloadIntegrationService workloadIntegrationService;
+    NameCacheService nameCacheService;
 
     /**
      * Submit a task with optional file attachment
@@ -122,8 +131,8 @@ public class TaskSubmissionService {
         log.info("Task submission created: taskId={}, userId={}, submissionId={}",
                 taskId, userId, submission.getId());
 
-        String projectName = projectServiceClient.getProjectName(taskService.getTask(taskId).getProjectId()).getResult().getName();
         TaskResponse taskResult = taskService.getTask(submission.getTaskId());
+        String projectName = getProjectName(taskResult.getProjectId());
         String assignByName = getUserFullName(taskResult.getCreatedBy());
         try {
             sendRealTimeTaskSubmissionNotification(
@@ -147,9 +156,7 @@ public class TaskSubmissionService {
      */
     public List<TaskSubmissionResponse> getTaskSubmissions(String taskId) {
         List<TaskSubmission> submissions = taskSubmissionRepository.findByTaskIdOrderBySubmittedAtDesc(taskId);
-        return submissions.stream()
-                .map(this::createTaskSubmissionResponseWithProjectInfo)
-                .toList();
+        return createTaskSubmissionResponsesWithProjectInfo(submissions);
     }
 
     /**
@@ -157,9 +164,7 @@ public class TaskSubmissionService {
      */
     public List<TaskSubmissionResponse> getUserSubmissions(String userId) {
         List<TaskSubmission> submissions = taskSubmissionRepository.findBySubmittedByOrderBySubmittedAtDesc(userId);
-        return submissions.stream()
-                .map(this::createTaskSubmissionResponseWithProjectInfo)
-                .toList();
+        return createTaskSubmissionResponsesWithProjectInfo(submissions);
     }
 
     /**
@@ -197,16 +202,13 @@ public class TaskSubmissionService {
      * Review a task submission (for team leads)
      */
     private String getUserFullName(String userId) {
-        try {
-            var response = identityClient.getFullName(userId);
-            if (response != null && response.getResult() != null) {
-                return response.getResult().getFirstName() + " " + response.getResult().getLastName();
-            }
-            return "Unknown User";
-        } catch (Exception e) {
-            log.warn("Failed to get user name for ID {}: {}", userId, e.getMessage());
-            return "Unknown User";
-        }
+        String fullName = nameCacheService.getUserFullName(userId);
+        return fullName != null ? fullName : "Unknown User";
+    }
+
+    private String getProjectName(String projectId) {
+        String projectName = nameCacheService.getProjectName(projectId);
+        return projectName != null ? projectName : "Unknown Project";
     }
 
     public TaskSubmissionResponse reviewSubmission(String submissionId, String reviewerId, SubmissionStatus status, String comments) {
@@ -245,7 +247,7 @@ public class TaskSubmissionService {
                 taskName
         );
 
-        String projectName = projectServiceClient.getProjectName(projectId).getResult().getName();
+        String projectName = getProjectName(projectId);
 
         // Real-time notification
         try {
@@ -326,7 +328,7 @@ public class TaskSubmissionService {
                 taskName
         );
 
-        String projectName = projectServiceClient.getProjectName(projectId).getResult().getName();
+        String projectName = getProjectName(projectId);
 
         // Real-time notification
         try {
@@ -539,7 +541,7 @@ public class TaskSubmissionService {
         );
 
         String reviewName = getUserFullName(reviewerId);
-        String projectName = projectServiceClient.getProjectName(projectId).getResult().getName();
+        String projectName = getProjectName(projectId);
 
         try {
             sendRealTimeTaskReviewNotification(
@@ -607,9 +609,9 @@ public class TaskSubmissionService {
         try {
             Task task = taskRepository.findById(taskId).orElse(null);
             if (task != null && task.getProjectId() != null) {
-                var projectResponse = projectServiceClient.getProjectById(task.getProjectId());
-                if (projectResponse != null && projectResponse.getResult() != null) {
-                    return projectResponse.getResult().getTeamLeadId();
+                ProjectResponse project = nameCacheService.getProject(task.getProjectId());
+                if (project != null) {
+                    return project.getTeamLeadId();
                 }
             }
             return null;
@@ -681,47 +683,81 @@ public class TaskSubmissionService {
      * Helper method to get project information and create TaskSubmissionResponse with project details
      */
     private TaskSubmissionResponse createTaskSubmissionResponseWithProjectInfo(TaskSubmission submission) {
+        return createTaskSubmissionResponsesWithProjectInfo(List.of(submission)).get(0);
+    }
 
-        log.info("Submission request: submissionId={}, reviewerId={}", submission.getSubmittedBy(), submission.getReviewedBy());
+    /**
+     * Same for a list: tasks in one query, then projects and users in one batch lookup each
+     */
+    private List<TaskSubmissionResponse> createTaskSubmissionResponsesWithProjectInfo(
+            List<TaskSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return List.of();
+        }
+        Set<String> taskIds = submissions.stream().map(TaskSubmission::getTaskId).collect(Collectors.toSet());
+        Map<String, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Set<String> projectIds = tasks.values().stream()
+                .map(Task::getProjectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, ProjectResponse> projects = nameCacheService.getProjects(projectIds);
+
+        Set<String> userIds = new HashSet<>();
+        submissions.forEach(submission -> {
+            userIds.add(submission.getSubmittedBy());
+            userIds.add(submission.getReviewedBy());
+        });
+        projects.values().forEach(project -> userIds.add(project.getTeamLeadId()));
+        Map<String, UserResponse> users = nameCacheService.getUsers(userIds);
+
+        return submissions.stream()
+                .map(submission -> {
+                    Task task = tasks.get(submission.getTaskId());
+                    ProjectResponse project = task != null && task.getProjectId() != null
+                            ? projects.get(task.getProjectId())
+                            : null;
+                    return createTaskSubmissionResponse(submission, project, users);
+                })
+                .toList();
+    }
+
+    private TaskSubmissionResponse createTaskSubmissionResponse(
+            TaskSubmission submission, ProjectResponse project, Map<String, UserResponse> users) {
+        log.debug("Submission request: submissionId={}, reviewerId={}",
+                submission.getSubmittedBy(), submission.getReviewedBy());
         String projectName = "Unknown Project";
         String teamLeadName = "Unknown Team Lead";
 
         // Get submitter name
-        var submitByNameResponse = identityClient.getFullName(submission.getSubmittedBy());
-        String submitByName = submitByNameResponse.getResult().getFirstName() + " " + submitByNameResponse.getResult().getLastName();
+        String submitByName = userName(users, submission.getSubmittedBy());
 
         // Get reviewer name - check if reviewedBy exists
         String reviewByName;
         if (submission.getReviewedBy() != null && !submission.getReviewedBy().isEmpty()) {
-            var reviewByNameResponse = identityClient.getFullName(submission.getReviewedBy());
-            reviewByName = reviewByNameResponse.getResult().getFirstName() + " " + reviewByNameResponse.getResult().getLastName();
+            reviewByName = userName(users, submission.getReviewedBy());
         } else {
             reviewByName = "Have not comment yet";
         }
 
-        try {
-            // Get task to find project ID
-            Task task = taskRepository.findById(submission.getTaskId()).orElse(null);
-            if (task != null && task.getProjectId() != null) {
-                // Get project information
-                var projectResponse = projectServiceClient.getProjectById(task.getProjectId());
-                if (projectResponse != null && projectResponse.getResult() != null) {
-                    var project = projectResponse.getResult();
-                    projectName = project.getName() != null ? project.getName() : "Unknown Project";
-
-                    // Get team lead name
-                    String teamLeadId = project.getTeamLeadId();
-                    if (teamLeadId != null && !teamLeadId.isEmpty()) {
-                        var userResponse = identityClient.getFullName(teamLeadId);
-                        var result = userResponse.getResult();
-                        teamLeadName = result.getFirstName() + " " + result.getLastName();
-                    }
-                }
+        if (project != null) {
+            projectName = project.getName() != null ? project.getName() : "Unknown Project";
+
+            // Get team lead name
+            String teamLeadId = project.getTeamLeadId();
+            if (teamLeadId != null && !teamLeadId.isEmpty()) {
+                teamLeadName = userName(users, teamLeadId);
             }
-        } catch (Exception e) {
-            log.warn("Failed to fetch project information for task {}: {}", submission.getTaskId(), e.getMessage());
+        } else {
+            log.warn("No project information for task {}", submission.getTaskId());
         }
 
         return taskSubmissionMapper.toTaskSubmissionResponse(submission, projectName, teamLeadName, submitByName, reviewByName);
     }
+
+    private String userName(Map<String, UserResponse> users, String userId) {
+        String fullName = NameCacheService.fullName(users.get(userId));
+        return fullName != null ? fullName : "Unknown User";
+    }
 }
@@ -29,16 +29,7 @@ public class WorkloadIntegrationService {
         }
 
         try {
-            AddTaskToWorkloadRequest request = AddTaskToWorkloadRequest.builder()
-                    .taskId(task.getId())
-                    .projectId(task.getProjectId())
-                    .estimatedHours(task.getEstimatedHours() != null ? task.getEstimatedHours() : 0)
-                    .priority(task.getPriority() != null ? task.getPriority().toString() : "MEDIUM")
-                    .dueDate(task.getDueDate())
-                    .taskTitle(task.getTitle())
-                    .build();
-
-            workloadServiceClient.addTaskToWorkload(task.getAssignedTo(), request);
+            workloadServiceClient.addTaskToWorkload(task.getAssignedTo(), toAddTaskToWorkloadRequest(task));
             log.info("Added task {} to workload for user {}", task.getId(), task.getAssignedTo());
         } catch (Exception e) {
             log.error("Failed to add task {} to workload for user {}: {}",
@@ -47,6 +38,20 @@ public class WorkloadIntegrationService {
         }
     }
 
+    /**
+     * Build the workload entry for a task, as sent when it is added to its assignee's workload
+     */
+    public AddTaskToWorkloadRequest toAddTaskToWorkloadRequest(Task task) {
+        return AddTaskToWorkloadRequest.builder()
+                .taskId(task.getId())
+                .projectId(task.getProjectId())
+                .estimatedHours(task.getEstimatedHours() != null ? task.getEstimatedHours() : 0)
+                .priority(task.getPriority() != null ? task.getPriority().toString() : "MEDIUM")
+                .dueDate(task.getDueDate())
+                .taskTitle(task.getTitle())
+                .build();
+    }
+
     /**
      * Update task workload when task properties change
      */
@@ -55,14 +55,18 @@ const TaskManagement = () => {
     try {
       setLoading(true);
       
-      // Call actual API with role-based filtering
-      const params = {
-        userId: user.id,
-        userRole: user.role
-      };
-      
-      const response = await apiService.getTasks(params);
-      setTasks(response.result || []);
+      // Team leads see the tasks of their projects; everyone else pages through all tasks
+      if (user.role === 'TEAM_LEAD') {
+        const response = await apiService.getTasks({ userId: user.id, userRole: user.role });
+        setTasks(response.result || []);
+      } else {
+        const response = await apiService.getTaskPage({ size: 200 });
+        setTasks((response.items || []).map((task) => ({
+          ...task,
+          assigneeId: task.assignedTo,
+          progress: task.progressPercentage ?? 0
+        })));
+      }
       
     } catch (error) {
       console.warn('Tasks API failed, using mock data:', error);
@@ -229,8 +233,8 @@ const TaskManagement = () => {
     if (searchTerm) {
       filtered = filtered.filter(task =>
         task.title.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        task.description.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        task.assigneeName.toLowerCase().includes(searchTerm.toLowerCase())
+        task.description?.toLowerCase().includes(searchTerm.toLowerCase()) ||
+        task.assigneeName?.toLowerCase().includes(searchTerm.toLowerCase())
       );
     }
 
@@ -543,14 +547,14 @@ const TaskManagement = () => {
 
                   {/* Skills and Dependencies */}
                   <div className="flex flex-wrap gap-2 mb-4">
-                    {task.skills.map((skill, index) => (
+                    {(task.skills || []).map((skill, index) => (
                       <span key={index} className="px-2 py-1 text-xs bg-primary-100 text-primary-700 rounded">
                         {skill}
                       </span>
                     ))}
-                    {task.dependencies.length > 0 && (
+                    {task.dependencies?.length > 0 && (
                       <span className="px-2 py-1 text-xs bg-yellow-100 text-yellow-700 rounded">
-                        {task.dependencies.length} dependency(ies)
+                        {task.dependencies?.length} dependency(ies)
                       </span>
                     )}
                   </div>
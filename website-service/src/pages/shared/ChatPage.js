@@ -1017,15 +1017,21 @@ const ChatPage = ({ role }) => {
     console.log('Processing message status update:', data);
     
     if (selectedConversation && data.conversationId === selectedConversation.id) {
+      // Compact receipt: everything up to readUpTo not sent by the reader is read
+      const isCoveredByReceipt = (msg) => data.readUpTo != null
+        ? msg.createdDate <= data.readUpTo && msg.sender?.userId !== data.readerId
+        : data.messageIds?.includes(msg.id);
+
       setMessages(prev => {
         const updatedMessages = prev.map(msg => {
-          // Update status for messages in the messageIds array
-          if (data.messageIds?.includes(msg.id)) {
+          if (isCoveredByReceipt(msg)) {
+            const readers = msg.readers || [];
+            const alreadyReader = data.reader && readers.some(r => r.userId === data.reader.userId);
             return {
               ...msg,
               status: data.status || 'SEEN',
-              readDate: data.readDate || msg.readDate,
-              readers: data.readers || msg.readers
+              readDate: data.readUpTo || data.readDate || msg.readDate,
+              readers: data.reader && !alreadyReader ? [...readers, data.reader] : (data.readers || msg.readers)
             };
           }
           return msg;
@@ -1036,13 +1042,13 @@ const ChatPage = ({ role }) => {
       // Update conversation's last message status if it's affected
       setConversations(prevConversations => {
         return prevConversations.map(conv => {
-          if (conv.id === data.conversationId && conv.lastMessage && data.messageIds?.includes(conv.lastMessage.id)) {
+          if (conv.id === data.conversationId && conv.lastMessage && isCoveredByReceipt(conv.lastMessage)) {
             return {
               ...conv,
               lastMessage: {
                 ...conv.lastMessage,
                 status: data.status || 'SEEN',
-                readDate: data.readDate
+                readDate: data.readUpTo || data.readDate
               }
             };
           }
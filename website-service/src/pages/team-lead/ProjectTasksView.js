@@ -98,8 +98,12 @@ const ProjectTasksView = () => {
         setProject(projectResponse.result);
       }
 
-      // Set tasks - task service returns data directly, not wrapped in result
-      if (tasksResponse && Array.isArray(tasksResponse)) {
+      // Set tasks - task service returns a page of summaries directly, not wrapped in result
+      if (tasksResponse && Array.isArray(tasksResponse.items)) {
+        const pageTasks = tasksResponse.items.map((task) => ({ ...task, assigneeId: task.assignedTo }));
+        const enrichedTasks = await enrichTasksWithUserData(pageTasks);
+        setTasks(enrichedTasks);
+      } else if (tasksResponse && Array.isArray(tasksResponse)) {
         const enrichedTasks = await enrichTasksWithUserData(tasksResponse);
         setTasks(enrichedTasks);
       } else if (tasksResponse.result && Array.isArray(tasksResponse.result)) {
@@ -160,7 +160,9 @@ export const apiService = {
 
   // Tasks - Updated with all task-service endpoints
   getTasks: (params) => api.get('/task/tasks', { params }),
-  getTasksByProject: (projectId) => api.get('/task/tasks', { params: { projectId } }),
+  // Keyset-paginated list: { items, nextCursor, hasMore }; pass nextCursor back as cursor
+  getTaskPage: (params) => api.get('/task/tasks/page', { params }),
+  getTasksByProject: (projectId, cursor) => api.get('/task/tasks/page', { params: { projectId, cursor, size: 200 } }),
   getTask: (id) => api.get(`/task/tasks/${id}`),
   createTask: (data) => api.post('/task/tasks', data),
   updateTask: (id, data) => api.put(`/task/tasks/${id}`, data),
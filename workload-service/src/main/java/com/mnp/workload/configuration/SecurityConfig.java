@@ -16,7 +16,9 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    private static final String[] PUBLIC_ENDPOINTS = {"/internal/users", "/internal/users/**"};
+    private static final String[] PUBLIC_ENDPOINTS = {
+        "/internal/users", "/internal/users/**", "/internal/workloads/**" // Inter-service calls
+    };
 
     private final CustomJwtDecoder customJwtDecoder;
 
@@ -0,0 +1,42 @@
+package com.mnp.workload.controller;
+
+import com.mnp.workload.dto.request.AddTaskToWorkloadRequest;
+import com.mnp.workload.dto.response.UserCurrentTaskResponse;
+import com.mnp.workload.service.WorkloadService;
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Workload updates for task-service, which calls them from its outbox relay without a user token.
+ * The relay delivers at least once, so adding a task twice for the same user is not an error, and a removal
+ * names the user it expects to hold the task so a late one cannot take the task from a newer assignee
+ */
+@RestController
+@RequestMapping("/internal/workloads")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class InternalWorkloadController {
+
+    WorkloadService workloadService;
+
+    @PostMapping("/tasks")
+    public ResponseEntity<UserCurrentTaskResponse> addTaskToWorkload(
+            @RequestParam String userId,
+            @Valid @RequestBody AddTaskToWorkloadRequest request) {
+        log.info("Internal call: Adding task {} to workload of user {}", request.getTaskId(), userId);
+        return ResponseEntity.ok(workloadService.addTaskToWorkloadIfAbsent(userId, request));
+    }
+
+    @DeleteMapping("/tasks/{taskId}")
+    public ResponseEntity<Void> removeTaskFromWorkload(@PathVariable String taskId, @RequestParam String userId) {
+        log.info("Internal call: Removing task {} from workload of user {}", taskId, userId);
+        workloadService.removeTaskFromWorkloadIfHeldBy(taskId, userId);
+        return ResponseEntity.noContent().build();
+    }
+}
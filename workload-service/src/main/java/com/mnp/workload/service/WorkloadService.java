@@ -229,6 +229,15 @@ public class WorkloadService {
         return mapToUserCurrentTaskResponse(savedTask);
     }
 
+    // Add task to user workload; a repeated call for the same user keeps the existing entry
+    @Transactional
+    public UserCurrentTaskResponse addTaskToWorkloadIfAbsent(String userId, AddTaskToWorkloadRequest request) {
+        return userCurrentTaskRepository.findByTaskId(request.getTaskId())
+                .filter(task -> userId.equals(task.getUserId()))
+                .map(this::mapToUserCurrentTaskResponse)
+                .orElseGet(() -> addTaskToWorkload(userId, request));
+    }
+
     // Update task hours/progress
     @Transactional
     public UserCurrentTaskResponse updateTaskWorkload(String taskId, UpdateTaskWorkloadRequest request) {
@@ -287,6 +296,17 @@ public class WorkloadService {
         }
     }
 
+    // Removes the task only while the given user holds it; a task already moved on is left alone
+    @Transactional
+    public void removeTaskFromWorkloadIfHeldBy(String taskId, String userId) {
+        boolean heldByUser = userCurrentTaskRepository.findByTaskId(taskId)
+                .filter(task -> userId.equals(task.getUserId()))
+                .isPresent();
+        if (heldByUser) {
+            removeTaskFromWorkload(taskId);
+        }
+    }
+
     // Remove task from workload (when completed)
     @Transactional
     public void removeTaskFromWorkload(String taskId) {